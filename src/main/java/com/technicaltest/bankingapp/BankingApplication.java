@@ -1,13 +1,153 @@
 package com.technicaltest.bankingapp;
 
+import com.technicaltest.bankingapp.audit.AuditLog;
+import com.technicaltest.bankingapp.console.BatchConsoleHandler;
 import com.technicaltest.bankingapp.console.ConsoleHandler;
+import com.technicaltest.bankingapp.database.InMemoryDatabase;
+import com.technicaltest.bankingapp.dto.InterestRunReportDTO;
+import com.technicaltest.bankingapp.exception.ApplicationException;
+import com.technicaltest.bankingapp.metrics.MetricsRegistry;
+import com.technicaltest.bankingapp.repository.AccountRepository;
+import com.technicaltest.bankingapp.server.BankingServer;
+import com.technicaltest.bankingapp.service.InterestRunService;
+import com.technicaltest.bankingapp.service.LedgerService;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.technicaltest.bankingapp.config.ConfigLoader.METRICS_CONFIGURATION;
+import static com.technicaltest.bankingapp.config.ConfigLoader.SNAPSHOT_CONFIGURATION;
+
 @Slf4j
 public class BankingApplication {
+
+    private static final String BATCH_OPTION = "--batch";
+    private static final String SERVER_OPTION = "--server";
+    private static final String INTEREST_RUN_OPTION = "--interest-run";
+    private static final String STANDARD_INPUT = "-";
+    private static final String QUIT_COMMAND = "quit";
+
     public static void main(String[] args) {
+        AccountRepository accountRepository = new AccountRepository();
+        long recoveredAccounts = accountRepository.recover(new LedgerService()::record);
+        log.info("Recovered {} account records.", recoveredAccounts);
+        ScheduledExecutorService snapshotScheduler = scheduleSnapshots(accountRepository);
+        ScheduledExecutorService metricsScheduler = scheduleMetricsDumps();
         log.info("Banking Application Started successfully !");
-        new ConsoleHandler().start();
+
+        if (args.length > 0 && BATCH_OPTION.equals(args[0])) {
+            runBatch(args.length > 1 ? args[1] : STANDARD_INPUT);
+        } else if (args.length > 0 && SERVER_OPTION.equals(args[0])) {
+            runServer();
+        } else if (args.length > 0 && INTEREST_RUN_OPTION.equals(args[0])) {
+            runInterest(args.length > 1 ? args[1] : null);
+        } else {
+            new ConsoleHandler().start();
+        }
+
+        if (snapshotScheduler != null) {
+            snapshotScheduler.shutdownNow();
+            accountRepository.snapshot();
+        }
+        if (metricsScheduler != null) {
+            metricsScheduler.shutdownNow();
+            log.info(MetricsRegistry.dump());
+        }
+        InMemoryDatabase.closeJournals();
+        AuditLog.shared().close();
         log.info("Banking Application Shutdown Successfully !");
     }
-}
\ No newline at end of file
+
+    /**
+     * Runs the commands of a file, or of the standard input for {@code -}, and writes their results to the standard output.
+     */
+    private static void runBatch(String commands) {
+        if (STANDARD_INPUT.equals(commands)) {
+            new BatchConsoleHandler().run(System.in, System.out);
+            return;
+        }
+        try (InputStream input = Files.newInputStream(Path.of(commands))) {
+            new BatchConsoleHandler().run(input, System.out);
+        } catch (IOException e) {
+            throw new ApplicationException("Failed to read batch commands from " + commands, e);
+        }
+    }
+
+    /**
+     * Credits the monthly interest of every savings account for a month, {@code yyyy-MM}, by default the month
+     * that just ended, and writes the report of the run to the standard output.
+     */
+    private static void runInterest(String month) {
+        YearMonth period;
+        try {
+            period = month == null ? YearMonth.now().minusMonths(1) : YearMonth.parse(month);
+        } catch (DateTimeParseException e) {
+            throw new ApplicationException("Invalid interest run month " + month + ", expected yyyy-MM", e);
+        }
+        InterestRunReportDTO report = new InterestRunService().run(period);
+        System.out.println(report.isCompleted()
+                ? "Interest run for " + period + " completed: " + report
+                : "Interest run for " + period + " stopped before the end, run it again to resume: " + report);
+    }
+
+    /**
+     * Serves the network clients until {@code quit} is typed or the standard input ends.
+     */
+    private static void runServer() {
+        try (BankingServer server = BankingServer.open()) {
+            System.out.println("Banking server listening on " + server.getAddress() + ", type quit to stop it.");
+            BufferedReader reader = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null && !QUIT_COMMAND.equals(line.trim())) {
+                System.out.println("Type quit to stop the server.");
+            }
+        } catch (IOException e) {
+            throw new ApplicationException("Failed to read the standard input", e);
+        }
+    }
+
+    private static ScheduledExecutorService scheduleSnapshots(AccountRepository accountRepository) {
+        if (!SNAPSHOT_CONFIGURATION.enabled()) {
+            return null;
+        }
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "snapshot-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = SNAPSHOT_CONFIGURATION.intervalSeconds();
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                accountRepository.snapshot();
+            } catch (RuntimeException e) {
+                log.error("Periodic snapshot failed: {}", e.getMessage(), e);
+            }
+        }, interval, interval, TimeUnit.SECONDS);
+        return scheduler;
+    }
+
+    private static ScheduledExecutorService scheduleMetricsDumps() {
+        long interval = METRICS_CONFIGURATION.dumpIntervalSeconds();
+        if (interval <= 0) {
+            return null;
+        }
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-dump");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(() -> log.info(MetricsRegistry.dump()), interval, interval, TimeUnit.SECONDS);
+        return scheduler;
+    }
+}
@@ -0,0 +1,39 @@
+package com.technicaltest.bankingapp.audit;
+
+import com.technicaltest.bankingapp.enumeration.AuditEventType;
+import com.technicaltest.bankingapp.enumeration.AuditOutcome;
+
+import java.time.Instant;
+
+import static com.technicaltest.bankingapp.utils.MoneyUtils.toBigDecimal;
+
+/**
+ * An audit record decoded from an audit file.
+ *
+ * @param sequence        position of the record among the records of the process that wrote it
+ * @param timestampMillis epoch milliseconds at which the operation completed
+ * @param counterpartyId  the other account of a transfer, 0 otherwise
+ * @param amount          amount of the operation in minor units
+ * @param balanceAfter    balance in minor units after a successful operation, 0 otherwise
+ */
+public record AuditEntry(long sequence, long timestampMillis, AuditEventType type, AuditOutcome outcome,
+                         long accountId, long counterpartyId, long amount, long balanceAfter) {
+
+    /**
+     * @return one human-readable line
+     */
+    public String format() {
+        StringBuilder line = new StringBuilder()
+                .append(Instant.ofEpochMilli(timestampMillis)).append(" #").append(sequence)
+                .append(' ').append(type).append(' ').append(outcome)
+                .append(" account=").append(accountId);
+        if (counterpartyId != 0) {
+            line.append(" counterparty=").append(counterpartyId);
+        }
+        line.append(" amount=").append(toBigDecimal(amount).toPlainString());
+        if (outcome == AuditOutcome.SUCCESS) {
+            line.append(" balance=").append(toBigDecimal(balanceAfter).toPlainString());
+        }
+        return line.toString();
+    }
+}
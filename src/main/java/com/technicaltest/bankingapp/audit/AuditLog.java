@@ -0,0 +1,246 @@
+package com.technicaltest.bankingapp.audit;
+
+import com.technicaltest.bankingapp.concurrency.RingBuffer;
+import com.technicaltest.bankingapp.config.AuditConfig;
+import com.technicaltest.bankingapp.enumeration.AuditEventType;
+import com.technicaltest.bankingapp.enumeration.AuditOutcome;
+import com.technicaltest.bankingapp.exception.ApplicationException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static com.technicaltest.bankingapp.config.ConfigLoader.AUDIT_CONFIGURATION;
+
+/**
+ * Audit trail of the service operations, written off the caller thread.
+ * Callers fill a pre-allocated slot of a ring buffer with the fixed-size fields of the operation, with no
+ * formatting, allocation or I/O. A single writer thread encodes the published slots in batches into
+ * {@code audit-<n>.log} files of {@link AuditRecord#SIZE}-byte records, rolling over to a new file once the
+ * current one reaches its maximum size. Callers only wait when the writer falls a whole ring behind.
+ * Records are synced to disk when a file is rolled over and when the log is closed.
+ *
+ * @see AuditLogReader
+ */
+@Slf4j
+public class AuditLog implements AutoCloseable {
+
+    static final String FILE_PREFIX = "audit-";
+    static final String FILE_SUFFIX = ".log";
+    private static final int MAX_BATCH_SIZE = 1024;
+    private static final AuditLog DISABLED = new AuditLog();
+
+    private final Path directory;
+    private final long maxFileBytes;
+    private final int maxFiles;
+    private final RingBuffer<AuditRecord> ring;
+    private final Thread writer;
+    private final AtomicLong writtenRecords = new AtomicLong();
+    private FileChannel channel;
+    private long fileNumber;
+    private volatile boolean running = true;
+    // Set when the writer stopped on an I/O error, records are then dropped rather than failing the operations
+    private volatile boolean failed;
+
+    private AuditLog() {
+        this.directory = null;
+        this.maxFileBytes = 0;
+        this.maxFiles = 0;
+        this.ring = null;
+        this.writer = null;
+    }
+
+    private AuditLog(AuditConfig config) throws IOException {
+        this.directory = config.directory();
+        this.maxFileBytes = Math.max(AuditRecord.SIZE, config.maxFileBytes());
+        this.maxFiles = config.maxFiles();
+        this.ring = new RingBuffer<>(config.bufferSize(), 1, AuditRecord::new);
+        Files.createDirectories(directory);
+        List<Path> files = files(directory);
+        this.fileNumber = files.isEmpty() ? 0 : fileNumber(files.get(files.size() - 1));
+        this.channel = nextFile();
+        this.writer = new Thread(this::runWriter, "audit-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Opens an audit log in the configured directory, always starting a new file.
+     */
+    public static AuditLog open(AuditConfig config) {
+        if (!config.enabled()) {
+            return DISABLED;
+        }
+        try {
+            return new AuditLog(config);
+        } catch (IOException e) {
+            throw new ApplicationException("Failed to open audit log in " + config.directory(), e);
+        }
+    }
+
+    /**
+     * @return the audit log shared by the services, opened from the configuration on first use
+     */
+    public static AuditLog shared() {
+        return SharedAuditLogHolder.AUDIT_LOG;
+    }
+
+    public void recordSuccess(AuditEventType type, long accountId, long counterpartyId, long amount, long balanceAfter) {
+        record(type, AuditOutcome.SUCCESS, accountId, counterpartyId, amount, balanceAfter);
+    }
+
+    public void recordFailure(AuditEventType type, long accountId, long counterpartyId, long amount, Throwable error) {
+        record(type, AuditOutcome.of(error), accountId, counterpartyId, amount, 0);
+    }
+
+    public void record(AuditEventType type, AuditOutcome outcome, long accountId, long counterpartyId, long amount,
+                       long balanceAfter) {
+        if (ring == null || failed) {
+            return;
+        }
+        if (!running) {
+            throw new ApplicationException("Audit log is closed.");
+        }
+        long sequence = ring.claim();
+        AuditRecord slot = ring.get(sequence);
+        slot.timestampMillis = System.currentTimeMillis();
+        slot.type = type;
+        slot.outcome = outcome;
+        slot.accountId = accountId;
+        slot.counterpartyId = counterpartyId;
+        slot.amount = amount;
+        slot.balanceAfter = balanceAfter;
+        ring.publish(sequence);
+    }
+
+    public boolean isEnabled() {
+        return ring != null;
+    }
+
+    /**
+     * @return the number of records written to the files so far
+     */
+    public long getWrittenRecords() {
+        return writtenRecords.get();
+    }
+
+    /**
+     * Writes every record published so far, syncs the current file and stops the writer.
+     * Callers stop recording before closing the log.
+     */
+    @Override
+    public void close() {
+        if (ring == null || !running) {
+            return;
+        }
+        running = false;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runWriter() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(MAX_BATCH_SIZE * AuditRecord.SIZE);
+        long next = 0;
+        int idleAttempts = 0;
+        try {
+            while (running || next <= ring.getClaimed()) {
+                long available = ring.available(0, next, next + MAX_BATCH_SIZE - 1);
+                if (available < next) {
+                    RingBuffer.backOff(idleAttempts++);
+                    continue;
+                }
+                idleAttempts = 0;
+                buffer.clear();
+                for (long sequence = next; sequence <= available; sequence++) {
+                    ring.get(sequence).encode(sequence, buffer);
+                }
+                // The slots are copied, callers may reuse them while the batch is written
+                ring.release(0, available);
+                buffer.flip();
+                write(buffer);
+                writtenRecords.addAndGet(available - next + 1);
+                next = available + 1;
+            }
+            channel.force(false);
+            channel.close();
+        } catch (IOException | RuntimeException e) {
+            log.error("AuditLog - Audit writer stopped, records are no longer written to {}", directory, e);
+            failed = true;
+            // Free the whole ring so that callers already waiting for a slot are not stuck
+            ring.release(0, Long.MAX_VALUE);
+        }
+    }
+
+    private void write(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            long room = maxFileBytes - channel.position();
+            if (room < AuditRecord.SIZE) {
+                channel.force(false);
+                channel.close();
+                channel = nextFile();
+                deleteOldFiles();
+                continue;
+            }
+            int chunk = (int) Math.min(buffer.remaining(), room - room % AuditRecord.SIZE);
+            ByteBuffer slice = buffer.slice(buffer.position(), chunk);
+            while (slice.hasRemaining()) {
+                channel.write(slice);
+            }
+            buffer.position(buffer.position() + chunk);
+        }
+    }
+
+    private FileChannel nextFile() throws IOException {
+        fileNumber++;
+        Path file = directory.resolve(String.format("%s%06d%s", FILE_PREFIX, fileNumber, FILE_SUFFIX));
+        return FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+    }
+
+    private void deleteOldFiles() throws IOException {
+        if (maxFiles <= 0) {
+            return;
+        }
+        List<Path> files = files(directory);
+        for (int i = 0; i < files.size() - maxFiles; i++) {
+            Files.deleteIfExists(files.get(i));
+        }
+    }
+
+    /**
+     * @return the audit files of the directory, oldest first
+     */
+    static List<Path> files(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(file -> fileNumber(file) > 0)
+                    .sorted((left, right) -> Long.compare(fileNumber(left), fileNumber(right)))
+                    .toList();
+        }
+    }
+
+    private static long fileNumber(Path file) {
+        String fileName = file.getFileName().toString();
+        if (!fileName.startsWith(FILE_PREFIX) || !fileName.endsWith(FILE_SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(fileName.substring(FILE_PREFIX.length(), fileName.length() - FILE_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static final class SharedAuditLogHolder {
+        private static final AuditLog AUDIT_LOG = open(AUDIT_CONFIGURATION);
+    }
+}
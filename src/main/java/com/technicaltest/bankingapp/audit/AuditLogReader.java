@@ -0,0 +1,67 @@
+package com.technicaltest.bankingapp.audit;
+
+import com.technicaltest.bankingapp.exception.ApplicationException;
+import lombok.experimental.UtilityClass;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Decodes the files written by {@link AuditLog}.
+ * Run it as {@code java -cp banking-app.jar com.technicaltest.bankingapp.audit.AuditLogReader <directory or file>}
+ * to print one line per record.
+ */
+@UtilityClass
+public class AuditLogReader {
+
+    private static final int RECORDS_PER_READ = 4096;
+
+    public static void main(String[] args) {
+        if (args.length != 1) {
+            System.err.println("Usage: AuditLogReader <audit directory or file>");
+            System.exit(1);
+        }
+        read(Path.of(args[0]), entry -> System.out.println(entry.format()));
+    }
+
+    /**
+     * Reads every record of an audit file, or of every audit file of a directory in the order they were written.
+     * A record cut short by a crash at the end of a file is ignored.
+     *
+     * @return the number of records read
+     */
+    public static long read(Path path, Consumer<AuditEntry> consumer) {
+        try {
+            List<Path> files = Files.isDirectory(path) ? AuditLog.files(path) : List.of(path);
+            long records = 0;
+            for (Path file : files) {
+                records += readFile(file, consumer);
+            }
+            return records;
+        } catch (IOException e) {
+            throw new ApplicationException("Failed to read audit log " + path, e);
+        }
+    }
+
+    private static long readFile(Path file, Consumer<AuditEntry> consumer) throws IOException {
+        long records = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(RECORDS_PER_READ * AuditRecord.SIZE);
+            while (channel.read(buffer) > 0 || buffer.position() >= AuditRecord.SIZE) {
+                buffer.flip();
+                while (buffer.remaining() >= AuditRecord.SIZE) {
+                    consumer.accept(AuditRecord.decode(buffer));
+                    records++;
+                }
+                buffer.compact();
+            }
+        }
+        return records;
+    }
+}
@@ -0,0 +1,49 @@
+package com.technicaltest.bankingapp.audit;
+
+import com.technicaltest.bankingapp.enumeration.AuditEventType;
+import com.technicaltest.bankingapp.enumeration.AuditOutcome;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Reusable slot of the audit ring buffer, encoded as a fixed-size record of {@value #SIZE} bytes:
+ * {@code sequence(8) timestampMillis(8) type(1) outcome(1) reserved(6) accountId(8) counterpartyId(8)
+ * amount(8) balanceAfter(8)}. Amounts are in minor units, absent IDs and balances are 0.
+ */
+final class AuditRecord {
+
+    static final int SIZE = 56;
+    private static final int RESERVED = 6;
+
+    long timestampMillis;
+    AuditEventType type;
+    AuditOutcome outcome;
+    long accountId;
+    long counterpartyId;
+    long amount;
+    long balanceAfter;
+
+    void encode(long sequence, ByteBuffer buffer) {
+        buffer.putLong(sequence)
+                .putLong(timestampMillis)
+                .put((byte) type.ordinal())
+                .put((byte) outcome.ordinal());
+        for (int i = 0; i < RESERVED; i++) {
+            buffer.put((byte) 0);
+        }
+        buffer.putLong(accountId)
+                .putLong(counterpartyId)
+                .putLong(amount)
+                .putLong(balanceAfter);
+    }
+
+    static AuditEntry decode(ByteBuffer buffer) {
+        long sequence = buffer.getLong();
+        long timestampMillis = buffer.getLong();
+        AuditEventType type = AuditEventType.values()[buffer.get()];
+        AuditOutcome outcome = AuditOutcome.values()[buffer.get()];
+        buffer.position(buffer.position() + RESERVED);
+        return new AuditEntry(sequence, timestampMillis, type, outcome,
+                buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong());
+    }
+}
@@ -0,0 +1,67 @@
+package com.technicaltest.bankingapp.concurrency;
+
+import com.technicaltest.bankingapp.config.AsyncConfig;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.technicaltest.bankingapp.config.ConfigLoader.ASYNC_CONFIGURATION;
+
+/**
+ * Executors running the asynchronous service calls.
+ * Virtual threads are looked up reflectively, so the application still builds and runs on Java 17 and gets
+ * one cheap thread per in-flight call as soon as it runs on Java 21 or later.
+ */
+@Slf4j
+@UtilityClass
+public class AsyncExecutors {
+
+    /**
+     * @return the executor shared by the asynchronous services, created from the configuration on first use
+     */
+    public static ExecutorService shared() {
+        return SharedExecutorHolder.EXECUTOR;
+    }
+
+    /**
+     * @return an executor starting a virtual thread per task if requested and available, otherwise a fixed pool
+     * of daemon platform threads
+     */
+    public static ExecutorService create(AsyncConfig config) {
+        if (config.virtualThreads()) {
+            Optional<ExecutorService> virtualThreadExecutor = newVirtualThreadPerTaskExecutor();
+            if (virtualThreadExecutor.isPresent()) {
+                log.info("AsyncExecutors - Running asynchronous calls on virtual threads.");
+                return virtualThreadExecutor.get();
+            }
+            log.info("AsyncExecutors - Virtual threads are not available on Java {}, using platform threads.",
+                    Runtime.version().feature());
+        }
+        int poolSize = config.poolSize() > 0 ? config.poolSize() : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(poolSize, runnable -> {
+            Thread thread = new Thread(runnable, "async-service-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    static Optional<ExecutorService> newVirtualThreadPerTaskExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return Optional.of((ExecutorService) factory.invoke(null));
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static final class SharedExecutorHolder {
+        private static final ExecutorService EXECUTOR = create(ASYNC_CONFIGURATION);
+    }
+}
@@ -0,0 +1,63 @@
+package com.technicaltest.bankingapp.concurrency;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters describing how often optimistic updates collide.
+ * Backed by {@link LongAdder}s so that recording stays cheap on the hot path.
+ */
+public class ContentionStats {
+
+    private final LongAdder commits = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder retriedCommits = new LongAdder();
+    private final LongAdder abandonedUpdates = new LongAdder();
+
+    public void recordCommit(int attempts) {
+        commits.increment();
+        if (attempts > 1) {
+            retriedCommits.increment();
+        }
+    }
+
+    public void recordConflict() {
+        conflicts.increment();
+    }
+
+    public void recordAbandon() {
+        abandonedUpdates.increment();
+    }
+
+    public long getCommits() {
+        return commits.sum();
+    }
+
+    /**
+     * @return number of commits rejected because another writer committed first
+     */
+    public long getConflicts() {
+        return conflicts.sum();
+    }
+
+    /**
+     * @return number of commits that only succeeded after at least one retry
+     */
+    public long getRetriedCommits() {
+        return retriedCommits.sum();
+    }
+
+    /**
+     * @return number of updates given up after exhausting their attempts
+     */
+    public long getAbandonedUpdates() {
+        return abandonedUpdates.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "ContentionStats{commits=" + getCommits()
+                + ", conflicts=" + getConflicts()
+                + ", retriedCommits=" + getRetriedCommits()
+                + ", abandonedUpdates=" + getAbandonedUpdates() + '}';
+    }
+}
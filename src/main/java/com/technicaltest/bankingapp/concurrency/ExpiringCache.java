@@ -0,0 +1,169 @@
+package com.technicaltest.bankingapp.concurrency;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Concurrent cache bounded both in size and in time.
+ * Every entry lives for the same duration, so insertion order is also expiry order: a single FIFO queue
+ * drives both the eviction of the oldest entries when the cache is full and the expiry of stale ones,
+ * each in amortized constant time, with no background thread. The bound may be briefly overshot by the
+ * threads inserting while another one is evicting.
+ */
+public class ExpiringCache<K, V> {
+
+    private final ConcurrentHashMap<K, Node<K, V>> entries = new ConcurrentHashMap<>();
+    private final Queue<Node<K, V>> insertionOrder = new ConcurrentLinkedQueue<>();
+    // Number of nodes in the queue, which include the entries already removed from the map
+    private final AtomicInteger queued = new AtomicInteger();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    public ExpiringCache(int maxEntries, Duration ttl) {
+        this(maxEntries, ttl, System::nanoTime);
+    }
+
+    ExpiringCache(int maxEntries, Duration ttl, LongSupplier clock) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Maximum entry count must be greater than zero.");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.clock = clock;
+    }
+
+    /**
+     * @return the live value of the key, null if absent or expired
+     */
+    public V get(K key) {
+        Node<K, V> node = entries.get(key);
+        if (node == null || isExpired(node, clock.getAsLong())) {
+            if (node != null && entries.remove(key, node)) {
+                expirations.increment();
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return node.value();
+    }
+
+    /**
+     * Stores the value unless the key already has a live one, replacing an expired one.
+     *
+     * @return the live value already stored, null if the given value was stored
+     */
+    public V putIfAbsent(K key, V value) {
+        long now = clock.getAsLong();
+        Node<K, V> node = new Node<>(key, value, now + ttlNanos);
+        while (true) {
+            Node<K, V> existing = entries.putIfAbsent(key, node);
+            if (existing != null && !isExpired(existing, now)) {
+                hits.increment();
+                return existing.value();
+            }
+            if (existing == null || entries.replace(key, existing, node)) {
+                if (existing != null) {
+                    expirations.increment();
+                }
+                misses.increment();
+                insertionOrder.add(node);
+                queued.incrementAndGet();
+                evict(now);
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Removes the key only if it is still mapped to the given value.
+     */
+    public boolean remove(K key, V value) {
+        boolean[] removed = new boolean[1];
+        entries.computeIfPresent(key, (k, node) -> {
+            removed[0] = node.value() == value;
+            return removed[0] ? null : node;
+        });
+        return removed[0];
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return number of live entries dropped to keep the cache within its maximum size
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return number of entries dropped because they outlived their time to live
+     */
+    public long getExpirations() {
+        return expirations.sum();
+    }
+
+    /**
+     * Drops the oldest entries while the cache is over its bound or they are expired.
+     * A single thread evicts at a time, the others leave the work to it instead of waiting.
+     */
+    private void evict(long now) {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            Node<K, V> oldest;
+            while ((oldest = insertionOrder.peek()) != null
+                    && (queued.get() > maxEntries || isExpired(oldest, now))) {
+                insertionOrder.poll();
+                queued.decrementAndGet();
+                if (entries.remove(oldest.key(), oldest)) {
+                    if (isExpired(oldest, now)) {
+                        expirations.increment();
+                    } else {
+                        evictions.increment();
+                    }
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private static boolean isExpired(Node<?, ?> node, long now) {
+        return now - node.expiresAt() >= 0;
+    }
+
+    @Override
+    public String toString() {
+        return "ExpiringCache{size=" + size()
+                + ", hits=" + getHits()
+                + ", misses=" + getMisses()
+                + ", evictions=" + getEvictions()
+                + ", expirations=" + getExpirations() + '}';
+    }
+
+    private record Node<K, V>(K key, V value, long expiresAt) {}
+}
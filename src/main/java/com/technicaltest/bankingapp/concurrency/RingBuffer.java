@@ -0,0 +1,119 @@
+package com.technicaltest.bankingapp.concurrency;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Fixed ring of pre-allocated, reusable slots, filled by any number of producers and handed along a pipeline
+ * of consumer stages, each run by a single thread.
+ * A producer claims the next sequence, fills its slot and publishes it. Stage 0 consumes published slots,
+ * every following stage consumes the slots the previous stage released, and a slot is reused only once
+ * the last stage released it. Sequences are the only coordination: no locks, and no allocation per slot.
+ *
+ * @param <E> type of the slots
+ */
+public class RingBuffer<E> {
+
+    private static final int SPIN_ATTEMPTS = 100;
+    private static final int YIELD_ATTEMPTS = 200;
+    private static final long PARK_NANOS = 50_000;
+
+    private final Object[] slots;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong(-1);
+    // Sequence last published in each slot
+    private final AtomicLongArray published;
+    // Sequence last released by each stage
+    private final AtomicLong[] released;
+
+    public RingBuffer(int minimumSize, int stages, Supplier<E> slotFactory) {
+        if (minimumSize <= 0 || stages <= 0) {
+            throw new IllegalArgumentException("Ring size and stage count must be greater than zero.");
+        }
+        int size = Integer.highestOneBit(minimumSize);
+        if (size < minimumSize) {
+            size <<= 1;
+        }
+        this.slots = new Object[size];
+        this.published = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            slots[i] = slotFactory.get();
+            published.set(i, -1);
+        }
+        this.mask = size - 1;
+        this.released = new AtomicLong[stages];
+        for (int i = 0; i < stages; i++) {
+            released[i] = new AtomicLong(-1);
+        }
+    }
+
+    /**
+     * Claims the next sequence, waiting while the ring is full.
+     */
+    public long claim() {
+        long sequence = claimed.incrementAndGet();
+        AtomicLong lastStage = released[released.length - 1];
+        for (int attempt = 0; sequence - slots.length > lastStage.get(); attempt++) {
+            backOff(attempt);
+        }
+        return sequence;
+    }
+
+    @SuppressWarnings("unchecked")
+    public E get(long sequence) {
+        return (E) slots[(int) sequence & mask];
+    }
+
+    /**
+     * Makes the slot of a claimed sequence visible to stage 0.
+     */
+    public void publish(long sequence) {
+        published.set((int) sequence & mask, sequence);
+    }
+
+    /**
+     * @return the last sequence claimed by a producer, published or not
+     */
+    public long getClaimed() {
+        return claimed.get();
+    }
+
+    /**
+     * @return the highest sequence up to {@code maximum} such that every slot from {@code from} is available to
+     * the stage, or {@code from - 1} if the slot of {@code from} is not
+     */
+    public long available(int stage, long from, long maximum) {
+        if (stage > 0) {
+            return Math.min(released[stage - 1].get(), maximum);
+        }
+        long sequence = from;
+        while (sequence <= maximum && published.get((int) sequence & mask) == sequence) {
+            sequence++;
+        }
+        return sequence - 1;
+    }
+
+    /**
+     * Hands every slot up to {@code sequence} over to the next stage, or back to the producers after the last stage.
+     */
+    public void release(int stage, long sequence) {
+        released[stage].set(sequence);
+    }
+
+    /**
+     * Waits for progress of another thread: spins first, then yields, then parks briefly.
+     *
+     * @param attempt the number of attempts that found no progress so far
+     */
+    public static void backOff(int attempt) {
+        if (attempt < SPIN_ATTEMPTS) {
+            Thread.onSpinWait();
+        } else if (attempt < YIELD_ATTEMPTS) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+    }
+}
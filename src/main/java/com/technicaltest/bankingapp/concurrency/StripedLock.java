@@ -0,0 +1,91 @@
+package com.technicaltest.bankingapp.concurrency;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Fixed-size registry of locks shared by keys hashing to the same stripe.
+ * Memory stays bounded whatever the number of accounts, while independent keys
+ * almost always map to different stripes and can proceed in parallel.
+ */
+public class StripedLock {
+
+    private final ReentrantLock[] locks;
+    private final int mask;
+
+    public StripedLock(int minimumStripes) {
+        if (minimumStripes <= 0) {
+            throw new IllegalArgumentException("Stripe count must be greater than zero.");
+        }
+        int stripes = Integer.highestOneBit(minimumStripes);
+        if (stripes < minimumStripes) {
+            stripes <<= 1;
+        }
+        this.locks = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.mask = stripes - 1;
+    }
+
+    /**
+     * Creates a registry sized for the number of available cores.
+     */
+    public static StripedLock forAvailableProcessors() {
+        return new StripedLock(Runtime.getRuntime().availableProcessors() * 16);
+    }
+
+    public ReentrantLock lockFor(long key) {
+        return locks[indexFor(key)];
+    }
+
+    /**
+     * Returns the distinct locks guarding the given keys, ordered by stripe.
+     * Every caller acquiring several stripes in this order, and releasing them in reverse,
+     * can never deadlock with another one, whatever order it was given the keys in.
+     */
+    public List<ReentrantLock> orderedLocksFor(long... keys) {
+        int[] indexes = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            indexes[i] = indexFor(keys[i]);
+        }
+        Arrays.sort(indexes);
+        List<ReentrantLock> ordered = new ArrayList<>(keys.length);
+        for (int i = 0; i < indexes.length; i++) {
+            if (i == 0 || indexes[i] != indexes[i - 1]) {
+                ordered.add(locks[indexes[i]]);
+            }
+        }
+        return ordered;
+    }
+
+    public <R> R withLock(long key, Supplier<R> action) {
+        ReentrantLock lock = lockFor(key);
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void withLock(long key, Runnable action) {
+        withLock(key, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public int stripeCount() {
+        return locks.length;
+    }
+
+    int indexFor(long key) {
+        // Spread the high bits so that strided keys do not pile up on the same stripe
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
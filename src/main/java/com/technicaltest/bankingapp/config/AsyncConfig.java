@@ -0,0 +1,7 @@
+package com.technicaltest.bankingapp.config;
+
+/**
+ * @param virtualThreads whether asynchronous service calls run one virtual thread each, when the runtime has them
+ * @param poolSize       number of platform threads running asynchronous service calls otherwise, 0 for one per core
+ */
+public record AsyncConfig(boolean virtualThreads, int poolSize) {}
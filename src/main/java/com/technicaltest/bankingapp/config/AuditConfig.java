@@ -0,0 +1,12 @@
+package com.technicaltest.bankingapp.config;
+
+import java.nio.file.Path;
+
+/**
+ * @param enabled      whether service operations are written to the audit log
+ * @param directory    directory holding the rolling audit files
+ * @param bufferSize   number of records the ring buffer holds before callers wait for the writer
+ * @param maxFileBytes size after which the writer rolls over to a new file
+ * @param maxFiles     number of audit files kept, the oldest being deleted first, 0 to keep them all
+ */
+public record AuditConfig(boolean enabled, Path directory, int bufferSize, long maxFileBytes, int maxFiles) {}
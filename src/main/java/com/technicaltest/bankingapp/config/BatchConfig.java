@@ -0,0 +1,9 @@
+package com.technicaltest.bankingapp.config;
+
+/**
+ * @param parallelism number of threads running the commands of a batch, 1 to run them in order on the reading thread
+ * @param segmentSize maximum number of commands read ahead and run in parallel before their results are written
+ * @param engine      whether deposits and withdrawals go through a {@link com.technicaltest.bankingapp.service.TransactionEngine}
+ *                    with {@code parallelism} partitions instead of the batch threads
+ */
+public record BatchConfig(int parallelism, int segmentSize, boolean engine) {}
@@ -1,11 +1,13 @@
 package com.technicaltest.bankingapp.config;
 
+import com.technicaltest.bankingapp.enumeration.WireProtocol;
 import com.technicaltest.bankingapp.exception.ApplicationException;
 import lombok.experimental.UtilityClass;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.math.BigDecimal;
+import java.nio.file.Path;
 import java.util.Properties;
 
 @UtilityClass
@@ -13,19 +15,178 @@ public class ConfigLoader {
 
     private static final String CONFIG_FILE = "application.properties";
     public static final Config CONFIGURATION = loadConfig();
+    public static final JournalConfig JOURNAL_CONFIGURATION = loadJournalConfig();
+    public static final SnapshotConfig SNAPSHOT_CONFIGURATION = loadSnapshotConfig();
+    public static final EventSourcingConfig EVENT_SOURCING_CONFIGURATION = loadEventSourcingConfig();
+    public static final AsyncConfig ASYNC_CONFIGURATION = loadAsyncConfig();
+    public static final ShardConfig SHARD_CONFIGURATION = loadShardConfig();
+    public static final IdempotencyConfig IDEMPOTENCY_CONFIGURATION = loadIdempotencyConfig();
+    public static final MetricsConfig METRICS_CONFIGURATION = loadMetricsConfig();
+    public static final AuditConfig AUDIT_CONFIGURATION = loadAuditConfig();
+    public static final BatchConfig BATCH_CONFIGURATION = loadBatchConfig();
+    public static final ServerConfig SERVER_CONFIGURATION = loadServerConfig();
 
     public static Config loadConfig() {
-        var properties = new Properties();
-        try (InputStream input = ConfigLoader.class.getClassLoader().getResourceAsStream(CONFIG_FILE)) {
-            properties.load(input);
+        try {
+            var properties = loadProperties();
 
             // Parse values from the properties file
             BigDecimal savingsInterestRate = new BigDecimal(properties.getProperty("savings.account.interest-rate"));
             BigDecimal savingsWithdrawMonthlyLimit = new BigDecimal(properties.getProperty("savings.account.withdraw-monthly-limit"));
 
             return new Config(savingsInterestRate, savingsWithdrawMonthlyLimit);
+        } catch (NullPointerException | NumberFormatException e) {
+            throw new ApplicationException("Failed to load configuration", e);
+        }
+    }
+
+    public static JournalConfig loadJournalConfig() {
+        try {
+            var properties = loadProperties();
+
+            boolean enabled = Boolean.parseBoolean(properties.getProperty("journal.enabled", "false"));
+            Path directory = Path.of(properties.getProperty("journal.directory", "data"));
+            int maxBatchSize = Integer.parseInt(properties.getProperty("journal.group-commit.max-batch-size", "512"));
+            long maxDelayMicros = Long.parseLong(properties.getProperty("journal.group-commit.max-delay-micros", "200"));
+
+            return new JournalConfig(enabled, directory, maxBatchSize, maxDelayMicros);
+        } catch (NumberFormatException e) {
+            throw new ApplicationException("Failed to load journal configuration", e);
+        }
+    }
+
+    public static SnapshotConfig loadSnapshotConfig() {
+        try {
+            var properties = loadProperties();
+
+            boolean enabled = Boolean.parseBoolean(properties.getProperty("snapshot.enabled", "false"));
+            Path directory = Path.of(properties.getProperty("snapshot.directory", "data"));
+            long intervalSeconds = Long.parseLong(properties.getProperty("snapshot.interval-seconds", "300"));
+            int loadParallelism = Integer.parseInt(properties.getProperty("snapshot.load-parallelism", "0"));
+
+            return new SnapshotConfig(enabled, directory, intervalSeconds, loadParallelism);
+        } catch (NumberFormatException e) {
+            throw new ApplicationException("Failed to load snapshot configuration", e);
+        }
+    }
+
+    public static EventSourcingConfig loadEventSourcingConfig() {
+        try {
+            var properties = loadProperties();
+
+            boolean enabled = Boolean.parseBoolean(properties.getProperty("event-sourcing.enabled", "false"));
+            int replayParallelism = Integer.parseInt(properties.getProperty("event-sourcing.replay-parallelism", "0"));
+
+            return new EventSourcingConfig(enabled, replayParallelism);
+        } catch (NumberFormatException e) {
+            throw new ApplicationException("Failed to load event sourcing configuration", e);
+        }
+    }
+
+    public static AsyncConfig loadAsyncConfig() {
+        try {
+            var properties = loadProperties();
+
+            boolean virtualThreads = Boolean.parseBoolean(properties.getProperty("async.virtual-threads", "true"));
+            int poolSize = Integer.parseInt(properties.getProperty("async.pool-size", "0"));
+
+            return new AsyncConfig(virtualThreads, poolSize);
+        } catch (NumberFormatException e) {
+            throw new ApplicationException("Failed to load async configuration", e);
+        }
+    }
+
+    public static ShardConfig loadShardConfig() {
+        try {
+            var properties = loadProperties();
+
+            int count = Integer.parseInt(properties.getProperty("shards.count", "1"));
+
+            return new ShardConfig(count);
+        } catch (NumberFormatException e) {
+            throw new ApplicationException("Failed to load shard configuration", e);
+        }
+    }
+
+    public static IdempotencyConfig loadIdempotencyConfig() {
+        try {
+            var properties = loadProperties();
+
+            int maxEntries = Integer.parseInt(properties.getProperty("idempotency.max-entries", "100000"));
+            long ttlSeconds = Long.parseLong(properties.getProperty("idempotency.ttl-seconds", "86400"));
+
+            return new IdempotencyConfig(maxEntries, ttlSeconds);
+        } catch (NumberFormatException e) {
+            throw new ApplicationException("Failed to load idempotency configuration", e);
+        }
+    }
+
+    public static MetricsConfig loadMetricsConfig() {
+        try {
+            var properties = loadProperties();
+
+            boolean jmxEnabled = Boolean.parseBoolean(properties.getProperty("metrics.jmx.enabled", "true"));
+            long dumpIntervalSeconds = Long.parseLong(properties.getProperty("metrics.dump-interval-seconds", "0"));
+
+            return new MetricsConfig(jmxEnabled, dumpIntervalSeconds);
+        } catch (NumberFormatException e) {
+            throw new ApplicationException("Failed to load metrics configuration", e);
+        }
+    }
+
+    public static AuditConfig loadAuditConfig() {
+        try {
+            var properties = loadProperties();
+
+            boolean enabled = Boolean.parseBoolean(properties.getProperty("audit.enabled", "false"));
+            Path directory = Path.of(properties.getProperty("audit.directory", "data/audit"));
+            int bufferSize = Integer.parseInt(properties.getProperty("audit.buffer-size", "65536"));
+            long maxFileBytes = Long.parseLong(properties.getProperty("audit.max-file-bytes", "67108864"));
+            int maxFiles = Integer.parseInt(properties.getProperty("audit.max-files", "0"));
+
+            return new AuditConfig(enabled, directory, bufferSize, maxFileBytes, maxFiles);
+        } catch (NumberFormatException e) {
+            throw new ApplicationException("Failed to load audit configuration", e);
+        }
+    }
+
+    public static BatchConfig loadBatchConfig() {
+        try {
+            var properties = loadProperties();
+
+            int parallelism = Integer.parseInt(properties.getProperty("batch.parallelism", "1"));
+            int segmentSize = Integer.parseInt(properties.getProperty("batch.segment-size", "4096"));
+            boolean engine = Boolean.parseBoolean(properties.getProperty("batch.engine", "false"));
+
+            return new BatchConfig(parallelism, segmentSize, engine);
+        } catch (NumberFormatException e) {
+            throw new ApplicationException("Failed to load batch configuration", e);
+        }
+    }
+
+    public static ServerConfig loadServerConfig() {
+        try {
+            var properties = loadProperties();
+
+            String host = properties.getProperty("server.host", "localhost");
+            int port = Integer.parseInt(properties.getProperty("server.port", "7070"));
+            int workers = Integer.parseInt(properties.getProperty("server.workers", "0"));
+            int maxFrameBytes = Integer.parseInt(properties.getProperty("server.max-frame-bytes", "65536"));
+            WireProtocol protocol = WireProtocol.valueOf(properties.getProperty("server.protocol", "text").toUpperCase());
+
+            return new ServerConfig(host, port, workers, maxFrameBytes, protocol);
+        } catch (IllegalArgumentException e) {
+            throw new ApplicationException("Failed to load server configuration", e);
+        }
+    }
+
+    private static Properties loadProperties() {
+        var properties = new Properties();
+        try (InputStream input = ConfigLoader.class.getClassLoader().getResourceAsStream(CONFIG_FILE)) {
+            properties.load(input);
+            return properties;
         } catch (IOException | NullPointerException e) {
             throw new ApplicationException("Failed to load configuration", e);
         }
     }
-}
\ No newline at end of file
+}
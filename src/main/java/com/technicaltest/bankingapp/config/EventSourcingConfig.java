@@ -0,0 +1,8 @@
+package com.technicaltest.bankingapp.config;
+
+/**
+ * @param enabled            whether the account journal records domain events instead of account states,
+ *                           account state being rebuilt on startup by projecting the events onto the latest snapshot
+ * @param replayParallelism  number of threads projecting events on startup, 0 for one per core
+ */
+public record EventSourcingConfig(boolean enabled, int replayParallelism) {}
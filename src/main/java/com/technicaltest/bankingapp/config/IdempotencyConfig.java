@@ -0,0 +1,7 @@
+package com.technicaltest.bankingapp.config;
+
+/**
+ * @param maxEntries maximum number of idempotency keys remembered, the oldest being evicted first
+ * @param ttlSeconds how long the outcome of a request is remembered for retries
+ */
+public record IdempotencyConfig(int maxEntries, long ttlSeconds) {}
@@ -0,0 +1,12 @@
+package com.technicaltest.bankingapp.config;
+
+import java.nio.file.Path;
+
+/**
+ * @param enabled         whether repository writes are journaled and replayed on startup
+ * @param directory       directory holding one journal file per entity type
+ * @param maxBatchSize    maximum number of records made durable by a single fsync
+ * @param maxDelayMicros  how long the writer waits for a batch to fill before syncing it;
+ *                        0 syncs whatever is pending right away, favouring latency over throughput
+ */
+public record JournalConfig(boolean enabled, Path directory, int maxBatchSize, long maxDelayMicros) {}
@@ -0,0 +1,7 @@
+package com.technicaltest.bankingapp.config;
+
+/**
+ * @param jmxEnabled          whether the metrics of each operation are registered as an MBean
+ * @param dumpIntervalSeconds delay between two text dumps of the metrics to the log, 0 to never dump them
+ */
+public record MetricsConfig(boolean jmxEnabled, long dumpIntervalSeconds) {}
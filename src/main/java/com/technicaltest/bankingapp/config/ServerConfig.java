@@ -0,0 +1,12 @@
+package com.technicaltest.bankingapp.config;
+
+import com.technicaltest.bankingapp.enumeration.WireProtocol;
+
+/**
+ * @param host          address the server listens on
+ * @param port          port the server listens on, 0 for any free port
+ * @param workers       number of threads running the requests, 0 for one per available processor
+ * @param maxFrameBytes largest request accepted, a connection sending a larger one is closed
+ * @param protocol      encoding of the requests and responses
+ */
+public record ServerConfig(String host, int port, int workers, int maxFrameBytes, WireProtocol protocol) {}
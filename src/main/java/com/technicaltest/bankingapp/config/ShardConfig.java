@@ -0,0 +1,6 @@
+package com.technicaltest.bankingapp.config;
+
+/**
+ * @param count number of shards the entities and their processing are split into, 1 to keep a single collection
+ */
+public record ShardConfig(int count) {}
@@ -0,0 +1,11 @@
+package com.technicaltest.bankingapp.config;
+
+import java.nio.file.Path;
+
+/**
+ * @param enabled         whether snapshots are loaded on startup and written periodically and on shutdown
+ * @param directory       directory holding one snapshot file per entity type
+ * @param intervalSeconds delay between two periodic snapshots
+ * @param loadParallelism number of threads parsing a snapshot on startup, 0 for one per core
+ */
+public record SnapshotConfig(boolean enabled, Path directory, long intervalSeconds, int loadParallelism) {}
@@ -0,0 +1,63 @@
+package com.technicaltest.bankingapp.console;
+
+import com.technicaltest.bankingapp.dto.TransactionResultDTO;
+import com.technicaltest.bankingapp.enumeration.BatchCommandType;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A parsed batch command and the line of output it produced.
+ * Slots are reused from one segment of commands to the next, so only the fields of the current type are set.
+ */
+public final class BatchCommand {
+
+    long lineNumber;
+    // Null once the command is done, e.g. when its line could not be parsed
+    BatchCommandType type;
+    long accountId;
+    long counterpartyId;
+    long amount;
+    int accountType;
+    String ownerName;
+    boolean failed;
+    // Reply of the transaction engine the command was published to, until its result is written
+    CompletableFuture<TransactionResultDTO> reply;
+    final StringBuilder output = new StringBuilder(64);
+
+    /**
+     * Clears the slot for the command of a line.
+     */
+    public void reset(long lineNumber) {
+        this.lineNumber = lineNumber;
+        this.type = null;
+        this.accountId = 0;
+        this.counterpartyId = 0;
+        this.amount = 0;
+        this.accountType = 0;
+        this.ownerName = null;
+        this.failed = false;
+        this.reply = null;
+        this.output.setLength(0);
+    }
+
+    /**
+     * @return the result line of the command once it ran
+     */
+    public StringBuilder getOutput() {
+        return output;
+    }
+
+    public boolean isFailed() {
+        return failed;
+    }
+
+    /**
+     * Marks the command as done and failed, replacing its output with an error line.
+     */
+    public void fail(String message) {
+        type = null;
+        failed = true;
+        output.setLength(0);
+        output.append("ERROR line ").append(lineNumber).append(": ").append(message);
+    }
+}
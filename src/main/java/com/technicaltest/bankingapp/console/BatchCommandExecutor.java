@@ -0,0 +1,110 @@
+package com.technicaltest.bankingapp.console;
+
+import com.technicaltest.bankingapp.dto.AccountDTO;
+import com.technicaltest.bankingapp.dto.TransactionOperationDTO;
+import com.technicaltest.bankingapp.dto.TransactionResultDTO;
+import com.technicaltest.bankingapp.enumeration.BatchCommandType;
+import com.technicaltest.bankingapp.exception.BusinessException;
+import com.technicaltest.bankingapp.service.AccountService;
+import com.technicaltest.bankingapp.service.TransactionService;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CompletionException;
+
+import static com.technicaltest.bankingapp.utils.MoneyUtils.appendAmount;
+import static com.technicaltest.bankingapp.utils.MoneyUtils.toBigDecimal;
+import static com.technicaltest.bankingapp.utils.ValidationUtils.requirePositiveNumber;
+
+/**
+ * Runs parsed {@link BatchCommand}s through the account services and writes their result line into them:
+ * {@code OK <command> <fields>}, or {@code ERROR line <n>: <message>} when the services reject the command.
+ * An executor holds no state of its own, so it can be shared by threads running different commands.
+ */
+@Slf4j
+public class BatchCommandExecutor {
+
+    private final AccountService accountService;
+    private final TransactionService transactionService;
+
+    public BatchCommandExecutor(AccountService accountService, TransactionService transactionService) {
+        this.accountService = accountService;
+        this.transactionService = transactionService;
+    }
+
+    /**
+     * Runs the command, unless it is already done.
+     */
+    public void execute(BatchCommand command) {
+        if (command.type == null) {
+            return;
+        }
+        StringBuilder output = command.output;
+        try {
+            output.append("OK ").append(command.type.getKeyword()).append(' ');
+            switch (command.type) {
+                case CREATE -> {
+                    requirePositiveNumber(command.amount, "Initial Balance");
+                    AccountDTO account = accountService.createAccount(command.ownerName, toBigDecimal(command.amount),
+                            command.accountType);
+                    output.append(account.getId()).append(' ').append(account.getAccountType());
+                }
+                case DEPOSIT -> {
+                    transactionService.depositMoney(command.accountId, command.amount);
+                    appendAmount(output.append(command.accountId).append(' '), command.amount);
+                }
+                case WITHDRAW -> {
+                    transactionService.withdrawMoney(command.accountId, command.amount);
+                    appendAmount(output.append(command.accountId).append(' '), command.amount);
+                }
+                case TRANSFER -> {
+                    transactionService.transfer(command.accountId, command.counterpartyId, command.amount);
+                    output.append(command.accountId).append(' ').append(command.counterpartyId).append(' ');
+                    appendAmount(output, command.amount);
+                }
+                case BALANCE -> appendAmount(output.append(command.accountId).append(' '),
+                        transactionService.getBalance(command.accountId));
+                case INTEREST -> appendAmount(output.append(command.accountId).append(' '),
+                        transactionService.calculateInterest(command.accountId));
+            }
+        } catch (BusinessException e) {
+            command.fail(e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("BatchCommandExecutor - Command of line {} failed.", command.lineNumber, e);
+            command.fail("An unexpected error occurred: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return whether the command is a deposit or a withdrawal, which a transaction engine can run
+     */
+    public static boolean isEngineOperation(BatchCommand command) {
+        return command.type == BatchCommandType.DEPOSIT || command.type == BatchCommandType.WITHDRAW;
+    }
+
+    public static TransactionOperationDTO toOperation(BatchCommand command) {
+        return command.type == BatchCommandType.DEPOSIT
+                ? TransactionOperationDTO.deposit(command.accountId, command.amount)
+                : TransactionOperationDTO.withdrawal(command.accountId, command.amount);
+    }
+
+    /**
+     * Waits for the reply of a deposit or withdrawal submitted without waiting and writes its result line.
+     */
+    public void complete(BatchCommand command) {
+        StringBuilder output = command.output;
+        try {
+            TransactionResultDTO result = command.reply.join();
+            if (result.isSuccessful()) {
+                output.append("OK ").append(command.type.getKeyword()).append(' ').append(command.accountId).append(' ');
+                appendAmount(output, command.amount);
+            } else {
+                command.fail(result.getErrorMessage());
+            }
+        } catch (CompletionException e) {
+            log.error("BatchCommandExecutor - Command of line {} failed.", command.lineNumber, e.getCause());
+            command.fail("An unexpected error occurred: " + e.getCause().getMessage());
+        } finally {
+            command.reply = null;
+        }
+    }
+}
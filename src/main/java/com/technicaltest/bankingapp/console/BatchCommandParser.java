@@ -0,0 +1,188 @@
+package com.technicaltest.bankingapp.console;
+
+import com.technicaltest.bankingapp.enumeration.BatchCommandType;
+import com.technicaltest.bankingapp.exception.InvalidOperationException;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static com.technicaltest.bankingapp.utils.MoneyUtils.SCALE;
+import static com.technicaltest.bankingapp.utils.MoneyUtils.toMinorUnits;
+
+/**
+ * Parses the lines of the batch mode directly from their bytes, without regular expressions, intermediate
+ * strings or {@link BigDecimal}s. Fields are separated by spaces or tabs:
+ * <pre>
+ * create &lt;1 for checking, 2 for savings&gt; &lt;initial balance&gt; &lt;owner name&gt;
+ * deposit &lt;account ID&gt; &lt;amount&gt;
+ * withdraw &lt;account ID&gt; &lt;amount&gt;
+ * transfer &lt;from account ID&gt; &lt;to account ID&gt; &lt;amount&gt;
+ * balance &lt;account ID&gt;
+ * interest &lt;account ID&gt;
+ * </pre>
+ * Blank lines and lines starting with {@code #} are skipped. Amounts with more than {@link com.technicaltest.bankingapp.utils.MoneyUtils#SCALE}
+ * decimals are rounded like the interactive console rounds them.
+ * A parser keeps the position in the current line, so each thread parses with its own parser.
+ */
+public final class BatchCommandParser {
+
+    private static final BatchCommandType[] TYPES = BatchCommandType.values();
+
+    private byte[] line;
+    private int position;
+    private int end;
+
+    /**
+     * @return false if the line holds no command
+     * @throws InvalidOperationException if the line is not a valid command
+     */
+    public boolean parse(byte[] line, int start, int end, BatchCommand command) {
+        this.line = line;
+        this.position = start;
+        this.end = end;
+        skipBlanks();
+        if (position == end || line[position] == '#') {
+            return false;
+        }
+
+        BatchCommandType type = parseType();
+        switch (type) {
+            case CREATE -> {
+                command.accountType = parseInt("account type");
+                command.amount = parseAmount("initial balance");
+                command.ownerName = parseRemainder("owner name");
+            }
+            case DEPOSIT, WITHDRAW -> {
+                command.accountId = parseLong("account ID");
+                command.amount = parseAmount("amount");
+            }
+            case TRANSFER -> {
+                command.accountId = parseLong("account ID");
+                command.counterpartyId = parseLong("account ID");
+                command.amount = parseAmount("amount");
+            }
+            case BALANCE, INTEREST -> command.accountId = parseLong("account ID");
+        }
+        skipBlanks();
+        if (position != end) {
+            throw new InvalidOperationException("Unexpected text after the " + type.getKeyword() + " command.");
+        }
+        command.type = type;
+        return true;
+    }
+
+    private BatchCommandType parseType() {
+        int tokenStart = position;
+        int tokenEnd = tokenEnd();
+        for (BatchCommandType type : TYPES) {
+            if (type.matches(line, tokenStart, tokenEnd)) {
+                position = tokenEnd;
+                return type;
+            }
+        }
+        throw new InvalidOperationException("Unknown command " + text(tokenStart, tokenEnd) + ".");
+    }
+
+    private int parseInt(String field) {
+        int tokenStart = position;
+        long value = parseLong(field);
+        if (value > Integer.MAX_VALUE) {
+            throw new InvalidOperationException("Invalid " + field + " " + text(tokenStart, position).trim() + ".");
+        }
+        return (int) value;
+    }
+
+    private long parseLong(String field) {
+        int tokenStart = nextToken(field);
+        int tokenEnd = tokenEnd();
+        long value = 0;
+        for (int i = tokenStart; i < tokenEnd; i++) {
+            int digit = line[i] - '0';
+            if (digit < 0 || digit > 9 || value > (Long.MAX_VALUE - digit) / 10) {
+                throw new InvalidOperationException("Invalid " + field + " " + text(tokenStart, tokenEnd) + ".");
+            }
+            value = value * 10 + digit;
+        }
+        position = tokenEnd;
+        return value;
+    }
+
+    private long parseAmount(String field) {
+        int tokenStart = nextToken(field);
+        int tokenEnd = tokenEnd();
+        long value = 0;
+        int decimals = -1;
+        for (int i = tokenStart; i < tokenEnd; i++) {
+            byte character = line[i];
+            if (character == '.' && decimals < 0 && i > tokenStart) {
+                decimals = 0;
+                continue;
+            }
+            int digit = character - '0';
+            if (digit < 0 || digit > 9) {
+                throw new InvalidOperationException("Invalid " + field + " " + text(tokenStart, tokenEnd) + ".");
+            }
+            if (decimals >= SCALE || value > (Long.MAX_VALUE - digit) / 10) {
+                // Too precise or too large for the fast path, rounded and range-checked like the console does
+                position = tokenEnd;
+                try {
+                    return toMinorUnits(new BigDecimal(text(tokenStart, tokenEnd)));
+                } catch (NumberFormatException e) {
+                    throw new InvalidOperationException("Invalid " + field + " " + text(tokenStart, tokenEnd) + ".");
+                }
+            }
+            value = value * 10 + digit;
+            if (decimals >= 0) {
+                decimals++;
+            }
+        }
+        position = tokenEnd;
+        for (int i = Math.max(decimals, 0); i < SCALE; i++) {
+            if (value > Long.MAX_VALUE / 10) {
+                throw new InvalidOperationException("Amount " + text(tokenStart, tokenEnd) + " is out of range.");
+            }
+            value *= 10;
+        }
+        return value;
+    }
+
+    private String parseRemainder(String field) {
+        int tokenStart = nextToken(field);
+        int tokenEnd = end;
+        while (isBlank(line[tokenEnd - 1])) {
+            tokenEnd--;
+        }
+        position = end;
+        return new String(line, tokenStart, tokenEnd - tokenStart, StandardCharsets.UTF_8);
+    }
+
+    private int nextToken(String field) {
+        skipBlanks();
+        if (position == end) {
+            throw new InvalidOperationException("Missing " + field + ".");
+        }
+        return position;
+    }
+
+    private int tokenEnd() {
+        int tokenEnd = position;
+        while (tokenEnd < end && !isBlank(line[tokenEnd])) {
+            tokenEnd++;
+        }
+        return tokenEnd;
+    }
+
+    private void skipBlanks() {
+        while (position < end && isBlank(line[position])) {
+            position++;
+        }
+    }
+
+    private String text(int start, int end) {
+        return new String(line, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    private static boolean isBlank(byte character) {
+        return character == ' ' || character == '\t';
+    }
+}
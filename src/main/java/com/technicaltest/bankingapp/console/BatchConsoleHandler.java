@@ -0,0 +1,299 @@
+package com.technicaltest.bankingapp.console;
+
+import com.technicaltest.bankingapp.database.InMemoryDatabase;
+import com.technicaltest.bankingapp.database.ShardedEntityStore;
+import com.technicaltest.bankingapp.exception.ApplicationException;
+import com.technicaltest.bankingapp.exception.BusinessException;
+import com.technicaltest.bankingapp.model.Account;
+import com.technicaltest.bankingapp.service.AccountService;
+import com.technicaltest.bankingapp.service.OperationSubmitter;
+import com.technicaltest.bankingapp.service.ShardedTransactionService;
+import com.technicaltest.bankingapp.service.TransactionEngine;
+import com.technicaltest.bankingapp.service.TransactionService;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.technicaltest.bankingapp.config.ConfigLoader.BATCH_CONFIGURATION;
+
+/**
+ * Non-interactive counterpart of {@link ConsoleHandler}: runs the commands of a stream, one per line in the
+ * format of {@link BatchCommandParser}, through the same services and writes one line of result per command,
+ * in the order of the commands: {@code OK <command> ...} or {@code ERROR line <n>: <message>}.
+ * Lines are parsed from a reused byte buffer and results are written through a reused character buffer, so a
+ * steady stream of commands allocates next to nothing besides what the services themselves allocate.
+ * <p>
+ * With a parallelism above 1, up to a segment of consecutive single-account commands is read ahead and run by
+ * that many threads, each thread running the commands of its own accounts in their original order. Creations
+ * and transfers, which involve new or several accounts, end the segment and run alone once it is done.
+ * <p>
+ * With the engine enabled, the deposits and withdrawals of a segment are instead published to a
+ * {@link TransactionEngine} without waiting, so that its writers batch them and share journal syncs. When the
+ * accounts are sharded, they go to a {@link ShardedTransactionService} instead, whose shard threads line up with
+ * the shards of the collection. Their replies are awaited, in order, before any other command of the segment runs,
+ * which keeps every account in order.
+ */
+@Slf4j
+public class BatchConsoleHandler {
+
+    private static final int READ_BUFFER_SIZE = 1 << 16;
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+
+    private final TransactionService transactionService;
+    private final BatchCommandExecutor commandExecutor;
+    private final int parallelism;
+    private final int segmentSize;
+    private final boolean useEngine;
+    private final BatchCommandParser parser = new BatchCommandParser();
+    private char[] outputChars = new char[128];
+
+    public BatchConsoleHandler() {
+        this(new AccountService(), new TransactionService(), BATCH_CONFIGURATION.parallelism(), BATCH_CONFIGURATION.segmentSize(),
+                BATCH_CONFIGURATION.engine());
+    }
+
+    public BatchConsoleHandler(AccountService accountService, TransactionService transactionService, int parallelism,
+                               int segmentSize) {
+        this(accountService, transactionService, parallelism, segmentSize, false);
+    }
+
+    public BatchConsoleHandler(AccountService accountService, TransactionService transactionService, int parallelism,
+                               int segmentSize, boolean useEngine) {
+        if (parallelism <= 0 || segmentSize <= 0) {
+            throw new IllegalArgumentException("Batch parallelism and segment size must be greater than zero.");
+        }
+        this.transactionService = transactionService;
+        this.commandExecutor = new BatchCommandExecutor(accountService, transactionService);
+        this.parallelism = parallelism;
+        this.segmentSize = segmentSize;
+        this.useEngine = useEngine;
+    }
+
+    /**
+     * Runs every command of the input and writes their results to the output, which is flushed but not closed.
+     *
+     * @return the number of commands run, including the failed ones
+     */
+    public long run(InputStream input, OutputStream output) {
+        long startNanos = System.nanoTime();
+        OperationSubmitter engine = useEngine ? newEngine() : null;
+        ExecutorService executor = parallelism > 1 && engine == null ? newExecutor() : null;
+        Segment segment = new Segment(parallelism > 1 || engine != null ? segmentSize : 1);
+        try {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+            byte[] buffer = new byte[READ_BUFFER_SIZE];
+            int start = 0;
+            int limit = 0;
+            long lineNumber = 0;
+            boolean endOfInput = false;
+            while (!endOfInput || start < limit) {
+                int lineEnd = indexOf(buffer, '\n', start, limit);
+                if (lineEnd < 0 && !endOfInput) {
+                    if (start > 0) {
+                        System.arraycopy(buffer, start, buffer, 0, limit - start);
+                        limit -= start;
+                        start = 0;
+                    } else if (limit == buffer.length) {
+                        buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                    }
+                    int read = input.read(buffer, limit, buffer.length - limit);
+                    if (read < 0) {
+                        endOfInput = true;
+                    } else {
+                        limit += read;
+                    }
+                    continue;
+                }
+                int next = lineEnd < 0 ? limit : lineEnd + 1;
+                int end = lineEnd < 0 ? limit : lineEnd;
+                if (end > start && buffer[end - 1] == '\r') {
+                    end--;
+                }
+                lineNumber++;
+                accept(buffer, start, end, lineNumber, segment, engine, executor, writer);
+                start = next;
+            }
+            runSegment(segment, engine, executor, writer);
+            writer.flush();
+        } catch (IOException e) {
+            throw new ApplicationException("Failed to run batch commands", e);
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+            if (engine != null) {
+                engine.close();
+            }
+        }
+        log.info("BatchConsoleHandler - Ran {} commands, {} failed, in {} ms.", segment.commands, segment.failures,
+                (System.nanoTime() - startNanos) / 1_000_000);
+        return segment.commands;
+    }
+
+    private void accept(byte[] buffer, int start, int end, long lineNumber, Segment segment, OperationSubmitter engine,
+                        ExecutorService executor, Writer writer) throws IOException {
+        BatchCommand command = segment.next();
+        command.reset(lineNumber);
+        try {
+            if (!parser.parse(buffer, start, end, command)) {
+                return;
+            }
+        } catch (BusinessException e) {
+            command.fail(e.getMessage());
+        }
+        if (command.type != null && !command.type.isSingleAccount()) {
+            // Runs alone, after the commands read before it and before the ones read after it
+            runSegment(segment, engine, executor, writer);
+            commandExecutor.execute(command);
+            write(command, segment, writer);
+            return;
+        }
+        segment.count++;
+        if (segment.count == segment.size) {
+            runSegment(segment, engine, executor, writer);
+        }
+    }
+
+    private void runSegment(Segment segment, OperationSubmitter engine, ExecutorService executor, Writer writer)
+            throws IOException {
+        if (segment.count == 0) {
+            return;
+        }
+        if (engine != null) {
+            runThroughEngine(segment, engine);
+        } else if (executor == null) {
+            for (int i = 0; i < segment.count; i++) {
+                commandExecutor.execute(segment.slots[i]);
+            }
+        } else {
+            CompletableFuture<?>[] parts = new CompletableFuture<?>[parallelism];
+            for (int worker = 0; worker < parallelism; worker++) {
+                int part = worker;
+                parts[worker] = CompletableFuture.runAsync(() -> {
+                    for (int i = 0; i < segment.count; i++) {
+                        BatchCommand command = segment.slots[i];
+                        if (command.type != null && ShardedEntityStore.shardOf(command.accountId, parallelism) == part) {
+                            commandExecutor.execute(command);
+                        }
+                    }
+                }, executor);
+            }
+            CompletableFuture.allOf(parts).join();
+        }
+        for (int i = 0; i < segment.count; i++) {
+            write(segment.slots[i], segment, writer);
+        }
+        segment.count = 0;
+    }
+
+    private void runThroughEngine(Segment segment, OperationSubmitter engine) {
+        int settled = 0;
+        for (int i = 0; i < segment.count; i++) {
+            BatchCommand command = segment.slots[i];
+            if (BatchCommandExecutor.isEngineOperation(command)) {
+                command.reply = engine.submit(BatchCommandExecutor.toOperation(command));
+            } else if (command.type != null) {
+                settled = settle(segment, settled, i);
+                commandExecutor.execute(command);
+            }
+        }
+        settle(segment, settled, segment.count);
+    }
+
+    /**
+     * Writes the results of the commands published to the engine between two slots.
+     *
+     * @return the slot the next commands to settle start from
+     */
+    private int settle(Segment segment, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (segment.slots[i].reply != null) {
+                commandExecutor.complete(segment.slots[i]);
+            }
+        }
+        return to;
+    }
+
+    private void write(BatchCommand command, Segment segment, Writer writer) throws IOException {
+        StringBuilder output = command.getOutput();
+        int length = output.length();
+        if (outputChars.length < length + 1) {
+            outputChars = new char[Math.max(length + 1, outputChars.length * 2)];
+        }
+        output.getChars(0, length, outputChars, 0);
+        outputChars[length] = '\n';
+        writer.write(outputChars, 0, length + 1);
+        segment.commands++;
+        if (command.isFailed()) {
+            segment.failures++;
+        }
+    }
+
+    /**
+     * @return a sharded service with one thread per shard when the accounts are sharded, a transaction engine with
+     * one writer per unit of parallelism otherwise
+     */
+    private OperationSubmitter newEngine() {
+        if (InMemoryDatabase.getCollection(Account.class) instanceof ShardedEntityStore<Account> shardedAccounts) {
+            return new ShardedTransactionService(transactionService, shardedAccounts.getShardCount());
+        }
+        return new TransactionEngine(transactionService, parallelism, TransactionEngine.DEFAULT_RING_SIZE);
+    }
+
+    private ExecutorService newExecutor() {
+        AtomicInteger threads = new AtomicInteger();
+        return Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "batch-" + threads.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static int indexOf(byte[] buffer, char character, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer[i] == character) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Commands read ahead, run together before their results are written.
+     */
+    private static final class Segment {
+
+        private final int size;
+        private final BatchCommand[] slots;
+        private int count;
+        private long commands;
+        private long failures;
+
+        private Segment(int size) {
+            this.size = size;
+            this.slots = new BatchCommand[size + 1];
+            for (int i = 0; i < slots.length; i++) {
+                slots[i] = new BatchCommand();
+            }
+        }
+
+        /**
+         * @return the slot after the pending commands, one more than the segment size so that a creation or a
+         * transfer can be held while the pending commands run
+         */
+        private BatchCommand next() {
+            return slots[count];
+        }
+    }
+}
@@ -10,7 +10,8 @@ import lombok.extern.slf4j.Slf4j;
 import java.math.BigDecimal;
 import java.util.Scanner;
 
-import static com.technicaltest.bankingapp.utils.BigDecimalUtils.normalize;
+import static com.technicaltest.bankingapp.utils.MoneyUtils.toBigDecimal;
+import static com.technicaltest.bankingapp.utils.MoneyUtils.toMinorUnits;
 import static com.technicaltest.bankingapp.utils.ValidationUtils.requireNonNull;
 import static com.technicaltest.bankingapp.utils.ValidationUtils.requirePositiveNumber;
 
@@ -141,7 +142,7 @@ public class ConsoleHandler {
         var amount = scanner.nextBigDecimal();
         requirePositiveNumber(amount, "Amount to Withdraw");
 
-        transactionService.depositMoney(accountId, amount);
+        transactionService.depositMoney(accountId, toMinorUnits(amount));
         System.out.println(amount + " deposited successfully.");
     }
 
@@ -155,7 +156,7 @@ public class ConsoleHandler {
         System.out.print("Enter amount to withdraw: ");
         var amount = scanner.nextBigDecimal();
 
-        transactionService.withdrawMoney(accountId, amount);
+        transactionService.withdrawMoney(accountId, toMinorUnits(amount));
         System.out.println(amount + " withdrawn successfully.");
     }
 
@@ -168,7 +169,7 @@ public class ConsoleHandler {
         long accountId = scanner.nextLong();
         requirePositiveNumber(accountId, "Account ID");
 
-        BigDecimal accountBalance = transactionService.getBalance(accountId);
+        BigDecimal accountBalance = toBigDecimal(transactionService.getBalance(accountId));
         System.out.println("Account balance: " + accountBalance);
     }
 
@@ -181,7 +182,7 @@ public class ConsoleHandler {
         long accountId = scanner.nextLong();
         requirePositiveNumber(accountId, "Account ID");
 
-        BigDecimal interest = transactionService.calculateInterest(accountId);
+        BigDecimal interest = toBigDecimal(transactionService.calculateInterest(accountId));
         System.out.printf("Interest for this month is %s euros%n", interest.toString());
     }
 }
\ No newline at end of file
@@ -0,0 +1,203 @@
+package com.technicaltest.bankingapp.database;
+
+import com.technicaltest.bankingapp.enumeration.AccountType;
+import com.technicaltest.bankingapp.model.Account;
+import com.technicaltest.bankingapp.model.SavingsAccount;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Struct-of-arrays copy of the account fields analytic queries read: type, balance and monthly interest base.
+ * Rows are laid out like {@link ChunkedEntityStore}, the row of an account being its ID, so the ID column is
+ * implicit and each chunk holds one primitive array per field. Scans are tight loops over those arrays and
+ * can be split by chunk across the common fork-join pool.
+ * Rows are written by the repository while it holds the account stripe lock. Scans take no lock, so while
+ * writers are active they may mix rows from before and after a commit, like a weakly consistent iterator.
+ */
+public class AccountColumnStore implements SecondaryIndex<Account> {
+
+    private static final int CHUNK_SHIFT = ChunkedEntityStore.CHUNK_SHIFT;
+    private static final int CHUNK_SIZE = ChunkedEntityStore.CHUNK_SIZE;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    // Type codes are the ordinal plus one, so that an empty row reads as 0
+    private static final byte EMPTY = 0;
+    private static final AccountType[] TYPES = AccountType.values();
+
+    private final AtomicReference<Chunk[]> directory = new AtomicReference<>(new Chunk[0]);
+
+    /**
+     * Writes the row of the account, growing the columns if needed.
+     */
+    @Override
+    public void update(Account previous, Account account) {
+        long id = account.getId();
+        Chunk chunk = chunkFor(id);
+        int row = (int) (id & CHUNK_MASK);
+        chunk.balances[row] = account.getBalance();
+        chunk.interestBases[row] = account instanceof SavingsAccount savingsAccount ? savingsAccount.getMonthlyInterestBase() : 0;
+        chunk.types[row] = typeCode(account.getAccountType());
+    }
+
+    @Override
+    public void clear() {
+        directory.set(new Chunk[0]);
+    }
+
+    public long count(AccountType type, boolean parallel) {
+        byte code = typeCode(type);
+        return scan(parallel, chunk -> {
+            long count = 0;
+            byte[] types = chunk.types;
+            for (int i = 0; i < CHUNK_SIZE; i++) {
+                if (types[i] == code) {
+                    count++;
+                }
+            }
+            return count;
+        }, Long::sum, 0L);
+    }
+
+    /**
+     * @return the sum of the balances of each account type, in minor units
+     */
+    public Map<AccountType, Long> totalBalanceByType(boolean parallel) {
+        long[] totals = scan(parallel, chunk -> {
+            // Slot 0 collects the empty rows, whose balance is always 0, so the loop needs no branch
+            long[] sums = new long[TYPES.length + 1];
+            byte[] types = chunk.types;
+            long[] balances = chunk.balances;
+            for (int i = 0; i < CHUNK_SIZE; i++) {
+                sums[types[i]] += balances[i];
+            }
+            return sums;
+        }, AccountColumnStore::add, new long[TYPES.length + 1]);
+
+        Map<AccountType, Long> totalsByType = new EnumMap<>(AccountType.class);
+        for (AccountType type : TYPES) {
+            totalsByType.put(type, totals[typeCode(type)]);
+        }
+        return totalsByType;
+    }
+
+    /**
+     * Counts the accounts of a type per balance bucket. Bucket {@code i} holds the balances below
+     * {@code upperBounds[i]} and not in a previous bucket, the last bucket the balances from the last bound up.
+     *
+     * @param upperBounds ascending exclusive upper bounds of the buckets, in minor units
+     * @return the count of each bucket, one more than the number of bounds
+     */
+    public long[] balanceHistogram(AccountType type, long[] upperBounds, boolean parallel) {
+        byte code = typeCode(type);
+        return scan(parallel, chunk -> {
+            long[] counts = new long[upperBounds.length + 1];
+            byte[] types = chunk.types;
+            long[] balances = chunk.balances;
+            for (int i = 0; i < CHUNK_SIZE; i++) {
+                if (types[i] == code) {
+                    counts[bucketOf(balances[i], upperBounds)]++;
+                }
+            }
+            return counts;
+        }, AccountColumnStore::add, new long[upperBounds.length + 1]);
+    }
+
+    /**
+     * @return the IDs of the accounts of a type with a balance below {@code threshold}, in ID order
+     */
+    public long[] findIdsWithBalanceBelow(AccountType type, long threshold, boolean parallel) {
+        byte code = typeCode(type);
+        return scan(parallel, chunk -> {
+            long[] ids = new long[CHUNK_SIZE];
+            int count = 0;
+            byte[] types = chunk.types;
+            long[] balances = chunk.balances;
+            for (int i = 0; i < CHUNK_SIZE; i++) {
+                if (types[i] == code && balances[i] < threshold) {
+                    ids[count++] = chunk.baseId + i;
+                }
+            }
+            return Arrays.copyOf(ids, count);
+        }, AccountColumnStore::concat, new long[0]);
+    }
+
+    /**
+     * @return the sum of the monthly interest bases of the savings accounts, in minor units
+     */
+    public long totalMonthlyInterestBase(boolean parallel) {
+        return scan(parallel, chunk -> {
+            long total = 0;
+            long[] interestBases = chunk.interestBases;
+            for (int i = 0; i < CHUNK_SIZE; i++) {
+                total += interestBases[i];
+            }
+            return total;
+        }, Long::sum, 0L);
+    }
+
+    private <R> R scan(boolean parallel, Function<Chunk, R> kernel, BinaryOperator<R> merge, R identity) {
+        Stream<Chunk> chunks = Arrays.stream(directory.get());
+        return (parallel ? chunks.parallel() : chunks).map(kernel).reduce(identity, merge);
+    }
+
+    private static int bucketOf(long balance, long[] upperBounds) {
+        int bucket = 0;
+        while (bucket < upperBounds.length && balance >= upperBounds[bucket]) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    private static long[] add(long[] left, long[] right) {
+        long[] sum = new long[left.length];
+        for (int i = 0; i < sum.length; i++) {
+            sum[i] = left[i] + right[i];
+        }
+        return sum;
+    }
+
+    private static long[] concat(long[] left, long[] right) {
+        long[] all = Arrays.copyOf(left, left.length + right.length);
+        System.arraycopy(right, 0, all, left.length, right.length);
+        return all;
+    }
+
+    private static byte typeCode(AccountType type) {
+        return type == null ? EMPTY : (byte) (type.ordinal() + 1);
+    }
+
+    private Chunk chunkFor(long id) {
+        long chunkIndex = id >>> CHUNK_SHIFT;
+        if (chunkIndex >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Account ID " + id + " exceeds the column store capacity.");
+        }
+        while (true) {
+            Chunk[] chunks = directory.get();
+            if (chunkIndex < chunks.length) {
+                return chunks[(int) chunkIndex];
+            }
+            Chunk[] grown = Arrays.copyOf(chunks, (int) chunkIndex + 1);
+            for (int i = chunks.length; i < grown.length; i++) {
+                grown[i] = new Chunk((long) i << CHUNK_SHIFT);
+            }
+            directory.compareAndSet(chunks, grown);
+        }
+    }
+
+    private static final class Chunk {
+
+        private final long baseId;
+        private final byte[] types = new byte[CHUNK_SIZE];
+        private final long[] balances = new long[CHUNK_SIZE];
+        private final long[] interestBases = new long[CHUNK_SIZE];
+
+        private Chunk(long baseId) {
+            this.baseId = baseId;
+        }
+    }
+}
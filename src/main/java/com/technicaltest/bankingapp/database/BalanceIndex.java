@@ -0,0 +1,96 @@
+package com.technicaltest.bankingapp.database;
+
+import com.technicaltest.bankingapp.enumeration.AccountType;
+import com.technicaltest.bankingapp.model.Account;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Accounts of each type ordered by balance, so that balance ranges and top balances cost a logarithmic descent
+ * plus the number of entries returned instead of a scan and a sort.
+ * Each account is one {@code (balance, id)} key of the concurrent skip list of its type, moved on every balance
+ * change; a query running in between may miss the account, or see it at both balances.
+ */
+public class BalanceIndex implements SecondaryIndex<Account> {
+
+    private static final Comparator<Entry> ORDER =
+            Comparator.comparingLong(Entry::balance).thenComparingLong(Entry::accountId);
+
+    private final Map<AccountType, NavigableSet<Entry>> entriesByType = new EnumMap<>(AccountType.class);
+
+    public BalanceIndex() {
+        for (AccountType accountType : AccountType.values()) {
+            entriesByType.put(accountType, new ConcurrentSkipListSet<>(ORDER));
+        }
+    }
+
+    @Override
+    public void update(Account previous, Account current) {
+        if (previous != null) {
+            if (previous.getBalance() == current.getBalance()
+                    && previous.getAccountType() == current.getAccountType()) {
+                return;
+            }
+            entriesByType.get(previous.getAccountType()).remove(new Entry(previous.getBalance(), previous.getId()));
+        }
+        entriesByType.get(current.getAccountType()).add(new Entry(current.getBalance(), current.getId()));
+    }
+
+    @Override
+    public void clear() {
+        entriesByType.values().forEach(NavigableSet::clear);
+    }
+
+    /**
+     * @param accountType the type of the accounts, null for all of them
+     * @return at most {@code limit} accounts with a balance in {@code [minBalance, maxBalance]}, lowest first
+     */
+    public List<Entry> findBetween(AccountType accountType, long minBalance, long maxBalance, int limit) {
+        if (minBalance > maxBalance) {
+            return List.of();
+        }
+        Entry from = new Entry(minBalance, Long.MIN_VALUE);
+        Entry to = new Entry(maxBalance, Long.MAX_VALUE);
+        if (accountType != null) {
+            return take(entriesByType.get(accountType).subSet(from, true, to, true).iterator(), limit);
+        }
+        List<Entry> entries = new ArrayList<>();
+        for (NavigableSet<Entry> typeEntries : entriesByType.values()) {
+            entries.addAll(take(typeEntries.subSet(from, true, to, true).iterator(), limit));
+        }
+        entries.sort(ORDER);
+        return entries.size() > limit ? entries.subList(0, limit) : entries;
+    }
+
+    /**
+     * @return the {@code count} accounts of the type with the highest balances, highest first
+     */
+    public List<Entry> findTop(AccountType accountType, int count) {
+        return take(entriesByType.get(accountType).descendingIterator(), count);
+    }
+
+    public int size(AccountType accountType) {
+        return entriesByType.get(accountType).size();
+    }
+
+    private static List<Entry> take(Iterator<Entry> iterator, int limit) {
+        List<Entry> entries = new ArrayList<>();
+        while (entries.size() < limit && iterator.hasNext()) {
+            entries.add(iterator.next());
+        }
+        return entries;
+    }
+
+    /**
+     * @param balance the balance of the account when it was indexed, in minor units
+     */
+    public record Entry(long balance, long accountId) {
+    }
+}
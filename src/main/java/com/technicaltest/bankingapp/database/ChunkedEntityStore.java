@@ -0,0 +1,153 @@
+package com.technicaltest.bankingapp.database;
+
+import com.technicaltest.bankingapp.model.Entity;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Entity storage indexed directly by ID.
+ * IDs are handed out densely by the repository id counter, so an entity lives at slot {@code id}
+ * of a chunked array instead of in a hash map: lookups are two array reads with no boxing and
+ * no per-entry node.
+ * The directory of chunks is immutable once published and is replaced with a compare-and-set
+ * when the store grows, so neither reads nor growth ever take a lock.
+ * A store holding every {@code stride}-th ID only, such as a shard, keeps entity {@code id} at slot
+ * {@code id / stride} so that it stays dense.
+ */
+public class ChunkedEntityStore<T extends Entity> implements EntityStore<T> {
+
+    static final int CHUNK_SHIFT = 12;
+    static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final AtomicReference<AtomicReferenceArray<T>[]> directory;
+    private final AtomicLong size = new AtomicLong();
+    private final int stride;
+
+    public ChunkedEntityStore() {
+        this(1);
+    }
+
+    /**
+     * @param stride the distance between two IDs the store can hold
+     */
+    public ChunkedEntityStore(int stride) {
+        if (stride <= 0) {
+            throw new IllegalArgumentException("Stride must be greater than zero.");
+        }
+        this.directory = new AtomicReference<>(newDirectory(0));
+        this.stride = stride;
+    }
+
+    @Override
+    public T get(long id) {
+        if (id < 0) {
+            return null;
+        }
+        AtomicReferenceArray<T>[] chunks = directory.get();
+        long slot = slotOf(id);
+        long chunkIndex = slot >>> CHUNK_SHIFT;
+        if (chunkIndex >= chunks.length) {
+            return null;
+        }
+        T entity = chunks[(int) chunkIndex].get((int) (slot & CHUNK_MASK));
+        // A slot of a strided store spans several IDs, only one of which it can hold
+        return stride == 1 || entity == null || entity.getId() == id ? entity : null;
+    }
+
+    /**
+     * Stores the entity at its ID slot, growing the store if needed.
+     *
+     * @return the entity previously stored at that slot, or null
+     */
+    @Override
+    public T put(long id, T entity) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Entity ID must not be negative.");
+        }
+        long slot = slotOf(id);
+        T previous = chunkFor(slot).getAndSet((int) (slot & CHUNK_MASK), entity);
+        if (previous == null) {
+            size.incrementAndGet();
+        }
+        return previous;
+    }
+
+    @Override
+    public long size() {
+        return size.get();
+    }
+
+    /**
+     * @return the exclusive upper bound of IDs that can currently be held without growing
+     */
+    public long capacity() {
+        return ((long) directory.get().length << CHUNK_SHIFT) * stride;
+    }
+
+    /**
+     * Visits every stored entity in ID order.
+     */
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        for (AtomicReferenceArray<T> chunk : directory.get()) {
+            for (int i = 0; i < CHUNK_SIZE; i++) {
+                T entity = chunk.get(i);
+                if (entity != null) {
+                    action.accept(entity);
+                }
+            }
+        }
+    }
+
+    /**
+     * Visits the stored entities with an ID in {@code [fromId, toId)}, in ID order.
+     */
+    @Override
+    public void forEachInRange(long fromId, long toId, Consumer<? super T> action) {
+        if (toId <= 0 || toId <= fromId) {
+            return;
+        }
+        AtomicReferenceArray<T>[] chunks = directory.get();
+        long endSlot = Math.min(slotOf(toId - 1) + 1, (long) chunks.length << CHUNK_SHIFT);
+        for (long slot = slotOf(Math.max(0, fromId)); slot < endSlot; slot++) {
+            T entity = chunks[(int) (slot >>> CHUNK_SHIFT)].get((int) (slot & CHUNK_MASK));
+            if (entity != null && entity.getId() >= fromId && entity.getId() < toId) {
+                action.accept(entity);
+            }
+        }
+    }
+
+    private long slotOf(long id) {
+        return stride == 1 ? id : id / stride;
+    }
+
+    private AtomicReferenceArray<T> chunkFor(long slot) {
+        long chunkIndex = slot >>> CHUNK_SHIFT;
+        if (chunkIndex >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Entity slot " + slot + " exceeds the store capacity.");
+        }
+        while (true) {
+            AtomicReferenceArray<T>[] chunks = directory.get();
+            if (chunkIndex < chunks.length) {
+                return chunks[(int) chunkIndex];
+            }
+            // Every chunk is allocated before the directory is published, so a slot can never be
+            // written to a chunk that a concurrent grower failed to copy
+            AtomicReferenceArray<T>[] grown = newDirectory((int) chunkIndex + 1);
+            System.arraycopy(chunks, 0, grown, 0, chunks.length);
+            for (int i = chunks.length; i < grown.length; i++) {
+                grown[i] = new AtomicReferenceArray<>(CHUNK_SIZE);
+            }
+            directory.compareAndSet(chunks, grown);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> AtomicReferenceArray<T>[] newDirectory(int length) {
+        return (AtomicReferenceArray<T>[]) new AtomicReferenceArray<?>[length];
+    }
+}
@@ -0,0 +1,32 @@
+package com.technicaltest.bankingapp.database;
+
+import com.technicaltest.bankingapp.model.Entity;
+
+import java.util.function.Consumer;
+
+/**
+ * Storage of the entities of one type by ID.
+ */
+public interface EntityStore<T extends Entity> {
+
+    T get(long id);
+
+    /**
+     * Stores the entity at its ID.
+     *
+     * @return the entity previously stored at that ID, or null
+     */
+    T put(long id, T entity);
+
+    long size();
+
+    /**
+     * Visits every stored entity.
+     */
+    void forEach(Consumer<? super T> action);
+
+    /**
+     * Visits the stored entities with an ID in {@code [fromId, toId)}.
+     */
+    void forEachInRange(long fromId, long toId, Consumer<? super T> action);
+}
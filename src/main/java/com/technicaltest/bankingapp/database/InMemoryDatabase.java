@@ -1,25 +1,66 @@
 package com.technicaltest.bankingapp.database;
 
+import com.technicaltest.bankingapp.concurrency.StripedLock;
+import com.technicaltest.bankingapp.journal.Journal;
 import com.technicaltest.bankingapp.model.Entity;
 import lombok.experimental.UtilityClass;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 
+import static com.technicaltest.bankingapp.config.ConfigLoader.EVENT_SOURCING_CONFIGURATION;
+import static com.technicaltest.bankingapp.config.ConfigLoader.JOURNAL_CONFIGURATION;
+import static com.technicaltest.bankingapp.config.ConfigLoader.SHARD_CONFIGURATION;
+
 @UtilityClass
 public class InMemoryDatabase {
 
-    public static final Map<Class<?>, Map<Long, ?>> database = new HashMap<>();
-    public static final Map<Class<?>, AtomicLong> idCounter = new HashMap<>();
+    public static final Map<Class<?>, EntityStore<?>> database = new ConcurrentHashMap<>();
+    public static final Map<Class<?>, AtomicLong> idCounter = new ConcurrentHashMap<>();
+    public static final Map<Class<?>, StripedLock> locks = new ConcurrentHashMap<>();
+    public static final Map<Class<?>, Journal> journals = new ConcurrentHashMap<>();
+    public static final AccountColumnStore accountColumns = new AccountColumnStore();
+    public static final OwnerNameIndex ownerNameIndex = new OwnerNameIndex();
+    public static final BalanceIndex balanceIndex = new BalanceIndex();
+    public static final LedgerStore ledger = new LedgerStore();
 
+    /**
+     * @return the collection of an entity type, split into {@code shards.count} shards when there are several
+     */
     @SuppressWarnings("unchecked")
-    public static <T extends Entity> Map<Long, T> getCollection(Class<T> entityType) {
-        return (Map<Long, T>) database.computeIfAbsent(entityType, k -> new HashMap<>());
+    public static <T extends Entity> EntityStore<T> getCollection(Class<T> entityType) {
+        return (EntityStore<T>) database.computeIfAbsent(entityType, k -> SHARD_CONFIGURATION.count() > 1
+                ? new ShardedEntityStore<>(SHARD_CONFIGURATION.count())
+                : new ChunkedEntityStore<>());
     }
 
     public static <T extends Entity> AtomicLong getIdCounter(Class<T> entityType) {
         return idCounter.computeIfAbsent(entityType, k -> new AtomicLong(0));
     }
 
+    public static <T extends Entity> StripedLock getLock(Class<T> entityType) {
+        return locks.computeIfAbsent(entityType, k -> StripedLock.forAvailableProcessors());
+    }
+
+    /**
+     * Returns the journal of an entity type, opening it on first use when journaling is enabled.
+     * Event-sourced journals get their own file, so that switching modes never mixes record formats.
+     *
+     * @return the journal, or null when the entity type is not journaled
+     */
+    public static <T extends Entity> Journal getJournal(Class<T> entityType) {
+        if (!JOURNAL_CONFIGURATION.enabled()) {
+            return journals.get(entityType);
+        }
+        String suffix = EVENT_SOURCING_CONFIGURATION.enabled() ? ".events.journal" : ".journal";
+        return journals.computeIfAbsent(entityType, k -> Journal.open(
+                JOURNAL_CONFIGURATION.directory().resolve(k.getSimpleName() + suffix), JOURNAL_CONFIGURATION));
+    }
+
+    public static void closeJournals() {
+        journals.values().forEach(Journal::close);
+        journals.clear();
+    }
+
 }
@@ -0,0 +1,82 @@
+package com.technicaltest.bankingapp.database;
+
+import com.technicaltest.bankingapp.model.LedgerEntry;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Ledger entries kept in one chronologically ordered skip list per account.
+ * History queries only touch the list of the queried account and find their starting point by a
+ * logarithmic descent, so their cost is independent of the total number of entries.
+ * <p>
+ * Entries are never evicted: the store grows by one entry per deposit, withdrawal, interest credit and
+ * transfer side for as long as the process runs, about 125 bytes each on a 64-bit JVM with compressed
+ * references (entry, timestamp and skip list node), so a million operations take about 125 MB of heap.
+ * After a restart it only holds what recovery rebuilt from the event journal, see
+ * {@link com.technicaltest.bankingapp.repository.AccountRepository#recover(java.util.function.Consumer)}.
+ */
+public class LedgerStore {
+
+    private final Map<Long, NavigableSet<LedgerEntry>> entriesByAccount = new ConcurrentHashMap<>();
+
+    public void append(LedgerEntry entry) {
+        entriesByAccount
+                .computeIfAbsent(entry.getAccountId(), accountId -> new ConcurrentSkipListSet<>(LedgerEntry.CHRONOLOGICAL_ORDER))
+                .add(entry);
+    }
+
+    /**
+     * @return the {@code count} most recent entries of the account, most recent first
+     */
+    public List<LedgerEntry> findLast(long accountId, int count) {
+        NavigableSet<LedgerEntry> entries = entriesByAccount.get(accountId);
+        if (entries == null || count <= 0) {
+            return Collections.emptyList();
+        }
+        List<LedgerEntry> last = new ArrayList<>(Math.min(count, 64));
+        Iterator<LedgerEntry> iterator = entries.descendingIterator();
+        while (iterator.hasNext() && last.size() < count) {
+            last.add(iterator.next());
+        }
+        return last;
+    }
+
+    /**
+     * @return the entries of the account timestamped in {@code [from, to)}, oldest first
+     */
+    public List<LedgerEntry> findBetween(long accountId, Instant from, Instant to) {
+        NavigableSet<LedgerEntry> entries = entriesByAccount.get(accountId);
+        if (entries == null || !from.isBefore(to)) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<>(entries.subSet(lowerBound(from), true, lowerBound(to), false));
+    }
+
+    public long count(long accountId) {
+        NavigableSet<LedgerEntry> entries = entriesByAccount.get(accountId);
+        return entries == null ? 0 : entries.size();
+    }
+
+    public void clear() {
+        entriesByAccount.clear();
+    }
+
+    /**
+     * @return a probe ordered before every entry timestamped at or after {@code timestamp}
+     */
+    private static LedgerEntry lowerBound(Instant timestamp) {
+        return LedgerEntry.builder()
+                .timestamp(timestamp)
+                .version(Long.MIN_VALUE)
+                .sequence(Integer.MIN_VALUE)
+                .build();
+    }
+}
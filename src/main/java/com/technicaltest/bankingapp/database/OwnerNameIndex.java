@@ -0,0 +1,92 @@
+package com.technicaltest.bankingapp.database;
+
+import com.technicaltest.bankingapp.model.Account;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Accounts ordered by owner name, answering exact and prefix lookups with a logarithmic descent plus the
+ * number of matches. Names are compared trimmed and lower-cased, so lookups ignore case.
+ * Each account is one {@code (name, id)} key of a concurrent skip list, so owners sharing a name need no
+ * per-name collection and updates to distinct accounts never contend.
+ * A rename removes the old key before adding the new one, a lookup running in between missing the account.
+ */
+public class OwnerNameIndex implements SecondaryIndex<Account> {
+
+    private static final Comparator<Key> ORDER = Comparator.comparing(Key::name).thenComparingLong(Key::accountId);
+
+    private final NavigableSet<Key> keys = new ConcurrentSkipListSet<>(ORDER);
+
+    @Override
+    public void update(Account previous, Account current) {
+        String name = normalize(current.getOwnerName());
+        if (previous != null) {
+            String previousName = normalize(previous.getOwnerName());
+            // Balance changes, by far the most frequent updates, leave the name and the index untouched
+            if (Objects.equals(previousName, name)) {
+                return;
+            }
+            if (previousName != null) {
+                keys.remove(new Key(previousName, previous.getId()));
+            }
+        }
+        if (name != null) {
+            keys.add(new Key(name, current.getId()));
+        }
+    }
+
+    @Override
+    public void clear() {
+        keys.clear();
+    }
+
+    /**
+     * @return the IDs of the accounts owned by {@code ownerName}, in ID order
+     */
+    public List<Long> findByName(String ownerName) {
+        String name = normalize(ownerName);
+        if (name == null) {
+            return List.of();
+        }
+        List<Long> accountIds = new ArrayList<>();
+        for (Key key : keys.subSet(new Key(name, Long.MIN_VALUE), true, new Key(name, Long.MAX_VALUE), true)) {
+            accountIds.add(key.accountId());
+        }
+        return accountIds;
+    }
+
+    /**
+     * @return the IDs of at most {@code limit} accounts whose owner name starts with {@code prefix}, in name order
+     */
+    public List<Long> findByNamePrefix(String prefix, int limit) {
+        String normalizedPrefix = normalize(prefix);
+        if (normalizedPrefix == null) {
+            return List.of();
+        }
+        List<Long> accountIds = new ArrayList<>();
+        for (Key key : keys.tailSet(new Key(normalizedPrefix, Long.MIN_VALUE))) {
+            if (accountIds.size() >= limit || !key.name().startsWith(normalizedPrefix)) {
+                break;
+            }
+            accountIds.add(key.accountId());
+        }
+        return accountIds;
+    }
+
+    public int size() {
+        return keys.size();
+    }
+
+    private static String normalize(String ownerName) {
+        return ownerName == null ? null : ownerName.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Key(String name, long accountId) {
+    }
+}
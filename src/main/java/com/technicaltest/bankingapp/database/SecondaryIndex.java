@@ -0,0 +1,20 @@
+package com.technicaltest.bankingapp.database;
+
+import com.technicaltest.bankingapp.model.Entity;
+
+/**
+ * Structure derived from the stored entities of one type, kept in step with the collection by the repository.
+ */
+public interface SecondaryIndex<T extends Entity> {
+
+    /**
+     * Called after a version of an entity is stored, while the repository holds the stripe lock of the entity,
+     * so calls for one entity never overlap. Both entities are the stored instances and must not be modified.
+     *
+     * @param previous the version that was replaced, null for a new entity
+     * @param current  the version now stored
+     */
+    void update(T previous, T current);
+
+    void clear();
+}
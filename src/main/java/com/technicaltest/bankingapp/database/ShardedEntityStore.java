@@ -0,0 +1,111 @@
+package com.technicaltest.bankingapp.database;
+
+import com.technicaltest.bankingapp.model.Entity;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Entity storage split into independent shards by ID: shard {@code s} of {@code n} owns the IDs
+ * {@code s + 1, s + 1 + n, s + 1 + 2n...}, hands them out itself and stores them in its own collection.
+ * Shards share no state within the store, so writers of distinct shards never touch the same chunks or counters,
+ * and the shard of an entity follows from its ID alone. The locks, journal and indexes a repository keeps around
+ * the store are still shared by every shard.
+ */
+public class ShardedEntityStore<T extends Entity> implements EntityStore<T> {
+
+    private final ChunkedEntityStore<T>[] shards;
+    // Highest ID handed out or stored by each shard
+    private final AtomicLong[] lastIds;
+
+    @SuppressWarnings("unchecked")
+    public ShardedEntityStore(int shardCount) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Shard count must be greater than zero.");
+        }
+        this.shards = (ChunkedEntityStore<T>[]) new ChunkedEntityStore<?>[shardCount];
+        this.lastIds = new AtomicLong[shardCount];
+        for (int shard = 0; shard < shardCount; shard++) {
+            shards[shard] = new ChunkedEntityStore<>(shardCount);
+            // The first ID of the shard is one stride past this
+            lastIds[shard] = new AtomicLong(shard + 1L - shardCount);
+        }
+    }
+
+    /**
+     * @return the shard owning an ID, among {@code shardCount} shards
+     */
+    public static int shardOf(long id, int shardCount) {
+        return (int) Math.floorMod(id - 1, (long) shardCount);
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Hands out the next ID owned by a shard.
+     */
+    public long nextId(int shard) {
+        return lastIds[shard].addAndGet(shards.length);
+    }
+
+    /**
+     * @return the highest ID handed out or stored by any shard, 0 if none
+     */
+    public long getMaxId() {
+        long maxId = 0;
+        for (AtomicLong lastId : lastIds) {
+            maxId = Math.max(maxId, lastId.get());
+        }
+        return maxId;
+    }
+
+    @Override
+    public T get(long id) {
+        return id <= 0 ? null : shards[shardOf(id, shards.length)].get(id);
+    }
+
+    @Override
+    public T put(long id, T entity) {
+        if (id <= 0) {
+            throw new IllegalArgumentException("Entity ID must be greater than zero.");
+        }
+        int shard = shardOf(id, shards.length);
+        T previous = shards[shard].put(id, entity);
+        if (previous == null && id > lastIds[shard].get()) {
+            // Recovered entities move the shard past their ID, so it never hands the ID out again
+            lastIds[shard].accumulateAndGet(id, Math::max);
+        }
+        return previous;
+    }
+
+    @Override
+    public long size() {
+        long size = 0;
+        for (ChunkedEntityStore<T> shard : shards) {
+            size += shard.size();
+        }
+        return size;
+    }
+
+    /**
+     * Visits every stored entity, shard after shard.
+     */
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        for (ChunkedEntityStore<T> shard : shards) {
+            shard.forEach(action);
+        }
+    }
+
+    /**
+     * Visits the stored entities with an ID in {@code [fromId, toId)}, shard after shard.
+     */
+    @Override
+    public void forEachInRange(long fromId, long toId, Consumer<? super T> action) {
+        for (ChunkedEntityStore<T> shard : shards) {
+            shard.forEachInRange(fromId, toId, action);
+        }
+    }
+}
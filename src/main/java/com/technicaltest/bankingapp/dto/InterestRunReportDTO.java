@@ -0,0 +1,29 @@
+package com.technicaltest.bankingapp.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+import java.time.YearMonth;
+
+@Value
+@Builder
+public class InterestRunReportDTO {
+
+    YearMonth period;
+    /**
+     * Whether every account was visited, false when the run was interrupted and has to be started again.
+     */
+    boolean completed;
+    long creditedAccounts;
+    /**
+     * Accounts skipped because an earlier run already credited them for the period.
+     */
+    long alreadyCreditedAccounts;
+    long failedAccounts;
+    /**
+     * Interest credited by this run, in minor units.
+     */
+    long totalInterest;
+    Duration elapsed;
+}
@@ -0,0 +1,25 @@
+package com.technicaltest.bankingapp.dto;
+
+import com.technicaltest.bankingapp.enumeration.TransactionType;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class TransactionOperationDTO {
+
+    long accountId;
+    TransactionType type;
+    /**
+     * Amount in minor units (cents).
+     */
+    long amount;
+
+    public static TransactionOperationDTO deposit(long accountId, long amount) {
+        return new TransactionOperationDTO(accountId, TransactionType.DEPOSIT, amount);
+    }
+
+    public static TransactionOperationDTO withdrawal(long accountId, long amount) {
+        return new TransactionOperationDTO(accountId, TransactionType.WITHDRAWAL, amount);
+    }
+}
@@ -0,0 +1,25 @@
+package com.technicaltest.bankingapp.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class TransactionResultDTO {
+
+    TransactionOperationDTO operation;
+    boolean successful;
+    /**
+     * Balance in minor units right after the operation was applied, only set when it succeeded.
+     */
+    Long balance;
+    String errorMessage;
+
+    public static TransactionResultDTO success(TransactionOperationDTO operation, long balance) {
+        return new TransactionResultDTO(operation, true, balance, null);
+    }
+
+    public static TransactionResultDTO failure(TransactionOperationDTO operation, String errorMessage) {
+        return new TransactionResultDTO(operation, false, null, errorMessage);
+    }
+}
@@ -0,0 +1,8 @@
+package com.technicaltest.bankingapp.enumeration;
+
+/**
+ * Stored by ordinal in the audit files: new types are only ever appended.
+ */
+public enum AuditEventType {
+    ACCOUNT_CREATED, DEPOSIT, WITHDRAWAL, TRANSFER, INTEREST
+}
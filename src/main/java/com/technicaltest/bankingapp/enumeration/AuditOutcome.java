@@ -0,0 +1,22 @@
+package com.technicaltest.bankingapp.enumeration;
+
+import com.technicaltest.bankingapp.exception.BusinessException;
+import com.technicaltest.bankingapp.exception.ConcurrentUpdateException;
+import com.technicaltest.bankingapp.exception.ResourceNotFoundException;
+
+/**
+ * Stored by ordinal in the audit files: new outcomes are only ever appended.
+ */
+public enum AuditOutcome {
+    SUCCESS, REJECTED, NOT_FOUND, CONFLICT, ERROR;
+
+    public static AuditOutcome of(Throwable error) {
+        if (error instanceof ResourceNotFoundException) {
+            return NOT_FOUND;
+        }
+        if (error instanceof ConcurrentUpdateException) {
+            return CONFLICT;
+        }
+        return error instanceof BusinessException ? REJECTED : ERROR;
+    }
+}
@@ -0,0 +1,66 @@
+package com.technicaltest.bankingapp.enumeration;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Commands of the batch mode and of the server, each named by the keyword starting its line in the text protocol
+ * and by its opcode in the binary protocol. Opcodes are part of the protocol and never change.
+ */
+public enum BatchCommandType {
+    CREATE("create", 1, false),
+    DEPOSIT("deposit", 2, true),
+    WITHDRAW("withdraw", 3, true),
+    TRANSFER("transfer", 6, false),
+    BALANCE("balance", 4, true),
+    INTEREST("interest", 5, true);
+
+    private static final BatchCommandType[] BY_OPCODE = new BatchCommandType[7];
+
+    static {
+        for (BatchCommandType type : values()) {
+            BY_OPCODE[type.opcode] = type;
+        }
+    }
+
+    private final String keyword;
+    private final byte opcode;
+    private final byte[] keywordBytes;
+    private final boolean singleAccount;
+
+    BatchCommandType(String keyword, int opcode, boolean singleAccount) {
+        this.keyword = keyword;
+        this.opcode = (byte) opcode;
+        this.keywordBytes = keyword.getBytes(StandardCharsets.US_ASCII);
+        this.singleAccount = singleAccount;
+    }
+
+    public String getKeyword() {
+        return keyword;
+    }
+
+    public byte getOpcode() {
+        return opcode;
+    }
+
+    /**
+     * @return the command of an opcode, null for an unknown opcode
+     */
+    public static BatchCommandType ofOpcode(int opcode) {
+        return opcode > 0 && opcode < BY_OPCODE.length ? BY_OPCODE[opcode] : null;
+    }
+
+    /**
+     * @return whether the command reads or updates one existing account only
+     */
+    public boolean isSingleAccount() {
+        return singleAccount;
+    }
+
+    /**
+     * @return whether the ASCII bytes between {@code start} and {@code end} are the keyword of this command
+     */
+    public boolean matches(byte[] line, int start, int end) {
+        return Arrays.equals(line, start, end, keywordBytes, 0, keywordBytes.length);
+    }
+}
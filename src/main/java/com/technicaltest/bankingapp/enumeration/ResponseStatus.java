@@ -0,0 +1,31 @@
+package com.technicaltest.bankingapp.enumeration;
+
+import com.technicaltest.bankingapp.exception.BusinessException;
+import com.technicaltest.bankingapp.exception.ConcurrentUpdateException;
+import com.technicaltest.bankingapp.exception.ResourceNotFoundException;
+
+/**
+ * Outcome of a binary request, sent by ordinal: new statuses are only ever appended.
+ */
+public enum ResponseStatus {
+    OK, REJECTED, NOT_FOUND, CONFLICT, ERROR, MALFORMED;
+
+    private static final ResponseStatus[] VALUES = values();
+
+    public static ResponseStatus of(Throwable error) {
+        if (error instanceof ResourceNotFoundException) {
+            return NOT_FOUND;
+        }
+        if (error instanceof ConcurrentUpdateException) {
+            return CONFLICT;
+        }
+        return error instanceof BusinessException ? REJECTED : ERROR;
+    }
+
+    /**
+     * @return the status of an ordinal, {@link #ERROR} for one this version does not know
+     */
+    public static ResponseStatus ofOrdinal(int ordinal) {
+        return ordinal >= 0 && ordinal < VALUES.length ? VALUES[ordinal] : ERROR;
+    }
+}
@@ -0,0 +1,5 @@
+package com.technicaltest.bankingapp.enumeration;
+
+public enum TransactionType {
+    DEPOSIT, WITHDRAWAL, INTEREST, TRANSFER_OUT, TRANSFER_IN
+}
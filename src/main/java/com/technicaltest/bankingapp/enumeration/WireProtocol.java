@@ -0,0 +1,24 @@
+package com.technicaltest.bankingapp.enumeration;
+
+import java.nio.ByteOrder;
+
+/**
+ * Encodings of the requests and responses of the server, each frame led by its length in the byte order of the
+ * protocol.
+ */
+public enum WireProtocol {
+    // Commands of the batch mode as UTF-8 text
+    TEXT(ByteOrder.BIG_ENDIAN),
+    // Fixed-layout fields, see BinaryProtocol
+    BINARY(ByteOrder.LITTLE_ENDIAN);
+
+    private final ByteOrder byteOrder;
+
+    WireProtocol(ByteOrder byteOrder) {
+        this.byteOrder = byteOrder;
+    }
+
+    public ByteOrder getByteOrder() {
+        return byteOrder;
+    }
+}
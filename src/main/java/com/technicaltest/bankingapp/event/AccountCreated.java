@@ -0,0 +1,14 @@
+package com.technicaltest.bankingapp.event;
+
+import com.technicaltest.bankingapp.enumeration.AccountType;
+import com.technicaltest.bankingapp.model.Account;
+
+/**
+ * @param balance initial balance in minor units, also the first monthly interest base of a savings account
+ */
+public record AccountCreated(AccountType accountType, String ownerName, long balance) implements AccountEvent {
+
+    public static AccountCreated of(Account account) {
+        return new AccountCreated(account.getAccountType(), account.getOwnerName(), account.getBalance());
+    }
+}
@@ -0,0 +1,9 @@
+package com.technicaltest.bankingapp.event;
+
+/**
+ * Immutable fact about an account. Events carry what happened only, the account they belong to and when
+ * they were committed being held by the {@link AccountEventBatch} they were committed in.
+ */
+public sealed interface AccountEvent permits AccountCreated, Deposited, Withdrawn, InterestApplied,
+        TransferredOut, TransferredIn {
+}
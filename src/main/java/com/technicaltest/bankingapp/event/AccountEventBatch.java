@@ -0,0 +1,11 @@
+package com.technicaltest.bankingapp.event;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Events committed together, in the order they were applied, moving an account to {@code version}.
+ * A batch may hold no event when a commit left the account unchanged, so that versions stay contiguous.
+ */
+public record AccountEventBatch(long accountId, long version, Instant timestamp, List<AccountEvent> events) {
+}
@@ -0,0 +1,93 @@
+package com.technicaltest.bankingapp.event;
+
+import com.technicaltest.bankingapp.enumeration.AccountType;
+import com.technicaltest.bankingapp.exception.ApplicationException;
+import com.technicaltest.bankingapp.model.Account;
+import com.technicaltest.bankingapp.model.CheckingAccount;
+import com.technicaltest.bankingapp.model.SavingsAccount;
+import lombok.experimental.UtilityClass;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+
+/**
+ * Derives account state from events. Applying the batches of an account in version order to the state of a
+ * snapshot, or to nothing, rebuilds the state the account had when the last batch was committed.
+ */
+@UtilityClass
+public class AccountProjection {
+
+    /**
+     * @param current the account state before the batch, null if the batch creates the account; left unchanged
+     * @return the account state after the batch
+     */
+    public static Account apply(Account current, AccountEventBatch batch) {
+        Account account = current == null ? null : current.copy();
+        for (AccountEvent event : batch.events()) {
+            account = apply(account, event, batch);
+        }
+        if (account == null) {
+            throw new ApplicationException("Events of account " + batch.accountId() + " precede its creation.");
+        }
+        account.setId(batch.accountId());
+        account.setVersion(batch.version());
+        account.setUpdatedAt(batch.timestamp());
+        return account;
+    }
+
+    private static Account apply(Account account, AccountEvent event, AccountEventBatch batch) {
+        if (event instanceof AccountCreated created) {
+            return create(created, batch);
+        }
+        if (account == null) {
+            throw new ApplicationException("Events of account " + batch.accountId() + " precede its creation.");
+        }
+        if (event instanceof Deposited deposited) {
+            credit(account, deposited.balanceAfter());
+        } else if (event instanceof TransferredIn transferredIn) {
+            credit(account, transferredIn.balanceAfter());
+        } else if (event instanceof Withdrawn withdrawn) {
+            debit(account, withdrawn.amount(), withdrawn.balanceAfter(), batch);
+        } else if (event instanceof TransferredOut transferredOut) {
+            debit(account, transferredOut.amount(), transferredOut.balanceAfter(), batch);
+        } else if (event instanceof InterestApplied interestApplied) {
+            SavingsAccount savingsAccount = (SavingsAccount) account;
+            savingsAccount.setBalance(interestApplied.balanceAfter());
+            if (interestApplied.resetsInterestBase()) {
+                savingsAccount.setMonthlyInterestBase(interestApplied.balanceAfter());
+            }
+            if (interestApplied.period() != null) {
+                savingsAccount.setLastInterestPeriod(interestApplied.period());
+            }
+        }
+        return account;
+    }
+
+    private static void credit(Account account, long balanceAfter) {
+        account.setBalance(balanceAfter);
+        if (account instanceof SavingsAccount savingsAccount) {
+            savingsAccount.setMonthlyInterestBase(Math.max(balanceAfter, savingsAccount.getMonthlyInterestBase()));
+        }
+    }
+
+    /**
+     * Savings withdrawals count towards the limit of the month, in UTC, the batch was committed in.
+     */
+    private static void debit(Account account, long amount, long balanceAfter, AccountEventBatch batch) {
+        account.setBalance(balanceAfter);
+        if (account instanceof SavingsAccount savingsAccount) {
+            savingsAccount.recordWithdrawal(YearMonth.from(batch.timestamp().atOffset(ZoneOffset.UTC)), amount);
+        }
+    }
+
+    private static Account create(AccountCreated created, AccountEventBatch batch) {
+        Account.AccountBuilder<?, ?> builder = AccountType.SAVINGS.equals(created.accountType())
+                ? SavingsAccount.builder().monthlyInterestBase(created.balance())
+                : CheckingAccount.builder();
+        return builder
+                .ownerName(created.ownerName())
+                .balance(created.balance())
+                .createdAt(batch.timestamp())
+                .build();
+    }
+}
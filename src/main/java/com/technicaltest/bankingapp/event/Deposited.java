@@ -0,0 +1,8 @@
+package com.technicaltest.bankingapp.event;
+
+/**
+ * @param amount       amount deposited in minor units
+ * @param balanceAfter balance in minor units right after the deposit
+ */
+public record Deposited(long amount, long balanceAfter) implements AccountEvent {
+}
@@ -0,0 +1,21 @@
+package com.technicaltest.bankingapp.event;
+
+import java.time.YearMonth;
+
+/**
+ * @param amount       interest credited in minor units, possibly 0
+ * @param balanceAfter balance in minor units right after the credit
+ * @param period       month the month-end run credited the interest for, null for an interest calculation on demand
+ */
+public record InterestApplied(long amount, long balanceAfter, YearMonth period) implements AccountEvent {
+
+    /**
+     * A calculation on demand always makes the balance the next monthly interest base, while a month-end run only
+     * does when it credited some interest and otherwise leaves the base to the deposits of the month.
+     *
+     * @return whether the balance after the credit became the monthly interest base
+     */
+    public boolean resetsInterestBase() {
+        return period == null || amount > 0;
+    }
+}
@@ -0,0 +1,9 @@
+package com.technicaltest.bankingapp.event;
+
+/**
+ * @param amount        amount transferred in minor units
+ * @param balanceAfter  balance in minor units right after the transfer
+ * @param fromAccountId account debited by the transfer
+ */
+public record TransferredIn(long amount, long balanceAfter, long fromAccountId) implements AccountEvent {
+}
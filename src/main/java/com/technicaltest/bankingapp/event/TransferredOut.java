@@ -0,0 +1,9 @@
+package com.technicaltest.bankingapp.event;
+
+/**
+ * @param amount        amount transferred in minor units
+ * @param balanceAfter  balance in minor units right after the transfer
+ * @param toAccountId   account credited by the transfer
+ */
+public record TransferredOut(long amount, long balanceAfter, long toAccountId) implements AccountEvent {
+}
@@ -0,0 +1,8 @@
+package com.technicaltest.bankingapp.event;
+
+/**
+ * @param amount       amount withdrawn in minor units
+ * @param balanceAfter balance in minor units right after the withdrawal
+ */
+public record Withdrawn(long amount, long balanceAfter) implements AccountEvent {
+}
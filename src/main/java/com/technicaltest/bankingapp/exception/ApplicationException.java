@@ -1,6 +1,10 @@
 package com.technicaltest.bankingapp.exception;
 
 public class ApplicationException extends RuntimeException {
+    public ApplicationException(String message) {
+        super(message);
+    }
+
     public ApplicationException(String message, Throwable cause) {
         super(message, cause);
     }
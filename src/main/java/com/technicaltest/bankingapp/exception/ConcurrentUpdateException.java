@@ -0,0 +1,7 @@
+package com.technicaltest.bankingapp.exception;
+
+public class ConcurrentUpdateException extends BusinessException {
+    public ConcurrentUpdateException(String resourceName, Long id) {
+        super(resourceName + " with ID " + id + " is being modified concurrently, please retry.");
+    }
+}
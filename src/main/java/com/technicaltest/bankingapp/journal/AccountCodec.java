@@ -0,0 +1,99 @@
+package com.technicaltest.bankingapp.journal;
+
+import com.technicaltest.bankingapp.enumeration.AccountType;
+import com.technicaltest.bankingapp.exception.ApplicationException;
+import com.technicaltest.bankingapp.model.Account;
+import com.technicaltest.bankingapp.model.CheckingAccount;
+import com.technicaltest.bankingapp.model.SavingsAccount;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.YearMonth;
+
+/**
+ * Layout: {@code type(1) id(8) version(8) createdAt(12) updatedAt(12) balance(8) ownerNameLength(4) ownerName(n)}
+ * followed by {@code monthlyInterestBase(8) lastInterestPeriod(4) withdrawalPeriod(4) withdrawnInPeriod(8)}
+ * for savings accounts.
+ * Instants are stored as epoch seconds and nanos, year-months as {@code year * 100 + month} with 0 for none.
+ * Fields appended to the layout are read only when present, so older records still decode.
+ */
+public class AccountCodec implements EntityCodec<Account> {
+
+    private static final int FIXED_SIZE = 1 + Long.BYTES * 3 + (Long.BYTES + Integer.BYTES) * 2 + Integer.BYTES;
+
+    @Override
+    public byte[] encode(Account account) {
+        byte[] ownerName = account.getOwnerName() == null
+                ? new byte[0]
+                : account.getOwnerName().getBytes(StandardCharsets.UTF_8);
+        boolean savings = account instanceof SavingsAccount;
+        ByteBuffer buffer = ByteBuffer.allocate(FIXED_SIZE + ownerName.length + (savings ? (Long.BYTES + Integer.BYTES) * 2 : 0));
+        buffer.put((byte) account.getAccountType().ordinal())
+                .putLong(account.getId())
+                .putLong(account.getVersion());
+        putInstant(buffer, account.getCreatedAt());
+        putInstant(buffer, account.getUpdatedAt());
+        buffer.putLong(account.getBalance())
+                .putInt(ownerName.length)
+                .put(ownerName);
+        if (savings) {
+            SavingsAccount savingsAccount = (SavingsAccount) account;
+            buffer.putLong(savingsAccount.getMonthlyInterestBase());
+            putYearMonth(buffer, savingsAccount.getLastInterestPeriod());
+            putYearMonth(buffer, savingsAccount.getWithdrawalPeriod());
+            buffer.putLong(savingsAccount.getWithdrawnInPeriod());
+        }
+        return buffer.array();
+    }
+
+    @Override
+    public Account decode(ByteBuffer buffer) {
+        int typeOrdinal = buffer.get();
+        if (typeOrdinal < 0 || typeOrdinal >= AccountType.values().length) {
+            throw new ApplicationException("Unknown account type " + typeOrdinal + " in journal record");
+        }
+        AccountType accountType = AccountType.values()[typeOrdinal];
+        long id = buffer.getLong();
+        long version = buffer.getLong();
+        Instant createdAt = getInstant(buffer);
+        Instant updatedAt = getInstant(buffer);
+        long balance = buffer.getLong();
+        byte[] ownerName = new byte[buffer.getInt()];
+        buffer.get(ownerName);
+
+        Account.AccountBuilder<?, ?> builder = switch (accountType) {
+            case CHECKING -> CheckingAccount.builder();
+            case SAVINGS -> SavingsAccount.builder()
+                    .monthlyInterestBase(buffer.getLong())
+                    .lastInterestPeriod(getYearMonth(buffer))
+                    .withdrawalPeriod(getYearMonth(buffer))
+                    .withdrawnInPeriod(buffer.remaining() >= Long.BYTES ? buffer.getLong() : 0);
+        };
+        return builder
+                .id(id)
+                .version(version)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .balance(balance)
+                .ownerName(new String(ownerName, StandardCharsets.UTF_8))
+                .build();
+    }
+
+    static void putInstant(ByteBuffer buffer, Instant instant) {
+        buffer.putLong(instant.getEpochSecond()).putInt(instant.getNano());
+    }
+
+    static Instant getInstant(ByteBuffer buffer) {
+        return Instant.ofEpochSecond(buffer.getLong(), buffer.getInt());
+    }
+
+    static void putYearMonth(ByteBuffer buffer, YearMonth yearMonth) {
+        buffer.putInt(yearMonth == null ? 0 : yearMonth.getYear() * 100 + yearMonth.getMonthValue());
+    }
+
+    static YearMonth getYearMonth(ByteBuffer buffer) {
+        int value = buffer.remaining() >= Integer.BYTES ? buffer.getInt() : 0;
+        return value == 0 ? null : YearMonth.of(value / 100, value % 100);
+    }
+}
@@ -0,0 +1,126 @@
+package com.technicaltest.bankingapp.journal;
+
+import com.technicaltest.bankingapp.enumeration.AccountType;
+import com.technicaltest.bankingapp.event.AccountCreated;
+import com.technicaltest.bankingapp.event.AccountEvent;
+import com.technicaltest.bankingapp.event.AccountEventBatch;
+import com.technicaltest.bankingapp.event.Deposited;
+import com.technicaltest.bankingapp.event.InterestApplied;
+import com.technicaltest.bankingapp.event.TransferredIn;
+import com.technicaltest.bankingapp.event.TransferredOut;
+import com.technicaltest.bankingapp.event.Withdrawn;
+import com.technicaltest.bankingapp.exception.ApplicationException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Layout: {@code accountId(8) version(8) timestamp(12) eventCount(4)} followed by each event as a tag byte and
+ * its fields: {@code type(1) balance(8) ownerNameLength(4) ownerName(n)} for a creation,
+ * {@code amount(8) balanceAfter(8)} for a deposit or a withdrawal,
+ * {@code amount(8) balanceAfter(8) period(4)} for an interest credit and
+ * {@code amount(8) balanceAfter(8) counterpartyId(8)} for either side of a transfer.
+ * The account ID leads the record so that replay can partition records without decoding them.
+ */
+public class AccountEventCodec {
+
+    private static final int HEADER_SIZE = Long.BYTES * 2 + (Long.BYTES + Integer.BYTES) + Integer.BYTES;
+    private static final byte CREATED = 1;
+    private static final byte DEPOSITED = 2;
+    private static final byte WITHDRAWN = 3;
+    private static final byte INTEREST_APPLIED = 4;
+    private static final byte TRANSFERRED_OUT = 5;
+    private static final byte TRANSFERRED_IN = 6;
+
+    public byte[] encode(AccountEventBatch batch) {
+        List<byte[]> ownerNames = new ArrayList<>(0);
+        int size = HEADER_SIZE;
+        for (AccountEvent event : batch.events()) {
+            if (event instanceof AccountCreated created) {
+                byte[] ownerName = created.ownerName() == null
+                        ? new byte[0]
+                        : created.ownerName().getBytes(StandardCharsets.UTF_8);
+                ownerNames.add(ownerName);
+                size += 1 + 1 + Long.BYTES + Integer.BYTES + ownerName.length;
+            } else if (event instanceof InterestApplied) {
+                size += 1 + Long.BYTES * 2 + Integer.BYTES;
+            } else if (event instanceof TransferredOut || event instanceof TransferredIn) {
+                size += 1 + Long.BYTES * 3;
+            } else {
+                size += 1 + Long.BYTES * 2;
+            }
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putLong(batch.accountId()).putLong(batch.version());
+        AccountCodec.putInstant(buffer, batch.timestamp());
+        buffer.putInt(batch.events().size());
+        int ownerNameIndex = 0;
+        for (AccountEvent event : batch.events()) {
+            if (event instanceof AccountCreated created) {
+                byte[] ownerName = ownerNames.get(ownerNameIndex++);
+                buffer.put(CREATED)
+                        .put((byte) created.accountType().ordinal())
+                        .putLong(created.balance())
+                        .putInt(ownerName.length)
+                        .put(ownerName);
+            } else if (event instanceof Deposited deposited) {
+                buffer.put(DEPOSITED).putLong(deposited.amount()).putLong(deposited.balanceAfter());
+            } else if (event instanceof Withdrawn withdrawn) {
+                buffer.put(WITHDRAWN).putLong(withdrawn.amount()).putLong(withdrawn.balanceAfter());
+            } else if (event instanceof InterestApplied interestApplied) {
+                buffer.put(INTEREST_APPLIED).putLong(interestApplied.amount()).putLong(interestApplied.balanceAfter());
+                AccountCodec.putYearMonth(buffer, interestApplied.period());
+            } else if (event instanceof TransferredOut transferredOut) {
+                buffer.put(TRANSFERRED_OUT).putLong(transferredOut.amount()).putLong(transferredOut.balanceAfter())
+                        .putLong(transferredOut.toAccountId());
+            } else if (event instanceof TransferredIn transferredIn) {
+                buffer.put(TRANSFERRED_IN).putLong(transferredIn.amount()).putLong(transferredIn.balanceAfter())
+                        .putLong(transferredIn.fromAccountId());
+            }
+        }
+        return buffer.array();
+    }
+
+    public AccountEventBatch decode(ByteBuffer buffer) {
+        long accountId = buffer.getLong();
+        long version = buffer.getLong();
+        Instant timestamp = AccountCodec.getInstant(buffer);
+        int eventCount = buffer.getInt();
+        List<AccountEvent> events = new ArrayList<>(eventCount);
+        for (int i = 0; i < eventCount; i++) {
+            byte tag = buffer.get();
+            events.add(switch (tag) {
+                case CREATED -> decodeCreated(buffer);
+                case DEPOSITED -> new Deposited(buffer.getLong(), buffer.getLong());
+                case WITHDRAWN -> new Withdrawn(buffer.getLong(), buffer.getLong());
+                case INTEREST_APPLIED -> new InterestApplied(buffer.getLong(), buffer.getLong(), AccountCodec.getYearMonth(buffer));
+                case TRANSFERRED_OUT -> new TransferredOut(buffer.getLong(), buffer.getLong(), buffer.getLong());
+                case TRANSFERRED_IN -> new TransferredIn(buffer.getLong(), buffer.getLong(), buffer.getLong());
+                default -> throw new ApplicationException("Unknown event tag " + tag + " in journal record");
+            });
+        }
+        return new AccountEventBatch(accountId, version, timestamp, List.copyOf(events));
+    }
+
+    /**
+     * @return the ID of the account a record belongs to, read without decoding the record
+     */
+    public static long accountIdOf(ByteBuffer record) {
+        return record.getLong(record.position());
+    }
+
+    private static AccountCreated decodeCreated(ByteBuffer buffer) {
+        int typeOrdinal = buffer.get();
+        if (typeOrdinal < 0 || typeOrdinal >= AccountType.values().length) {
+            throw new ApplicationException("Unknown account type " + typeOrdinal + " in journal record");
+        }
+        long balance = buffer.getLong();
+        byte[] ownerName = new byte[buffer.getInt()];
+        buffer.get(ownerName);
+        return new AccountCreated(AccountType.values()[typeOrdinal], new String(ownerName, StandardCharsets.UTF_8), balance);
+    }
+}
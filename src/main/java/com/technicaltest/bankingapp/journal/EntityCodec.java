@@ -0,0 +1,15 @@
+package com.technicaltest.bankingapp.journal;
+
+import com.technicaltest.bankingapp.model.Entity;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Binary encoding of an entity, used for journal records.
+ */
+public interface EntityCodec<T extends Entity> {
+
+    byte[] encode(T entity);
+
+    T decode(ByteBuffer buffer);
+}
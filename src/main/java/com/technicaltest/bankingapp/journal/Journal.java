@@ -0,0 +1,476 @@
+package com.technicaltest.bankingapp.journal;
+
+import com.technicaltest.bankingapp.config.JournalConfig;
+import com.technicaltest.bankingapp.exception.ApplicationException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only write-ahead journal with group commit.
+ * Writers enqueue records and wait on the returned {@link Ticket}; a single writer thread
+ * gathers the pending records into batches and makes each batch durable with one fsync,
+ * so concurrent writers share the cost of syncing instead of paying one fsync each.
+ * Every record is framed as {@code [length][crc32c][payload]} so that a torn tail left by a
+ * crash is detected and discarded on replay. Records that must survive a crash together are
+ * appended as one group frame, flagged by the sign bit of the length, whose payload is
+ * {@code count(4)} followed by {@code [length(4)][payload]} per record under a single checksum.
+ * <p>
+ * The live file can be rotated into a numbered archived segment ({@code <file>.<n>}), which
+ * lets a snapshot drop every record it already covers.
+ * <p>
+ * A failed write leaves the journal failed for good: the records of the batch may or may not be on disk,
+ * so nothing is written after them and every later append and rotation is refused. The state the records
+ * were appended for has already been committed in memory, so the owner must stop writing, see
+ * {@link #checkWritable()}, and recover from the journal after a restart.
+ */
+@Slf4j
+public class Journal implements Closeable {
+
+    private static final int HEADER_SIZE = Integer.BYTES * 2;
+    private static final int GROUP_FLAG = Integer.MIN_VALUE;
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final Path path;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    // Records and rotations, in the order they were requested
+    private final BlockingQueue<Request> pending = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private final AtomicLong writtenRecords = new AtomicLong();
+    private final AtomicLong syncs = new AtomicLong();
+    // Only replaced by the writer thread, when rotating
+    private volatile FileChannel channel;
+    private volatile boolean running = true;
+    // Set by the writer thread on the first failed write
+    private volatile IOException failure;
+
+    private Journal(Path path, FileChannel channel, JournalConfig config) {
+        this.path = path;
+        this.channel = channel;
+        this.maxBatchSize = Math.max(1, config.maxBatchSize());
+        this.maxDelayNanos = TimeUnit.MICROSECONDS.toNanos(Math.max(0, config.maxDelayMicros()));
+        this.writer = new Thread(this::runWriter, "journal-writer-" + path.getFileName());
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public static Journal open(Path path, JournalConfig config) {
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            return new Journal(path, openChannel(path), config);
+        } catch (IOException e) {
+            throw new ApplicationException("Failed to open journal " + path, e);
+        }
+    }
+
+    /**
+     * Enqueues a record for the next group commit.
+     *
+     * @param payload the record content
+     * @return a ticket completed once the record is durable
+     */
+    public Ticket append(byte[] payload) {
+        checkWritable();
+        return enqueue(new PendingRecord(payload, 1, new CompletableFuture<>(), false));
+    }
+
+    /**
+     * Enqueues records that replay must see all together or not at all, such as both sides of a transfer.
+     *
+     * @param payloads the record contents, replayed in this order
+     * @return a ticket completed once every record is durable
+     */
+    public Ticket appendAll(List<byte[]> payloads) {
+        checkWritable();
+        int size = Integer.BYTES;
+        for (byte[] payload : payloads) {
+            size += Integer.BYTES + payload.length;
+        }
+        ByteBuffer group = ByteBuffer.allocate(size).putInt(payloads.size());
+        for (byte[] payload : payloads) {
+            group.putInt(payload.length).put(payload);
+        }
+        return enqueue(new PendingRecord(group.array(), payloads.size(), new CompletableFuture<>(), true));
+    }
+
+    private Ticket enqueue(PendingRecord pendingRecord) {
+        enqueue((Request) pendingRecord);
+        return new Ticket(pendingRecord.durable());
+    }
+
+    /**
+     * Queues a request for the writer. A request checked while the journal was open may be queued after
+     * {@link #close()} failed the pending ones: it is then taken back and failed here, unless the writer or
+     * {@code close()} already took it and will complete it.
+     */
+    private void enqueue(Request request) {
+        pending.add(request);
+        if (!running && pending.remove(request)) {
+            request.fail(new IOException("Journal " + path + " is closed"));
+        }
+    }
+
+    /**
+     * Lets writers refuse a change before committing it in memory once the journal can no longer record it.
+     *
+     * @throws ApplicationException if the journal is closed or a previous write failed
+     */
+    public void checkWritable() {
+        if (failure != null) {
+            throw new ApplicationException("Journal " + path + " failed, restart to recover from it", failure);
+        }
+        if (!running) {
+            throw new ApplicationException("Journal " + path + " is closed");
+        }
+    }
+
+    /**
+     * Reads every intact record, archived segments first, then the live file, in append order.
+     * A torn or corrupted tail of the live file is truncated so that later appends follow the
+     * last intact record. Must be called before any record is appended.
+     *
+     * @param consumer receives each record payload
+     * @return the number of records replayed
+     */
+    public long replay(Consumer<ByteBuffer> consumer) {
+        long records = 0;
+        for (Path segment : archivedSegments()) {
+            try (FileChannel segmentChannel = FileChannel.open(segment, StandardOpenOption.READ)) {
+                records += readRecords(segment, segmentChannel, consumer, false);
+            } catch (IOException e) {
+                throw new ApplicationException("Failed to replay journal segment " + segment, e);
+            }
+        }
+        return records + readRecords(path, channel, consumer, true);
+    }
+
+    /**
+     * Closes the live file into a new archived segment and starts an empty live file.
+     * The rotation is queued behind the records already appended, so every record appended before this call
+     * is written to the archived segment and every record appended after it to the new live file.
+     *
+     * @return the archived segment
+     */
+    public Path rotate() {
+        checkWritable();
+        PendingRotation rotation = new PendingRotation(new CompletableFuture<>());
+        enqueue(rotation);
+        try {
+            return rotation.archived().join();
+        } catch (CompletionException e) {
+            throw new ApplicationException("Failed to rotate journal " + path, e.getCause());
+        }
+    }
+
+    /**
+     * @return the archived segments, oldest first
+     */
+    public List<Path> archivedSegments() {
+        Path directory = path.toAbsolutePath().getParent();
+        String prefix = path.getFileName() + ".";
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(file -> segmentNumber(file, prefix) > 0)
+                    .sorted(Comparator.comparingLong(file -> segmentNumber(file, prefix)))
+                    .toList();
+        } catch (IOException e) {
+            throw new ApplicationException("Failed to list journal segments of " + path, e);
+        }
+    }
+
+    /**
+     * Deletes the given archived segment and every older one, once their records are covered elsewhere.
+     */
+    public void deleteArchivedSegmentsUpTo(Path segment) {
+        String prefix = path.getFileName() + ".";
+        long lastNumber = segmentNumber(segment, prefix);
+        try {
+            for (Path archived : archivedSegments()) {
+                if (segmentNumber(archived, prefix) <= lastNumber) {
+                    Files.deleteIfExists(archived);
+                }
+            }
+        } catch (IOException e) {
+            throw new ApplicationException("Failed to delete journal segments of " + path, e);
+        }
+    }
+
+    public long getWrittenRecords() {
+        return writtenRecords.get();
+    }
+
+    /**
+     * @return the number of fsyncs issued, at most one per group commit
+     */
+    public long getSyncs() {
+        return syncs.get();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        try {
+            writer.join();
+            channel.close();
+            // Requests made while the writer was stopping will never be served
+            Request orphan;
+            while ((orphan = pending.poll()) != null) {
+                orphan.fail(new IOException("Journal " + path + " is closed"));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            throw new ApplicationException("Failed to close journal " + path, e);
+        }
+    }
+
+    private void runWriter() {
+        List<PendingRecord> batch = new ArrayList<>(maxBatchSize);
+        CRC32C crc = new CRC32C();
+        while (running || !pending.isEmpty()) {
+            try {
+                Request next = pending.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (next instanceof PendingRecord first) {
+                    batch.add(first);
+                    next = collectBatch(batch);
+                    writeBatch(batch, crc);
+                }
+                if (next instanceof PendingRotation rotation) {
+                    rotate(rotation);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Adds the next pending records to the batch until it is full, the delay runs out or a rotation is reached.
+     *
+     * @return the rotation that ended the batch, to be run once the batch is written, or null
+     */
+    private PendingRotation collectBatch(List<PendingRecord> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + maxDelayNanos;
+        while (batch.size() < maxBatchSize) {
+            Request next = pending.poll();
+            if (next == null) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return null;
+                }
+                next = pending.poll(remaining, TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    return null;
+                }
+            }
+            if (next instanceof PendingRotation rotation) {
+                return rotation;
+            }
+            batch.add((PendingRecord) next);
+        }
+        return null;
+    }
+
+    private void writeBatch(List<PendingRecord> batch, CRC32C crc) {
+        if (failure != null) {
+            // Records must not be written past a batch that may be missing from the file
+            batch.forEach(pendingRecord -> pendingRecord.fail(failure));
+            return;
+        }
+        try {
+            int totalSize = 0;
+            for (PendingRecord pendingRecord : batch) {
+                totalSize += HEADER_SIZE + pendingRecord.payload().length;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(totalSize);
+            long records = 0;
+            for (PendingRecord pendingRecord : batch) {
+                crc.reset();
+                crc.update(pendingRecord.payload());
+                records += pendingRecord.records();
+                buffer.putInt(pendingRecord.group() ? pendingRecord.payload().length | GROUP_FLAG : pendingRecord.payload().length)
+                        .putInt((int) crc.getValue())
+                        .put(pendingRecord.payload());
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+            syncs.incrementAndGet();
+            writtenRecords.addAndGet(records);
+            for (PendingRecord pendingRecord : batch) {
+                pendingRecord.durable().complete(null);
+            }
+        } catch (IOException e) {
+            log.error("Journal - Failed to write {} records to {}, refusing every later write", batch.size(), path, e);
+            failure = e;
+            batch.forEach(pendingRecord -> pendingRecord.fail(e));
+        }
+    }
+
+    private void rotate(PendingRotation rotation) {
+        if (failure != null) {
+            rotation.fail(failure);
+            return;
+        }
+        try {
+            List<Path> segments = archivedSegments();
+            long nextNumber = segments.isEmpty()
+                    ? 1
+                    : segmentNumber(segments.get(segments.size() - 1), path.getFileName() + ".") + 1;
+            Path archived = path.resolveSibling(path.getFileName() + "." + nextNumber);
+            channel.force(true);
+            channel.close();
+            Files.move(path, archived, StandardCopyOption.ATOMIC_MOVE);
+            channel = openChannel(path);
+            rotation.archived().complete(archived);
+        } catch (IOException e) {
+            // The live file may be closed or moved already
+            failure = e;
+            rotation.fail(e);
+        } catch (RuntimeException e) {
+            rotation.fail(e);
+        }
+    }
+
+    private static FileChannel openChannel(Path path) throws IOException {
+        FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        fileChannel.position(fileChannel.size());
+        return fileChannel;
+    }
+
+    private static long readRecords(Path file, FileChannel fileChannel, Consumer<ByteBuffer> consumer, boolean truncateTornTail) {
+        try {
+            long size = fileChannel.size();
+            long position = 0;
+            long records = 0;
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            CRC32C crc = new CRC32C();
+            while (position + HEADER_SIZE <= size) {
+                header.clear();
+                fileChannel.read(header, position);
+                header.flip();
+                int frameLength = header.getInt();
+                int checksum = header.getInt();
+                boolean group = (frameLength & GROUP_FLAG) != 0;
+                int length = frameLength & ~GROUP_FLAG;
+                if (position + HEADER_SIZE + length > size) {
+                    break;
+                }
+                ByteBuffer payload = ByteBuffer.allocate(length);
+                fileChannel.read(payload, position + HEADER_SIZE);
+                payload.flip();
+                crc.reset();
+                crc.update(payload.duplicate());
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                if (group) {
+                    records += acceptGroup(payload, consumer);
+                } else {
+                    consumer.accept(payload);
+                    records++;
+                }
+                position += HEADER_SIZE + length;
+            }
+            if (position < size) {
+                log.warn("Journal - Discarding {} bytes of torn records at the end of {}", size - position, file);
+                if (truncateTornTail) {
+                    fileChannel.truncate(position);
+                }
+            }
+            if (truncateTornTail) {
+                fileChannel.position(position);
+            }
+            return records;
+        } catch (IOException e) {
+            throw new ApplicationException("Failed to replay journal " + file, e);
+        }
+    }
+
+    private static int acceptGroup(ByteBuffer group, Consumer<ByteBuffer> consumer) {
+        int count = group.getInt();
+        for (int i = 0; i < count; i++) {
+            int length = group.getInt();
+            ByteBuffer payload = group.slice(group.position(), length);
+            group.position(group.position() + length);
+            consumer.accept(payload);
+        }
+        return count;
+    }
+
+    private static long segmentNumber(Path file, String prefix) {
+        String fileName = file.getFileName().toString();
+        if (!fileName.startsWith(prefix)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(fileName.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private sealed interface Request permits PendingRecord, PendingRotation {
+
+        void fail(Throwable cause);
+    }
+
+    private record PendingRecord(byte[] payload, int records, CompletableFuture<Void> durable, boolean group)
+            implements Request {
+
+        @Override
+        public void fail(Throwable cause) {
+            durable.completeExceptionally(cause);
+        }
+    }
+
+    private record PendingRotation(CompletableFuture<Path> archived) implements Request {
+
+        @Override
+        public void fail(Throwable cause) {
+            archived.completeExceptionally(cause);
+        }
+    }
+
+    /**
+     * Handle on an appended record, used to wait for its group commit outside of any lock.
+     */
+    public record Ticket(CompletableFuture<Void> durable) {
+
+        public void awaitDurable() {
+            try {
+                durable.join();
+            } catch (CompletionException e) {
+                throw new ApplicationException("Failed to write journal record", e.getCause());
+            }
+        }
+    }
+}
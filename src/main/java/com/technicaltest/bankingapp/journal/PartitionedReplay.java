@@ -0,0 +1,111 @@
+package com.technicaltest.bankingapp.journal;
+
+import com.technicaltest.bankingapp.exception.ApplicationException;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * Replays a journal on several threads while keeping the order of the records sharing a partition key.
+ * The calling thread reads the records in journal order and hands each of them to the worker owning its key,
+ * so records of one key are applied one at a time and in order, and records of different keys in parallel.
+ */
+@Slf4j
+@UtilityClass
+public class PartitionedReplay {
+
+    private static final int QUEUE_CAPACITY = 4096;
+    private static final ByteBuffer END_OF_REPLAY = ByteBuffer.allocate(0);
+
+    /**
+     * @param partitionKey extracts the key of a record, records of one key being applied in journal order
+     * @param consumer     applies a record, called concurrently for records of different keys
+     * @return the number of records replayed
+     */
+    public static long replay(Journal journal, int parallelism, ToLongFunction<ByteBuffer> partitionKey, Consumer<ByteBuffer> consumer) {
+        if (parallelism <= 1) {
+            return journal.replay(consumer);
+        }
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        List<BlockingQueue<ByteBuffer>> queues = new ArrayList<>(parallelism);
+        Thread[] workers = new Thread[parallelism];
+        for (int i = 0; i < parallelism; i++) {
+            BlockingQueue<ByteBuffer> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+            queues.add(queue);
+            workers[i] = new Thread(() -> drain(queue, consumer, failure), "journal-replay-" + i);
+            workers[i].start();
+        }
+
+        long records;
+        try {
+            records = journal.replay(record -> put(queues.get(partitionOf(partitionKey.applyAsLong(record), parallelism)), record));
+        } finally {
+            for (BlockingQueue<ByteBuffer> queue : queues) {
+                put(queue, END_OF_REPLAY);
+            }
+            for (Thread worker : workers) {
+                join(worker);
+            }
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+        return records;
+    }
+
+    private static void drain(BlockingQueue<ByteBuffer> queue, Consumer<ByteBuffer> consumer, AtomicReference<RuntimeException> failure) {
+        while (true) {
+            ByteBuffer record;
+            try {
+                record = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure.compareAndSet(null, new ApplicationException("Journal replay interrupted", e));
+                return;
+            }
+            if (record == END_OF_REPLAY) {
+                return;
+            }
+            // Keep draining after a failure so that the reading thread never blocks on a full queue
+            if (failure.get() == null) {
+                try {
+                    consumer.accept(record);
+                } catch (RuntimeException e) {
+                    log.error("Journal - Failed to replay a record: {}", e.getMessage(), e);
+                    failure.compareAndSet(null, e);
+                }
+            }
+        }
+    }
+
+    private static int partitionOf(long key, int parallelism) {
+        // Spread sequential keys so that neighbouring accounts do not share a worker
+        return (int) Math.floorMod(key * 0x9E3779B97F4A7C15L >>> 32, (long) parallelism);
+    }
+
+    private static void put(BlockingQueue<ByteBuffer> queue, ByteBuffer record) {
+        try {
+            queue.put(record);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApplicationException("Journal replay interrupted", e);
+        }
+    }
+
+    private static void join(Thread worker) {
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApplicationException("Journal replay interrupted", e);
+        }
+    }
+}
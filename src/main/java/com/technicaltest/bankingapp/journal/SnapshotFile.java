@@ -0,0 +1,213 @@
+package com.technicaltest.bankingapp.journal;
+
+import com.technicaltest.bankingapp.database.EntityStore;
+import com.technicaltest.bankingapp.exception.ApplicationException;
+import com.technicaltest.bankingapp.model.Entity;
+import lombok.experimental.UtilityClass;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Compact binary snapshot of an entity collection.
+ * <p>
+ * Layout: a 32 bytes header {@code magic(4) formatVersion(4) idCounter(8) recordCount(8) offsetsPosition(8)},
+ * the records as {@code [length(4)][payload]}, then a table holding the position of every record.
+ * The offsets table lets a loader split the records into contiguous partitions up front and parse them
+ * in parallel from memory-mapped regions, without scanning the file first.
+ */
+@UtilityClass
+public class SnapshotFile {
+
+    private static final int MAGIC = 0x424E4B53;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+    private static final long MAX_PARTITION_SIZE = 1L << 30;
+
+    /**
+     * @param idCounter value of the id counter when the snapshot was taken
+     * @param records   number of entities in the snapshot
+     */
+    public record Summary(long idCounter, long records) {}
+
+    /**
+     * Writes every entity of the store to a temporary file and atomically moves it over the snapshot.
+     *
+     * @return the number of entities written
+     */
+    public static <T extends Entity> long write(Path path, EntityStore<T> store, long idCounter, EntityCodec<T> codec) {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            long records;
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                RecordWriter<T> recordWriter = new RecordWriter<>(channel, codec, store.size());
+                try {
+                    store.forEach(recordWriter);
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+                records = recordWriter.finish(idCounter);
+                channel.force(true);
+            }
+            Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return records;
+        } catch (IOException e) {
+            throw new ApplicationException("Failed to write snapshot " + path, e);
+        }
+    }
+
+    /**
+     * Maps the snapshot and decodes its records on {@code parallelism} threads.
+     *
+     * @param restore receives every decoded entity, concurrently from several threads
+     */
+    public static <T extends Entity> Summary load(Path path, EntityCodec<T> codec, int parallelism, Consumer<T> restore) {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, parallelism));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getInt() != MAGIC || header.getInt() != FORMAT_VERSION) {
+                throw new ApplicationException("Unsupported snapshot format in " + path);
+            }
+            long idCounter = header.getLong();
+            long recordCount = header.getLong();
+            long offsetsPosition = header.getLong();
+            if (recordCount == 0) {
+                return new Summary(idCounter, 0);
+            }
+
+            LongBuffer offsets = channel.map(FileChannel.MapMode.READ_ONLY, offsetsPosition, recordCount * Long.BYTES).asLongBuffer();
+            long partitions = Math.min(recordCount,
+                    Math.max(parallelism, (offsetsPosition - HEADER_SIZE) / MAX_PARTITION_SIZE + 1));
+            List<Future<?>> parsing = new ArrayList<>();
+            for (long partition = 0; partition < partitions; partition++) {
+                long first = recordCount * partition / partitions;
+                long last = recordCount * (partition + 1) / partitions;
+                long start = offsets.get((int) first);
+                long end = last < recordCount ? offsets.get((int) last) : offsetsPosition;
+                if (end - start > Integer.MAX_VALUE) {
+                    throw new ApplicationException("Snapshot partition too large in " + path);
+                }
+                parsing.add(executor.submit(() -> {
+                    MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+                    parsePartition(region, last - first, codec, restore);
+                    return null;
+                }));
+            }
+            for (Future<?> partition : parsing) {
+                partition.get();
+            }
+            return new Summary(idCounter, recordCount);
+        } catch (IOException e) {
+            throw new ApplicationException("Failed to load snapshot " + path, e);
+        } catch (ExecutionException e) {
+            throw new ApplicationException("Failed to load snapshot " + path, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApplicationException("Interrupted while loading snapshot " + path, e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static <T extends Entity> void parsePartition(ByteBuffer region, long records, EntityCodec<T> codec, Consumer<T> restore) {
+        for (long i = 0; i < records; i++) {
+            int length = region.getInt();
+            restore.accept(codec.decode(region.slice(region.position(), length)));
+            region.position(region.position() + length);
+        }
+    }
+
+    private static final class RecordWriter<T extends Entity> implements Consumer<T> {
+
+        private final FileChannel channel;
+        private final EntityCodec<T> codec;
+        private final ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+        private long[] offsets;
+        private int count;
+        private long position = HEADER_SIZE;
+
+        private RecordWriter(FileChannel channel, EntityCodec<T> codec, long expectedRecords) throws IOException {
+            this.channel = channel;
+            this.codec = codec;
+            this.offsets = new long[(int) Math.min(Integer.MAX_VALUE - 8, Math.max(16, expectedRecords))];
+            channel.position(HEADER_SIZE);
+        }
+
+        @Override
+        public void accept(T entity) {
+            try {
+                byte[] payload = codec.encode(entity);
+                if (count == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, offsets.length * 2);
+                }
+                offsets[count++] = position;
+                ensureRemaining(Integer.BYTES);
+                buffer.putInt(payload.length);
+                if (payload.length > buffer.capacity()) {
+                    flush();
+                    channel.write(ByteBuffer.wrap(payload));
+                } else {
+                    ensureRemaining(payload.length);
+                    buffer.put(payload);
+                }
+                position += Integer.BYTES + payload.length;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private long finish(long idCounter) throws IOException {
+            long offsetsPosition = position;
+            for (int i = 0; i < count; i++) {
+                ensureRemaining(Long.BYTES);
+                buffer.putLong(offsets[i]);
+            }
+            flush();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                    .putInt(MAGIC)
+                    .putInt(FORMAT_VERSION)
+                    .putLong(idCounter)
+                    .putLong(count)
+                    .putLong(offsetsPosition)
+                    .flip();
+            channel.write(header, 0);
+            return count;
+        }
+
+        private void ensureRemaining(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
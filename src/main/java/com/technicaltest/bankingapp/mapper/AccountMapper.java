@@ -4,6 +4,8 @@ import com.technicaltest.bankingapp.dto.AccountDTO;
 import lombok.experimental.UtilityClass;
 import com.technicaltest.bankingapp.model.Account;
 
+import static com.technicaltest.bankingapp.utils.MoneyUtils.toBigDecimal;
+
 @UtilityClass
 public class AccountMapper {
 
@@ -15,7 +17,7 @@ public class AccountMapper {
         return AccountDTO
                 .builder()
                 .id(account.getId())
-                .balance(account.getBalance())
+                .balance(toBigDecimal(account.getBalance()))
                 .ownerName(account.getOwnerName())
                 .accountType(account.getAccountType())
                 .build();
@@ -0,0 +1,74 @@
+package com.technicaltest.bankingapp.metrics;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import static com.technicaltest.bankingapp.config.ConfigLoader.METRICS_CONFIGURATION;
+
+/**
+ * The metrics of every service operation, registered as MBeans under {@value #DOMAIN} when JMX is enabled.
+ */
+@Slf4j
+@UtilityClass
+public class MetricsRegistry {
+
+    public static final String DOMAIN = "com.technicaltest.bankingapp";
+
+    private static final Map<String, OperationMetrics> OPERATIONS = new ConcurrentSkipListMap<>();
+
+    /**
+     * @return the metrics of the operation, created and registered on first use
+     */
+    public static OperationMetrics operation(String name) {
+        return OPERATIONS.computeIfAbsent(name, operationName -> {
+            OperationMetrics metrics = new OperationMetrics(operationName);
+            if (METRICS_CONFIGURATION.jmxEnabled()) {
+                registerMBean(metrics);
+            }
+            return metrics;
+        });
+    }
+
+    /**
+     * @return the metrics of every operation, by operation name
+     */
+    public static Map<String, OperationMetrics> operations() {
+        return OPERATIONS;
+    }
+
+    static ObjectName objectName(String operationName) throws JMException {
+        return new ObjectName(DOMAIN + ":type=Operation,name=" + ObjectName.quote(operationName));
+    }
+
+    /**
+     * @return one line per operation with its count, throughput, errors and latency percentiles
+     */
+    public static String dump() {
+        StringBuilder dump = new StringBuilder("Metrics:");
+        OPERATIONS.values().forEach(metrics -> dump.append(String.format(Locale.ROOT,
+                "%n  %-10s count=%d rate=%.1f/s errors=%s p50=%.1fus p99=%.1fus p999=%.1fus max=%.1fus",
+                metrics.getName(), metrics.getCount(), metrics.getThroughputPerSecond(), metrics.getErrors(),
+                metrics.getP50Micros(), metrics.getP99Micros(), metrics.getP999Micros(), metrics.getMaxMicros())));
+        return dump.toString();
+    }
+
+    private static void registerMBean(OperationMetrics metrics) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName objectName = objectName(metrics.getName());
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(metrics, objectName);
+            }
+        } catch (JMException e) {
+            log.warn("MetricsRegistry - Failed to register the MBean of {}: {}", metrics.getName(), e.getMessage());
+        }
+    }
+}
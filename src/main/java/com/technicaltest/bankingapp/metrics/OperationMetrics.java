@@ -0,0 +1,138 @@
+package com.technicaltest.bankingapp.metrics;
+
+import com.technicaltest.bankingapp.exception.InvalidOperationException;
+import com.technicaltest.bankingapp.exception.ResourceNotFoundException;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Latency, throughput and errors of one service operation.
+ * Every call, successful or not, is counted and timed; failed calls are also counted by exception type.
+ */
+public class OperationMetrics implements OperationMetricsMBean {
+
+    private static final double NANOS_PER_MICRO = TimeUnit.MICROSECONDS.toNanos(1);
+
+    private final String name;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final Map<Class<?>, LongAdder> errors = new ConcurrentHashMap<>();
+    private final LongAdder errorCount = new LongAdder();
+    private final long startNanos = System.nanoTime();
+
+    public OperationMetrics(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Runs the operation, recording its latency and, if it throws, its exception type.
+     */
+    public <R> R time(Supplier<R> operation) {
+        long start = System.nanoTime();
+        try {
+            R result = operation.get();
+            latencies.record(System.nanoTime() - start);
+            return result;
+        } catch (RuntimeException e) {
+            latencies.record(System.nanoTime() - start);
+            recordError(e);
+            throw e;
+        }
+    }
+
+    public void time(Runnable operation) {
+        time(() -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    public void recordError(Throwable error) {
+        LongAdder counter = errors.get(error.getClass());
+        if (counter == null) {
+            counter = errors.computeIfAbsent(error.getClass(), type -> new LongAdder());
+        }
+        counter.increment();
+        errorCount.increment();
+    }
+
+    /**
+     * @return the error counts by simple exception name
+     */
+    public Map<String, Long> getErrors() {
+        Map<String, Long> counts = new TreeMap<>();
+        errors.forEach((type, counter) -> counts.merge(type.getSimpleName(), counter.sum(), Long::sum));
+        return counts;
+    }
+
+    public LatencyHistogram getLatencies() {
+        return latencies;
+    }
+
+    @Override
+    public long getCount() {
+        return latencies.getCount();
+    }
+
+    @Override
+    public long getErrorCount() {
+        return errorCount.sum();
+    }
+
+    @Override
+    public long getInvalidOperationErrors() {
+        return errorsOf(InvalidOperationException.class);
+    }
+
+    @Override
+    public long getResourceNotFoundErrors() {
+        return errorsOf(ResourceNotFoundException.class);
+    }
+
+    /**
+     * @return the mean number of calls per second since the metrics were created
+     */
+    @Override
+    public double getThroughputPerSecond() {
+        double elapsedSeconds = (System.nanoTime() - startNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+        return elapsedSeconds <= 0 ? 0 : getCount() / elapsedSeconds;
+    }
+
+    @Override
+    public double getMeanMicros() {
+        return latencies.getMean() / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getP50Micros() {
+        return latencies.getValueAtPercentile(50) / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getP99Micros() {
+        return latencies.getValueAtPercentile(99) / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getP999Micros() {
+        return latencies.getValueAtPercentile(99.9) / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getMaxMicros() {
+        return latencies.getMax() / NANOS_PER_MICRO;
+    }
+
+    private long errorsOf(Class<? extends Throwable> type) {
+        LongAdder counter = errors.get(type);
+        return counter == null ? 0 : counter.sum();
+    }
+}
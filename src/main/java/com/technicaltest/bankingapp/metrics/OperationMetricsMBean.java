@@ -0,0 +1,27 @@
+package com.technicaltest.bankingapp.metrics;
+
+/**
+ * JMX view of {@link OperationMetrics}, latencies being reported in microseconds.
+ */
+public interface OperationMetricsMBean {
+
+    long getCount();
+
+    long getErrorCount();
+
+    long getInvalidOperationErrors();
+
+    long getResourceNotFoundErrors();
+
+    double getThroughputPerSecond();
+
+    double getMeanMicros();
+
+    double getP50Micros();
+
+    double getP99Micros();
+
+    double getP999Micros();
+
+    double getMaxMicros();
+}
@@ -4,14 +4,18 @@ import com.technicaltest.bankingapp.enumeration.AccountType;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
 
-import java.math.BigDecimal;
-
 @Data
 @SuperBuilder(toBuilder = true)
 @EqualsAndHashCode(callSuper = true)
 public abstract class Account extends Entity {
     private String ownerName;
-    private BigDecimal balance;
+    /**
+     * Balance in minor units (cents).
+     */
+    private long balance;
+
+    @Override
+    public abstract Account copy();
 
     public abstract AccountType getAccountType();
 }
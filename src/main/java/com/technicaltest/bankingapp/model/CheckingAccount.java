@@ -10,6 +10,11 @@ import lombok.experimental.SuperBuilder;
 @EqualsAndHashCode(callSuper = true)
 public class CheckingAccount extends Account {
 
+    @Override
+    public CheckingAccount copy() {
+        return toBuilder().build();
+    }
+
     @Override
     public AccountType getAccountType() {
         return AccountType.CHECKING;
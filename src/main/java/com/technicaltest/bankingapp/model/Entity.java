@@ -10,6 +10,14 @@ import java.time.Instant;
 public abstract class Entity {
 
     private Long id;
+    private long version;
     private Instant createdAt;
     private Instant updatedAt;
+
+    /**
+     * Creates a detached copy of this entity, used by repositories to keep stored state isolated from callers.
+     *
+     * @return a copy holding the same field values
+     */
+    public abstract Entity copy();
 }
@@ -0,0 +1,47 @@
+package com.technicaltest.bankingapp.model;
+
+import com.technicaltest.bankingapp.enumeration.TransactionType;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.Comparator;
+
+/**
+ * Immutable record of one operation applied to an account.
+ * Entries of an account are ordered by timestamp, then by the account version the operation was committed
+ * with, then by their position among the operations committed together.
+ */
+@Value
+@Builder(toBuilder = true)
+public class LedgerEntry {
+
+    public static final Comparator<LedgerEntry> CHRONOLOGICAL_ORDER = Comparator
+            .comparing(LedgerEntry::getTimestamp)
+            .thenComparingLong(LedgerEntry::getVersion)
+            .thenComparingInt(LedgerEntry::getSequence);
+
+    long accountId;
+    /**
+     * Account version the operation was committed with.
+     */
+    long version;
+    /**
+     * Position of the operation among the operations committed with the same version.
+     */
+    int sequence;
+    TransactionType type;
+    /**
+     * Amount in minor units (cents).
+     */
+    long amount;
+    /**
+     * Balance in minor units right after the operation.
+     */
+    long balanceAfter;
+    /**
+     * The other account of a transfer, null for the other operations.
+     */
+    Long counterpartyAccountId;
+    Instant timestamp;
+}
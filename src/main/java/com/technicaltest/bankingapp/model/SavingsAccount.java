@@ -5,14 +5,50 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.experimental.SuperBuilder;
 
-import java.math.BigDecimal;
+import java.time.YearMonth;
 
 @Data
 @SuperBuilder(toBuilder = true)
 @EqualsAndHashCode(callSuper = true)
 public class SavingsAccount extends Account {
 
-    private BigDecimal monthlyInterestBase;
+    /**
+     * Base the next monthly interest is computed on, in minor units (cents).
+     */
+    private long monthlyInterestBase;
+    /**
+     * Last month the month-end interest run credited this account for, null if it never did.
+     */
+    private YearMonth lastInterestPeriod;
+    /**
+     * Month the withdrawal counter belongs to, null if the account never had a withdrawal.
+     */
+    private YearMonth withdrawalPeriod;
+    /**
+     * Amount withdrawn during {@link #withdrawalPeriod}, in minor units (cents).
+     * Never reset in bulk: a counter left from an earlier month simply reads as zero.
+     */
+    private long withdrawnInPeriod;
+
+    /**
+     * @return the amount withdrawn during {@code period}, in minor units (cents)
+     */
+    public long getWithdrawnIn(YearMonth period) {
+        return period.equals(withdrawalPeriod) ? withdrawnInPeriod : 0;
+    }
+
+    /**
+     * Adds a withdrawal to the counter of {@code period}, starting a new counter when the month changed.
+     */
+    public void recordWithdrawal(YearMonth period, long amount) {
+        withdrawnInPeriod = getWithdrawnIn(period) + amount;
+        withdrawalPeriod = period;
+    }
+
+    @Override
+    public SavingsAccount copy() {
+        return toBuilder().build();
+    }
 
     @Override
     public AccountType getAccountType() {
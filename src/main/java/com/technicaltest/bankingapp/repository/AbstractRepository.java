@@ -1,39 +1,389 @@
 package com.technicaltest.bankingapp.repository;
 
+import com.technicaltest.bankingapp.concurrency.StripedLock;
+import com.technicaltest.bankingapp.database.EntityStore;
 import com.technicaltest.bankingapp.database.InMemoryDatabase;
+import com.technicaltest.bankingapp.database.SecondaryIndex;
+import com.technicaltest.bankingapp.database.ShardedEntityStore;
+import com.technicaltest.bankingapp.journal.EntityCodec;
+import com.technicaltest.bankingapp.journal.Journal;
+import com.technicaltest.bankingapp.journal.SnapshotFile;
 import com.technicaltest.bankingapp.model.Entity;
+import lombok.extern.slf4j.Slf4j;
 
 import java.lang.reflect.ParameterizedType;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Instant;
-import java.util.Map;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
+import static com.technicaltest.bankingapp.config.ConfigLoader.SNAPSHOT_CONFIGURATION;
+
+@Slf4j
 public abstract class AbstractRepository<T extends Entity> {
 
-    protected final Map<Long, T> collection;
+    private static final Journal.Ticket NOT_JOURNALED = new Journal.Ticket(CompletableFuture.completedFuture(null));
+
+    protected final EntityStore<T> collection;
+    private final Class<T> entityType;
+    // Highest ID handed out, by this counter unless the collection is sharded
     private final AtomicLong idCounter;
+    private final StripedLock commitLock;
+    private final EntityCodec<T> codec;
+    // Null when the entity type is not journaled
+    private final Journal journal;
+    private final List<SecondaryIndex<T>> indexes;
 
+    protected AbstractRepository(EntityCodec<T> codec) {
+        this(codec, List.of());
+    }
+
+    /**
+     * @param indexes the indexes updated with every version stored by commits and by recovery
+     */
     @SuppressWarnings("unchecked")
-    public AbstractRepository() {
+    protected AbstractRepository(EntityCodec<T> codec, List<SecondaryIndex<T>> indexes) {
         // Infer the actual entity class using reflection
-        Class<T> entityType = (Class<T>) ((ParameterizedType) getClass().getGenericSuperclass())
+        this.entityType = (Class<T>) ((ParameterizedType) getClass().getGenericSuperclass())
                 .getActualTypeArguments()[0];
         this.collection = InMemoryDatabase.getCollection(entityType);
         this.idCounter = InMemoryDatabase.getIdCounter(entityType);
+        this.commitLock = InMemoryDatabase.getLock(entityType);
+        this.codec = codec;
+        this.journal = InMemoryDatabase.getJournal(entityType);
+        this.indexes = List.copyOf(indexes);
     }
 
+    /**
+     * Stores the entity unconditionally, overwriting whatever version is currently stored.
+     */
     public T save(T entity) {
+        return save(entity, codec::encode);
+    }
+
+    /**
+     * Stores the entity unconditionally, journaling the record built from it once its version and
+     * timestamps are assigned.
+     */
+    protected T save(T entity, Function<? super T, byte[]> journalRecord) {
+        saveWithoutWaiting(entity, journalRecord).awaitDurable();
+        return entity;
+    }
+
+    /**
+     * Stores the entity only if the stored version still matches the version the entity was read with.
+     * The lock is held for the version check and the write only, never while the caller computes the update
+     * or while the journal syncs.
+     *
+     * @return true if the entity was stored, false if another writer committed first
+     */
+    public boolean compareAndSave(T entity) {
+        return compareAndSave(entity, codec::encode);
+    }
+
+    /**
+     * Same as {@link #compareAndSave(Entity)}, journaling the record built from the entity once its version
+     * and timestamps are assigned.
+     */
+    protected boolean compareAndSave(T entity, Function<? super T, byte[]> journalRecord) {
+        Journal.Ticket ticket = compareAndCommit(entity, journalRecord);
+        if (ticket == null) {
+            return false;
+        }
+        ticket.awaitDurable();
+        return true;
+    }
+
+    /**
+     * Same as {@link #compareAndSave(Entity)} without waiting for the journal.
+     *
+     * @see #compareAndCommit(Entity, Function)
+     */
+    protected Journal.Ticket compareAndCommit(T entity) {
+        return compareAndCommit(entity, codec::encode);
+    }
+
+    /**
+     * Same as {@link #compareAndSave(Entity, Function)} without waiting for the journal, for writers that
+     * hand durability over to another thread. The committed version is visible to readers at once.
+     *
+     * @return the ticket of the journal record, already durable when the type is not journaled,
+     * or null if another writer committed first
+     */
+    protected Journal.Ticket compareAndCommit(T entity, Function<? super T, byte[]> journalRecord) {
         if (entity.getId() == null) {
-            entity.setId(idCounter.incrementAndGet());
-            entity.setCreatedAt(Instant.now());
+            return saveWithoutWaiting(entity, journalRecord);
+        }
+        ReentrantLock lock = commitLock.lockFor(entity.getId());
+        lock.lock();
+        try {
+            T current = collection.get(entity.getId());
+            if (current == null || current.getVersion() != entity.getVersion()) {
+                return null;
+            }
+            return commit(entity, current.getVersion(), journalRecord);
+        } finally {
+            lock.unlock();
         }
-        entity.setUpdatedAt(Instant.now());
-        collection.put(entity.getId(), entity);
-        return entity;
     }
 
+    /**
+     * Same as {@link #compareAndSaveAll(List, Function)}, journaling each entity itself.
+     */
+    protected boolean compareAndSaveAll(List<T> entities) {
+        return compareAndSaveAll(entities, codec::encode);
+    }
+
+    /**
+     * Stores all the entities only if every stored version still matches the version it was read with,
+     * as one atomic commit: the stripes of every entity are locked in stripe order, so concurrent multi-entity
+     * commits never deadlock, and the journal records are appended as one group that recovery replays whole
+     * or not at all. Neither other writers nor {@link #findById(Long)} ever observe part of the commit: once a
+     * reader has seen one of the entities updated, every later read of the others returns them updated too.
+     *
+     * @param entities      entities already stored, with distinct IDs
+     * @param journalRecord builds the journal record of each entity once its version and timestamps are assigned
+     * @return true if every entity was stored, false if another writer committed any of them first
+     */
+    protected boolean compareAndSaveAll(List<T> entities, Function<? super T, byte[]> journalRecord) {
+        long[] ids = new long[entities.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = entities.get(i).getId();
+        }
+        List<ReentrantLock> locks = commitLock.orderedLocksFor(ids);
+        locks.forEach(ReentrantLock::lock);
+        Journal.Ticket ticket;
+        try {
+            for (T entity : entities) {
+                T current = collection.get(entity.getId());
+                if (current == null || current.getVersion() != entity.getVersion()) {
+                    return false;
+                }
+            }
+            checkJournalWritable();
+            for (T entity : entities) {
+                store(entity, entity.getVersion());
+            }
+            ticket = journal == null
+                    ? NOT_JOURNALED
+                    : journal.appendAll(entities.stream().<byte[]>map(journalRecord).toList());
+        } finally {
+            for (int i = locks.size() - 1; i >= 0; i--) {
+                locks.get(i).unlock();
+            }
+        }
+        ticket.awaitDurable();
+        return true;
+    }
+
+    /**
+     * Reads without locking unless the stripe of the entity is held by a commit. A multi-entity commit holds
+     * the stripes of all its entities from before it stores the first one until after it stored the last one,
+     * so a reader that saw any of them updated then waits for the stripes of the others and reads them updated.
+     */
     public Optional<T> findById(Long id) {
-        return Optional.ofNullable(collection.get(id));
+        if (id == null) {
+            return Optional.empty();
+        }
+        T entity;
+        ReentrantLock lock = commitLock.lockFor(id);
+        if (lock.isLocked()) {
+            lock.lock();
+            try {
+                entity = collection.get(id);
+            } finally {
+                lock.unlock();
+            }
+        } else {
+            entity = collection.get(id);
+        }
+        return entity == null ? Optional.empty() : Optional.of(copyOf(entity));
+    }
+
+    /**
+     * @return the highest ID handed out so far
+     */
+    public long getMaxId() {
+        if (collection instanceof ShardedEntityStore<T> shardedCollection) {
+            return Math.max(idCounter.get(), shardedCollection.getMaxId());
+        }
+        return idCounter.get();
+    }
+
+    /**
+     * Visits the stored entities with an ID in {@code [fromId, toId)}, in ID order within each shard,
+     * without copying them.
+     * The action must treat the entities as read-only and go through the repository to change them.
+     * The scan takes no lock, so like any weakly consistent iteration it may visit one entity of a
+     * multi-entity commit updated and another not yet; use {@link #findById(Long)} for consistent reads.
+     */
+    public void scan(long fromId, long toId, Consumer<? super T> action) {
+        collection.forEachInRange(fromId, toId, action);
+    }
+
+    /**
+     * Rebuilds the collection from the latest snapshot, when snapshots are enabled, then from the journal,
+     * and moves the id counter past the highest recovered ID.
+     * Meant to run once at startup, before the repository serves any request.
+     *
+     * @return the number of snapshot entities and journal records restored
+     */
+    public long recover() {
+        long restored = 0;
+        if (SNAPSHOT_CONFIGURATION.enabled()) {
+            int parallelism = SNAPSHOT_CONFIGURATION.loadParallelism() > 0
+                    ? SNAPSHOT_CONFIGURATION.loadParallelism()
+                    : Runtime.getRuntime().availableProcessors();
+            restored += loadSnapshot(snapshotPath(), parallelism);
+        }
+        if (journal != null) {
+            long replayed = replayJournal(journal);
+            log.info("Repository - Replayed {} journal records of {}.", replayed, entityType.getSimpleName());
+            restored += replayed;
+        }
+        return restored;
+    }
+
+    /**
+     * Writes a snapshot to the configured snapshot directory.
+     *
+     * @return the number of entities written
+     */
+    public long snapshot() {
+        return writeSnapshot(snapshotPath());
+    }
+
+    /**
+     * Writes every stored entity to a snapshot file, then drops the journal segments the snapshot covers.
+     * The journal is rotated before the collection is scanned, so every record of the archived segments
+     * was committed to the collection before the scan and is captured by it.
+     *
+     * @return the number of entities written
+     */
+    public long writeSnapshot(Path snapshotPath) {
+        synchronized (collection) {
+            Path archivedSegment = journal == null ? null : journal.rotate();
+            long written = SnapshotFile.write(snapshotPath, collection, getMaxId(), codec);
+            if (archivedSegment != null) {
+                journal.deleteArchivedSegmentsUpTo(archivedSegment);
+            }
+            log.info("Repository - Wrote snapshot of {} {} entities.", written, entityType.getSimpleName());
+            return written;
+        }
+    }
+
+    /**
+     * Restores the entities of a snapshot file, parsing it on several threads.
+     *
+     * @return the number of entities restored, 0 if the snapshot does not exist
+     */
+    public long loadSnapshot(Path snapshotPath, int parallelism) {
+        if (!Files.exists(snapshotPath)) {
+            return 0;
+        }
+        SnapshotFile.Summary summary = SnapshotFile.load(snapshotPath, codec, parallelism, this::restore);
+        idCounter.accumulateAndGet(summary.idCounter(), Math::max);
+        log.info("Repository - Loaded snapshot of {} {} entities.", summary.records(), entityType.getSimpleName());
+        return summary.records();
+    }
+
+    /**
+     * Installs a recovered entity unless a newer version of it is already stored.
+     * Records can therefore be replayed in any order and more than once.
+     * Safe to call concurrently for distinct entities.
+     */
+    protected void restore(T entity) {
+        T current = collection.get(entity.getId());
+        if (current == null || current.getVersion() < entity.getVersion()) {
+            collection.put(entity.getId(), entity);
+            updateIndexes(current, entity);
+        }
+        idCounter.accumulateAndGet(entity.getId(), Math::max);
+    }
+
+    /**
+     * Replays every journal record into the collection.
+     *
+     * @return the number of records replayed
+     */
+    protected long replayJournal(Journal journal) {
+        return journal.replay(buffer -> restore(codec.decode(buffer)));
+    }
+
+    private void updateIndexes(T previous, T current) {
+        for (SecondaryIndex<T> index : indexes) {
+            index.update(previous, current);
+        }
+    }
+
+    private Path snapshotPath() {
+        return SNAPSHOT_CONFIGURATION.directory().resolve(entityType.getSimpleName() + ".snapshot");
+    }
+
+    private Journal.Ticket commit(T entity, long storedVersion, Function<? super T, byte[]> journalRecord) {
+        checkJournalWritable();
+        store(entity, storedVersion);
+        // Enqueue while still holding the lock so that journal order matches commit order
+        return journal == null ? NOT_JOURNALED : journal.append(journalRecord.apply(entity));
+    }
+
+    /**
+     * Once a journal write failed, the collection holds commits that may never have reached the journal,
+     * so every further commit is refused rather than applied on top of them, and a client retrying an
+     * operation that failed this way cannot apply it twice. A restart recovers from what the journal holds.
+     */
+    private void checkJournalWritable() {
+        if (journal != null) {
+            journal.checkWritable();
+        }
+    }
+
+    private void store(T entity, long storedVersion) {
+        Instant now = Instant.now();
+        entity.setVersion(storedVersion + 1);
+        entity.setUpdatedAt(now);
+        if (storedVersion == 0) {
+            entity.setCreatedAt(now);
+        }
+        T stored = copyOf(entity);
+        T previous = collection.put(entity.getId(), stored);
+        updateIndexes(previous, stored);
+    }
+
+    private Journal.Ticket saveWithoutWaiting(T entity, Function<? super T, byte[]> journalRecord) {
+        if (entity.getId() == null) {
+            entity.setId(nextId());
+        }
+        ReentrantLock lock = commitLock.lockFor(entity.getId());
+        lock.lock();
+        try {
+            T current = collection.get(entity.getId());
+            return commit(entity, current == null ? entity.getVersion() : current.getVersion(), journalRecord);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * A sharded collection hands out the ID itself, from a shard picked at random so that shards fill evenly
+     * without a shared counter to contend for.
+     */
+    private long nextId() {
+        if (collection instanceof ShardedEntityStore<T> shardedCollection) {
+            return shardedCollection.nextId(ThreadLocalRandom.current().nextInt(shardedCollection.getShardCount()));
+        }
+        return idCounter.incrementAndGet();
+    }
+
+    @SuppressWarnings("unchecked")
+    private T copyOf(T entity) {
+        return (T) entity.copy();
     }
 }
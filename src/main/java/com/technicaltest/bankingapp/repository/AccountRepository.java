@@ -1,5 +1,208 @@
 package com.technicaltest.bankingapp.repository;
 
+import com.technicaltest.bankingapp.database.AccountColumnStore;
+import com.technicaltest.bankingapp.database.BalanceIndex;
+import com.technicaltest.bankingapp.database.InMemoryDatabase;
+import com.technicaltest.bankingapp.database.OwnerNameIndex;
+import com.technicaltest.bankingapp.event.AccountCreated;
+import com.technicaltest.bankingapp.event.AccountEvent;
+import com.technicaltest.bankingapp.event.AccountEventBatch;
+import com.technicaltest.bankingapp.event.AccountProjection;
+import com.technicaltest.bankingapp.exception.ApplicationException;
+import com.technicaltest.bankingapp.journal.AccountCodec;
+import com.technicaltest.bankingapp.journal.AccountEventCodec;
+import com.technicaltest.bankingapp.journal.Journal;
+import com.technicaltest.bankingapp.journal.PartitionedReplay;
 import com.technicaltest.bankingapp.model.Account;
 
-public class  AccountRepository extends AbstractRepository<Account> { }
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static com.technicaltest.bankingapp.config.ConfigLoader.EVENT_SOURCING_CONFIGURATION;
+
+public class AccountRepository extends AbstractRepository<Account> {
+
+    private final AccountColumnStore columns;
+    private final OwnerNameIndex ownerNameIndex;
+    private final BalanceIndex balanceIndex;
+    private final boolean eventSourced;
+    private final AccountEventCodec eventCodec = new AccountEventCodec();
+    // Only replaced around a recovery, before the replay threads start
+    private Consumer<AccountEventBatch> replayedBatches = batch -> { };
+
+    public AccountRepository() {
+        this(EVENT_SOURCING_CONFIGURATION.enabled());
+    }
+
+    /**
+     * @param eventSourced whether the journal records the events of each commit rather than the committed account
+     */
+    public AccountRepository(boolean eventSourced) {
+        super(new AccountCodec(), List.of(
+                InMemoryDatabase.accountColumns, InMemoryDatabase.ownerNameIndex, InMemoryDatabase.balanceIndex));
+        this.columns = InMemoryDatabase.accountColumns;
+        this.ownerNameIndex = InMemoryDatabase.ownerNameIndex;
+        this.balanceIndex = InMemoryDatabase.balanceIndex;
+        this.eventSourced = eventSourced;
+    }
+
+    /**
+     * Stores the account unconditionally. In event-sourced mode only new accounts can be saved this way,
+     * their creation being journaled as an {@link AccountCreated} event.
+     */
+    @Override
+    public Account save(Account account) {
+        if (!eventSourced) {
+            return super.save(account);
+        }
+        if (account.getId() != null) {
+            throw new ApplicationException("Existing accounts can only be changed through events in event-sourced mode.");
+        }
+        return save(account, journalRecord(List.of(AccountCreated.of(account))));
+    }
+
+    /**
+     * Stores the account if it was not changed since it was read. In event-sourced mode existing accounts
+     * must be changed through {@link #compareAndSave(Account, List)}.
+     */
+    @Override
+    public boolean compareAndSave(Account account) {
+        if (eventSourced && account.getId() != null) {
+            throw new ApplicationException("Existing accounts can only be changed through events in event-sourced mode.");
+        }
+        return compareAndSave(account, List.of());
+    }
+
+    /**
+     * Same as {@link #compareAndSave(Account)}, the events describing how the account changed since it was read
+     * being journaled instead of the account in event-sourced mode.
+     */
+    public boolean compareAndSave(Account account, List<AccountEvent> events) {
+        if (!eventSourced) {
+            return super.compareAndSave(account);
+        }
+        if (account.getId() == null) {
+            return save(account) != null;
+        }
+        return compareAndSave(account, journalRecord(events));
+    }
+
+    /**
+     * Stores two existing accounts as one atomic commit, if neither was changed since it was read.
+     * Used by transfers, so that no reader, writer or recovery ever sees one side without the other.
+     *
+     * @return true if both accounts were stored, false if another writer committed either first
+     */
+    public boolean compareAndSave(Account first, List<AccountEvent> firstEvents,
+                                  Account second, List<AccountEvent> secondEvents) {
+        if (!eventSourced) {
+            return compareAndSaveAll(List.of(first, second));
+        }
+        return compareAndSaveAll(List.of(first, second), committed -> committed == first
+                ? journalRecord(firstEvents).apply(committed)
+                : journalRecord(secondEvents).apply(committed));
+    }
+
+    /**
+     * Same as {@link #compareAndSave(Account, List)} without waiting for the journal.
+     *
+     * @return the ticket of the journal record, or null if another writer committed first
+     */
+    public Journal.Ticket compareAndCommit(Account account, List<AccountEvent> events) {
+        if (!eventSourced) {
+            return compareAndCommit(account);
+        }
+        if (account.getId() == null) {
+            return compareAndCommit(account, journalRecord(List.of(AccountCreated.of(account))));
+        }
+        return compareAndCommit(account, journalRecord(events));
+    }
+
+    /**
+     * Same as {@link #recover()}, also handing every event batch of the journal to {@code replayedBatches},
+     * those the snapshot already covers included, so that views derived from the events can be rebuilt.
+     * The ledger is rebuilt this way. Only event-sourced journals hold events: in the other mode no batch
+     * is handed over, and in both modes the history written before the latest snapshot is gone with the
+     * journal segments the snapshot dropped.
+     *
+     * @param replayedBatches called on the replay threads, with the batches of an account in journal order
+     */
+    public long recover(Consumer<AccountEventBatch> replayedBatches) {
+        this.replayedBatches = replayedBatches;
+        try {
+            return recover();
+        } finally {
+            this.replayedBatches = batch -> { };
+        }
+    }
+
+    /**
+     * @return the accounts owned by {@code ownerName}, ignoring case, in ID order
+     */
+    public List<Account> findByOwnerName(String ownerName) {
+        return findAllById(ownerNameIndex.findByName(ownerName));
+    }
+
+    /**
+     * @return at most {@code limit} accounts whose owner name starts with {@code prefix}, ignoring case, in name order
+     */
+    public List<Account> findByOwnerNamePrefix(String prefix, int limit) {
+        return findAllById(ownerNameIndex.findByNamePrefix(prefix, limit));
+    }
+
+    /**
+     * @return the columnar view of the accounts, kept in step with every stored version
+     */
+    public AccountColumnStore getColumns() {
+        return columns;
+    }
+
+    /**
+     * @return the accounts of each type ordered by balance, kept in step with every stored version
+     */
+    public BalanceIndex getBalanceIndex() {
+        return balanceIndex;
+    }
+
+    /**
+     * In event-sourced mode, projects the journaled events onto the accounts, the events of distinct accounts
+     * being projected in parallel. Batches the account already reflects, such as those a snapshot covers,
+     * are skipped.
+     */
+    @Override
+    protected long replayJournal(Journal journal) {
+        if (!eventSourced) {
+            return super.replayJournal(journal);
+        }
+        int parallelism = EVENT_SOURCING_CONFIGURATION.replayParallelism() > 0
+                ? EVENT_SOURCING_CONFIGURATION.replayParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        return PartitionedReplay.replay(journal, parallelism, AccountEventCodec::accountIdOf, this::project);
+    }
+
+    private void project(ByteBuffer record) {
+        AccountEventBatch batch = eventCodec.decode(record);
+        replayedBatches.accept(batch);
+        Account current = collection.get(batch.accountId());
+        if (current != null && current.getVersion() >= batch.version()) {
+            return;
+        }
+        restore(AccountProjection.apply(current, batch));
+    }
+
+    private List<Account> findAllById(List<Long> accountIds) {
+        List<Account> accounts = new ArrayList<>(accountIds.size());
+        for (long accountId : accountIds) {
+            findById(accountId).ifPresent(accounts::add);
+        }
+        return accounts;
+    }
+
+    private Function<Account, byte[]> journalRecord(List<AccountEvent> events) {
+        return committed -> eventCodec.encode(
+                new AccountEventBatch(committed.getId(), committed.getVersion(), committed.getUpdatedAt(), events));
+    }
+}
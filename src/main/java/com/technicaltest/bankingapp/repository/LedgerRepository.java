@@ -0,0 +1,33 @@
+package com.technicaltest.bankingapp.repository;
+
+import com.technicaltest.bankingapp.database.InMemoryDatabase;
+import com.technicaltest.bankingapp.database.LedgerStore;
+import com.technicaltest.bankingapp.model.LedgerEntry;
+
+import java.time.Instant;
+import java.util.List;
+
+public class LedgerRepository {
+
+    private final LedgerStore ledgerStore;
+
+    public LedgerRepository() {
+        this.ledgerStore = InMemoryDatabase.ledger;
+    }
+
+    public void save(LedgerEntry entry) {
+        ledgerStore.append(entry);
+    }
+
+    public List<LedgerEntry> findLast(long accountId, int count) {
+        return ledgerStore.findLast(accountId, count);
+    }
+
+    public List<LedgerEntry> findBetween(long accountId, Instant from, Instant to) {
+        return ledgerStore.findBetween(accountId, from, to);
+    }
+
+    public long count(long accountId) {
+        return ledgerStore.count(accountId);
+    }
+}
@@ -0,0 +1,163 @@
+package com.technicaltest.bankingapp.server;
+
+import com.technicaltest.bankingapp.enumeration.WireProtocol;
+import com.technicaltest.bankingapp.exception.ApplicationException;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Blocking client of a {@link BankingServer}.
+ * Requests are buffered by {@link #send(String)} and go out on {@link #flush()}, so that many of them can be
+ * pipelined before their responses are read, in the same order, with {@link #receive()}.
+ * With the {@link WireProtocol#BINARY} protocol, requests are encoded by {@link BinaryProtocol} straight into the
+ * buffer returned by {@link #requestBuffer(int)} and responses are decoded from {@link #receiveFrame()}.
+ * A client is used by one thread at a time.
+ */
+public class BankingClient implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final SocketChannel channel;
+    private final ByteOrder byteOrder;
+    private ByteBuffer output;
+    // Received bytes not yet returned, in read mode
+    private ByteBuffer input;
+
+    private BankingClient(SocketChannel channel, ByteOrder byteOrder) {
+        this.channel = channel;
+        this.byteOrder = byteOrder;
+        this.output = ByteBuffer.allocate(BUFFER_SIZE).order(byteOrder);
+        this.input = ByteBuffer.allocate(BUFFER_SIZE).order(byteOrder).flip();
+    }
+
+    public static BankingClient connect(InetSocketAddress address) {
+        return connect(address, WireProtocol.TEXT);
+    }
+
+    public static BankingClient connect(InetSocketAddress address, WireProtocol protocol) {
+        try {
+            SocketChannel channel = SocketChannel.open(address);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            return new BankingClient(channel, protocol.getByteOrder());
+        } catch (IOException e) {
+            throw new ApplicationException("Failed to connect to " + address, e);
+        }
+    }
+
+    /**
+     * Sends a request and waits for its response, after the responses of the requests sent before it.
+     */
+    public String call(String request) {
+        send(request);
+        flush();
+        return receive();
+    }
+
+    /**
+     * Buffers a request, sending the buffer first if the request does not fit in it.
+     */
+    public void send(String request) {
+        byte[] bytes = request.getBytes(StandardCharsets.UTF_8);
+        requestBuffer(Connection.HEADER_BYTES + bytes.length).putInt(bytes.length).put(bytes);
+    }
+
+    /**
+     * Makes room for a request, sending the buffer first if the request does not fit in it.
+     *
+     * @param frameBytes the size of the request frame, length included
+     * @return the buffer to append the whole frame to, at its position
+     */
+    public ByteBuffer requestBuffer(int frameBytes) {
+        if (output.remaining() < frameBytes) {
+            flush();
+            if (output.capacity() < frameBytes) {
+                output = ByteBuffer.allocate(frameBytes).order(byteOrder);
+            }
+        }
+        return output;
+    }
+
+    public void flush() {
+        output.flip();
+        try {
+            while (output.hasRemaining()) {
+                channel.write(output);
+            }
+        } catch (IOException e) {
+            throw new ApplicationException("Failed to send requests", e);
+        } finally {
+            output.clear();
+        }
+    }
+
+    /**
+     * Waits for the response of the oldest request not yet answered.
+     */
+    public String receive() {
+        ByteBuffer payload = receiveFrame();
+        return new String(payload.array(), payload.arrayOffset() + payload.position(), payload.remaining(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Waits for the response of the oldest request not yet answered.
+     *
+     * @return the payload of the response between the position and the limit of a view of the receive buffer,
+     * valid until the next response is received
+     */
+    public ByteBuffer receiveFrame() {
+        try {
+            fill(Connection.HEADER_BYTES);
+            int length = input.getInt();
+            fill(length);
+            int start = input.position();
+            input.position(start + length);
+            return input.duplicate().order(byteOrder).position(start).limit(start + length);
+        } catch (IOException e) {
+            throw new ApplicationException("Failed to receive a response", e);
+        }
+    }
+
+    /**
+     * Stops sending requests, letting the server answer the ones already sent before closing the connection.
+     */
+    public void shutdownOutput() {
+        flush();
+        try {
+            channel.shutdownOutput();
+        } catch (IOException e) {
+            throw new ApplicationException("Failed to shut down the connection", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new ApplicationException("Failed to close the connection", e);
+        }
+    }
+
+    private void fill(int bytes) throws IOException {
+        if (input.remaining() >= bytes) {
+            return;
+        }
+        if (input.capacity() < bytes) {
+            input = ByteBuffer.allocate(bytes).order(byteOrder).put(input).flip();
+        }
+        input.compact();
+        while (input.position() < bytes) {
+            if (channel.read(input) < 0) {
+                throw new EOFException("Connection closed by the server.");
+            }
+        }
+        input.flip();
+    }
+}
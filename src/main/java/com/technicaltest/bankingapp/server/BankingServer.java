@@ -0,0 +1,236 @@
+package com.technicaltest.bankingapp.server;
+
+import com.technicaltest.bankingapp.config.ServerConfig;
+import com.technicaltest.bankingapp.console.BatchCommandExecutor;
+import com.technicaltest.bankingapp.enumeration.WireProtocol;
+import com.technicaltest.bankingapp.exception.ApplicationException;
+import com.technicaltest.bankingapp.service.AccountService;
+import com.technicaltest.bankingapp.service.TransactionService;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static com.technicaltest.bankingapp.config.ConfigLoader.SERVER_CONFIGURATION;
+
+/**
+ * TCP front end of the account services.
+ * Each request and each response is a frame of a 4-byte length followed by that many bytes. With the
+ * {@link WireProtocol#TEXT} protocol, lengths are big-endian, a request is one command of the batch mode in UTF-8,
+ * e.g. {@code deposit 1 100.00}, and its response is the result line of the command, e.g.
+ * {@code OK deposit 1 100.00}. With the {@link WireProtocol#BINARY} protocol, frames are little-endian with the
+ * fixed layouts of {@link BinaryProtocol}.
+ * <p>
+ * A single selector thread accepts the connections and moves their bytes, without ever blocking on a client or
+ * on the services. Clients may pipeline requests: the requests of a connection run one after the other, in their
+ * order, on a pool of workers, and their responses come back in the same order. Requests of different connections
+ * run in parallel. A connection whose client stops reading has its requests paused once a megabyte of responses
+ * waits, and it stops being read once its input buffer is full, so a slow client only slows itself down.
+ *
+ * @see BankingClient
+ */
+@Slf4j
+public class BankingServer implements AutoCloseable {
+
+    private final Supplier<RequestHandler> handlers;
+    private final WireProtocol protocol;
+    private final int maxFrameBytes;
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final ExecutorService workers;
+    private final Queue<Connection> updates = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final Thread selectorThread;
+    private volatile boolean running = true;
+
+    private BankingServer(ServerConfig config, AccountService accountService, TransactionService transactionService)
+            throws IOException {
+        BatchCommandExecutor commandExecutor = new BatchCommandExecutor(accountService, transactionService);
+        this.handlers = switch (config.protocol()) {
+            case TEXT -> () -> new TextRequestHandler(commandExecutor);
+            case BINARY -> () -> new BinaryRequestHandler(accountService, transactionService);
+        };
+        this.protocol = config.protocol();
+        this.maxFrameBytes = config.maxFrameBytes();
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        try {
+            serverChannel.bind(new InetSocketAddress(config.host(), config.port()));
+            serverChannel.configureBlocking(false);
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            serverChannel.close();
+            selector.close();
+            throw e;
+        }
+        int workerCount = config.workers() > 0 ? config.workers() : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threads = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "server-worker-" + threads.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.selectorThread = new Thread(this::runSelector, "server-selector");
+        this.selectorThread.setDaemon(true);
+        this.selectorThread.start();
+        log.info("BankingServer - Listening on {} with {} workers, {} protocol.", getAddress(), workerCount, protocol);
+    }
+
+    /**
+     * Starts a server in front of new services, listening on the configured address.
+     */
+    public static BankingServer open() {
+        return open(SERVER_CONFIGURATION, new AccountService(), new TransactionService());
+    }
+
+    public static BankingServer open(ServerConfig config, AccountService accountService, TransactionService transactionService) {
+        try {
+            return new BankingServer(config, accountService, transactionService);
+        } catch (IOException e) {
+            throw new ApplicationException("Failed to start server on " + config.host() + ":" + config.port(), e);
+        }
+    }
+
+    /**
+     * @return the address the server listens on, with the actual port when any free port was asked for
+     */
+    public InetSocketAddress getAddress() {
+        try {
+            return (InetSocketAddress) serverChannel.getLocalAddress();
+        } catch (IOException e) {
+            throw new ApplicationException("Failed to read server address", e);
+        }
+    }
+
+    /**
+     * @return the number of open client connections
+     */
+    public int getConnectionCount() {
+        return connections.get();
+    }
+
+    /**
+     * Stops accepting and reading requests, closes every connection and waits for the running requests to end.
+     */
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        selector.wakeup();
+        try {
+            selectorThread.join();
+            workers.shutdown();
+            workers.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("BankingServer - Stopped.");
+    }
+
+    /**
+     * Asks the selector thread to update the interest of a connection, called by the workers.
+     */
+    void requestUpdate(Connection connection) {
+        updates.add(connection);
+        selector.wakeup();
+    }
+
+    private void runSelector() {
+        try {
+            while (running) {
+                selector.select();
+                Connection updated;
+                while ((updated = updates.poll()) != null) {
+                    updateInterest(updated);
+                }
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else {
+                        handle((Connection) key.attachment(), key);
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("BankingServer - Selector stopped.", e);
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                if (key.attachment() instanceof Connection connection) {
+                    close(connection);
+                }
+            }
+            try {
+                serverChannel.close();
+                selector.close();
+            } catch (IOException e) {
+                log.warn("BankingServer - Failed to close the server socket.", e);
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+            key.attach(new Connection(channel, key, maxFrameBytes, protocol.getByteOrder(), handlers.get()));
+            connections.incrementAndGet();
+        }
+    }
+
+    private void handle(Connection connection, SelectionKey key) {
+        try {
+            if (key.isWritable()) {
+                connection.write();
+            }
+            if (key.isReadable()) {
+                connection.read();
+            }
+        } catch (IOException e) {
+            log.debug("BankingServer - Connection {} dropped: {}", connection.getChannel(), e.getMessage());
+            close(connection);
+            return;
+        }
+        if (connection.startDrain()) {
+            workers.execute(() -> connection.drain(this));
+        }
+        updateInterest(connection);
+    }
+
+    private void updateInterest(Connection connection) {
+        if (!connection.updateInterest()) {
+            if (connection.isCorrupt()) {
+                log.warn("BankingServer - Closing connection {} after a frame of an invalid length.", connection.getChannel());
+            }
+            close(connection);
+        }
+    }
+
+    private void close(Connection connection) {
+        if (connection.close()) {
+            connections.decrementAndGet();
+        }
+    }
+}
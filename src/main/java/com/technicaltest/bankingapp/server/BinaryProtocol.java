@@ -0,0 +1,193 @@
+package com.technicaltest.bankingapp.server;
+
+import com.technicaltest.bankingapp.dto.AccountDTO;
+import com.technicaltest.bankingapp.enumeration.AccountType;
+import com.technicaltest.bankingapp.enumeration.BatchCommandType;
+import com.technicaltest.bankingapp.enumeration.ResponseStatus;
+import lombok.experimental.UtilityClass;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static com.technicaltest.bankingapp.utils.MoneyUtils.toBigDecimal;
+import static com.technicaltest.bankingapp.utils.MoneyUtils.toMinorUnits;
+
+/**
+ * Fixed-layout little-endian frames of the {@link com.technicaltest.bankingapp.enumeration.WireProtocol#BINARY}
+ * protocol. Amounts are longs of minor units at {@link com.technicaltest.bankingapp.utils.MoneyUtils#SCALE}.
+ * <p>
+ * Request: {@code length(4) opcode(1) accountType(1) reserved(2) accountId(8) amount(8) counterpartyId(8)}
+ * followed by the UTF-8 owner name for a creation. The opcodes are those of {@link BatchCommandType}, the account
+ * type is 1 for checking and 2 for savings, the amount is the initial balance of a creation and the counterparty
+ * is the destination of a transfer; unused fields are 0.
+ * <p>
+ * Response: {@code length(4) opcode(1) status(1) accountType(1) reserved(1) accountId(8) amount(8)} followed by
+ * the UTF-8 owner name of a created account, or the UTF-8 error message when the status is not
+ * {@link ResponseStatus#OK}. The amount is the one moved, the balance read, the interest credited or the initial
+ * balance of a created account.
+ * <p>
+ * Buffers are little-endian. Request encoders append whole frames at the position of a buffer for the clients,
+ * response encoders append the payload the server frames. Decoders read a payload at absolute offsets from its
+ * position. None of them creates objects besides the owner names and error messages.
+ */
+@UtilityClass
+public class BinaryProtocol {
+
+    public static final int LENGTH_BYTES = Integer.BYTES;
+    public static final int REQUEST_BYTES = 4 + Long.BYTES * 3;
+    public static final int RESPONSE_BYTES = 4 + Long.BYTES * 2;
+
+    private static final int OPCODE = 0;
+    private static final int ACCOUNT_TYPE = 1;
+    private static final int STATUS = 1;
+    private static final int RESPONSE_ACCOUNT_TYPE = 2;
+    private static final int ACCOUNT_ID = 4;
+    private static final int AMOUNT = 12;
+    private static final int COUNTERPARTY_ID = 20;
+
+    public static void putCreate(ByteBuffer out, int accountType, long balance, String ownerName) {
+        byte[] name = ownerName.getBytes(StandardCharsets.UTF_8);
+        putRequest(out, BatchCommandType.CREATE, accountType, 0, balance, 0, name.length);
+        out.put(name);
+    }
+
+    public static void putDeposit(ByteBuffer out, long accountId, long amount) {
+        putRequest(out, BatchCommandType.DEPOSIT, 0, accountId, amount, 0, 0);
+    }
+
+    public static void putWithdrawal(ByteBuffer out, long accountId, long amount) {
+        putRequest(out, BatchCommandType.WITHDRAW, 0, accountId, amount, 0, 0);
+    }
+
+    public static void putTransfer(ByteBuffer out, long fromAccountId, long toAccountId, long amount) {
+        putRequest(out, BatchCommandType.TRANSFER, 0, fromAccountId, amount, toAccountId, 0);
+    }
+
+    public static void putBalance(ByteBuffer out, long accountId) {
+        putRequest(out, BatchCommandType.BALANCE, 0, accountId, 0, 0, 0);
+    }
+
+    public static void putInterest(ByteBuffer out, long accountId) {
+        putRequest(out, BatchCommandType.INTEREST, 0, accountId, 0, 0, 0);
+    }
+
+    /**
+     * @return the request of a frame payload, null if its opcode is unknown
+     */
+    public static BatchCommandType requestType(ByteBuffer payload) {
+        return BatchCommandType.ofOpcode(payload.get(payload.position() + OPCODE));
+    }
+
+    public static int requestAccountType(ByteBuffer payload) {
+        return payload.get(payload.position() + ACCOUNT_TYPE);
+    }
+
+    public static long requestAccountId(ByteBuffer payload) {
+        return payload.getLong(payload.position() + ACCOUNT_ID);
+    }
+
+    public static long requestAmount(ByteBuffer payload) {
+        return payload.getLong(payload.position() + AMOUNT);
+    }
+
+    public static long requestCounterpartyId(ByteBuffer payload) {
+        return payload.getLong(payload.position() + COUNTERPARTY_ID);
+    }
+
+    public static String requestOwnerName(ByteBuffer payload) {
+        return text(payload, REQUEST_BYTES);
+    }
+
+    /**
+     * Appends the payload of a successful response.
+     */
+    public static void putResponse(ByteBuffer out, BatchCommandType type, long accountId, long amount) {
+        putResponse(out, type, ResponseStatus.OK, 0, accountId, amount);
+    }
+
+    /**
+     * Appends the payload of the response to a creation.
+     */
+    public static void putAccount(ByteBuffer out, AccountDTO account) {
+        putResponse(out, BatchCommandType.CREATE, ResponseStatus.OK, account.getAccountType().ordinal() + 1,
+                account.getId(), toMinorUnits(account.getBalance()));
+        out.put(account.getOwnerName().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Appends the payload of a failed response.
+     *
+     * @param type the request, null if it could not be decoded
+     */
+    public static void putError(ByteBuffer out, BatchCommandType type, ResponseStatus status, byte[] message) {
+        putResponse(out, type, status, 0, 0, 0);
+        out.put(message);
+    }
+
+    /**
+     * @return the request a frame payload answers, null if it could not be decoded
+     */
+    public static BatchCommandType responseType(ByteBuffer payload) {
+        return BatchCommandType.ofOpcode(payload.get(payload.position() + OPCODE));
+    }
+
+    public static ResponseStatus responseStatus(ByteBuffer payload) {
+        return ResponseStatus.ofOrdinal(payload.get(payload.position() + STATUS));
+    }
+
+    public static long responseAccountId(ByteBuffer payload) {
+        return payload.getLong(payload.position() + ACCOUNT_ID);
+    }
+
+    public static long responseAmount(ByteBuffer payload) {
+        return payload.getLong(payload.position() + AMOUNT);
+    }
+
+    /**
+     * @return the error message of a failed response
+     */
+    public static String responseMessage(ByteBuffer payload) {
+        return text(payload, RESPONSE_BYTES);
+    }
+
+    /**
+     * @return the account of the response to a creation
+     */
+    public static AccountDTO responseAccount(ByteBuffer payload) {
+        int accountType = payload.get(payload.position() + RESPONSE_ACCOUNT_TYPE);
+        return AccountDTO.builder()
+                .id(responseAccountId(payload))
+                .accountType(AccountType.values()[accountType - 1])
+                .balance(toBigDecimal(responseAmount(payload)))
+                .ownerName(text(payload, RESPONSE_BYTES))
+                .build();
+    }
+
+    private static void putRequest(ByteBuffer out, BatchCommandType type, int accountType, long accountId, long amount,
+                                   long counterpartyId, int trailingBytes) {
+        out.putInt(REQUEST_BYTES + trailingBytes)
+                .put(type.getOpcode())
+                .put((byte) accountType)
+                .putShort((short) 0)
+                .putLong(accountId)
+                .putLong(amount)
+                .putLong(counterpartyId);
+    }
+
+    private static void putResponse(ByteBuffer out, BatchCommandType type, ResponseStatus status, int accountType,
+                                    long accountId, long amount) {
+        out.put(type == null ? 0 : type.getOpcode())
+                .put((byte) status.ordinal())
+                .put((byte) accountType)
+                .put((byte) 0)
+                .putLong(accountId)
+                .putLong(amount);
+    }
+
+    private static String text(ByteBuffer payload, int offset) {
+        int length = payload.remaining() - offset;
+        byte[] bytes = new byte[length];
+        payload.get(payload.position() + offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,86 @@
+package com.technicaltest.bankingapp.server;
+
+import com.technicaltest.bankingapp.dto.AccountDTO;
+import com.technicaltest.bankingapp.enumeration.BatchCommandType;
+import com.technicaltest.bankingapp.enumeration.ResponseStatus;
+import com.technicaltest.bankingapp.exception.BusinessException;
+import com.technicaltest.bankingapp.service.AccountService;
+import com.technicaltest.bankingapp.service.TransactionService;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import static com.technicaltest.bankingapp.utils.MoneyUtils.toBigDecimal;
+import static com.technicaltest.bankingapp.utils.ValidationUtils.requirePositiveNumber;
+
+/**
+ * Requests in the {@link com.technicaltest.bankingapp.enumeration.WireProtocol#BINARY} protocol, decoded from
+ * and answered in the layout of {@link BinaryProtocol}. Apart from creations, a request runs without creating
+ * any object of its own.
+ */
+@Slf4j
+final class BinaryRequestHandler implements RequestHandler {
+
+    private final AccountService accountService;
+    private final TransactionService transactionService;
+
+    BinaryRequestHandler(AccountService accountService, TransactionService transactionService) {
+        this.accountService = accountService;
+        this.transactionService = transactionService;
+    }
+
+    @Override
+    public ByteBuffer handle(ByteBuffer request, ByteBuffer response) {
+        if (request.remaining() < BinaryProtocol.REQUEST_BYTES) {
+            return error(response, null, ResponseStatus.MALFORMED, "Malformed request.");
+        }
+        BatchCommandType type = BinaryProtocol.requestType(request);
+        if (type == null) {
+            return error(response, null, ResponseStatus.MALFORMED, "Malformed request.");
+        }
+        long accountId = BinaryProtocol.requestAccountId(request);
+        long amount = BinaryProtocol.requestAmount(request);
+        try {
+            switch (type) {
+                case CREATE -> {
+                    requirePositiveNumber(amount, "Initial Balance");
+                    AccountDTO account = accountService.createAccount(BinaryProtocol.requestOwnerName(request),
+                            toBigDecimal(amount), BinaryProtocol.requestAccountType(request));
+                    return account(response, account);
+                }
+                case DEPOSIT -> transactionService.depositMoney(accountId, amount);
+                case WITHDRAW -> transactionService.withdrawMoney(accountId, amount);
+                case TRANSFER -> transactionService.transfer(accountId, BinaryProtocol.requestCounterpartyId(request), amount);
+                case BALANCE -> amount = transactionService.getBalance(accountId);
+                case INTEREST -> amount = transactionService.calculateInterest(accountId);
+            }
+        } catch (BusinessException e) {
+            return error(response, type, ResponseStatus.of(e), e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("BinaryRequestHandler - {} request failed.", type, e);
+            return error(response, type, ResponseStatus.ERROR, "An unexpected error occurred: " + e.getMessage());
+        }
+        BinaryProtocol.putResponse(response, type, accountId, amount);
+        return response.flip();
+    }
+
+    private static ByteBuffer account(ByteBuffer response, AccountDTO account) {
+        int size = BinaryProtocol.RESPONSE_BYTES + account.getOwnerName().length() * 3;
+        ByteBuffer buffer = capacity(response, size);
+        BinaryProtocol.putAccount(buffer, account);
+        return buffer.flip();
+    }
+
+    private static ByteBuffer error(ByteBuffer response, BatchCommandType type, ResponseStatus status, String message) {
+        byte[] bytes = String.valueOf(message).getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = capacity(response, BinaryProtocol.RESPONSE_BYTES + bytes.length);
+        BinaryProtocol.putError(buffer, type, status, bytes);
+        return buffer.flip();
+    }
+
+    private static ByteBuffer capacity(ByteBuffer response, int size) {
+        return response.capacity() >= size ? response : ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
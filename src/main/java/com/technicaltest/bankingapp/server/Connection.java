@@ -0,0 +1,255 @@
+package com.technicaltest.bankingapp.server;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+
+/**
+ * A client connection of the {@link BankingServer} and the requests it pipelined.
+ * The selector thread reads into the input buffer and writes the output buffer to the socket, while at most one
+ * worker at a time drains the complete requests of the input, runs them in their order through the request
+ * handler and appends their responses to the output. The buffers and flags are shared between these threads
+ * under the connection lock; the handler and the request and response buffers are only used by the draining
+ * worker.
+ */
+@Slf4j
+final class Connection {
+
+    static final int HEADER_BYTES = Integer.BYTES;
+    // Responses left unsent above which the connection stops running requests until the client reads them
+    private static final int MAX_PENDING_OUTPUT = 1 << 20;
+
+    private final SocketChannel channel;
+    private final SelectionKey key;
+    private final int maxFrameBytes;
+    // Received bytes between readIndex and the position of the buffer
+    private final ByteBuffer input;
+    private int readIndex;
+    // Responses not yet sent, between 0 and the position of the buffer
+    private ByteBuffer output;
+    private int registeredOps = SelectionKey.OP_READ;
+    private boolean updateRequested;
+    private boolean draining;
+    private boolean endOfInput;
+    private boolean corrupt;
+    private boolean closed;
+
+    private final RequestHandler handler;
+    private final ByteBuffer request;
+    private ByteBuffer response;
+
+    Connection(SocketChannel channel, SelectionKey key, int maxFrameBytes, ByteOrder byteOrder, RequestHandler handler) {
+        this.channel = channel;
+        this.key = key;
+        this.maxFrameBytes = maxFrameBytes;
+        this.input = ByteBuffer.allocate(HEADER_BYTES + maxFrameBytes).order(byteOrder);
+        this.output = ByteBuffer.allocate(4096).order(byteOrder);
+        this.handler = handler;
+        this.request = ByteBuffer.allocate(maxFrameBytes).order(byteOrder);
+        this.response = ByteBuffer.allocate(256).order(byteOrder);
+    }
+
+    /**
+     * Reads what the socket holds, on the selector thread.
+     */
+    synchronized void read() throws IOException {
+        if (!input.hasRemaining() && readIndex > 0) {
+            input.flip().position(readIndex);
+            input.compact();
+            readIndex = 0;
+        }
+        if (channel.read(input) < 0) {
+            endOfInput = true;
+        }
+    }
+
+    /**
+     * Writes as much of the pending responses as the socket accepts, on the selector thread.
+     */
+    synchronized void write() throws IOException {
+        output.flip();
+        channel.write(output);
+        output.compact();
+    }
+
+    /**
+     * @return true if the caller must now drain the connection: it has requests to run and no worker draining it
+     */
+    synchronized boolean startDrain() {
+        if (draining || !canRunRequest()) {
+            return false;
+        }
+        draining = true;
+        return true;
+    }
+
+    /**
+     * Runs the pipelined requests in their order until none is left, on a worker thread.
+     * A request handler failing unexpectedly leaves the connection in an unknown state, so the connection is
+     * marked corrupt and the selector closes it.
+     */
+    void drain(BankingServer server) {
+        boolean failed = true;
+        try {
+            while (nextRequest()) {
+                ByteBuffer payload = handler.handle(request, response.clear());
+                if (payload.capacity() > response.capacity()) {
+                    response = payload;
+                }
+                if (respond(payload)) {
+                    server.requestUpdate(this);
+                }
+            }
+            failed = false;
+        } catch (RuntimeException e) {
+            log.error("Connection - Request handler failed, closing the connection.", e);
+        } finally {
+            if (failed) {
+                abortDrain();
+            }
+            if (requestUpdate(true)) {
+                server.requestUpdate(this);
+            }
+        }
+    }
+
+    /**
+     * Registers the interest of the connection with the selector, on the selector thread.
+     *
+     * @return false once the connection is finished: closed, or its client stopped sending and got every response
+     */
+    synchronized boolean updateInterest() {
+        updateRequested = false;
+        if (closed) {
+            return false;
+        }
+        if (corrupt || (endOfInput && !draining && !hasRequest() && output.position() == 0)) {
+            return false;
+        }
+        int ops = interestOps();
+        if (ops != registeredOps) {
+            key.interestOps(ops);
+            registeredOps = ops;
+        }
+        return true;
+    }
+
+    synchronized boolean isCorrupt() {
+        return corrupt;
+    }
+
+    /**
+     * @return false if the connection was already closed
+     */
+    synchronized boolean close() {
+        if (closed) {
+            return false;
+        }
+        closed = true;
+        key.cancel();
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // The connection is dropped either way
+        }
+        return true;
+    }
+
+    SocketChannel getChannel() {
+        return channel;
+    }
+
+    /**
+     * Copies the payload of the next request to the request buffer, or stops draining if no request can run now.
+     *
+     * @return false if draining stopped
+     */
+    private synchronized boolean nextRequest() {
+        if (!canRunRequest()) {
+            draining = false;
+            return false;
+        }
+        int length = input.getInt(readIndex);
+        request.clear().put(0, input, readIndex + HEADER_BYTES, length).limit(length);
+        readIndex += HEADER_BYTES + length;
+        if (readIndex == input.position()) {
+            input.clear();
+            readIndex = 0;
+        }
+        return true;
+    }
+
+    private synchronized void abortDrain() {
+        corrupt = true;
+        draining = false;
+    }
+
+    /**
+     * Appends the payload of a response as a frame.
+     *
+     * @return true if the selector must be told to update the interest of the connection
+     */
+    private synchronized boolean respond(ByteBuffer payload) {
+        if (closed) {
+            return false;
+        }
+        ensureOutputRoom(HEADER_BYTES + payload.remaining());
+        output.putInt(payload.remaining()).put(payload);
+        return requestUpdate(false);
+    }
+
+    /**
+     * @param drained whether the worker stopped draining, which may finish a connection whose client stopped sending
+     * @return true if the interest of the connection changed and no update is already requested
+     */
+    private synchronized boolean requestUpdate(boolean drained) {
+        boolean changed = interestOps() != registeredOps || (drained && (endOfInput || corrupt));
+        if (closed || updateRequested || !changed) {
+            return false;
+        }
+        updateRequested = true;
+        return true;
+    }
+
+    private boolean canRunRequest() {
+        return !closed && output.position() < MAX_PENDING_OUTPUT && hasRequest();
+    }
+
+    private boolean hasRequest() {
+        int available = input.position() - readIndex;
+        if (available < HEADER_BYTES) {
+            return false;
+        }
+        int length = input.getInt(readIndex);
+        if (length < 0 || length > maxFrameBytes) {
+            corrupt = true;
+            return false;
+        }
+        return available >= HEADER_BYTES + length;
+    }
+
+    private int interestOps() {
+        int ops = 0;
+        if (!endOfInput && (input.hasRemaining() || readIndex > 0)) {
+            ops |= SelectionKey.OP_READ;
+        }
+        if (output.position() > 0) {
+            ops |= SelectionKey.OP_WRITE;
+        }
+        return ops;
+    }
+
+    private void ensureOutputRoom(int bytes) {
+        if (output.remaining() < bytes) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(output.capacity() * 2, output.position() + bytes))
+                    .order(output.order());
+            output.flip();
+            larger.put(output);
+            output = larger;
+        }
+    }
+}
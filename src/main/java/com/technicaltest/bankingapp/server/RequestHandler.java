@@ -0,0 +1,20 @@
+package com.technicaltest.bankingapp.server;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Runs the requests of one connection in the encoding of a {@link com.technicaltest.bankingapp.enumeration.WireProtocol}.
+ * A handler is used by one worker at a time.
+ */
+interface RequestHandler {
+
+    /**
+     * Runs a request and writes the payload of its response.
+     *
+     * @param request  the payload of the request frame, between its position and its limit
+     * @param response a cleared buffer for the payload of the response frame
+     * @return the buffer holding the payload of the response between its position and its limit: {@code response},
+     * or a larger buffer that replaces it if the response did not fit
+     */
+    ByteBuffer handle(ByteBuffer request, ByteBuffer response);
+}
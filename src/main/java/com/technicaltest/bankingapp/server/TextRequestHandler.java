@@ -0,0 +1,62 @@
+package com.technicaltest.bankingapp.server;
+
+import com.technicaltest.bankingapp.console.BatchCommand;
+import com.technicaltest.bankingapp.console.BatchCommandExecutor;
+import com.technicaltest.bankingapp.console.BatchCommandParser;
+import com.technicaltest.bankingapp.exception.BusinessException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Requests in the {@link com.technicaltest.bankingapp.enumeration.WireProtocol#TEXT} protocol: one command of the
+ * batch mode per request, answered by its result line.
+ */
+final class TextRequestHandler implements RequestHandler {
+
+    private final BatchCommandExecutor executor;
+    private final BatchCommandParser parser = new BatchCommandParser();
+    private final BatchCommand command = new BatchCommand();
+    private long requests;
+
+    TextRequestHandler(BatchCommandExecutor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public ByteBuffer handle(ByteBuffer request, ByteBuffer response) {
+        command.reset(++requests);
+        try {
+            if (!parser.parse(request.array(), request.arrayOffset() + request.position(),
+                    request.arrayOffset() + request.limit(), command)) {
+                command.fail("Empty request.");
+            }
+        } catch (BusinessException e) {
+            command.fail(e.getMessage());
+        }
+        executor.execute(command);
+        return encode(command.getOutput(), response);
+    }
+
+    /**
+     * Encodes in UTF-8, through a plain copy for the usual ASCII-only response.
+     */
+    private static ByteBuffer encode(CharSequence text, ByteBuffer response) {
+        int length = text.length();
+        boolean ascii = true;
+        for (int i = 0; i < length && ascii; i++) {
+            ascii = text.charAt(i) < 0x80;
+        }
+        if (!ascii) {
+            byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+            return response.capacity() < bytes.length ? ByteBuffer.wrap(bytes) : response.put(bytes).flip();
+        }
+        if (response.capacity() < length) {
+            response = ByteBuffer.allocate(Math.max(length, response.capacity() * 2));
+        }
+        for (int i = 0; i < length; i++) {
+            response.put((byte) text.charAt(i));
+        }
+        return response.flip();
+    }
+}
@@ -0,0 +1,102 @@
+package com.technicaltest.bankingapp.service;
+
+import com.technicaltest.bankingapp.database.AccountColumnStore;
+import com.technicaltest.bankingapp.database.BalanceIndex;
+import com.technicaltest.bankingapp.enumeration.AccountType;
+import com.technicaltest.bankingapp.repository.AccountRepository;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.technicaltest.bankingapp.utils.ValidationUtils.requireNonNull;
+import static com.technicaltest.bankingapp.utils.ValidationUtils.requirePositiveNumber;
+
+/**
+ * Aggregate queries over all accounts, answered from the columnar view of the account store.
+ * Scans are split across cores once the store is large enough for the fork-join overhead to pay off.
+ * Balance ranges and top balances are read from the balance index instead, without a scan.
+ */
+@Slf4j
+public class AccountAnalyticsService {
+
+    /**
+     * Number of account IDs from which scans run in parallel.
+     */
+    static final long PARALLEL_SCAN_THRESHOLD = 1L << 16;
+
+    private final AccountRepository accountRepository;
+
+    public AccountAnalyticsService() {
+        this.accountRepository = new AccountRepository();
+    }
+
+    public AccountAnalyticsService(AccountRepository accountRepository) {
+        this.accountRepository = accountRepository;
+    }
+
+    public long countAccounts(AccountType accountType) {
+        return columns().count(accountType, parallel());
+    }
+
+    /**
+     * @return the total balance of each account type, in minor units
+     */
+    public Map<AccountType, Long> getTotalBalanceByType() {
+        log.debug("AccountAnalyticsService - Computing total balance by account type.");
+        return columns().totalBalanceByType(parallel());
+    }
+
+    /**
+     * @param upperBounds ascending exclusive upper bounds of the buckets, in minor units
+     * @return the number of accounts of the type in each balance bucket, one more than the number of bounds
+     */
+    public long[] getBalanceHistogram(AccountType accountType, long[] upperBounds) {
+        log.debug("AccountAnalyticsService - Computing balance histogram of {} accounts.", accountType);
+        return columns().balanceHistogram(accountType, upperBounds, parallel());
+    }
+
+    /**
+     * @return the IDs of the savings accounts with a balance below {@code threshold} minor units, in ID order
+     */
+    public long[] findSavingsAccountsBelow(long threshold) {
+        log.debug("AccountAnalyticsService - Finding savings accounts below {}.", threshold);
+        return columns().findIdsWithBalanceBelow(AccountType.SAVINGS, threshold, parallel());
+    }
+
+    /**
+     * @return the sum of the monthly interest bases of the savings accounts, in minor units
+     */
+    public long getTotalMonthlyInterestBase() {
+        return columns().totalMonthlyInterestBase(parallel());
+    }
+
+    /**
+     * @param accountType the type of the accounts, null for all of them
+     * @return at most {@code limit} accounts with a balance in {@code [minBalance, maxBalance]} minor units,
+     * lowest balance first
+     */
+    public List<BalanceIndex.Entry> findAccountsWithBalanceBetween(AccountType accountType, long minBalance,
+                                                                   long maxBalance, int limit) {
+        requirePositiveNumber(limit, "Limit");
+        log.debug("AccountAnalyticsService - Finding accounts with balance between {} and {}.", minBalance, maxBalance);
+        return accountRepository.getBalanceIndex().findBetween(accountType, minBalance, maxBalance, limit);
+    }
+
+    /**
+     * @return the {@code count} accounts of the type with the highest balances, highest first
+     */
+    public List<BalanceIndex.Entry> getTopBalances(AccountType accountType, int count) {
+        requireNonNull(accountType, "Account type");
+        requirePositiveNumber(count, "Count");
+        return accountRepository.getBalanceIndex().findTop(accountType, count);
+    }
+
+    private AccountColumnStore columns() {
+        return accountRepository.getColumns();
+    }
+
+    private boolean parallel() {
+        return accountRepository.getMaxId() >= PARALLEL_SCAN_THRESHOLD;
+    }
+}
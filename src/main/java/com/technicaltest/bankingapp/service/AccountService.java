@@ -1,9 +1,15 @@
 package com.technicaltest.bankingapp.service;
 
+import com.technicaltest.bankingapp.audit.AuditLog;
 import com.technicaltest.bankingapp.dto.AccountDTO;
+import com.technicaltest.bankingapp.enumeration.AuditEventType;
+import com.technicaltest.bankingapp.event.AccountEvent;
 import com.technicaltest.bankingapp.exception.InvalidOperationException;
 import com.technicaltest.bankingapp.exception.ResourceNotFoundException;
+import com.technicaltest.bankingapp.journal.Journal;
 import com.technicaltest.bankingapp.mapper.AccountMapper;
+import com.technicaltest.bankingapp.metrics.MetricsRegistry;
+import com.technicaltest.bankingapp.metrics.OperationMetrics;
 import com.technicaltest.bankingapp.model.Account;
 import com.technicaltest.bankingapp.model.CheckingAccount;
 import com.technicaltest.bankingapp.model.SavingsAccount;
@@ -11,12 +17,19 @@ import com.technicaltest.bankingapp.repository.AccountRepository;
 import lombok.extern.slf4j.Slf4j;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Consumer;
 
-import static com.technicaltest.bankingapp.utils.BigDecimalUtils.normalize;
+import static com.technicaltest.bankingapp.utils.MoneyUtils.toMinorUnits;
+import static com.technicaltest.bankingapp.utils.ValidationUtils.requireNonNull;
+import static com.technicaltest.bankingapp.utils.ValidationUtils.requirePositiveNumber;
 
 @Slf4j
 public class AccountService {
 
+    private static final OperationMetrics CREATE_METRICS = MetricsRegistry.operation("create");
+    private static final AuditLog AUDIT_LOG = AuditLog.shared();
+
     private final AccountRepository accountRepository;
 
     public AccountService() {
@@ -28,35 +41,94 @@ public class AccountService {
     }
 
     public AccountDTO createAccount(String ownerName, BigDecimal balance, int accountType) {
-        log.debug("AccountService - Attempting to create account.");
-        Account account;
-        if (accountType == 1) {
-            account = CheckingAccount.builder()
-                    .balance(normalize(balance))
-                    .ownerName(ownerName)
-                    .build();
-        } else if (accountType == 2) {
-            account = SavingsAccount.builder()
-                    .monthlyInterestBase(normalize(balance))
-                    .balance(normalize(balance))
-                    .ownerName(ownerName)
-                    .build();
-        } else {
-            throw new InvalidOperationException("Invalid account type.");
-        }
-
-        Account createdAccount = accountRepository.save(account);
-        log.debug("AccountService - Account created successfully.");
-        return AccountMapper.toDTO(createdAccount);
+        return CREATE_METRICS.time(() -> {
+            long initialBalance = toMinorUnits(balance);
+            Account account;
+            if (accountType == 1) {
+                account = CheckingAccount.builder()
+                        .balance(initialBalance)
+                        .ownerName(ownerName)
+                        .build();
+            } else if (accountType == 2) {
+                account = SavingsAccount.builder()
+                        .monthlyInterestBase(initialBalance)
+                        .balance(initialBalance)
+                        .ownerName(ownerName)
+                        .build();
+            } else {
+                throw new InvalidOperationException("Invalid account type.");
+            }
+
+            Account createdAccount = accountRepository.save(account);
+            AUDIT_LOG.recordSuccess(AuditEventType.ACCOUNT_CREATED, createdAccount.getId(), 0, initialBalance, initialBalance);
+            return AccountMapper.toDTO(createdAccount);
+        });
     }
 
     public Account save(Account account) {
         return accountRepository.save(account);
     }
 
+    public boolean compareAndSave(Account account) {
+        return accountRepository.compareAndSave(account);
+    }
+
+    /**
+     * @param events what changed since the account was read, journaled in event-sourced mode
+     */
+    public boolean compareAndSave(Account account, List<AccountEvent> events) {
+        return accountRepository.compareAndSave(account, events);
+    }
+
+    /**
+     * Stores two accounts as one atomic commit, if neither was changed since it was read.
+     */
+    public boolean compareAndSave(Account first, List<AccountEvent> firstEvents,
+                                  Account second, List<AccountEvent> secondEvents) {
+        return accountRepository.compareAndSave(first, firstEvents, second, secondEvents);
+    }
+
+    /**
+     * Same as {@link #compareAndSave(Account, List)} without waiting for the journal.
+     *
+     * @return the ticket of the journal record, or null if another writer committed first
+     */
+    public Journal.Ticket compareAndCommit(Account account, List<AccountEvent> events) {
+        return accountRepository.compareAndCommit(account, events);
+    }
+
     public Account findById(Long accountId) {
         return accountRepository.findById(accountId)
                 .orElseThrow(() -> new ResourceNotFoundException("Account", accountId));
     }
 
+    /**
+     * @return the accounts owned by {@code ownerName}, ignoring case
+     */
+    public List<Account> findByOwnerName(String ownerName) {
+        requireNonNull(ownerName, "Owner name");
+        return accountRepository.findByOwnerName(ownerName);
+    }
+
+    /**
+     * @return at most {@code limit} accounts whose owner name starts with {@code prefix}, ignoring case
+     */
+    public List<Account> findByOwnerNamePrefix(String prefix, int limit) {
+        requireNonNull(prefix, "Prefix");
+        requirePositiveNumber(limit, "Limit");
+        return accountRepository.findByOwnerNamePrefix(prefix, limit);
+    }
+
+    public long getMaxAccountId() {
+        return accountRepository.getMaxId();
+    }
+
+    /**
+     * Visits the stored accounts with an ID in {@code [fromId, toId)} without copying them.
+     * The accounts are read-only, changes go through {@link #compareAndSave(Account)}.
+     */
+    public void scanAccounts(long fromId, long toId, Consumer<? super Account> action) {
+        accountRepository.scan(fromId, toId, action);
+    }
+
 }
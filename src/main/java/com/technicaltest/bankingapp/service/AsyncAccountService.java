@@ -0,0 +1,42 @@
+package com.technicaltest.bankingapp.service;
+
+import com.technicaltest.bankingapp.concurrency.AsyncExecutors;
+import com.technicaltest.bankingapp.dto.AccountDTO;
+import com.technicaltest.bankingapp.model.Account;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Non-blocking variant of {@link AccountService}: each call runs on the executor and returns at once.
+ * A failed call completes its future exceptionally with the exception the synchronous call throws.
+ */
+public class AsyncAccountService {
+
+    private final AccountService accountService;
+    private final Executor executor;
+
+    public AsyncAccountService() {
+        this.accountService = new AccountService();
+        this.executor = AsyncExecutors.shared();
+    }
+
+    public AsyncAccountService(AccountService accountService, Executor executor) {
+        this.accountService = accountService;
+        this.executor = executor;
+    }
+
+    public CompletableFuture<AccountDTO> createAccount(String ownerName, BigDecimal balance, int accountType) {
+        return CompletableFuture.supplyAsync(() -> accountService.createAccount(ownerName, balance, accountType), executor);
+    }
+
+    public CompletableFuture<Account> findById(long accountId) {
+        return CompletableFuture.supplyAsync(() -> accountService.findById(accountId), executor);
+    }
+
+    public CompletableFuture<List<Account>> findByOwnerName(String ownerName) {
+        return CompletableFuture.supplyAsync(() -> accountService.findByOwnerName(ownerName), executor);
+    }
+}
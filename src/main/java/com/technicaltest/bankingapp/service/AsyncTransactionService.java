@@ -0,0 +1,82 @@
+package com.technicaltest.bankingapp.service;
+
+import com.technicaltest.bankingapp.concurrency.AsyncExecutors;
+import com.technicaltest.bankingapp.dto.TransactionOperationDTO;
+import com.technicaltest.bankingapp.dto.TransactionResultDTO;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Non-blocking variant of {@link TransactionService}: each call runs on the executor and returns at once.
+ * A failed operation completes its future exceptionally with the exception the synchronous call throws.
+ */
+public class AsyncTransactionService {
+
+    private final TransactionService transactionService;
+    private final Executor executor;
+
+    public AsyncTransactionService() {
+        this.transactionService = new TransactionService();
+        this.executor = AsyncExecutors.shared();
+    }
+
+    public AsyncTransactionService(TransactionService transactionService, Executor executor) {
+        this.transactionService = transactionService;
+        this.executor = executor;
+    }
+
+    public CompletableFuture<Void> depositMoney(long accountId, long amount) {
+        return CompletableFuture.runAsync(() -> transactionService.depositMoney(accountId, amount), executor);
+    }
+
+    public CompletableFuture<Void> withdrawMoney(long accountId, long amount) {
+        return CompletableFuture.runAsync(() -> transactionService.withdrawMoney(accountId, amount), executor);
+    }
+
+    /**
+     * @see TransactionService#depositMoney(long, long, String)
+     */
+    public CompletableFuture<Void> depositMoney(long accountId, long amount, String idempotencyKey) {
+        return CompletableFuture.runAsync(() -> transactionService.depositMoney(accountId, amount, idempotencyKey), executor);
+    }
+
+    /**
+     * @see TransactionService#withdrawMoney(long, long, String)
+     */
+    public CompletableFuture<Void> withdrawMoney(long accountId, long amount, String idempotencyKey) {
+        return CompletableFuture.runAsync(() -> transactionService.withdrawMoney(accountId, amount, idempotencyKey), executor);
+    }
+
+    /**
+     * @see TransactionService#transfer(long, long, long)
+     */
+    public CompletableFuture<Void> transfer(long fromAccountId, long toAccountId, long amount) {
+        return CompletableFuture.runAsync(() -> transactionService.transfer(fromAccountId, toAccountId, amount), executor);
+    }
+
+    /**
+     * @see TransactionService#processBatch(List)
+     */
+    public CompletableFuture<List<TransactionResultDTO>> processBatch(List<TransactionOperationDTO> operations) {
+        return CompletableFuture.supplyAsync(() -> transactionService.processBatch(operations), executor);
+    }
+
+    public CompletableFuture<Long> getBalance(long accountId) {
+        return CompletableFuture.supplyAsync(() -> transactionService.getBalance(accountId), executor);
+    }
+
+    public CompletableFuture<Long> calculateInterest(long accountId) {
+        return CompletableFuture.supplyAsync(() -> transactionService.calculateInterest(accountId), executor);
+    }
+
+    /**
+     * @see TransactionService#applyMonthlyInterest(long, YearMonth)
+     */
+    public CompletableFuture<OptionalLong> applyMonthlyInterest(long accountId, YearMonth period) {
+        return CompletableFuture.supplyAsync(() -> transactionService.applyMonthlyInterest(accountId, period), executor);
+    }
+}
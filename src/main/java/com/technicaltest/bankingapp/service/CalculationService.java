@@ -1,47 +1,53 @@
 package com.technicaltest.bankingapp.service;
 
 import com.technicaltest.bankingapp.exception.InvalidOperationException;
+import com.technicaltest.bankingapp.utils.MoneyUtils;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 
 import static com.technicaltest.bankingapp.config.ConfigLoader.loadConfig;
-import static com.technicaltest.bankingapp.utils.BigDecimalUtils.normalize;
 
+/**
+ * Money arithmetic on amounts expressed in minor units, see {@link MoneyUtils}.
+ */
 public class CalculationService {
 
-    private static final BigDecimal INTEREST_RATE = loadConfig().savingsInterestRate();
+    private static final int RATE_SCALE = 10;
+    private static final long RATE_SCALE_FACTOR = 10_000_000_000L;
 
-    public BigDecimal calculateSavingsInterest(BigDecimal amount) {
-        if (amount == null) {
-            throw new InvalidOperationException("Amount must not be null");
-        }
+    // Precompute the monthly interest rate (annual rate divided by 12) as a fixed-point value with 10 decimals
+    private static final long MONTHLY_INTEREST_RATE = toMonthlyRate(loadConfig().savingsInterestRate());
 
-        if (amount.compareTo(BigDecimal.ZERO) <= 0 || INTEREST_RATE.compareTo(BigDecimal.ZERO) <= 0) {
-            return BigDecimal.ZERO;
+    public long calculateSavingsInterest(long amount) {
+        if (amount <= 0 || MONTHLY_INTEREST_RATE <= 0) {
+            return 0;
         }
 
-        // Precompute the monthly interest rate (annual rate divided by 12)
-        BigDecimal monthlyInterestRate = INTEREST_RATE.divide(BigDecimal.valueOf(12 * 100), 10, RoundingMode.HALF_UP);
-
-        // Calculate the interest and round to 2 decimal places
-        return normalize(amount.multiply(monthlyInterestRate));
+        // Calculate the interest and round to a whole number of minor units
+        return MoneyUtils.multiply(amount, MONTHLY_INTEREST_RATE, RATE_SCALE_FACTOR);
     }
 
-    public BigDecimal addAmount(BigDecimal balance, BigDecimal amount) {
-        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+    public long addAmount(long balance, long amount) {
+        if (amount <= 0) {
             throw new InvalidOperationException("Amount to add must be greater than zero.");
         }
 
-        return normalize(balance.add(amount));
+        return MoneyUtils.add(balance, amount);
     }
 
-    public BigDecimal subtractAmount(BigDecimal balance, BigDecimal amount) {
-        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+    public long subtractAmount(long balance, long amount) {
+        if (amount <= 0) {
             throw new InvalidOperationException("Amount to subtract must be greater than zero.");
         }
 
-        return normalize(balance.subtract(amount));
+        return MoneyUtils.subtract(balance, amount);
+    }
 
+    private static long toMonthlyRate(BigDecimal annualInterestRate) {
+        return annualInterestRate
+                .divide(BigDecimal.valueOf(12 * 100), RATE_SCALE, RoundingMode.HALF_UP)
+                .unscaledValue()
+                .longValueExact();
     }
 }
@@ -0,0 +1,211 @@
+package com.technicaltest.bankingapp.service;
+
+import com.technicaltest.bankingapp.dto.InterestRunReportDTO;
+import com.technicaltest.bankingapp.exception.BusinessException;
+import com.technicaltest.bankingapp.model.SavingsAccount;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Serial;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.OptionalLong;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Month-end job crediting the monthly interest of every savings account.
+ * The ID space is split into partitions processed in parallel on a fork-join pool, each account being
+ * credited through its own optimistic update so the job can run alongside regular transactions.
+ * Accounts remember the last month they were credited for, so running the job again for the same month,
+ * for instance after an interruption, only credits the accounts that were not reached, and running it for an
+ * earlier month credits none of the accounts already credited for a later one.
+ */
+@Slf4j
+public class InterestRunService {
+
+    /**
+     * Number of IDs scanned by one leaf task.
+     */
+    static final int PARTITION_SIZE = 4096;
+    private static final long PROGRESS_LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final AccountService accountService;
+    private final TransactionService transactionService;
+    private final int parallelism;
+
+    public InterestRunService() {
+        this.accountService = new AccountService();
+        this.transactionService = new TransactionService(accountService, new CalculationService());
+        this.parallelism = Runtime.getRuntime().availableProcessors();
+    }
+
+    public InterestRunService(AccountService accountService, TransactionService transactionService, int parallelism) {
+        this.accountService = accountService;
+        this.transactionService = transactionService;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Credits the interest of every savings account not yet credited for {@code period}.
+     * Interrupting the calling thread stops the run after the partitions in progress, the report then
+     * being marked as not completed. The report is only taken once those partitions ended, so that it counts
+     * every account they credited and a resumed run starts from a settled state.
+     *
+     * @param period the month the interest is credited for
+     * @return what the run did
+     */
+    public InterestRunReportDTO run(YearMonth period) {
+        long maxId = accountService.getMaxAccountId();
+        Progress progress = new Progress(period, (maxId + PARTITION_SIZE - 1) / PARTITION_SIZE);
+        log.info("InterestRunService - Starting interest run for {} over {} account IDs with parallelism {}.", period, maxId, parallelism);
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        boolean completed = false;
+        boolean interrupted = false;
+        try {
+            pool.submit(new PartitionTask(1, maxId + 1, progress)).get();
+            completed = true;
+        } catch (InterruptedException e) {
+            interrupted = true;
+            progress.cancelled = true;
+            log.warn("InterestRunService - Interest run for {} interrupted, run it again to resume.", period);
+        } catch (ExecutionException e) {
+            progress.cancelled = true;
+            log.error("InterestRunService - Interest run for {} failed, run it again to resume.", period, e.getCause());
+        } finally {
+            pool.shutdown();
+            interrupted |= awaitTermination(pool);
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        InterestRunReportDTO report = progress.toReport(completed);
+        log.info("InterestRunService - Interest run for {} finished: {}.", period, report);
+        return report;
+    }
+
+    /**
+     * Waits for the partitions in progress to end, even when interrupted again.
+     *
+     * @return whether the calling thread was interrupted while waiting
+     */
+    private static boolean awaitTermination(ForkJoinPool pool) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (pool.awaitTermination(1, TimeUnit.MINUTES)) {
+                    return interrupted;
+                }
+                log.info("InterestRunService - Waiting for the partitions in progress to end.");
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+    }
+
+    private void processPartition(long fromId, long toId, Progress progress) {
+        long[] accountIds = new long[(int) (toId - fromId)];
+        int[] count = new int[1];
+        accountService.scanAccounts(fromId, toId, account -> {
+            if (account instanceof SavingsAccount savingsAccount) {
+                if (progress.period.equals(savingsAccount.getLastInterestPeriod())) {
+                    progress.alreadyCredited.increment();
+                } else {
+                    accountIds[count[0]++] = account.getId();
+                }
+            }
+        });
+
+        for (int i = 0; i < count[0]; i++) {
+            try {
+                OptionalLong interest = transactionService.applyMonthlyInterest(accountIds[i], progress.period);
+                if (interest.isPresent()) {
+                    progress.credited.increment();
+                    progress.totalInterest.add(interest.getAsLong());
+                } else {
+                    progress.alreadyCredited.increment();
+                }
+            } catch (BusinessException e) {
+                progress.failed.increment();
+                log.warn("InterestRunService - Could not credit interest to account {}: {}", accountIds[i], e.getMessage());
+            }
+        }
+        progress.partitionDone();
+    }
+
+    private class PartitionTask extends RecursiveAction {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final long fromId;
+        private final long toId;
+        private final transient Progress progress;
+
+        PartitionTask(long fromId, long toId, Progress progress) {
+            this.fromId = fromId;
+            this.toId = toId;
+            this.progress = progress;
+        }
+
+        @Override
+        protected void compute() {
+            if (progress.cancelled) {
+                return;
+            }
+            if (toId - fromId <= PARTITION_SIZE) {
+                processPartition(fromId, toId, progress);
+                return;
+            }
+            long partitions = (toId - fromId + PARTITION_SIZE - 1) / PARTITION_SIZE;
+            long middle = fromId + partitions / 2 * PARTITION_SIZE;
+            invokeAll(new PartitionTask(fromId, middle, progress), new PartitionTask(middle, toId, progress));
+        }
+    }
+
+    private static class Progress {
+
+        private final YearMonth period;
+        private final long totalPartitions;
+        private final long startNanos = System.nanoTime();
+        private final AtomicLong donePartitions = new AtomicLong();
+        private final AtomicLong lastLogNanos = new AtomicLong(startNanos);
+        private final LongAdder credited = new LongAdder();
+        private final LongAdder alreadyCredited = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder totalInterest = new LongAdder();
+        private volatile boolean cancelled;
+
+        Progress(YearMonth period, long totalPartitions) {
+            this.period = period;
+            this.totalPartitions = totalPartitions;
+        }
+
+        void partitionDone() {
+            long done = donePartitions.incrementAndGet();
+            long now = System.nanoTime();
+            long lastLog = lastLogNanos.get();
+            if (now - lastLog >= PROGRESS_LOG_INTERVAL_NANOS && lastLogNanos.compareAndSet(lastLog, now)) {
+                log.info("InterestRunService - Interest run for {}: {}/{} partitions, {} accounts credited, {} already credited, {} failed.",
+                        period, done, totalPartitions, credited.sum(), alreadyCredited.sum(), failed.sum());
+            }
+        }
+
+        InterestRunReportDTO toReport(boolean completed) {
+            return InterestRunReportDTO.builder()
+                    .period(period)
+                    .completed(completed)
+                    .creditedAccounts(credited.sum())
+                    .alreadyCreditedAccounts(alreadyCredited.sum())
+                    .failedAccounts(failed.sum())
+                    .totalInterest(totalInterest.sum())
+                    .elapsed(Duration.ofNanos(System.nanoTime() - startNanos))
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.technicaltest.bankingapp.service;
+
+import com.technicaltest.bankingapp.enumeration.TransactionType;
+import com.technicaltest.bankingapp.event.AccountEvent;
+import com.technicaltest.bankingapp.event.AccountEventBatch;
+import com.technicaltest.bankingapp.event.Deposited;
+import com.technicaltest.bankingapp.event.InterestApplied;
+import com.technicaltest.bankingapp.event.TransferredIn;
+import com.technicaltest.bankingapp.event.TransferredOut;
+import com.technicaltest.bankingapp.event.Withdrawn;
+import com.technicaltest.bankingapp.model.Account;
+import com.technicaltest.bankingapp.model.LedgerEntry;
+import com.technicaltest.bankingapp.repository.LedgerRepository;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.util.List;
+
+import static com.technicaltest.bankingapp.utils.ValidationUtils.requirePositiveNumber;
+
+@Slf4j
+public class LedgerService {
+
+    private final LedgerRepository ledgerRepository;
+
+    public LedgerService() {
+        this.ledgerRepository = new LedgerRepository();
+    }
+
+    public LedgerService(LedgerRepository ledgerRepository) {
+        this.ledgerRepository = ledgerRepository;
+    }
+
+    /**
+     * Records the deposits, withdrawals, interest credits and transfers committed together in one account version.
+     *
+     * @param committedAccount the account as committed, carrying the version and timestamp of the commit
+     * @param events           the events of that commit, in the order they were applied
+     */
+    public void record(Account committedAccount, List<AccountEvent> events) {
+        record(new AccountEventBatch(committedAccount.getId(), committedAccount.getVersion(), committedAccount.getUpdatedAt(), events));
+    }
+
+    /**
+     * Records the operations of a committed event batch. An entry is identified by the version and position it
+     * was committed with, so recording a batch again, as recovery does, leaves the ledger unchanged.
+     */
+    public void record(AccountEventBatch batch) {
+        int sequence = 0;
+        for (AccountEvent event : batch.events()) {
+            LedgerEntry.LedgerEntryBuilder entry = toEntry(event);
+            if (entry != null) {
+                ledgerRepository.save(entry
+                        .accountId(batch.accountId())
+                        .version(batch.version())
+                        .sequence(sequence++)
+                        .timestamp(batch.timestamp())
+                        .build());
+            }
+        }
+    }
+
+    /**
+     * @return the {@code count} most recent transactions of the account, most recent first
+     */
+    public List<LedgerEntry> getLastTransactions(long accountId, int count) {
+        requirePositiveNumber(count, "Transaction Count");
+        log.debug("LedgerService - Fetching last {} transactions of account {}.", count, accountId);
+        return ledgerRepository.findLast(accountId, count);
+    }
+
+    /**
+     * @return the transactions of the account made from {@code from} inclusive to {@code to} exclusive, oldest first
+     */
+    public List<LedgerEntry> getTransactionsBetween(long accountId, Instant from, Instant to) {
+        log.debug("LedgerService - Fetching transactions of account {} between {} and {}.", accountId, from, to);
+        return ledgerRepository.findBetween(accountId, from, to);
+    }
+
+    private static LedgerEntry.LedgerEntryBuilder toEntry(AccountEvent event) {
+        if (event instanceof Deposited deposited) {
+            return LedgerEntry.builder().type(TransactionType.DEPOSIT).amount(deposited.amount()).balanceAfter(deposited.balanceAfter());
+        }
+        if (event instanceof Withdrawn withdrawn) {
+            return LedgerEntry.builder().type(TransactionType.WITHDRAWAL).amount(withdrawn.amount()).balanceAfter(withdrawn.balanceAfter());
+        }
+        if (event instanceof InterestApplied interestApplied) {
+            return LedgerEntry.builder().type(TransactionType.INTEREST).amount(interestApplied.amount()).balanceAfter(interestApplied.balanceAfter());
+        }
+        if (event instanceof TransferredOut transferredOut) {
+            return LedgerEntry.builder().type(TransactionType.TRANSFER_OUT).amount(transferredOut.amount())
+                    .balanceAfter(transferredOut.balanceAfter()).counterpartyAccountId(transferredOut.toAccountId());
+        }
+        if (event instanceof TransferredIn transferredIn) {
+            return LedgerEntry.builder().type(TransactionType.TRANSFER_IN).amount(transferredIn.amount())
+                    .balanceAfter(transferredIn.balanceAfter()).counterpartyAccountId(transferredIn.fromAccountId());
+        }
+        return null;
+    }
+}
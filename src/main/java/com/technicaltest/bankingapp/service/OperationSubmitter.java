@@ -0,0 +1,26 @@
+package com.technicaltest.bankingapp.service;
+
+import com.technicaltest.bankingapp.dto.TransactionOperationDTO;
+import com.technicaltest.bankingapp.dto.TransactionResultDTO;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous front end of {@link TransactionService} for deposits and withdrawals: the caller submits without
+ * waiting, the operation is committed without waiting for the journal, and the future completes once the commit
+ * is durable, so that concurrent operations share journal syncs.
+ */
+public interface OperationSubmitter extends AutoCloseable {
+
+    /**
+     * @return a future completed with the result of the operation once its commit is durable, or completed
+     * exceptionally if the commit could not be made durable
+     */
+    CompletableFuture<TransactionResultDTO> submit(TransactionOperationDTO operation);
+
+    /**
+     * Stops once every operation already submitted has been replied to.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,223 @@
+package com.technicaltest.bankingapp.service;
+
+import com.technicaltest.bankingapp.database.ShardedEntityStore;
+import com.technicaltest.bankingapp.dto.TransactionOperationDTO;
+import com.technicaltest.bankingapp.dto.TransactionResultDTO;
+import com.technicaltest.bankingapp.exception.BusinessException;
+import com.technicaltest.bankingapp.exception.InvalidOperationException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static com.technicaltest.bankingapp.config.ConfigLoader.SHARD_CONFIGURATION;
+
+/**
+ * Asynchronous {@link TransactionService} running each operation on the executor of the shard owning its
+ * account, one thread per shard. Operations on one shard run one at a time in submission order and never
+ * conflict, while shards proceed in parallel. Routing follows {@link ShardedEntityStore#shardOf(long, int)}, so with
+ * {@code shards.count} shards each executor only touches its own shard of the collection and of the ID space.
+ * <p>
+ * Only the collection and the ID allocation are split by shard. The stripe locks, the journal and its single
+ * writer thread, the owner name, balance and column indexes and the ledger are shared by every shard; they are
+ * built for concurrent use, and the stripe locks stay uncontended since each account is written by one shard
+ * thread only, transfers aside.
+ * <p>
+ * Deposits and withdrawals are committed on the shard thread without waiting for the journal: a replier thread
+ * per shard completes their futures once the commit is durable, so the shard thread moves on to the next operation
+ * and the operations of every shard share the syncs of the journal writer. Batch parts wait for the journal once
+ * per part; transfers and interest credits wait for their own sync on the shard thread.
+ * Futures complete on the replier thread, which should not be blocked by their dependent actions.
+ */
+@Slf4j
+public class ShardedTransactionService implements OperationSubmitter {
+
+    private final TransactionService transactionService;
+    private final ExecutorService[] executors;
+    private final ExecutorService[] repliers;
+    // Replies of commits not yet durable, which close waits for before stopping the repliers
+    private final Set<CompletableFuture<TransactionResultDTO>> pendingReplies = ConcurrentHashMap.newKeySet();
+
+    public ShardedTransactionService() {
+        this(new TransactionService(), SHARD_CONFIGURATION.count());
+    }
+
+    public ShardedTransactionService(TransactionService transactionService, int shardCount) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Shard count must be greater than zero.");
+        }
+        this.transactionService = transactionService;
+        this.executors = new ExecutorService[shardCount];
+        this.repliers = new ExecutorService[shardCount];
+        for (int shard = 0; shard < shardCount; shard++) {
+            executors[shard] = newThread("shard-" + shard);
+            repliers[shard] = newThread("shard-replier-" + shard);
+        }
+    }
+
+    /**
+     * Commits a deposit or a withdrawal on the shard of its account, without making the shard wait for the journal.
+     */
+    @Override
+    public CompletableFuture<TransactionResultDTO> submit(TransactionOperationDTO operation) {
+        int shard = shardOf(operation.getAccountId());
+        return CompletableFuture.supplyAsync(() -> commit(operation), executors[shard])
+                .thenCompose(committed -> {
+                    TransactionResultDTO result = committed.results().get(0);
+                    if (committed.ticket() == null) {
+                        return CompletableFuture.completedFuture(result);
+                    }
+                    CompletableFuture<TransactionResultDTO> reply = committed.ticket().durable()
+                            .thenApplyAsync(durable -> result, repliers[shard]);
+                    pendingReplies.add(reply);
+                    reply.whenComplete((replied, failure) -> pendingReplies.remove(reply));
+                    return reply;
+                });
+    }
+
+    /**
+     * @return a future completed once the deposit is durable, or completed exceptionally if it was rejected
+     */
+    public CompletableFuture<Void> depositMoney(long accountId, long amount) {
+        return submit(TransactionOperationDTO.deposit(accountId, amount)).thenAccept(ShardedTransactionService::requireSuccess);
+    }
+
+    /**
+     * @return a future completed once the withdrawal is durable, or completed exceptionally if it was rejected
+     */
+    public CompletableFuture<Void> withdrawMoney(long accountId, long amount) {
+        return submit(TransactionOperationDTO.withdrawal(accountId, amount)).thenAccept(ShardedTransactionService::requireSuccess);
+    }
+
+    /**
+     * Runs on the shard of the source account. The destination account may belong to another shard whose
+     * executor updates it concurrently; the two-account commit of {@link TransactionService#transfer(long, long, long)}
+     * keeps the transfer atomic either way.
+     */
+    public CompletableFuture<Void> transfer(long fromAccountId, long toAccountId, long amount) {
+        return onShardOf(fromAccountId, () -> {
+            transactionService.transfer(fromAccountId, toAccountId, amount);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Long> getBalance(long accountId) {
+        return onShardOf(accountId, () -> transactionService.getBalance(accountId));
+    }
+
+    public CompletableFuture<Long> calculateInterest(long accountId) {
+        return onShardOf(accountId, () -> transactionService.calculateInterest(accountId));
+    }
+
+    public CompletableFuture<OptionalLong> applyMonthlyInterest(long accountId, YearMonth period) {
+        return onShardOf(accountId, () -> transactionService.applyMonthlyInterest(accountId, period));
+    }
+
+    /**
+     * Splits the batch by shard and processes the parts in parallel, each on its shard.
+     *
+     * @return one result per operation, in the order of the operations
+     * @see TransactionService#processBatch(List)
+     */
+    public CompletableFuture<List<TransactionResultDTO>> processBatch(List<TransactionOperationDTO> operations) {
+        List<List<Integer>> indexesByShard = new ArrayList<>(executors.length);
+        for (int shard = 0; shard < executors.length; shard++) {
+            indexesByShard.add(new ArrayList<>());
+        }
+        for (int i = 0; i < operations.size(); i++) {
+            indexesByShard.get(shardOf(operations.get(i).getAccountId())).add(i);
+        }
+
+        TransactionResultDTO[] results = new TransactionResultDTO[operations.size()];
+        List<CompletableFuture<Void>> parts = new ArrayList<>();
+        for (int shard = 0; shard < executors.length; shard++) {
+            List<Integer> indexes = indexesByShard.get(shard);
+            if (indexes.isEmpty()) {
+                continue;
+            }
+            List<TransactionOperationDTO> shardOperations = indexes.stream().map(operations::get).toList();
+            parts.add(CompletableFuture.runAsync(() -> {
+                List<TransactionResultDTO> shardResults = transactionService.processBatch(shardOperations);
+                for (int i = 0; i < indexes.size(); i++) {
+                    results[indexes.get(i)] = shardResults.get(i);
+                }
+            }, executors[shard]));
+        }
+        return CompletableFuture.allOf(parts.toArray(CompletableFuture[]::new))
+                .thenApply(done -> Arrays.asList(results));
+    }
+
+    /**
+     * Stops the shard executors once the operations already submitted have run and been replied to.
+     */
+    @Override
+    public void close() {
+        for (ExecutorService executor : executors) {
+            executor.shutdown();
+        }
+        try {
+            for (ExecutorService executor : executors) {
+                awaitTermination(executor);
+            }
+            // Replies are only scheduled once the journal made the commits durable, so wait for those still pending
+            CompletableFuture.allOf(pendingReplies.toArray(CompletableFuture[]::new))
+                    .handle((replied, failure) -> null)
+                    .join();
+            for (ExecutorService replier : repliers) {
+                replier.shutdown();
+            }
+            for (ExecutorService replier : repliers) {
+                awaitTermination(replier);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("ShardedTransactionService - Stopped {} shard executors.", executors.length);
+    }
+
+    private TransactionService.CommittedOperations commit(TransactionOperationDTO operation) {
+        try {
+            return transactionService.commitOperations(operation.getAccountId(), List.of(operation));
+        } catch (BusinessException e) {
+            return new TransactionService.CommittedOperations(List.of(TransactionResultDTO.failure(operation, e.getMessage())), null);
+        }
+    }
+
+    private <R> CompletableFuture<R> onShardOf(long accountId, Supplier<R> operation) {
+        return CompletableFuture.supplyAsync(operation, executors[shardOf(accountId)]);
+    }
+
+    private int shardOf(long accountId) {
+        return ShardedEntityStore.shardOf(accountId, executors.length);
+    }
+
+    private static void requireSuccess(TransactionResultDTO result) {
+        if (!result.isSuccessful()) {
+            throw new InvalidOperationException(result.getErrorMessage());
+        }
+    }
+
+    private static void awaitTermination(ExecutorService executor) throws InterruptedException {
+        while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+            log.warn("ShardedTransactionService - Still waiting for {} to stop.", executor);
+        }
+    }
+
+    private static ExecutorService newThread(String threadName) {
+        return Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,201 @@
+package com.technicaltest.bankingapp.service;
+
+import com.technicaltest.bankingapp.concurrency.RingBuffer;
+import com.technicaltest.bankingapp.dto.TransactionOperationDTO;
+import com.technicaltest.bankingapp.dto.TransactionResultDTO;
+import com.technicaltest.bankingapp.exception.ApplicationException;
+import com.technicaltest.bankingapp.exception.BusinessException;
+import com.technicaltest.bankingapp.journal.Journal;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Alternative to calling {@link TransactionService} directly, for the highest throughputs.
+ * Operations are published to the ring buffer of the partition owning their account. One writer thread per
+ * partition applies them in publication order, grouping the operations of an account found in the same batch
+ * into one commit. Accounts are only ever written by the writer of their partition, so commits do not conflict
+ * and the stripe locks are uncontended. A replier thread per partition then waits for the journal to make the
+ * commits durable and completes the futures, so the writer never waits on a sync.
+ * <p>
+ * Futures complete on the replier thread, which should not be blocked by their dependent actions.
+ * Callers stop submitting before closing the engine.
+ */
+@Slf4j
+public class TransactionEngine implements OperationSubmitter {
+
+    public static final int DEFAULT_RING_SIZE = 1 << 14;
+    private static final int MAX_BATCH_SIZE = 256;
+    private static final int WRITER_STAGE = 0;
+    private static final int REPLIER_STAGE = 1;
+
+    private final TransactionService transactionService;
+    private final Partition[] partitions;
+    private volatile boolean running = true;
+
+    public TransactionEngine() {
+        this(new TransactionService(), Runtime.getRuntime().availableProcessors(), DEFAULT_RING_SIZE);
+    }
+
+    public TransactionEngine(TransactionService transactionService, int partitionCount, int ringSize) {
+        this.transactionService = transactionService;
+        this.partitions = new Partition[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            partitions[i] = new Partition(i, ringSize);
+        }
+    }
+
+    /**
+     * Publishes an operation to the writer of its account, waiting only while the ring of the partition is full.
+     */
+    @Override
+    public CompletableFuture<TransactionResultDTO> submit(TransactionOperationDTO operation) {
+        if (!running) {
+            throw new ApplicationException("Transaction engine is closed.");
+        }
+        return partitions[partitionOf(operation.getAccountId())].publish(operation);
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        try {
+            for (Partition partition : partitions) {
+                partition.writer.join();
+                partition.replier.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("TransactionEngine - Stopped {} partitions.", partitions.length);
+    }
+
+    private int partitionOf(long accountId) {
+        // Spread consecutive IDs evenly over the partitions
+        long hash = accountId * 0x9E3779B97F4A7C15L;
+        return (int) ((hash >>> 32) % partitions.length);
+    }
+
+    private final class Partition {
+
+        private final RingBuffer<Command> ring;
+        private final Thread writer;
+        private final Thread replier;
+
+        private Partition(int index, int ringSize) {
+            this.ring = new RingBuffer<>(ringSize, 2, Command::new);
+            this.writer = new Thread(this::write, "transaction-engine-writer-" + index);
+            this.replier = new Thread(this::reply, "transaction-engine-replier-" + index);
+            writer.setDaemon(true);
+            replier.setDaemon(true);
+            writer.start();
+            replier.start();
+        }
+
+        private CompletableFuture<TransactionResultDTO> publish(TransactionOperationDTO operation) {
+            long sequence = ring.claim();
+            Command command = ring.get(sequence);
+            CompletableFuture<TransactionResultDTO> reply = new CompletableFuture<>();
+            command.operation = operation;
+            command.reply = reply;
+            ring.publish(sequence);
+            return reply;
+        }
+
+        private void write() {
+            long next = 0;
+            int idleAttempts = 0;
+            while (running || ring.getClaimed() >= next) {
+                long available = ring.available(WRITER_STAGE, next, next + MAX_BATCH_SIZE - 1);
+                if (available < next) {
+                    RingBuffer.backOff(idleAttempts++);
+                    continue;
+                }
+                idleAttempts = 0;
+                apply(next, available);
+                ring.release(WRITER_STAGE, available);
+                next = available + 1;
+            }
+        }
+
+        private void apply(long from, long to) {
+            Map<Long, List<Command>> commandsByAccount = new LinkedHashMap<>();
+            for (long sequence = from; sequence <= to; sequence++) {
+                Command command = ring.get(sequence);
+                commandsByAccount.computeIfAbsent(command.operation.getAccountId(), accountId -> new ArrayList<>()).add(command);
+            }
+            commandsByAccount.forEach((accountId, commands) -> {
+                List<TransactionOperationDTO> operations = new ArrayList<>(commands.size());
+                commands.forEach(command -> operations.add(command.operation));
+                try {
+                    TransactionService.CommittedOperations committed = transactionService.commitOperations(accountId, operations);
+                    for (int i = 0; i < commands.size(); i++) {
+                        commands.get(i).result = committed.results().get(i);
+                        commands.get(i).ticket = committed.ticket();
+                    }
+                } catch (BusinessException e) {
+                    commands.forEach(command -> command.result = TransactionResultDTO.failure(command.operation, e.getMessage()));
+                } catch (RuntimeException e) {
+                    log.error("TransactionEngine - Failed to apply the operations of account {}.", accountId, e);
+                    commands.forEach(command -> command.failure = e);
+                }
+            });
+        }
+
+        private void reply() {
+            long next = 0;
+            int idleAttempts = 0;
+            while (running || ring.getClaimed() >= next) {
+                long available = ring.available(REPLIER_STAGE, next, Long.MAX_VALUE);
+                if (available < next) {
+                    RingBuffer.backOff(idleAttempts++);
+                    continue;
+                }
+                idleAttempts = 0;
+                for (long sequence = next; sequence <= available; sequence++) {
+                    ring.get(sequence).complete();
+                }
+                ring.release(REPLIER_STAGE, available);
+                next = available + 1;
+            }
+        }
+    }
+
+    /**
+     * Slot of the ring buffers, reused once its reply is sent.
+     */
+    private static final class Command {
+
+        private TransactionOperationDTO operation;
+        private CompletableFuture<TransactionResultDTO> reply;
+        private TransactionResultDTO result;
+        // Null when the operation failed validation and nothing was committed
+        private Journal.Ticket ticket;
+        private RuntimeException failure;
+
+        private void complete() {
+            try {
+                if (failure != null) {
+                    reply.completeExceptionally(failure);
+                } else {
+                    if (ticket != null) {
+                        ticket.awaitDurable();
+                    }
+                    reply.complete(result);
+                }
+            } catch (ApplicationException e) {
+                reply.completeExceptionally(e);
+            } finally {
+                operation = null;
+                reply = null;
+                result = null;
+                ticket = null;
+                failure = null;
+            }
+        }
+    }
+}
@@ -1,96 +1,536 @@
 package com.technicaltest.bankingapp.service;
 
+import com.technicaltest.bankingapp.audit.AuditLog;
+import com.technicaltest.bankingapp.concurrency.ContentionStats;
+import com.technicaltest.bankingapp.concurrency.ExpiringCache;
+import com.technicaltest.bankingapp.dto.TransactionOperationDTO;
+import com.technicaltest.bankingapp.dto.TransactionResultDTO;
 import com.technicaltest.bankingapp.enumeration.AccountType;
+import com.technicaltest.bankingapp.enumeration.AuditEventType;
+import com.technicaltest.bankingapp.enumeration.AuditOutcome;
+import com.technicaltest.bankingapp.enumeration.TransactionType;
+import com.technicaltest.bankingapp.event.AccountEvent;
+import com.technicaltest.bankingapp.event.Deposited;
+import com.technicaltest.bankingapp.event.InterestApplied;
+import com.technicaltest.bankingapp.event.TransferredIn;
+import com.technicaltest.bankingapp.event.TransferredOut;
+import com.technicaltest.bankingapp.event.Withdrawn;
+import com.technicaltest.bankingapp.exception.BusinessException;
+import com.technicaltest.bankingapp.exception.ConcurrentUpdateException;
 import com.technicaltest.bankingapp.exception.InvalidOperationException;
+import com.technicaltest.bankingapp.journal.Journal;
+import com.technicaltest.bankingapp.metrics.MetricsRegistry;
+import com.technicaltest.bankingapp.metrics.OperationMetrics;
 import com.technicaltest.bankingapp.model.Account;
 import com.technicaltest.bankingapp.model.SavingsAccount;
 import lombok.extern.slf4j.Slf4j;
 
-import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.LongSupplier;
 
 import static com.technicaltest.bankingapp.config.ConfigLoader.CONFIGURATION;
+import static com.technicaltest.bankingapp.config.ConfigLoader.IDEMPOTENCY_CONFIGURATION;
+import static com.technicaltest.bankingapp.utils.MoneyUtils.toBigDecimal;
+import static com.technicaltest.bankingapp.utils.MoneyUtils.toMinorUnits;
 
 @Slf4j
 public class TransactionService {
 
+    private static final int MAX_UPDATE_ATTEMPTS = 64;
+    private static final int SPIN_ATTEMPTS = 8;
+    private static final ContentionStats CONTENTION_STATS = new ContentionStats();
+    private static final long SAVINGS_WITHDRAW_MONTHLY_LIMIT = toMinorUnits(CONFIGURATION.savingsWithdrawMonthlyLimit());
+    private static final OperationMetrics DEPOSIT_METRICS = MetricsRegistry.operation("deposit");
+    private static final OperationMetrics WITHDRAW_METRICS = MetricsRegistry.operation("withdraw");
+    private static final OperationMetrics TRANSFER_METRICS = MetricsRegistry.operation("transfer");
+    private static final OperationMetrics BALANCE_METRICS = MetricsRegistry.operation("balance");
+    private static final OperationMetrics INTEREST_METRICS = MetricsRegistry.operation("interest");
+    private static final AuditLog AUDIT_LOG = AuditLog.shared();
+    private static final ExpiringCache<String, IdempotentRequest> IDEMPOTENCY_CACHE = new ExpiringCache<>(
+            IDEMPOTENCY_CONFIGURATION.maxEntries(), Duration.ofSeconds(IDEMPOTENCY_CONFIGURATION.ttlSeconds()));
+
     private final AccountService accountService;
     private final CalculationService calculationService;
+    private final LedgerService ledgerService;
+    // Decides which month a savings withdrawal counts towards
+    private final Clock clock;
 
     public TransactionService() {
         this.accountService = new AccountService();
         this.calculationService = new CalculationService();
+        this.ledgerService = new LedgerService();
+        this.clock = Clock.systemUTC();
     }
 
     public TransactionService(AccountService accountService, CalculationService calculationService) {
+        this(accountService, calculationService, new LedgerService());
+    }
+
+    public TransactionService(AccountService accountService, CalculationService calculationService, LedgerService ledgerService) {
+        this(accountService, calculationService, ledgerService, Clock.systemUTC());
+    }
+
+    public TransactionService(AccountService accountService, CalculationService calculationService, LedgerService ledgerService,
+                              Clock clock) {
         this.accountService = accountService;
         this.calculationService = calculationService;
+        this.ledgerService = ledgerService;
+        this.clock = clock;
+    }
+
+    public static ContentionStats getContentionStats() {
+        return CONTENTION_STATS;
+    }
+
+    /**
+     * @return the outcomes remembered by idempotency key, with their hit, miss and eviction counts
+     */
+    public static ExpiringCache<String, IdempotentRequest> getIdempotencyCache() {
+        return IDEMPOTENCY_CACHE;
+    }
+
+    public void depositMoney(long accountId, long amount) {
+        DEPOSIT_METRICS.time(() -> audited(AuditEventType.DEPOSIT, accountId, 0, amount,
+                () -> updateAccount(accountId, (account, events) -> {
+                    applyDeposit(account, amount, events);
+                    return account.getBalance();
+                })));
+    }
+
+    public void withdrawMoney(long accountId, long amount) {
+        WITHDRAW_METRICS.time(() -> audited(AuditEventType.WITHDRAWAL, accountId, 0, amount,
+                () -> updateAccount(accountId, (account, events) -> {
+                    applyWithdrawal(account, amount, events);
+                    return account.getBalance();
+                })));
+    }
+
+    /**
+     * Same as {@link #depositMoney(long, long)}, applied at most once per idempotency key.
+     *
+     * @param idempotencyKey key chosen by the client and reused when it retries, null to always apply the deposit
+     * @see #withIdempotencyKey(String, IdempotentRequest, Runnable)
+     */
+    public void depositMoney(long accountId, long amount, String idempotencyKey) {
+        withIdempotencyKey(idempotencyKey, new IdempotentRequest(TransactionType.DEPOSIT, accountId, amount),
+                () -> depositMoney(accountId, amount));
+    }
+
+    /**
+     * Same as {@link #withdrawMoney(long, long)}, applied at most once per idempotency key.
+     *
+     * @param idempotencyKey key chosen by the client and reused when it retries, null to always apply the withdrawal
+     * @see #withIdempotencyKey(String, IdempotentRequest, Runnable)
+     */
+    public void withdrawMoney(long accountId, long amount, String idempotencyKey) {
+        withIdempotencyKey(idempotencyKey, new IdempotentRequest(TransactionType.WITHDRAWAL, accountId, amount),
+                () -> withdrawMoney(accountId, amount));
+    }
+
+    /**
+     * Moves money from one account to another as one atomic commit of both accounts. The source account must
+     * allow the amount to be withdrawn, under the same rules as {@link #withdrawMoney(long, long)}.
+     * Both accounts are locked in a global order only for the commit, so concurrent transfers between the
+     * same accounts in opposite directions never deadlock, and no reader or writer ever sees one side without the other.
+     *
+     * @throws InvalidOperationException if both accounts are the same or the withdrawal rules reject the amount
+     */
+    public void transfer(long fromAccountId, long toAccountId, long amount) {
+        TRANSFER_METRICS.time(() -> audited(AuditEventType.TRANSFER, fromAccountId, toAccountId, amount,
+                () -> commitTransfer(fromAccountId, toAccountId, amount)));
+    }
+
+    /**
+     * @return the balance of the source account after the transfer
+     */
+    private long commitTransfer(long fromAccountId, long toAccountId, long amount) {
+        if (fromAccountId == toAccountId) {
+            throw new InvalidOperationException("Cannot transfer money to the same account.");
+        }
+        for (int attempt = 1; attempt <= MAX_UPDATE_ATTEMPTS; attempt++) {
+            Account from = accountService.findById(fromAccountId);
+            Account to = accountService.findById(toAccountId);
+            debit(from, amount);
+            credit(to, amount);
+            List<AccountEvent> fromEvents = List.of(new TransferredOut(amount, from.getBalance(), toAccountId));
+            List<AccountEvent> toEvents = List.of(new TransferredIn(amount, to.getBalance(), fromAccountId));
+            if (accountService.compareAndSave(from, fromEvents, to, toEvents)) {
+                CONTENTION_STATS.recordCommit(attempt);
+                ledgerService.record(from, fromEvents);
+                ledgerService.record(to, toEvents);
+                return from.getBalance();
+            }
+            CONTENTION_STATS.recordConflict();
+            backOff(attempt);
+        }
+        CONTENTION_STATS.recordAbandon();
+        throw new ConcurrentUpdateException("Account", fromAccountId);
+    }
+
+    /**
+     * Applies a batch of deposits and withdrawals.
+     * Operations are grouped by account and each account is read, updated and committed once for its
+     * whole group, applying its operations in their original order. An operation that fails validation
+     * is reported as failed and leaves the balance as the previous operations left it.
+     * The groups are committed one after the other without waiting for the journal, which is waited for once
+     * at the end, so that the records of the whole batch share its syncs.
+     *
+     * @param operations the operations to apply
+     * @return one result per operation, in the order of the operations
+     */
+    public List<TransactionResultDTO> processBatch(List<TransactionOperationDTO> operations) {
+        Map<Long, List<Integer>> operationsByAccount = new LinkedHashMap<>();
+        for (int i = 0; i < operations.size(); i++) {
+            operationsByAccount.computeIfAbsent(operations.get(i).getAccountId(), accountId -> new ArrayList<>()).add(i);
+        }
+
+        TransactionResultDTO[] results = new TransactionResultDTO[operations.size()];
+        List<Journal.Ticket> tickets = new ArrayList<>(operationsByAccount.size());
+        operationsByAccount.forEach((accountId, indexes) -> {
+            Journal.Ticket[] ticket = new Journal.Ticket[1];
+            try {
+                updateAccount(accountId, (account, events) -> {
+                    for (int index : indexes) {
+                        results[index] = applyOperation(account, operations.get(index), events);
+                    }
+                    return null;
+                }, (account, events) -> (ticket[0] = accountService.compareAndCommit(account, events)) != null);
+                tickets.add(ticket[0]);
+            } catch (BusinessException e) {
+                for (int index : indexes) {
+                    results[index] = TransactionResultDTO.failure(operations.get(index), e.getMessage());
+                }
+            }
+        });
+        for (Journal.Ticket ticket : tickets) {
+            ticket.awaitDurable();
+        }
+        List<TransactionResultDTO> batchResults = Arrays.asList(results);
+        audit(batchResults);
+        return batchResults;
+    }
+
+    /**
+     * Applies operations of a single account in their order with one commit, like one account group of
+     * {@link #processBatch(List)}, without waiting for the journal to make the commit durable.
+     *
+     * @return one result per operation and the ticket of the commit
+     */
+    CommittedOperations commitOperations(long accountId, List<TransactionOperationDTO> operations) {
+        Journal.Ticket[] ticket = new Journal.Ticket[1];
+        List<TransactionResultDTO> results;
+        try {
+            results = updateAccount(accountId, (account, events) -> {
+                List<TransactionResultDTO> accountResults = new ArrayList<>(operations.size());
+                for (TransactionOperationDTO operation : operations) {
+                    accountResults.add(applyOperation(account, operation, events));
+                }
+                return accountResults;
+            }, (account, events) -> (ticket[0] = accountService.compareAndCommit(account, events)) != null);
+        } catch (RuntimeException e) {
+            for (TransactionOperationDTO operation : operations) {
+                AUDIT_LOG.recordFailure(auditEventTypeOf(operation), accountId, 0, operation.getAmount(), e);
+            }
+            throw e;
+        }
+        audit(results);
+        return new CommittedOperations(results, ticket[0]);
+    }
+
+    private void audit(List<TransactionResultDTO> results) {
+        for (TransactionResultDTO result : results) {
+            TransactionOperationDTO operation = result.getOperation();
+            AUDIT_LOG.record(auditEventTypeOf(operation), result.isSuccessful() ? AuditOutcome.SUCCESS : AuditOutcome.REJECTED,
+                    operation.getAccountId(), 0, operation.getAmount(), result.isSuccessful() ? result.getBalance() : 0);
+        }
+    }
+
+    private static AuditEventType auditEventTypeOf(TransactionOperationDTO operation) {
+        return operation.getType() == TransactionType.DEPOSIT ? AuditEventType.DEPOSIT : AuditEventType.WITHDRAWAL;
+    }
+
+    /**
+     * Runs an operation of one account and writes its outcome to the audit log.
+     *
+     * @param operation returns the balance of the account after the operation
+     */
+    private void audited(AuditEventType type, long accountId, long counterpartyId, long amount, LongSupplier operation) {
+        long balanceAfter;
+        try {
+            balanceAfter = operation.getAsLong();
+        } catch (RuntimeException e) {
+            AUDIT_LOG.recordFailure(type, accountId, counterpartyId, amount, e);
+            throw e;
+        }
+        AUDIT_LOG.recordSuccess(type, accountId, counterpartyId, amount, balanceAfter);
+    }
+
+    private TransactionResultDTO applyOperation(Account account, TransactionOperationDTO operation, List<AccountEvent> events) {
+        try {
+            switch (operation.getType()) {
+                case DEPOSIT -> applyDeposit(account, operation.getAmount(), events);
+                case WITHDRAWAL -> applyWithdrawal(account, operation.getAmount(), events);
+                default -> throw new InvalidOperationException("Unsupported operation " + operation.getType() + ".");
+            }
+            return TransactionResultDTO.success(operation, account.getBalance());
+        } catch (BusinessException e) {
+            return TransactionResultDTO.failure(operation, e.getMessage());
+        }
+    }
+
+    private void applyDeposit(Account account, long amount, List<AccountEvent> events) {
+        credit(account, amount);
+        events.add(new Deposited(amount, account.getBalance()));
+    }
+
+    private void applyWithdrawal(Account account, long amount, List<AccountEvent> events) {
+        debit(account, amount);
+        events.add(new Withdrawn(amount, account.getBalance()));
     }
 
-    public void depositMoney(long accountId, BigDecimal amount) {
-        log.debug("AccountService - Initiating deposit.");
-        Account account = accountService.findById(accountId);
+    private void credit(Account account, long amount) {
         account.setBalance(calculationService.addAmount(account.getBalance(), amount));
         if (AccountType.SAVINGS.equals(account.getAccountType())) {
             SavingsAccount savingsAccount = (SavingsAccount) account;
-            savingsAccount.setMonthlyInterestBase(savingsAccount.getBalance().max(savingsAccount.getMonthlyInterestBase()));
+            savingsAccount.setMonthlyInterestBase(Math.max(savingsAccount.getBalance(), savingsAccount.getMonthlyInterestBase()));
         }
-        accountService.save(account);
-        log.debug("AccountService - Account deposit successfully.");
     }
 
-    public void withdrawMoney(long accountId, BigDecimal amount) {
-        log.debug("AccountService - Initiating withdraw.");
-        Account account = accountService.findById(accountId);
+    private void debit(Account account, long amount) {
         switch (account.getAccountType()) {
             case CHECKING -> {
                 validateCheckingAccountWithdrawal(account, amount);
                 performWithdrawal(account, amount);
             }
             case SAVINGS -> {
-                validateSavingsAccountWithdrawal(amount);
+                SavingsAccount savingsAccount = (SavingsAccount) account;
+                YearMonth period = YearMonth.now(clock);
+                validateSavingsAccountWithdrawal(savingsAccount, amount, period);
                 performWithdrawal(account, amount);
+                savingsAccount.recordWithdrawal(period, amount);
             }
             default -> throw new InvalidOperationException("Withdrawal is not supported for this type of account.");
         }
-        accountService.save(account);
-        log.debug("AccountService - Account withdraw successfully.");
     }
 
-    private void validateCheckingAccountWithdrawal(Account account, BigDecimal amount) {
-        if (account.getBalance().compareTo(amount) < 0) {
+    private void validateCheckingAccountWithdrawal(Account account, long amount) {
+        if (account.getBalance() < amount) {
             throw new InvalidOperationException("Insufficient balance for withdrawal.");
         }
     }
 
-    private void validateSavingsAccountWithdrawal(BigDecimal amount) {
-        if (amount.compareTo(CONFIGURATION.savingsWithdrawMonthlyLimit()) > 0) {
+    /**
+     * The limit applies to the sum of the withdrawals of the calendar month, transfers out included, so splitting
+     * a withdrawal does not get around it.
+     */
+    private void validateSavingsAccountWithdrawal(SavingsAccount account, long amount, YearMonth period) {
+        if (amount > SAVINGS_WITHDRAW_MONTHLY_LIMIT) {
             throw new InvalidOperationException("Withdrawal amount exceeds the maximum allowed limit of " + CONFIGURATION.savingsWithdrawMonthlyLimit().toString() + " for savings accounts.");
         }
+        long withdrawn = account.getWithdrawnIn(period);
+        if (amount > SAVINGS_WITHDRAW_MONTHLY_LIMIT - withdrawn) {
+            throw new InvalidOperationException("Withdrawal amount exceeds the remaining monthly limit of "
+                    + toBigDecimal(SAVINGS_WITHDRAW_MONTHLY_LIMIT - withdrawn).toPlainString() + " for savings accounts.");
+        }
     }
 
-    private void performWithdrawal(Account account, BigDecimal amount) {
+    private void performWithdrawal(Account account, long amount) {
         account.setBalance(calculationService.subtractAmount(account.getBalance(), amount));
     }
 
-    public BigDecimal getBalance(long accountId) {
-        return accountService.findById(accountId).getBalance();
+    public long getBalance(long accountId) {
+        return BALANCE_METRICS.time(() -> accountService.findById(accountId).getBalance());
+    }
+
+    public long calculateInterest(Long accountId) {
+        return INTEREST_METRICS.time(() -> {
+            long[] balanceAfter = new long[1];
+            long interest;
+            try {
+                interest = updateAccount(accountId, (account, events) -> {
+                    if (!AccountType.SAVINGS.equals(account.getAccountType())) {
+                        throw new InvalidOperationException("Interest calculation is only applicable to savings accounts.");
+                    }
+
+                    SavingsAccount savingsAccount = (SavingsAccount) account;
+
+                    long savingsInterest = calculationService.calculateSavingsInterest(savingsAccount.getMonthlyInterestBase());
+                    long newBalance = calculationService.addAmount(savingsAccount.getBalance(), savingsInterest);
+                    savingsAccount.setBalance(newBalance);
+                    savingsAccount.setMonthlyInterestBase(newBalance);
+                    events.add(new InterestApplied(savingsInterest, newBalance, null));
+                    balanceAfter[0] = newBalance;
+                    return savingsInterest;
+                });
+            } catch (RuntimeException e) {
+                AUDIT_LOG.recordFailure(AuditEventType.INTEREST, accountId, 0, 0, e);
+                throw e;
+            }
+            AUDIT_LOG.recordSuccess(AuditEventType.INTEREST, accountId, 0, interest, balanceAfter[0]);
+            return interest;
+        });
+    }
+
+    /**
+     * Credits the interest of a savings account for a month, at most once per month and in month order: an
+     * account already credited for {@code period} or a later month is left unchanged, which lets an interrupted
+     * month-end run be restarted without ever crediting a past month again.
+     *
+     * @param accountId the savings account to credit
+     * @param period    the month the interest is credited for
+     * @return the interest credited, empty if the account was already credited for the period or a later one
+     */
+    public OptionalLong applyMonthlyInterest(long accountId, YearMonth period) {
+        return INTEREST_METRICS.time(() -> {
+            long[] balanceAfter = new long[1];
+            OptionalLong interest;
+            try {
+                interest = updateAccount(accountId, (account, events) -> {
+                    if (!AccountType.SAVINGS.equals(account.getAccountType())) {
+                        throw new InvalidOperationException("Interest calculation is only applicable to savings accounts.");
+                    }
+
+                    SavingsAccount savingsAccount = (SavingsAccount) account;
+                    YearMonth lastInterestPeriod = savingsAccount.getLastInterestPeriod();
+                    if (lastInterestPeriod != null && !period.isAfter(lastInterestPeriod)) {
+                        return OptionalLong.empty();
+                    }
+
+                    long savingsInterest = calculationService.calculateSavingsInterest(savingsAccount.getMonthlyInterestBase());
+                    if (savingsInterest > 0) {
+                        long newBalance = calculationService.addAmount(savingsAccount.getBalance(), savingsInterest);
+                        savingsAccount.setBalance(newBalance);
+                        savingsAccount.setMonthlyInterestBase(newBalance);
+                    }
+                    savingsAccount.setLastInterestPeriod(period);
+                    events.add(new InterestApplied(savingsInterest, savingsAccount.getBalance(), period));
+                    balanceAfter[0] = savingsAccount.getBalance();
+                    return OptionalLong.of(savingsInterest);
+                });
+            } catch (RuntimeException e) {
+                AUDIT_LOG.recordFailure(AuditEventType.INTEREST, accountId, 0, 0, e);
+                throw e;
+            }
+            if (interest.isPresent()) {
+                AUDIT_LOG.recordSuccess(AuditEventType.INTEREST, accountId, 0, interest.getAsLong(), balanceAfter[0]);
+            }
+            return interest;
+        });
+    }
+
+    /**
+     * Applies a mutation to a fresh copy of the account and commits it only if no other writer
+     * committed in between, re-reading and re-applying the mutation on conflict.
+     * Validation failures thrown by the mutation abort the update without retrying.
+     * The events of the committed attempt are journaled with it in event-sourced mode and recorded in the ledger.
+     *
+     * @param accountId the account to update
+     * @param mutation  the change to apply, emitting an event per operation it applied and returning the operation result
+     * @return the result of the mutation that was committed
+     */
+    private <R> R updateAccount(long accountId, BiFunction<Account, List<AccountEvent>, R> mutation) {
+        return updateAccount(accountId, mutation, accountService::compareAndSave);
+    }
+
+    /**
+     * @param commit stores the account if it was not changed since it was read, returning false otherwise
+     */
+    private <R> R updateAccount(long accountId, BiFunction<Account, List<AccountEvent>, R> mutation,
+                                BiPredicate<Account, List<AccountEvent>> commit) {
+        for (int attempt = 1; attempt <= MAX_UPDATE_ATTEMPTS; attempt++) {
+            Account account = accountService.findById(accountId);
+            List<AccountEvent> events = new ArrayList<>(1);
+            R result = mutation.apply(account, events);
+            if (commit.test(account, events)) {
+                CONTENTION_STATS.recordCommit(attempt);
+                ledgerService.record(account, events);
+                return result;
+            }
+            CONTENTION_STATS.recordConflict();
+            backOff(attempt);
+        }
+        CONTENTION_STATS.recordAbandon();
+        throw new ConcurrentUpdateException("Account", accountId);
+    }
+
+    /**
+     * Runs the operation the first time the key is seen and replays its outcome, success or business failure,
+     * for every retry while the key is remembered. A retry arriving while the first attempt still runs waits for it.
+     * Transient failures, such as a persistent conflict, are forgotten so that a retry runs the operation again.
+     *
+     * @throws InvalidOperationException if the key was already used for a different request
+     */
+    private void withIdempotencyKey(String idempotencyKey, IdempotentRequest request, Runnable operation) {
+        if (idempotencyKey == null) {
+            operation.run();
+            return;
+        }
+        IdempotentRequest remembered = IDEMPOTENCY_CACHE.putIfAbsent(idempotencyKey, request);
+        if (remembered != null) {
+            if (!remembered.matches(request)) {
+                throw new InvalidOperationException("Idempotency key " + idempotencyKey + " was already used for another operation.");
+            }
+            log.debug("AccountService - Replaying outcome of idempotency key {}.", idempotencyKey);
+            try {
+                remembered.outcome().join();
+            } catch (CompletionException e) {
+                throw (RuntimeException) e.getCause();
+            }
+            return;
+        }
+        try {
+            operation.run();
+            request.outcome().complete(null);
+        } catch (ConcurrentUpdateException e) {
+            IDEMPOTENCY_CACHE.remove(idempotencyKey, request);
+            request.outcome().completeExceptionally(e);
+            throw e;
+        } catch (BusinessException e) {
+            request.outcome().completeExceptionally(e);
+            throw e;
+        } catch (RuntimeException e) {
+            IDEMPOTENCY_CACHE.remove(idempotencyKey, request);
+            request.outcome().completeExceptionally(e);
+            throw e;
+        }
     }
 
-    public BigDecimal calculateInterest(Long accountId) {
-        log.debug("AccountService - Initiating calculate interest.");
-        Account account = accountService.findById(accountId);
-        if (!AccountType.SAVINGS.equals(account.getAccountType())) {
-            throw new InvalidOperationException("Interest calculation is only applicable to savings accounts.");
+    /**
+     * A request made with an idempotency key, and its outcome once known.
+     */
+    public record IdempotentRequest(TransactionType type, long accountId, long amount, CompletableFuture<Void> outcome) {
+
+        IdempotentRequest(TransactionType type, long accountId, long amount) {
+            this(type, accountId, amount, new CompletableFuture<>());
         }
 
-        SavingsAccount savingsAccount = (SavingsAccount) account;
+        boolean matches(IdempotentRequest other) {
+            return type == other.type && accountId == other.accountId && amount == other.amount;
+        }
+    }
 
-        BigDecimal interest = calculationService.calculateSavingsInterest(savingsAccount.getMonthlyInterestBase());
-        BigDecimal newBalance = calculationService.addAmount(savingsAccount.getBalance(), interest);
-        savingsAccount.setBalance(newBalance);
-        savingsAccount.setMonthlyInterestBase(newBalance);
-        accountService.save(savingsAccount);
-        log.debug("AccountService - Account calculate interest successfully.");
-        return interest;
+    /**
+     * @param ticket completed once the commit of the operations is durable
+     */
+    record CommittedOperations(List<TransactionResultDTO> results, Journal.Ticket ticket) {}
+
+    private static void backOff(int attempt) {
+        if (attempt < SPIN_ATTEMPTS) {
+            Thread.onSpinWait();
+        } else {
+            Thread.yield();
+        }
     }
 }
@@ -0,0 +1,114 @@
+package com.technicaltest.bankingapp.utils;
+
+import com.technicaltest.bankingapp.exception.InvalidOperationException;
+import lombok.experimental.UtilityClass;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static com.technicaltest.bankingapp.utils.BigDecimalUtils.normalize;
+
+/**
+ * Fixed-point money arithmetic on amounts held as a {@code long} count of minor units (cents).
+ * Amounts are converted from and to {@link BigDecimal} only at the console and DTO boundary,
+ * so the transaction path works on primitives and allocates nothing.
+ */
+@UtilityClass
+public class MoneyUtils {
+
+    public static final int SCALE = 2;
+    public static final long MINOR_UNITS_PER_UNIT = BigDecimal.ONE.movePointRight(SCALE).longValueExact();
+
+    /**
+     * Converts a decimal amount to minor units, rounding it to the default scale with HALF_EVEN.
+     *
+     * @param value the decimal amount
+     * @return the amount in minor units
+     */
+    public static long toMinorUnits(BigDecimal value) {
+        BigDecimal normalized = normalize(value);
+        if (normalized == null) {
+            throw new InvalidOperationException("Amount must not be null.");
+        }
+        try {
+            return normalized.unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new InvalidOperationException("Amount " + value + " is out of range.");
+        }
+    }
+
+    /**
+     * Converts an amount in minor units to a decimal amount at the default scale.
+     *
+     * @param minorUnits the amount in minor units
+     * @return the decimal amount
+     */
+    public static BigDecimal toBigDecimal(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    /**
+     * Appends an amount in minor units as a decimal at the default scale, like
+     * {@code toBigDecimal(minorUnits).toPlainString()} but without allocating.
+     *
+     * @param out        the builder to append to
+     * @param minorUnits the amount in minor units
+     * @return the builder
+     */
+    public static StringBuilder appendAmount(StringBuilder out, long minorUnits) {
+        long whole = minorUnits / MINOR_UNITS_PER_UNIT;
+        long fraction = Math.abs(minorUnits % MINOR_UNITS_PER_UNIT);
+        if (minorUnits < 0 && whole == 0) {
+            out.append('-');
+        }
+        out.append(whole).append('.');
+        for (long digit = MINOR_UNITS_PER_UNIT / 10; digit > 1 && digit > fraction; digit /= 10) {
+            out.append('0');
+        }
+        return out.append(fraction);
+    }
+
+    public static long add(long left, long right) {
+        try {
+            return Math.addExact(left, right);
+        } catch (ArithmeticException e) {
+            throw new InvalidOperationException("Amount overflow.");
+        }
+    }
+
+    public static long subtract(long left, long right) {
+        try {
+            return Math.subtractExact(left, right);
+        } catch (ArithmeticException e) {
+            throw new InvalidOperationException("Amount overflow.");
+        }
+    }
+
+    /**
+     * Computes {@code amount * factor / divisor} rounded HALF_EVEN to a whole number of minor units.
+     * Falls back to {@link BigDecimal} only when the intermediate product does not fit in a long.
+     *
+     * @param amount  the amount in minor units
+     * @param factor  the numerator of the fixed-point factor
+     * @param divisor the positive denominator of the fixed-point factor
+     * @return the rounded product in minor units
+     */
+    public static long multiply(long amount, long factor, long divisor) {
+        long product;
+        try {
+            product = Math.multiplyExact(amount, factor);
+        } catch (ArithmeticException e) {
+            return BigDecimal.valueOf(amount)
+                    .multiply(BigDecimal.valueOf(factor))
+                    .divide(BigDecimal.valueOf(divisor), 0, RoundingMode.HALF_EVEN)
+                    .longValueExact();
+        }
+        long quotient = product / divisor;
+        long remainder = Math.abs(product % divisor);
+        long halfComparison = Long.compare(remainder, divisor - remainder);
+        if (halfComparison > 0 || (halfComparison == 0 && (quotient & 1) != 0)) {
+            quotient += product < 0 ? -1 : 1;
+        }
+        return quotient;
+    }
+}
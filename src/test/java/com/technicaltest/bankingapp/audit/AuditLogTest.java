@@ -0,0 +1,172 @@
+package com.technicaltest.bankingapp.audit;
+
+import com.technicaltest.bankingapp.config.AuditConfig;
+import com.technicaltest.bankingapp.enumeration.AuditEventType;
+import com.technicaltest.bankingapp.enumeration.AuditOutcome;
+import com.technicaltest.bankingapp.exception.ApplicationException;
+import com.technicaltest.bankingapp.exception.InvalidOperationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AuditLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void record_shouldBeReadBackInOrder() {
+        // Given
+        try (AuditLog auditLog = AuditLog.open(config(16, 1 << 20, 0))) {
+            auditLog.recordSuccess(AuditEventType.DEPOSIT, 1L, 0, 10_000L, 60_000L);
+            auditLog.recordSuccess(AuditEventType.TRANSFER, 1L, 2L, 5_000L, 55_000L);
+            auditLog.recordFailure(AuditEventType.WITHDRAWAL, 1L, 0, 99_000L, new InvalidOperationException("Insufficient funds."));
+        }
+
+        // When
+        List<AuditEntry> entries = new ArrayList<>();
+        long read = AuditLogReader.read(directory, entries::add);
+
+        // Then
+        assertThat(read).isEqualTo(3);
+        assertThat(entries).extracting(AuditEntry::sequence).containsExactly(0L, 1L, 2L);
+        assertThat(entries.get(0)).isEqualTo(new AuditEntry(0, entries.get(0).timestampMillis(),
+                AuditEventType.DEPOSIT, AuditOutcome.SUCCESS, 1L, 0, 10_000L, 60_000L));
+        assertThat(entries.get(1).counterpartyId()).isEqualTo(2L);
+        assertThat(entries.get(2).outcome()).isEqualTo(AuditOutcome.REJECTED);
+        assertThat(entries.get(2).balanceAfter()).isZero();
+        assertThat(entries.get(1).format()).contains("TRANSFER SUCCESS account=1 counterparty=2 amount=50.00 balance=550.00");
+    }
+
+    @Test
+    void record_shouldNotLoseRecords_whenManyThreadsWrapTheRing() throws InterruptedException {
+        // Given
+        int threads = 4;
+        int recordsPerThread = 5_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try (AuditLog auditLog = AuditLog.open(config(16, 1 << 20, 0))) {
+            // When
+            for (int t = 0; t < threads; t++) {
+                long accountId = t + 1;
+                executor.execute(() -> {
+                    for (int i = 0; i < recordsPerThread; i++) {
+                        auditLog.recordSuccess(AuditEventType.DEPOSIT, accountId, 0, i, i);
+                    }
+                });
+            }
+            executor.shutdown();
+            assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        }
+
+        // Then
+        long[] amountsByAccount = new long[threads + 1];
+        long read = AuditLogReader.read(directory, entry -> amountsByAccount[(int) entry.accountId()] += entry.amount());
+        assertThat(read).isEqualTo((long) threads * recordsPerThread);
+        long expectedSum = (long) recordsPerThread * (recordsPerThread - 1) / 2;
+        for (int accountId = 1; accountId <= threads; accountId++) {
+            assertThat(amountsByAccount[accountId]).isEqualTo(expectedSum);
+        }
+    }
+
+    @Test
+    void record_shouldRollOverFiles_andKeepOnlyTheMostRecent() throws IOException {
+        // Given
+        try (AuditLog auditLog = AuditLog.open(config(16, 4L * AuditRecord.SIZE, 2))) {
+            // When
+            for (int i = 0; i < 10; i++) {
+                auditLog.recordSuccess(AuditEventType.DEPOSIT, 1L, 0, i, i);
+            }
+        }
+
+        // Then
+        List<Path> files = AuditLog.files(directory);
+        assertThat(files).extracting(file -> file.getFileName().toString())
+                .containsExactly("audit-000002.log", "audit-000003.log");
+        List<AuditEntry> entries = new ArrayList<>();
+        AuditLogReader.read(directory, entries::add);
+        assertThat(entries).extracting(AuditEntry::amount).containsExactly(4L, 5L, 6L, 7L, 8L, 9L);
+    }
+
+    @Test
+    void open_shouldStartANewFile_afterTheExistingOnes() throws IOException {
+        // Given
+        try (AuditLog auditLog = AuditLog.open(config(16, 1 << 20, 0))) {
+            auditLog.recordSuccess(AuditEventType.DEPOSIT, 1L, 0, 1L, 1L);
+        }
+
+        // When
+        try (AuditLog auditLog = AuditLog.open(config(16, 1 << 20, 0))) {
+            auditLog.recordSuccess(AuditEventType.DEPOSIT, 1L, 0, 2L, 2L);
+        }
+
+        // Then
+        assertThat(AuditLog.files(directory)).hasSize(2);
+        List<AuditEntry> entries = new ArrayList<>();
+        assertThat(AuditLogReader.read(directory, entries::add)).isEqualTo(2);
+        assertThat(entries).extracting(AuditEntry::amount).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void read_shouldIgnorePartialTrailingRecord() throws IOException {
+        // Given
+        try (AuditLog auditLog = AuditLog.open(config(16, 1 << 20, 0))) {
+            auditLog.recordSuccess(AuditEventType.DEPOSIT, 1L, 0, 1L, 1L);
+        }
+        Path file = AuditLog.files(directory).get(0);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.allocate(AuditRecord.SIZE / 2));
+        }
+
+        // When
+        long read = AuditLogReader.read(file, entry -> { });
+
+        // Then
+        assertThat(read).isEqualTo(1);
+    }
+
+    @Test
+    void record_shouldDoNothing_whenDisabled() throws IOException {
+        // Given
+        AuditLog auditLog = AuditLog.open(new AuditConfig(false, directory, 16, 1 << 20, 0));
+
+        // When
+        auditLog.recordSuccess(AuditEventType.DEPOSIT, 1L, 0, 1L, 1L);
+        auditLog.close();
+
+        // Then
+        assertThat(auditLog.isEnabled()).isFalse();
+        try (var files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void record_shouldThrowApplicationException_whenClosed() {
+        // Given
+        AuditLog auditLog = AuditLog.open(config(16, 1 << 20, 0));
+        auditLog.close();
+
+        // When & Then
+        assertThatThrownBy(() -> auditLog.recordSuccess(AuditEventType.DEPOSIT, 1L, 0, 1L, 1L))
+                .isInstanceOf(ApplicationException.class)
+                .hasMessage("Audit log is closed.");
+    }
+
+    private AuditConfig config(int bufferSize, long maxFileBytes, int maxFiles) {
+        return new AuditConfig(true, directory, bufferSize, maxFileBytes, maxFiles);
+    }
+}
@@ -0,0 +1,83 @@
+package com.technicaltest.bankingapp.benchmark;
+
+import com.technicaltest.bankingapp.console.BatchConsoleHandler;
+import com.technicaltest.bankingapp.database.InMemoryDatabase;
+import com.technicaltest.bankingapp.service.AccountService;
+import com.technicaltest.bankingapp.service.CalculationService;
+import com.technicaltest.bankingapp.service.TransactionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feeds a script of deposits, withdrawals and balance reads on random accounts through
+ * {@link BatchConsoleHandler}, from parsing the lines to writing the results, for an increasing parallelism,
+ * on the batch threads or through the transaction engine.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+public class BatchConsoleHandlerBenchmark {
+
+    private static final int ACCOUNTS = 1 << 12;
+    private static final int COMMANDS = 1 << 16;
+
+    @Param({"1", "2", "4"})
+    private int parallelism;
+
+    @Param({"false", "true"})
+    private boolean engine;
+
+    private byte[] script;
+    private BatchConsoleHandler batchConsoleHandler;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        InMemoryDatabase.idCounter.clear();
+        InMemoryDatabase.database.clear();
+        AccountService accountService = new AccountService();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accountService.createAccount("Owner", BigDecimal.valueOf(1_000_000_000L), 1);
+        }
+        batchConsoleHandler = new BatchConsoleHandler(accountService,
+                new TransactionService(accountService, new CalculationService()), parallelism, 4096, engine);
+
+        SplittableRandom random = new SplittableRandom(42);
+        StringBuilder commands = new StringBuilder();
+        for (int i = 0; i < COMMANDS; i++) {
+            long accountId = random.nextInt(ACCOUNTS) + 1;
+            switch (i % 3) {
+                case 0 -> commands.append("deposit ").append(accountId).append(" 10.25\n");
+                case 1 -> commands.append("withdraw ").append(accountId).append(" 10.25\n");
+                default -> commands.append("balance ").append(accountId).append('\n');
+            }
+        }
+        script = commands.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COMMANDS)
+    public long script() {
+        return batchConsoleHandler.run(new ByteArrayInputStream(script), OutputStream.nullOutputStream());
+    }
+}
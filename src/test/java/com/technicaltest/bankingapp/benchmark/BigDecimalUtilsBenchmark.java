@@ -0,0 +1,46 @@
+package com.technicaltest.bankingapp.benchmark;
+
+import com.technicaltest.bankingapp.utils.BigDecimalUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BigDecimalUtils#normalize(BigDecimal)} on values already at scale 2, needing rounding, and needing padding.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+public class BigDecimalUtilsBenchmark {
+
+    private BigDecimal normalized = new BigDecimal("1234.56");
+    private BigDecimal toRound = new BigDecimal("1234.56789");
+    private BigDecimal toPad = new BigDecimal("1234");
+
+    @Benchmark
+    public BigDecimal normalizeAtScale() {
+        return BigDecimalUtils.normalize(normalized);
+    }
+
+    @Benchmark
+    public BigDecimal normalizeWithRounding() {
+        return BigDecimalUtils.normalize(toRound);
+    }
+
+    @Benchmark
+    public BigDecimal normalizeWithPadding() {
+        return BigDecimalUtils.normalize(toPad);
+    }
+}
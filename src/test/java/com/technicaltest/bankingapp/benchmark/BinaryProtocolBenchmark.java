@@ -0,0 +1,126 @@
+package com.technicaltest.bankingapp.benchmark;
+
+import com.technicaltest.bankingapp.config.ServerConfig;
+import com.technicaltest.bankingapp.console.BatchCommand;
+import com.technicaltest.bankingapp.console.BatchCommandParser;
+import com.technicaltest.bankingapp.database.InMemoryDatabase;
+import com.technicaltest.bankingapp.enumeration.WireProtocol;
+import com.technicaltest.bankingapp.server.BankingClient;
+import com.technicaltest.bankingapp.server.BankingServer;
+import com.technicaltest.bankingapp.server.BinaryProtocol;
+import com.technicaltest.bankingapp.service.AccountService;
+import com.technicaltest.bankingapp.service.CalculationService;
+import com.technicaltest.bankingapp.service.TransactionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link BinaryProtocol} codec with the parsing of the equivalent text command, then the throughput
+ * of pipelined deposits through a {@link BankingServer} in each {@link WireProtocol}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+public class BinaryProtocolBenchmark {
+
+    private static final int PIPELINED_REQUESTS = 1 << 10;
+
+    private final ByteBuffer frame = ByteBuffer.allocate(64).order(ByteOrder.LITTLE_ENDIAN);
+    private final BatchCommandParser parser = new BatchCommandParser();
+    private final BatchCommand command = new BatchCommand();
+    private final byte[] textRequest = "deposit 123456 10.25".getBytes(StandardCharsets.US_ASCII);
+    private long accountId;
+
+    /**
+     * Encodes a deposit request, decodes it, then encodes and decodes its response.
+     */
+    @Benchmark
+    public long binaryRoundTrip() {
+        BinaryProtocol.putDeposit(frame.clear(), ++accountId, 1_025);
+        ByteBuffer request = frame.flip().position(BinaryProtocol.LENGTH_BYTES);
+        long id = BinaryProtocol.requestAccountId(request);
+        long amount = BinaryProtocol.requestAmount(request);
+        BinaryProtocol.putResponse(frame.clear(), BinaryProtocol.requestType(request), id, amount);
+        ByteBuffer response = frame.flip();
+        return BinaryProtocol.responseAccountId(response) + BinaryProtocol.responseAmount(response);
+    }
+
+    /**
+     * Parses the text command of the same deposit, without formatting its result.
+     */
+    @Benchmark
+    public boolean textParse() {
+        command.reset(++accountId);
+        return parser.parse(textRequest, 0, textRequest.length, command);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PIPELINED_REQUESTS)
+    public long serverDeposits(ServerState state) {
+        return state.pipelineDeposits();
+    }
+
+    @State(Scope.Benchmark)
+    public static class ServerState {
+
+        @Param({"TEXT", "BINARY"})
+        private WireProtocol protocol;
+
+        private BankingServer server;
+        private BankingClient client;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            InMemoryDatabase.idCounter.clear();
+            InMemoryDatabase.database.clear();
+            AccountService accountService = new AccountService();
+            accountService.createAccount("Owner", BigDecimal.ONE, 1);
+            server = BankingServer.open(new ServerConfig("localhost", 0, 1, 1024, protocol), accountService,
+                    new TransactionService(accountService, new CalculationService()));
+            client = BankingClient.connect(server.getAddress(), protocol);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            client.close();
+            server.close();
+        }
+
+        long pipelineDeposits() {
+            for (int i = 0; i < PIPELINED_REQUESTS; i++) {
+                if (protocol == WireProtocol.BINARY) {
+                    BinaryProtocol.putDeposit(client.requestBuffer(BinaryProtocol.LENGTH_BYTES + BinaryProtocol.REQUEST_BYTES), 1, 1);
+                } else {
+                    client.send("deposit 1 0.01");
+                }
+            }
+            client.flush();
+            long received = 0;
+            for (int i = 0; i < PIPELINED_REQUESTS; i++) {
+                received += client.receiveFrame().remaining();
+            }
+            return received;
+        }
+    }
+}
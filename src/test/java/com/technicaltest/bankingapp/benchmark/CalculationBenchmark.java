@@ -0,0 +1,52 @@
+package com.technicaltest.bankingapp.benchmark;
+
+import com.technicaltest.bankingapp.service.CalculationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Balance arithmetic of {@link CalculationService}, on amounts in minor units.
+ * Operands are fields so that the JIT cannot fold the calls into constants.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+public class CalculationBenchmark {
+
+    private final CalculationService calculationService = new CalculationService();
+    private long balance = 1234_56L;
+    private long amount = 78_90L;
+    private long largeBalance = 98_765_432_109_87L;
+
+    @Benchmark
+    public long addAmount() {
+        return calculationService.addAmount(balance, amount);
+    }
+
+    @Benchmark
+    public long subtractAmount() {
+        return calculationService.subtractAmount(balance, amount);
+    }
+
+    @Benchmark
+    public long calculateSavingsInterest() {
+        return calculationService.calculateSavingsInterest(balance);
+    }
+
+    @Benchmark
+    public long calculateSavingsInterestOnLargeBalance() {
+        return calculationService.calculateSavingsInterest(largeBalance);
+    }
+}
@@ -0,0 +1,52 @@
+package com.technicaltest.bankingapp.benchmark;
+
+import com.technicaltest.bankingapp.concurrency.ContentionStats;
+import com.technicaltest.bankingapp.service.TransactionService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.ThreadParams;
+
+/**
+ * Reports the optimistic update collisions of {@link TransactionService} during each iteration as secondary
+ * results of the benchmarks taking this state, so that throughput can be related to conflicts.
+ * The counters are global, so only the first benchmark thread reports them.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+public class ContentionCounters {
+
+    public long conflicts;
+    public long retriedCommits;
+    public long abandonedUpdates;
+
+    private boolean reporting;
+    private long conflictsBefore;
+    private long retriedCommitsBefore;
+    private long abandonedUpdatesBefore;
+
+    @Setup(Level.Iteration)
+    public void start(ThreadParams threadParams) {
+        ContentionStats stats = TransactionService.getContentionStats();
+        reporting = threadParams.getThreadIndex() == 0;
+        conflicts = 0;
+        retriedCommits = 0;
+        abandonedUpdates = 0;
+        conflictsBefore = stats.getConflicts();
+        retriedCommitsBefore = stats.getRetriedCommits();
+        abandonedUpdatesBefore = stats.getAbandonedUpdates();
+    }
+
+    @TearDown(Level.Iteration)
+    public void stop() {
+        if (reporting) {
+            ContentionStats stats = TransactionService.getContentionStats();
+            conflicts = stats.getConflicts() - conflictsBefore;
+            retriedCommits = stats.getRetriedCommits() - retriedCommitsBefore;
+            abandonedUpdates = stats.getAbandonedUpdates() - abandonedUpdatesBefore;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.technicaltest.bankingapp.benchmark;
+
+import com.technicaltest.bankingapp.metrics.LatencyHistogram;
+import com.technicaltest.bankingapp.metrics.OperationMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of recording an operation in the metrics, shared by 4 threads as on a busy service.
+ * Compare {@code timedNoop} with {@code untimedNoop} for the overhead added to every service call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+public class MetricsBenchmark {
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final OperationMetrics metrics = new OperationMetrics("benchmark");
+
+    @Benchmark
+    public void recordLatency() {
+        histogram.record(ThreadLocalRandom.current().nextLong(1_000, 10_000_000));
+    }
+
+    @Benchmark
+    public long untimedNoop() {
+        return ThreadLocalRandom.current().nextLong();
+    }
+
+    @Benchmark
+    public long timedNoop() {
+        return metrics.time(() -> ThreadLocalRandom.current().nextLong());
+    }
+
+    @Benchmark
+    public long percentile() {
+        return histogram.getValueAtPercentile(99.9);
+    }
+}
@@ -0,0 +1,135 @@
+package com.technicaltest.bankingapp.benchmark;
+
+import com.technicaltest.bankingapp.database.OwnerNameIndex;
+import com.technicaltest.bankingapp.model.Account;
+import com.technicaltest.bankingapp.model.CheckingAccount;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.runner.IterationType;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Update and lookup cost of the owner-name index. {@code findByName} also reports the retained heap per indexed
+ * account as {@code retainedBytesPerAccount}, measured around the build with the account names already
+ * allocated; run with {@code -prof gc} for the allocation of each update.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+public class OwnerNameIndexBenchmark {
+
+    // Few enough names that owners share them, as real ones do
+    private static final int DISTINCT_NAMES = 10_000;
+
+    @Param({"1000", "100000", "1000000"})
+    private int indexSize;
+
+    private Account[] accounts;
+    private Account[] renamedAccounts;
+    private OwnerNameIndex index;
+    private double retainedBytesPerAccount;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        accounts = new Account[indexSize];
+        renamedAccounts = new Account[indexSize];
+        for (int i = 0; i < indexSize; i++) {
+            long id = i + 1L;
+            accounts[i] = account(id, "owner " + (i % DISTINCT_NAMES));
+            renamedAccounts[i] = account(id, "renamed " + (i % DISTINCT_NAMES));
+        }
+        long heapBefore = usedHeap();
+        index = new OwnerNameIndex();
+        for (Account account : accounts) {
+            index.update(null, account);
+        }
+        long heapAfter = usedHeap();
+        retainedBytesPerAccount = (heapAfter - heapBefore) / (double) indexSize;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+
+        public double retainedBytesPerAccount;
+        private boolean reported;
+
+        /**
+         * Counters are reset when an iteration starts and summed over the measurement iterations, so the value is
+         * set once, when the first measurement iteration ends.
+         */
+        @TearDown(Level.Iteration)
+        public void report(OwnerNameIndexBenchmark benchmark, IterationParams iteration) {
+            if (!reported && iteration.getType() == IterationType.MEASUREMENT) {
+                retainedBytesPerAccount = benchmark.retainedBytesPerAccount;
+                reported = true;
+            }
+        }
+    }
+
+    @Benchmark
+    public void updateSameName(RandomIndexes indexes) {
+        Account account = accounts[indexes.next(indexSize)];
+        index.update(account, account);
+    }
+
+    @Benchmark
+    public void updateRenamed(RandomIndexes indexes) {
+        int i = indexes.next(indexSize);
+        // Renames there and back so the index keeps its size
+        index.update(accounts[i], renamedAccounts[i]);
+        index.update(renamedAccounts[i], accounts[i]);
+    }
+
+    @Benchmark
+    public List<Long> findByName(RandomIndexes indexes, Footprint footprint) {
+        return index.findByName(accounts[indexes.next(indexSize)].getOwnerName());
+    }
+
+    @Benchmark
+    public List<Long> findByNamePrefix(RandomIndexes indexes) {
+        String ownerName = accounts[indexes.next(indexSize)].getOwnerName();
+        return index.findByNamePrefix(ownerName.substring(0, ownerName.length() - 1), 20);
+    }
+
+    private static Account account(long id, String ownerName) {
+        return CheckingAccount.builder().id(id).ownerName(ownerName).balance(1000_00L).build();
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    @State(Scope.Thread)
+    public static class RandomIndexes {
+
+        private final SplittableRandom random = new SplittableRandom(42);
+
+        int next(int size) {
+            return random.nextInt(size);
+        }
+    }
+}
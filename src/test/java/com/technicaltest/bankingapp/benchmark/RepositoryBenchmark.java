@@ -0,0 +1,83 @@
+package com.technicaltest.bankingapp.benchmark;
+
+import com.technicaltest.bankingapp.database.InMemoryDatabase;
+import com.technicaltest.bankingapp.model.Account;
+import com.technicaltest.bankingapp.model.CheckingAccount;
+import com.technicaltest.bankingapp.repository.AccountRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repository reads and writes on random accounts of collections of increasing size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+public class RepositoryBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int collectionSize;
+
+    private AccountRepository accountRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        InMemoryDatabase.idCounter.clear();
+        InMemoryDatabase.database.clear();
+        InMemoryDatabase.accountColumns.clear();
+        InMemoryDatabase.ownerNameIndex.clear();
+        InMemoryDatabase.balanceIndex.clear();
+        accountRepository = new AccountRepository();
+        for (int i = 0; i < collectionSize; i++) {
+            accountRepository.save(CheckingAccount.builder().ownerName("Owner " + i).balance(1000_00L).build());
+        }
+    }
+
+    @Benchmark
+    public Optional<Account> findById(RandomIds ids) {
+        return accountRepository.findById(ids.next(collectionSize));
+    }
+
+    @Benchmark
+    public Account save(RandomIds ids) {
+        return accountRepository.save(CheckingAccount.builder()
+                .id(ids.next(collectionSize))
+                .ownerName("Owner")
+                .balance(1000_00L)
+                .build());
+    }
+
+    @Benchmark
+    public boolean findByIdThenCompareAndSave(RandomIds ids) {
+        Account account = accountRepository.findById(ids.next(collectionSize)).orElseThrow();
+        account.setBalance(account.getBalance() + 1);
+        return accountRepository.compareAndSave(account);
+    }
+
+    @State(Scope.Thread)
+    public static class RandomIds {
+
+        private final SplittableRandom random = new SplittableRandom(42);
+
+        long next(int collectionSize) {
+            return 1 + random.nextInt(collectionSize);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.technicaltest.bankingapp.benchmark;
+
+import com.technicaltest.bankingapp.database.InMemoryDatabase;
+import com.technicaltest.bankingapp.database.ShardedEntityStore;
+import com.technicaltest.bankingapp.model.Account;
+import com.technicaltest.bankingapp.service.AccountService;
+import com.technicaltest.bankingapp.service.CalculationService;
+import com.technicaltest.bankingapp.service.ShardedTransactionService;
+import com.technicaltest.bankingapp.service.TransactionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deposits on random accounts through {@link ShardedTransactionService} for an increasing number of shards,
+ * each keeping its own collection and executor, to show how throughput scales with them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+public class ShardedTransactionBenchmark {
+
+    private static final int ACCOUNTS = 1 << 12;
+    private static final int OPERATIONS_IN_FLIGHT = 1024;
+
+    @Param({"1", "2", "4", "8"})
+    private int shards;
+
+    private final SplittableRandom random = new SplittableRandom(42);
+    private long[] accountIds;
+    private ShardedTransactionService shardedTransactionService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        InMemoryDatabase.idCounter.clear();
+        InMemoryDatabase.database.clear();
+        InMemoryDatabase.database.put(Account.class, new ShardedEntityStore<Account>(shards));
+        AccountService accountService = new AccountService();
+        accountIds = new long[ACCOUNTS];
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accountIds[i] = accountService.createAccount("Owner", BigDecimal.valueOf(1_000_000_000L), 1).getId();
+        }
+        shardedTransactionService = new ShardedTransactionService(
+                new TransactionService(accountService, new CalculationService()), shards);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        shardedTransactionService.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS_IN_FLIGHT)
+    public void deposits() {
+        CompletableFuture<?>[] deposits = new CompletableFuture<?>[OPERATIONS_IN_FLIGHT];
+        for (int i = 0; i < OPERATIONS_IN_FLIGHT; i++) {
+            deposits[i] = shardedTransactionService.depositMoney(accountIds[random.nextInt(ACCOUNTS)], 1L);
+        }
+        CompletableFuture.allOf(deposits).join();
+    }
+}
@@ -0,0 +1,120 @@
+package com.technicaltest.bankingapp.benchmark;
+
+import com.technicaltest.bankingapp.service.AccountService;
+import com.technicaltest.bankingapp.service.CalculationService;
+import com.technicaltest.bankingapp.service.TransactionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deposits, withdrawals and interest through {@link TransactionService}, on one thread, on several threads each
+ * updating its own account, and on several threads contending for the same account.
+ * The contended benchmarks report the optimistic update collisions of each iteration through {@link ContentionCounters}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+public class TransactionBenchmark {
+
+    private static final int THREADS = 4;
+    private static final int SAVINGS_ACCOUNTS = 1 << 12;
+    private static final BigDecimal INITIAL_BALANCE = BigDecimal.valueOf(1_000_000_000L);
+
+    @State(Scope.Benchmark)
+    public static class Services {
+
+        final AccountService accountService = new AccountService();
+        final TransactionService transactionService = new TransactionService(accountService, new CalculationService());
+    }
+
+    @State(Scope.Thread)
+    public static class OwnAccount {
+
+        long accountId;
+
+        @Setup(Level.Trial)
+        public void setUp(Services services) {
+            accountId = services.accountService.createAccount("Owner", INITIAL_BALANCE, 1).getId();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class SharedAccount {
+
+        long accountId;
+
+        @Setup(Level.Trial)
+        public void setUp(Services services) {
+            accountId = services.accountService.createAccount("Owner", INITIAL_BALANCE, 1).getId();
+        }
+    }
+
+    /**
+     * Savings accounts credited in turn, replaced by fresh ones every iteration so that compounding never overflows.
+     */
+    @State(Scope.Thread)
+    public static class SavingsAccounts {
+
+        final long[] accountIds = new long[SAVINGS_ACCOUNTS];
+        int next;
+
+        @Setup(Level.Iteration)
+        public void setUp(Services services) {
+            for (int i = 0; i < SAVINGS_ACCOUNTS; i++) {
+                accountIds[i] = services.accountService.createAccount("Saver", BigDecimal.valueOf(1000), 2).getId();
+            }
+        }
+
+        long nextId() {
+            return accountIds[next++ & (SAVINGS_ACCOUNTS - 1)];
+        }
+    }
+
+    @Benchmark
+    public void deposit(Services services, OwnAccount account) {
+        services.transactionService.depositMoney(account.accountId, 1_00L);
+    }
+
+    @Benchmark
+    public void withdraw(Services services, OwnAccount account) {
+        services.transactionService.withdrawMoney(account.accountId, 1L);
+    }
+
+    @Benchmark
+    public long calculateInterest(Services services, SavingsAccounts accounts) {
+        return services.transactionService.calculateInterest(accounts.nextId());
+    }
+
+    @Benchmark
+    @Threads(THREADS)
+    public void depositOnOwnAccount(Services services, OwnAccount account, ContentionCounters contention) {
+        services.transactionService.depositMoney(account.accountId, 1_00L);
+    }
+
+    @Benchmark
+    @Threads(THREADS)
+    public void depositOnSharedAccount(Services services, SharedAccount account, ContentionCounters contention) {
+        services.transactionService.depositMoney(account.accountId, 1_00L);
+    }
+
+    @Benchmark
+    @Threads(THREADS)
+    public void withdrawOnSharedAccount(Services services, SharedAccount account, ContentionCounters contention) {
+        services.transactionService.withdrawMoney(account.accountId, 1L);
+    }
+}
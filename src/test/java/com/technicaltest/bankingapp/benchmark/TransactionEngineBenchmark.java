@@ -0,0 +1,113 @@
+package com.technicaltest.bankingapp.benchmark;
+
+import com.technicaltest.bankingapp.dto.TransactionOperationDTO;
+import com.technicaltest.bankingapp.dto.TransactionResultDTO;
+import com.technicaltest.bankingapp.service.AccountService;
+import com.technicaltest.bankingapp.service.CalculationService;
+import com.technicaltest.bankingapp.service.TransactionEngine;
+import com.technicaltest.bankingapp.service.TransactionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deposits through the single-writer {@link TransactionEngine} against direct, lock-based {@link TransactionService}
+ * calls, on random accounts and on one account all threads contend for. Sample time mode reports the latency
+ * percentiles, throughput mode the operations per microsecond. The optimistic update collisions of the
+ * direct calls come along through {@link ContentionCounters}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(TransactionEngineBenchmark.THREADS)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+public class TransactionEngineBenchmark {
+
+    static final int THREADS = 4;
+    private static final int ACCOUNTS = 1 << 10;
+    private static final int PIPELINE_DEPTH = 64;
+    private static final int RING_SIZE = 1 << 14;
+    private static final BigDecimal INITIAL_BALANCE = BigDecimal.valueOf(1_000_000_000L);
+
+    @State(Scope.Benchmark)
+    public static class Services {
+
+        final AccountService accountService = new AccountService();
+        final TransactionService transactionService = new TransactionService(accountService, new CalculationService());
+        final long[] accountIds = new long[ACCOUNTS];
+        TransactionEngine transactionEngine;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            for (int i = 0; i < ACCOUNTS; i++) {
+                accountIds[i] = accountService.createAccount("Owner", INITIAL_BALANCE, 1).getId();
+            }
+            transactionEngine = new TransactionEngine(transactionService, THREADS, RING_SIZE);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            transactionEngine.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class RandomAccounts {
+
+        private final SplittableRandom random = new SplittableRandom(42);
+
+        long next(Services services) {
+            return services.accountIds[random.nextInt(ACCOUNTS)];
+        }
+    }
+
+    @Benchmark
+    public void lockBasedDeposit(Services services, RandomAccounts accounts, ContentionCounters contention) {
+        services.transactionService.depositMoney(accounts.next(services), 1L);
+    }
+
+    @Benchmark
+    public TransactionResultDTO engineDeposit(Services services, RandomAccounts accounts) {
+        return services.transactionEngine.submit(TransactionOperationDTO.deposit(accounts.next(services), 1L)).join();
+    }
+
+    /**
+     * Keeps several deposits in flight per thread, as a server handling many clients does.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PIPELINE_DEPTH)
+    public void enginePipelinedDeposits(Services services, RandomAccounts accounts) {
+        CompletableFuture<?>[] replies = new CompletableFuture<?>[PIPELINE_DEPTH];
+        for (int i = 0; i < PIPELINE_DEPTH; i++) {
+            replies[i] = services.transactionEngine.submit(TransactionOperationDTO.deposit(accounts.next(services), 1L));
+        }
+        CompletableFuture.allOf(replies).join();
+    }
+
+    @Benchmark
+    public void lockBasedSharedAccountDeposit(Services services, ContentionCounters contention) {
+        services.transactionService.depositMoney(services.accountIds[0], 1L);
+    }
+
+    @Benchmark
+    public TransactionResultDTO engineSharedAccountDeposit(Services services) {
+        return services.transactionEngine.submit(TransactionOperationDTO.deposit(services.accountIds[0], 1L)).join();
+    }
+}
@@ -4,7 +4,6 @@ import com.technicaltest.bankingapp.model.CheckingAccount;
 import com.technicaltest.bankingapp.model.SavingsAccount;
 import lombok.experimental.UtilityClass;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 
 @UtilityClass
@@ -13,11 +12,11 @@ public class AccountBuilderFactory {
     public static final String OWNER_NAME = "John Doe";
     public static final Long DEFAULT_ID = 1L;
 
-    public static SavingsAccount buildSavingsAccount(BigDecimal balance) {
+    public static SavingsAccount buildSavingsAccount(long balance) {
         return buildSavingsAccount(balance, balance);
     }
 
-    public static SavingsAccount buildSavingsAccount(BigDecimal balance, BigDecimal monthlyInterestBase) {
+    public static SavingsAccount buildSavingsAccount(long balance, long monthlyInterestBase) {
         return SavingsAccount
                 .builder()
                 .ownerName(OWNER_NAME)
@@ -29,7 +28,7 @@ public class AccountBuilderFactory {
                 .build();
     }
 
-    public static CheckingAccount buildCheckingAccount(BigDecimal balance) {
+    public static CheckingAccount buildCheckingAccount(long balance) {
         return CheckingAccount
                 .builder()
                 .ownerName(OWNER_NAME)
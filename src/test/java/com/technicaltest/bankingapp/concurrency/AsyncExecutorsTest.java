@@ -0,0 +1,41 @@
+package com.technicaltest.bankingapp.concurrency;
+
+import com.technicaltest.bankingapp.config.AsyncConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsyncExecutorsTest {
+
+    @Test
+    void create_shouldUseDaemonPlatformThreads_whenVirtualThreadsAreDisabled() {
+        // Given
+        ExecutorService executor = AsyncExecutors.create(new AsyncConfig(false, 2));
+
+        // When
+        Thread thread = CompletableFuture.supplyAsync(Thread::currentThread, executor).join();
+
+        // Then
+        assertThat(thread.getName()).startsWith("async-service-");
+        assertThat(thread.isDaemon()).isTrue();
+        executor.shutdown();
+    }
+
+    @Test
+    void create_shouldRunTasks_whetherOrNotVirtualThreadsAreAvailable() {
+        // Given
+        boolean virtualThreadsAvailable = Runtime.version().feature() >= 21;
+        ExecutorService executor = AsyncExecutors.create(new AsyncConfig(true, 2));
+
+        // When
+        Thread thread = CompletableFuture.supplyAsync(Thread::currentThread, executor).join();
+
+        // Then
+        // Virtual threads are unnamed, pool threads are named
+        assertThat(thread.getName().startsWith("async-service-")).isNotEqualTo(virtualThreadsAvailable);
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,104 @@
+package com.technicaltest.bankingapp.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExpiringCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void putIfAbsent_shouldKeepFirstValue_andCountHitsAndMisses() {
+        // Given
+        ExpiringCache<String, String> cache = new ExpiringCache<>(10, Duration.ofSeconds(60), clock::get);
+
+        // When
+        String first = cache.putIfAbsent("key", "first");
+        String second = cache.putIfAbsent("key", "second");
+
+        // Then
+        assertThat(first).isNull();
+        assertThat(second).isEqualTo("first");
+        assertThat(cache.get("key")).isEqualTo("first");
+        assertThat(cache.get("other")).isNull();
+        assertThat(cache.getHits()).isEqualTo(2);
+        assertThat(cache.getMisses()).isEqualTo(2);
+    }
+
+    @Test
+    void putIfAbsent_shouldEvictOldestEntries_whenFull() {
+        // Given
+        ExpiringCache<Integer, Integer> cache = new ExpiringCache<>(3, Duration.ofSeconds(60), clock::get);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            cache.putIfAbsent(i, i);
+        }
+
+        // Then
+        assertThat(cache.size()).isEqualTo(3);
+        assertThat(cache.get(0)).isNull();
+        assertThat(cache.get(1)).isNull();
+        assertThat(cache.get(4)).isEqualTo(4);
+        assertThat(cache.getEvictions()).isEqualTo(2);
+    }
+
+    @Test
+    void get_shouldIgnoreExpiredEntries_andPutIfAbsentShouldReplaceThem() {
+        // Given
+        ExpiringCache<String, String> cache = new ExpiringCache<>(10, Duration.ofNanos(100), clock::get);
+        cache.putIfAbsent("key", "stale");
+        clock.addAndGet(100);
+
+        // When
+        String expired = cache.get("key");
+        String replaced = cache.putIfAbsent("key", "fresh");
+
+        // Then
+        assertThat(expired).isNull();
+        assertThat(replaced).isNull();
+        assertThat(cache.get("key")).isEqualTo("fresh");
+        assertThat(cache.getExpirations()).isEqualTo(1);
+        assertThat(cache.getEvictions()).isZero();
+    }
+
+    @Test
+    void putIfAbsent_shouldDropExpiredEntries_withoutBeingRead() {
+        // Given
+        ExpiringCache<Integer, Integer> cache = new ExpiringCache<>(10, Duration.ofNanos(100), clock::get);
+        cache.putIfAbsent(1, 1);
+        cache.putIfAbsent(2, 2);
+        clock.addAndGet(100);
+
+        // When
+        cache.putIfAbsent(3, 3);
+
+        // Then
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.getExpirations()).isEqualTo(2);
+    }
+
+    @Test
+    void remove_shouldOnlyRemoveGivenValue() {
+        // Given
+        ExpiringCache<String, String> cache = new ExpiringCache<>(10, Duration.ofSeconds(60), clock::get);
+        cache.putIfAbsent("key", "value");
+
+        // When & Then
+        assertThat(cache.remove("key", "other")).isFalse();
+        assertThat(cache.remove("key", "value")).isTrue();
+        assertThat(cache.get("key")).isNull();
+    }
+
+    @Test
+    void constructor_shouldRejectNonPositiveSize() {
+        // When & Then
+        assertThatThrownBy(() -> new ExpiringCache<>(0, Duration.ofSeconds(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,90 @@
+package com.technicaltest.bankingapp.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RingBufferTest {
+
+    @Test
+    void constructor_shouldRoundSizeUpToPowerOfTwo() {
+        // Given
+        RingBuffer<long[]> ring = new RingBuffer<>(3, 1, () -> new long[1]);
+
+        // When & Then
+        assertThat(ring.get(0)).isSameAs(ring.get(4)).isNotSameAs(ring.get(3));
+        assertThatThrownBy(() -> new RingBuffer<>(0, 1, Object::new)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void available_shouldStopAtFirstUnpublishedSlot() {
+        // Given
+        RingBuffer<long[]> ring = new RingBuffer<>(8, 2, () -> new long[1]);
+        long first = ring.claim();
+        long second = ring.claim();
+        long third = ring.claim();
+
+        // When
+        ring.publish(first);
+        ring.publish(third);
+
+        // Then
+        assertThat(ring.available(0, first, Long.MAX_VALUE)).isEqualTo(first);
+        ring.publish(second);
+        assertThat(ring.available(0, first, Long.MAX_VALUE)).isEqualTo(third);
+        assertThat(ring.available(0, first, second)).isEqualTo(second);
+        assertThat(ring.available(1, first, Long.MAX_VALUE)).isEqualTo(first - 1);
+        ring.release(0, second);
+        assertThat(ring.available(1, first, Long.MAX_VALUE)).isEqualTo(second);
+    }
+
+    @Test
+    void claim_shouldHandEverySlotThroughStagesInOrder_whenProducersOutrunConsumers() throws InterruptedException {
+        // Given
+        int producers = 4;
+        int valuesPerProducer = 10_000;
+        RingBuffer<long[]> ring = new RingBuffer<>(16, 1, () -> new long[1]);
+        List<Long> consumed = new ArrayList<>();
+        Thread consumer = new Thread(() -> {
+            long next = 0;
+            for (int attempt = 0; next < (long) producers * valuesPerProducer; ) {
+                long available = ring.available(0, next, Long.MAX_VALUE);
+                if (available < next) {
+                    RingBuffer.backOff(attempt++);
+                    continue;
+                }
+                for (long sequence = next; sequence <= available; sequence++) {
+                    consumed.add(ring.get(sequence)[0]);
+                }
+                ring.release(0, available);
+                next = available + 1;
+            }
+        });
+        consumer.start();
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+
+        // When
+        for (int p = 0; p < producers; p++) {
+            executor.execute(() -> {
+                for (int i = 0; i < valuesPerProducer; i++) {
+                    long sequence = ring.claim();
+                    ring.get(sequence)[0] = 1;
+                    ring.publish(sequence);
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        consumer.join(30_000);
+
+        // Then
+        assertThat(consumed).hasSize(producers * valuesPerProducer).containsOnly(1L);
+    }
+}
@@ -0,0 +1,89 @@
+package com.technicaltest.bankingapp.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StripedLockTest {
+
+    @Test
+    void constructor_shouldRoundStripesUpToPowerOfTwo() {
+        // Given When
+        StripedLock stripedLock = new StripedLock(100);
+
+        // Then
+        assertThat(stripedLock.stripeCount()).isEqualTo(128);
+    }
+
+    @Test
+    void constructor_shouldThrowException_whenStripeCountIsNotPositive() {
+        // Given When Then
+        assertThatThrownBy(() -> new StripedLock(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void lockFor_shouldReturnSameLock_forSameKey() {
+        // Given
+        StripedLock stripedLock = new StripedLock(16);
+
+        // When Then
+        assertThat(stripedLock.lockFor(42L)).isSameAs(stripedLock.lockFor(42L));
+    }
+
+    @Test
+    void lockFor_shouldSpreadSequentialKeysOverAllStripes() {
+        // Given
+        StripedLock stripedLock = new StripedLock(16);
+        boolean[] used = new boolean[stripedLock.stripeCount()];
+
+        // When
+        for (long key = 1; key <= 1_000; key++) {
+            used[stripedLock.indexFor(key)] = true;
+        }
+
+        // Then
+        for (boolean stripeUsed : used) {
+            assertThat(stripeUsed).isTrue();
+        }
+    }
+
+    @Test
+    void orderedLocksFor_shouldReturnSameOrder_whateverTheKeyOrder() {
+        // Given
+        StripedLock stripedLock = new StripedLock(64);
+
+        // When
+        List<ReentrantLock> forward = stripedLock.orderedLocksFor(3L, 11L, 42L);
+        List<ReentrantLock> backward = stripedLock.orderedLocksFor(42L, 11L, 3L);
+
+        // Then
+        assertThat(forward).containsExactlyElementsOf(backward);
+        assertThat(stripedLock.orderedLocksFor(7L, 7L)).containsExactly(stripedLock.lockFor(7L));
+    }
+
+    @Test
+    void withLock_shouldSerializeUpdates_forSameKey() throws InterruptedException {
+        // Given
+        StripedLock stripedLock = new StripedLock(4);
+        long[] counter = new long[1];
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        for (int i = 0; i < 10_000; i++) {
+            executor.execute(() -> stripedLock.withLock(7L, () -> counter[0]++));
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(counter[0]).isEqualTo(10_000);
+    }
+}
@@ -0,0 +1,94 @@
+package com.technicaltest.bankingapp.console;
+
+import com.technicaltest.bankingapp.enumeration.BatchCommandType;
+import com.technicaltest.bankingapp.exception.InvalidOperationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BatchCommandParserTest {
+
+    private final BatchCommandParser parser = new BatchCommandParser();
+
+    @Test
+    void parse_shouldReadCreateCommand_withOwnerNameContainingSpaces() {
+        // Given
+        BatchCommand command = new BatchCommand();
+
+        // When
+        boolean parsed = parse("create 2 150.5  Jean  Dupont ", command);
+
+        // Then
+        assertThat(parsed).isTrue();
+        assertThat(command.type).isEqualTo(BatchCommandType.CREATE);
+        assertThat(command.accountType).isEqualTo(2);
+        assertThat(command.amount).isEqualTo(15_050L);
+        assertThat(command.ownerName).isEqualTo("Jean  Dupont");
+    }
+
+    @Test
+    void parse_shouldReadTransferCommand() {
+        // Given
+        BatchCommand command = new BatchCommand();
+
+        // When
+        parse("\ttransfer 12\t34 0.07", command);
+
+        // Then
+        assertThat(command.type).isEqualTo(BatchCommandType.TRANSFER);
+        assertThat(command.accountId).isEqualTo(12L);
+        assertThat(command.counterpartyId).isEqualTo(34L);
+        assertThat(command.amount).isEqualTo(7L);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"100, 10000", "100., 10000", "100.5, 10050", "100.25, 10025", "0.125, 12", "0.135, 14", "92233720368547758.07, 9223372036854775807"})
+    void parse_shouldConvertAmountToMinorUnits_likeTheConsole(String amount, long expected) {
+        // Given
+        BatchCommand command = new BatchCommand();
+
+        // When
+        parse("deposit 1 " + amount, command);
+
+        // Then
+        assertThat(command.type).isEqualTo(BatchCommandType.DEPOSIT);
+        assertThat(command.amount).isEqualTo(expected);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "   ", "# deposit 1 100"})
+    void parse_shouldSkipBlankAndCommentLines(String line) {
+        // Given When Then
+        assertThat(parse(line, new BatchCommand())).isFalse();
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "pay 1 100|Unknown command pay.",
+            "deposit 1|Missing amount.",
+            "deposit x 100|Invalid account ID x.",
+            "withdraw 1 -5|Invalid amount -5.",
+            "withdraw 1 1.2.3|Invalid amount 1.2.3.",
+            "deposit 1 0.001x|Invalid amount 0.001x.",
+            "balance 99999999999999999999|Invalid account ID 99999999999999999999.",
+            "create 4294967297 10 Jean|Invalid account type 4294967297.",
+            "deposit 1 92233720368547758.08|Amount 92233720368547758.08 is out of range.",
+            "interest 1 2|Unexpected text after the interest command."})
+    void parse_shouldThrowInvalidOperationException_whenLineIsInvalid(String line, String message) {
+        // Given When Then
+        assertThatThrownBy(() -> parse(line, new BatchCommand()))
+                .isInstanceOf(InvalidOperationException.class)
+                .hasMessage(message);
+    }
+
+    private boolean parse(String line, BatchCommand command) {
+        byte[] bytes = ("xx" + line + "yy").getBytes(StandardCharsets.UTF_8);
+        return parser.parse(bytes, 2, bytes.length - 2, command);
+    }
+}
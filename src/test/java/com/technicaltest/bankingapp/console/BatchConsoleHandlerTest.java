@@ -0,0 +1,167 @@
+package com.technicaltest.bankingapp.console;
+
+import com.technicaltest.bankingapp.database.InMemoryDatabase;
+import com.technicaltest.bankingapp.database.ShardedEntityStore;
+import com.technicaltest.bankingapp.model.Account;
+import com.technicaltest.bankingapp.service.AccountService;
+import com.technicaltest.bankingapp.service.CalculationService;
+import com.technicaltest.bankingapp.service.TransactionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BatchConsoleHandlerTest {
+
+    private AccountService accountService;
+    private TransactionService transactionService;
+
+    @BeforeEach
+    void setUp() {
+        InMemoryDatabase.idCounter.clear();
+        InMemoryDatabase.database.clear();
+        accountService = new AccountService();
+        transactionService = new TransactionService(accountService, new CalculationService());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void run_shouldWriteOneResultPerCommand_inTheOrderOfTheCommands(boolean useEngine) {
+        // Given
+        String commands = """
+                # two accounts
+                create 1 100 Jean Dupont
+                create 2 50.5 Marie Curie\r
+                deposit 1 25.10
+                withdraw 1 500
+
+                transfer 1 2 10
+                pay 1 1
+                balance 1
+                balance 2
+                interest 1""";
+
+        // When
+        List<String> results = new ArrayList<>();
+        long ran = run(new BatchConsoleHandler(accountService, transactionService, 1, 16, useEngine), commands, results);
+
+        // Then
+        assertThat(ran).isEqualTo(9);
+        assertThat(results).containsExactly(
+                "OK create 1 CHECKING",
+                "OK create 2 SAVINGS",
+                "OK deposit 1 25.10",
+                "ERROR line 5: Insufficient balance for withdrawal.",
+                "OK transfer 1 2 10.00",
+                "ERROR line 8: Unknown command pay.",
+                "OK balance 1 115.10",
+                "OK balance 2 60.50",
+                "ERROR line 11: Interest calculation is only applicable to savings accounts.");
+    }
+
+    @ParameterizedTest
+    @CsvSource({"1, false", "3, false", "3, true"})
+    void run_shouldKeepTheOrderOfEachAccount_whenSegmentsRunInParallel(int parallelism, boolean useEngine) {
+        // Given
+        int accounts = 8;
+        int rounds = 500;
+        StringBuilder commands = new StringBuilder();
+        for (int account = 1; account <= accounts; account++) {
+            commands.append("create 1 1 Owner ").append(account).append('\n');
+        }
+        for (int round = 0; round < rounds; round++) {
+            for (int account = 1; account <= accounts; account++) {
+                // Each withdrawal only succeeds after the deposit that precedes it
+                commands.append("deposit ").append(account).append(" 2\n");
+                commands.append("withdraw ").append(account).append(" 2\n");
+            }
+            if (round % 100 == 0) {
+                commands.append("transfer 1 2 1\ntransfer 2 1 1\n");
+            }
+        }
+        for (int account = 1; account <= accounts; account++) {
+            commands.append("balance ").append(account).append('\n');
+        }
+
+        // When
+        List<String> results = new ArrayList<>();
+        run(new BatchConsoleHandler(accountService, transactionService, parallelism, 64, useEngine), commands.toString(), results);
+
+        // Then
+        assertThat(results).hasSize(accounts + rounds * accounts * 2 + 10 + accounts);
+        assertThat(results).noneMatch(result -> result.startsWith("ERROR"));
+        assertThat(results.subList(results.size() - accounts, results.size()))
+                .allMatch(result -> result.endsWith(" 1.00"));
+        assertThat(results.get(accounts + 1)).isEqualTo("OK withdraw 1 2.00");
+    }
+
+    @Test
+    void run_shouldRouteDepositsAndWithdrawalsToTheShards_whenAccountsAreSharded() {
+        // Given
+        InMemoryDatabase.database.put(Account.class, new ShardedEntityStore<Account>(4));
+        List<Long> accountIds = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            accountIds.add(accountService.createAccount("Owner " + i, BigDecimal.ONE, 1).getId());
+        }
+        StringBuilder commands = new StringBuilder();
+        for (int round = 0; round < 200; round++) {
+            for (long accountId : accountIds) {
+                // Each withdrawal only succeeds after the deposit that precedes it
+                commands.append("deposit ").append(accountId).append(" 2\n");
+                commands.append("withdraw ").append(accountId).append(" 3\n");
+                commands.append("deposit ").append(accountId).append(" 1\n");
+            }
+        }
+        for (long accountId : accountIds) {
+            commands.append("balance ").append(accountId).append('\n');
+        }
+
+        // When
+        List<String> results = new ArrayList<>();
+        run(new BatchConsoleHandler(accountService, transactionService, 3, 64, true), commands.toString(), results);
+
+        // Then
+        assertThat(results).hasSize(200 * 8 * 3 + 8);
+        assertThat(results).noneMatch(result -> result.startsWith("ERROR"));
+        assertThat(results.subList(results.size() - 8, results.size())).allMatch(result -> result.endsWith(" 1.00"));
+    }
+
+    @Test
+    void run_shouldReadLinesLongerThanTheReadBuffer() {
+        // Given
+        String ownerName = "O".repeat(100_000);
+
+        // When
+        List<String> results = new ArrayList<>();
+        run(new BatchConsoleHandler(accountService, transactionService, 1, 16), "create 1 10 " + ownerName + "\n", results);
+
+        // Then
+        assertThat(results).containsExactly("OK create 1 CHECKING");
+        assertThat(accountService.findById(1L).getOwnerName()).isEqualTo(ownerName);
+    }
+
+    @Test
+    void constructor_shouldThrowIllegalArgumentException_whenParallelismIsNotPositive() {
+        // Given When Then
+        assertThatThrownBy(() -> new BatchConsoleHandler(accountService, transactionService, 0, 16))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private long run(BatchConsoleHandler handler, String commands, List<String> results) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        long ran = handler.run(new ByteArrayInputStream(commands.getBytes(StandardCharsets.UTF_8)), output);
+        output.toString(StandardCharsets.UTF_8).lines().forEach(results::add);
+        return ran;
+    }
+}
@@ -0,0 +1,91 @@
+package com.technicaltest.bankingapp.database;
+
+import com.technicaltest.bankingapp.enumeration.AccountType;
+import com.technicaltest.bankingapp.model.Account;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Map;
+
+import static com.technicaltest.bankingapp.builder.AccountBuilderFactory.buildCheckingAccount;
+import static com.technicaltest.bankingapp.builder.AccountBuilderFactory.buildSavingsAccount;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccountColumnStoreTest {
+
+    private AccountColumnStore columns;
+
+    @BeforeEach
+    void setUp() {
+        columns = new AccountColumnStore();
+        columns.update(null, savings(1L, 100_00L));
+        columns.update(null, checking(2L, 250_00L));
+        columns.update(null, savings(3L, 5_00L));
+        columns.update(null, savings(ChunkedEntityStore.CHUNK_SIZE * 3L + 7, 1_000_00L));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void totalBalanceByType_shouldSumBalancesOfEachType(boolean parallel) {
+        // When
+        Map<AccountType, Long> totals = columns.totalBalanceByType(parallel);
+
+        // Then
+        assertThat(totals).containsEntry(AccountType.SAVINGS, 1_105_00L).containsEntry(AccountType.CHECKING, 250_00L);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void findIdsWithBalanceBelow_shouldReturnMatchingIdsInOrder(boolean parallel) {
+        // When
+        long[] ids = columns.findIdsWithBalanceBelow(AccountType.SAVINGS, 1_000_00L, parallel);
+
+        // Then
+        assertThat(ids).containsExactly(1L, 3L);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void balanceHistogram_shouldCountAccountsPerBucket(boolean parallel) {
+        // When
+        long[] histogram = columns.balanceHistogram(AccountType.SAVINGS, new long[]{10_00L, 100_00L, 500_00L}, parallel);
+
+        // Then
+        assertThat(histogram).containsExactly(1L, 0L, 1L, 1L);
+    }
+
+    @Test
+    void update_shouldOverwriteRow_whenAccountChanges() {
+        // Given
+        columns.update(null, savings(1L, 2_000_00L));
+
+        // When
+        long count = columns.count(AccountType.SAVINGS, false);
+        long total = columns.totalBalanceByType(false).get(AccountType.SAVINGS);
+
+        // Then
+        assertThat(count).isEqualTo(3);
+        assertThat(total).isEqualTo(3_005_00L);
+        assertThat(columns.totalMonthlyInterestBase(false)).isEqualTo(3_005_00L);
+    }
+
+    @Test
+    void clear_shouldDropEveryRow() {
+        // When
+        columns.clear();
+
+        // Then
+        assertThat(columns.count(AccountType.SAVINGS, false)).isZero();
+        assertThat(columns.totalBalanceByType(false)).containsEntry(AccountType.SAVINGS, 0L);
+    }
+
+    private static Account savings(long id, long balance) {
+        return buildSavingsAccount(balance).toBuilder().id(id).build();
+    }
+
+    private static Account checking(long id, long balance) {
+        return buildCheckingAccount(balance).toBuilder().id(id).build();
+    }
+}
@@ -0,0 +1,77 @@
+package com.technicaltest.bankingapp.database;
+
+import com.technicaltest.bankingapp.enumeration.AccountType;
+import com.technicaltest.bankingapp.model.Account;
+import com.technicaltest.bankingapp.model.CheckingAccount;
+import com.technicaltest.bankingapp.model.SavingsAccount;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BalanceIndexTest {
+
+    private BalanceIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BalanceIndex();
+        index.update(null, checking(1L, 50_00L));
+        index.update(null, checking(2L, 10_00L));
+        index.update(null, checking(3L, 50_00L));
+        index.update(null, savings(4L, 30_00L));
+        index.update(null, savings(5L, 70_00L));
+    }
+
+    @Test
+    void findBetween_shouldReturnAccountsOfTypeInRange_lowestFirst() {
+        // When
+        List<BalanceIndex.Entry> entries = index.findBetween(AccountType.CHECKING, 10_00L, 50_00L, 10);
+
+        // Then
+        assertThat(entries).containsExactly(
+                new BalanceIndex.Entry(10_00L, 2L),
+                new BalanceIndex.Entry(50_00L, 1L),
+                new BalanceIndex.Entry(50_00L, 3L));
+        assertThat(index.findBetween(AccountType.CHECKING, 10_01L, 49_99L, 10)).isEmpty();
+    }
+
+    @Test
+    void findBetween_shouldMergeAllTypes_whenTypeIsNull() {
+        // When
+        List<BalanceIndex.Entry> entries = index.findBetween(null, 20_00L, 100_00L, 3);
+
+        // Then
+        assertThat(entries).extracting(BalanceIndex.Entry::accountId).containsExactly(4L, 1L, 3L);
+    }
+
+    @Test
+    void findTop_shouldReturnHighestBalancesFirst() {
+        // When & Then
+        assertThat(index.findTop(AccountType.CHECKING, 2)).extracting(BalanceIndex.Entry::accountId)
+                .containsExactly(3L, 1L);
+        assertThat(index.findTop(AccountType.SAVINGS, 10)).extracting(BalanceIndex.Entry::accountId)
+                .containsExactly(5L, 4L);
+    }
+
+    @Test
+    void update_shouldMoveAccountToItsNewBalance() {
+        // When
+        index.update(checking(2L, 10_00L), checking(2L, 90_00L));
+
+        // Then
+        assertThat(index.findTop(AccountType.CHECKING, 1)).containsExactly(new BalanceIndex.Entry(90_00L, 2L));
+        assertThat(index.findBetween(AccountType.CHECKING, 0L, 10_00L, 10)).isEmpty();
+        assertThat(index.size(AccountType.CHECKING)).isEqualTo(3);
+    }
+
+    private static Account checking(long id, long balance) {
+        return CheckingAccount.builder().id(id).ownerName("John Doe").balance(balance).build();
+    }
+
+    private static Account savings(long id, long balance) {
+        return SavingsAccount.builder().id(id).ownerName("John Doe").balance(balance).build();
+    }
+}
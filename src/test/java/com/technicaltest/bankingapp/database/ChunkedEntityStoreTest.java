@@ -0,0 +1,148 @@
+package com.technicaltest.bankingapp.database;
+
+import com.technicaltest.bankingapp.model.Account;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static com.technicaltest.bankingapp.builder.AccountBuilderFactory.buildCheckingAccount;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ChunkedEntityStoreTest {
+
+    private final ChunkedEntityStore<Account> store = new ChunkedEntityStore<>();
+
+    @Test
+    void get_shouldReturnNull_whenIdWasNeverStored() {
+        // Given When Then
+        assertThat(store.get(1L)).isNull();
+        assertThat(store.get(-1L)).isNull();
+        assertThat(store.get(Long.MAX_VALUE)).isNull();
+    }
+
+    @Test
+    void put_shouldStoreEntityAtItsId_acrossChunks() {
+        // Given
+        long farId = ChunkedEntityStore.CHUNK_SIZE * 3L + 5;
+        Account first = account(1L);
+        Account far = account(farId);
+
+        // When
+        store.put(1L, first);
+        store.put(farId, far);
+
+        // Then
+        assertThat(store.get(1L)).isSameAs(first);
+        assertThat(store.get(farId)).isSameAs(far);
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.capacity()).isGreaterThan(farId);
+    }
+
+    @Test
+    void put_shouldReturnPreviousEntity_andKeepSize_whenReplacing() {
+        // Given
+        Account original = account(7L);
+        Account replacement = account(7L);
+        store.put(7L, original);
+
+        // When
+        Account previous = store.put(7L, replacement);
+
+        // Then
+        assertThat(previous).isSameAs(original);
+        assertThat(store.get(7L)).isSameAs(replacement);
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    void put_shouldThrowException_whenIdIsNegative() {
+        // Given When Then
+        assertThatThrownBy(() -> store.put(-1L, account(1L)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void forEach_shouldVisitEntitiesInIdOrder() {
+        // Given
+        store.put(ChunkedEntityStore.CHUNK_SIZE + 1L, account(ChunkedEntityStore.CHUNK_SIZE + 1L));
+        store.put(2L, account(2L));
+        List<Long> visitedIds = new ArrayList<>();
+
+        // When
+        store.forEach(account -> visitedIds.add(account.getId()));
+
+        // Then
+        assertThat(visitedIds).containsExactly(2L, ChunkedEntityStore.CHUNK_SIZE + 1L);
+    }
+
+    @Test
+    void forEachInRange_shouldOnlyVisitEntitiesInRange() {
+        // Given
+        for (long id = 1; id <= 5; id++) {
+            store.put(id, account(id));
+        }
+        List<Long> visitedIds = new ArrayList<>();
+
+        // When
+        store.forEachInRange(2L, 4L, account -> visitedIds.add(account.getId()));
+        store.forEachInRange(ChunkedEntityStore.CHUNK_SIZE * 8L, Long.MAX_VALUE, account -> visitedIds.add(account.getId()));
+
+        // Then
+        assertThat(visitedIds).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void put_shouldKeepStridedStoreDense() {
+        // Given
+        ChunkedEntityStore<Account> stridedStore = new ChunkedEntityStore<>(4);
+        List<Long> visitedIds = new ArrayList<>();
+
+        // When
+        for (long id = 3; id <= 4L * ChunkedEntityStore.CHUNK_SIZE; id += 4) {
+            stridedStore.put(id, account(id));
+        }
+        stridedStore.forEachInRange(4L, 16L, account -> visitedIds.add(account.getId()));
+
+        // Then
+        assertThat(stridedStore.get(7L).getId()).isEqualTo(7L);
+        assertThat(stridedStore.get(8L)).isNull();
+        assertThat(stridedStore.size()).isEqualTo(ChunkedEntityStore.CHUNK_SIZE);
+        assertThat(stridedStore.capacity()).isEqualTo(4L * ChunkedEntityStore.CHUNK_SIZE);
+        assertThat(visitedIds).containsExactly(7L, 11L, 15L);
+    }
+
+    @Test
+    void put_shouldKeepEveryEntity_whenGrowingConcurrently() throws InterruptedException {
+        // Given
+        int threads = 8;
+        int idsPerThread = ChunkedEntityStore.CHUNK_SIZE * 2;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // When
+        for (int t = 0; t < threads; t++) {
+            int offset = t;
+            executor.execute(() -> {
+                for (long id = offset + 1; id <= (long) threads * idsPerThread; id += threads) {
+                    store.put(id, account(id));
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        // Then
+        assertThat(store.size()).isEqualTo((long) threads * idsPerThread);
+        for (long id = 1; id <= (long) threads * idsPerThread; id++) {
+            assertThat(store.get(id)).isNotNull();
+        }
+    }
+
+    private static Account account(long id) {
+        return buildCheckingAccount(10_00L).toBuilder().id(id).build();
+    }
+}
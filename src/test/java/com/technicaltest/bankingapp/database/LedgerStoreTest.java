@@ -0,0 +1,92 @@
+package com.technicaltest.bankingapp.database;
+
+import com.technicaltest.bankingapp.enumeration.TransactionType;
+import com.technicaltest.bankingapp.model.LedgerEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class LedgerStoreTest {
+
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    private LedgerStore ledgerStore;
+
+    @BeforeEach
+    void setUp() {
+        ledgerStore = new LedgerStore();
+        // Appended out of order, as concurrent committers may do
+        ledgerStore.append(entry(1L, 3, 0, START.plusSeconds(30)));
+        ledgerStore.append(entry(1L, 1, 0, START));
+        ledgerStore.append(entry(1L, 2, 1, START.plusSeconds(20)));
+        ledgerStore.append(entry(1L, 2, 0, START.plusSeconds(20)));
+        ledgerStore.append(entry(2L, 1, 0, START.plusSeconds(10)));
+    }
+
+    @Test
+    void findLast_shouldReturnMostRecentEntriesFirst() {
+        // When
+        List<LedgerEntry> last = ledgerStore.findLast(1L, 3);
+
+        // Then
+        assertThat(last).extracting(LedgerEntry::getVersion, LedgerEntry::getSequence)
+                .containsExactly(tuple(3L, 0), tuple(2L, 1), tuple(2L, 0));
+    }
+
+    @Test
+    void findLast_shouldReturnWholeHistory_whenCountExceedsIt() {
+        // When
+        List<LedgerEntry> last = ledgerStore.findLast(2L, 10);
+
+        // Then
+        assertThat(last).hasSize(1);
+        assertThat(ledgerStore.findLast(3L, 10)).isEmpty();
+    }
+
+    @Test
+    void append_shouldKeepOneEntry_whenEntryIsAppendedAgain() {
+        // When
+        // Recovery records again the operations a previous replay already recorded
+        ledgerStore.append(entry(2L, 1, 0, START.plusSeconds(10)));
+
+        // Then
+        assertThat(ledgerStore.count(2L)).isEqualTo(1);
+    }
+
+    @Test
+    void findBetween_shouldReturnEntriesInHalfOpenRangeOldestFirst() {
+        // When
+        List<LedgerEntry> entries = ledgerStore.findBetween(1L, START.plusSeconds(20), START.plusSeconds(30));
+
+        // Then
+        assertThat(entries).extracting(LedgerEntry::getVersion, LedgerEntry::getSequence)
+                .containsExactly(tuple(2L, 0), tuple(2L, 1));
+    }
+
+    @Test
+    void findBetween_shouldReturnNothing_whenRangeIsEmpty() {
+        // When
+        List<LedgerEntry> entries = ledgerStore.findBetween(1L, START.plusSeconds(30), START);
+
+        // Then
+        assertThat(entries).isEmpty();
+        assertThat(ledgerStore.count(1L)).isEqualTo(4);
+    }
+
+    private static LedgerEntry entry(long accountId, long version, int sequence, Instant timestamp) {
+        return LedgerEntry.builder()
+                .accountId(accountId)
+                .version(version)
+                .sequence(sequence)
+                .type(TransactionType.DEPOSIT)
+                .amount(1_00L)
+                .balanceAfter(version * 1_00L)
+                .timestamp(timestamp)
+                .build();
+    }
+}
@@ -0,0 +1,79 @@
+package com.technicaltest.bankingapp.database;
+
+import com.technicaltest.bankingapp.model.Account;
+import com.technicaltest.bankingapp.model.CheckingAccount;
+import com.technicaltest.bankingapp.model.SavingsAccount;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OwnerNameIndexTest {
+
+    private OwnerNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new OwnerNameIndex();
+        index.update(null, account(3L, "John Doe"));
+        index.update(null, account(1L, "John Doe"));
+        index.update(null, account(2L, "Johnny Cash"));
+        index.update(null, account(4L, "Jane Doe"));
+    }
+
+    @Test
+    void findByName_shouldReturnAllOwnersOfTheName_ignoringCase() {
+        // When & Then
+        assertThat(index.findByName("John Doe")).containsExactly(1L, 3L);
+        assertThat(index.findByName("  JOHN doe ")).containsExactly(1L, 3L);
+        assertThat(index.findByName("John")).isEmpty();
+    }
+
+    @Test
+    void findByNamePrefix_shouldReturnMatchesInNameOrder_upToLimit() {
+        // When & Then
+        assertThat(index.findByNamePrefix("john", 10)).containsExactly(1L, 3L, 2L);
+        assertThat(index.findByNamePrefix("john", 2)).containsExactly(1L, 3L);
+        assertThat(index.findByNamePrefix("J", 10)).containsExactly(4L, 1L, 3L, 2L);
+        assertThat(index.findByNamePrefix("Jo hn", 10)).isEmpty();
+    }
+
+    @Test
+    void update_shouldMoveRenamedAccount() {
+        // When
+        index.update(account(3L, "John Doe"), account(3L, "Jane Doe"));
+
+        // Then
+        assertThat(index.findByName("John Doe")).containsExactly(1L);
+        assertThat(index.findByName("Jane Doe")).containsExactly(3L, 4L);
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    void update_shouldKeepKey_whenNameIsUnchanged() {
+        // Given
+        Account previous = account(1L, "John Doe");
+        Account current = SavingsAccount.builder().id(1L).ownerName("john doe").balance(5_00L).build();
+
+        // When
+        index.update(previous, current);
+
+        // Then
+        assertThat(index.findByName("John Doe")).containsExactly(1L, 3L);
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    void clear_shouldRemoveAllKeys() {
+        // When
+        index.clear();
+
+        // Then
+        assertThat(index.size()).isZero();
+        assertThat(index.findByNamePrefix("", 10)).isEmpty();
+    }
+
+    private static Account account(long id, String ownerName) {
+        return CheckingAccount.builder().id(id).ownerName(ownerName).balance(10_00L).build();
+    }
+}
@@ -0,0 +1,66 @@
+package com.technicaltest.bankingapp.database;
+
+import com.technicaltest.bankingapp.model.Account;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.technicaltest.bankingapp.builder.AccountBuilderFactory.buildCheckingAccount;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShardedEntityStoreTest {
+
+    private final ShardedEntityStore<Account> store = new ShardedEntityStore<>(3);
+
+    @Test
+    void nextId_shouldHandOutTheIdsOwnedByTheShard() {
+        // When
+        long first = store.nextId(1);
+        long second = store.nextId(1);
+        long other = store.nextId(0);
+
+        // Then
+        assertThat(first).isEqualTo(2L);
+        assertThat(second).isEqualTo(5L);
+        assertThat(other).isEqualTo(1L);
+        assertThat(ShardedEntityStore.shardOf(second, 3)).isEqualTo(1);
+        assertThat(store.getMaxId()).isEqualTo(5L);
+    }
+
+    @Test
+    void put_shouldStoreEntityInItsShard() {
+        // Given
+        for (long id = 1; id <= 7; id++) {
+            store.put(id, account(id));
+        }
+        List<Long> visitedIds = new ArrayList<>();
+
+        // When
+        store.forEachInRange(2L, 7L, account -> visitedIds.add(account.getId()));
+
+        // Then
+        assertThat(store.get(5L).getId()).isEqualTo(5L);
+        assertThat(store.get(8L)).isNull();
+        assertThat(store.get(0L)).isNull();
+        assertThat(store.size()).isEqualTo(7);
+        assertThat(visitedIds).containsExactlyInAnyOrder(2L, 3L, 4L, 5L, 6L);
+    }
+
+    @Test
+    void put_shouldMoveShardPastRecoveredIds() {
+        // Given
+        store.put(8L, account(8L));
+
+        // When
+        long next = store.nextId(ShardedEntityStore.shardOf(8L, 3));
+
+        // Then
+        assertThat(next).isEqualTo(11L);
+        assertThat(store.nextId(0)).isEqualTo(1L);
+    }
+
+    private static Account account(long id) {
+        return buildCheckingAccount(10_00L).toBuilder().id(id).build();
+    }
+}
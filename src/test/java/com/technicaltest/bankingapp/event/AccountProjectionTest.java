@@ -0,0 +1,141 @@
+package com.technicaltest.bankingapp.event;
+
+import com.technicaltest.bankingapp.enumeration.AccountType;
+import com.technicaltest.bankingapp.exception.ApplicationException;
+import com.technicaltest.bankingapp.model.Account;
+import com.technicaltest.bankingapp.model.SavingsAccount;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AccountProjectionTest {
+
+    private static final Instant CREATED_AT = Instant.parse("2024-12-01T10:00:00Z");
+
+    @Test
+    void apply_shouldCreateAccount() {
+        // Given
+        AccountEventBatch batch = new AccountEventBatch(3L, 1L, CREATED_AT,
+                List.of(new AccountCreated(AccountType.SAVINGS, "John Doe", 100_00L)));
+
+        // When
+        Account account = AccountProjection.apply(null, batch);
+
+        // Then
+        assertThat(account).isInstanceOf(SavingsAccount.class);
+        assertThat(account.getId()).isEqualTo(3L);
+        assertThat(account.getVersion()).isEqualTo(1L);
+        assertThat(account.getCreatedAt()).isEqualTo(CREATED_AT);
+        assertThat(account.getUpdatedAt()).isEqualTo(CREATED_AT);
+        assertThat(account.getOwnerName()).isEqualTo("John Doe");
+        assertThat(((SavingsAccount) account).getMonthlyInterestBase()).isEqualTo(100_00L);
+    }
+
+    @Test
+    void apply_shouldApplyEventsInOrder_withoutChangingCurrentState() {
+        // Given
+        Account created = AccountProjection.apply(null, new AccountEventBatch(3L, 1L, CREATED_AT,
+                List.of(new AccountCreated(AccountType.SAVINGS, "John Doe", 100_00L))));
+        Instant updatedAt = CREATED_AT.plusSeconds(60);
+        AccountEventBatch batch = new AccountEventBatch(3L, 2L, updatedAt, List.of(
+                new Deposited(50_00L, 150_00L),
+                new Withdrawn(30_00L, 120_00L),
+                new InterestApplied(50L, 120_50L, YearMonth.of(2024, 12))));
+
+        // When
+        SavingsAccount account = (SavingsAccount) AccountProjection.apply(created, batch);
+
+        // Then
+        assertThat(account.getBalance()).isEqualTo(120_50L);
+        assertThat(account.getMonthlyInterestBase()).isEqualTo(120_50L);
+        assertThat(account.getLastInterestPeriod()).isEqualTo(YearMonth.of(2024, 12));
+        assertThat(account.getVersion()).isEqualTo(2L);
+        assertThat(account.getUpdatedAt()).isEqualTo(updatedAt);
+        assertThat(created.getBalance()).isEqualTo(100_00L);
+        assertThat(created.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void apply_shouldKeepBalanceAndInterestBase_whenMonthEndInterestIsZero() {
+        // Given
+        Account created = AccountProjection.apply(null, new AccountEventBatch(3L, 1L, CREATED_AT,
+                List.of(new AccountCreated(AccountType.SAVINGS, "John Doe", 10L))));
+        Account moved = AccountProjection.apply(created, new AccountEventBatch(3L, 2L, CREATED_AT,
+                List.of(new Deposited(5L, 15L), new Withdrawn(10L, 5L))));
+
+        // When
+        SavingsAccount account = (SavingsAccount) AccountProjection.apply(moved, new AccountEventBatch(3L, 3L, CREATED_AT,
+                List.of(new InterestApplied(0L, 5L, YearMonth.of(2024, 12)))));
+
+        // Then
+        assertThat(account.getBalance()).isEqualTo(5L);
+        assertThat(account.getMonthlyInterestBase()).isEqualTo(15L);
+        assertThat(account.getLastInterestPeriod()).isEqualTo(YearMonth.of(2024, 12));
+    }
+
+    @Test
+    void apply_shouldResetInterestBase_whenInterestIsCalculatedOnDemand() {
+        // Given
+        Account created = AccountProjection.apply(null, new AccountEventBatch(3L, 1L, CREATED_AT,
+                List.of(new AccountCreated(AccountType.SAVINGS, "John Doe", 10L))));
+        Account moved = AccountProjection.apply(created, new AccountEventBatch(3L, 2L, CREATED_AT,
+                List.of(new Deposited(5L, 15L), new Withdrawn(10L, 5L))));
+
+        // When
+        SavingsAccount account = (SavingsAccount) AccountProjection.apply(moved, new AccountEventBatch(3L, 3L, CREATED_AT,
+                List.of(new InterestApplied(0L, 5L, null))));
+
+        // Then
+        assertThat(account.getBalance()).isEqualTo(5L);
+        assertThat(account.getMonthlyInterestBase()).isEqualTo(5L);
+    }
+
+    @Test
+    void apply_shouldApplyTransfers_likeDepositsAndWithdrawals() {
+        // Given
+        Account created = AccountProjection.apply(null, new AccountEventBatch(3L, 1L, CREATED_AT,
+                List.of(new AccountCreated(AccountType.SAVINGS, "John Doe", 100_00L))));
+        Account received = AccountProjection.apply(created, new AccountEventBatch(3L, 2L, CREATED_AT,
+                List.of(new TransferredIn(50_00L, 150_00L, 4L))));
+
+        // When
+        SavingsAccount account = (SavingsAccount) AccountProjection.apply(received, new AccountEventBatch(3L, 3L, CREATED_AT,
+                List.of(new TransferredOut(70_00L, 80_00L, 5L))));
+
+        // Then
+        assertThat(account.getBalance()).isEqualTo(80_00L);
+        assertThat(account.getMonthlyInterestBase()).isEqualTo(150_00L);
+        assertThat(account.getVersion()).isEqualTo(3L);
+        assertThat(account.getWithdrawnIn(YearMonth.of(2024, 12))).isEqualTo(70_00L);
+    }
+
+    @Test
+    void apply_shouldOnlyBumpVersion_whenBatchHasNoEvent() {
+        // Given
+        Account created = AccountProjection.apply(null, new AccountEventBatch(3L, 1L, CREATED_AT,
+                List.of(new AccountCreated(AccountType.CHECKING, "John Doe", 100_00L))));
+
+        // When
+        Account account = AccountProjection.apply(created, new AccountEventBatch(3L, 2L, CREATED_AT, List.of()));
+
+        // Then
+        assertThat(account.getBalance()).isEqualTo(100_00L);
+        assertThat(account.getVersion()).isEqualTo(2L);
+    }
+
+    @Test
+    void apply_shouldThrowException_whenAccountWasNotCreated() {
+        // Given
+        AccountEventBatch batch = new AccountEventBatch(3L, 2L, CREATED_AT, List.of(new Deposited(50_00L, 150_00L)));
+
+        // When & Then
+        assertThatThrownBy(() -> AccountProjection.apply(null, batch))
+                .isInstanceOf(ApplicationException.class)
+                .hasMessage("Events of account 3 precede its creation.");
+    }
+}
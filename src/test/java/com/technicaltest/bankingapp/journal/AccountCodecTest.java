@@ -0,0 +1,97 @@
+package com.technicaltest.bankingapp.journal;
+
+import com.technicaltest.bankingapp.model.Account;
+import com.technicaltest.bankingapp.model.CheckingAccount;
+import com.technicaltest.bankingapp.model.SavingsAccount;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.YearMonth;
+
+import static com.technicaltest.bankingapp.builder.AccountBuilderFactory.buildCheckingAccount;
+import static com.technicaltest.bankingapp.builder.AccountBuilderFactory.buildSavingsAccount;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccountCodecTest {
+
+    private final AccountCodec accountCodec = new AccountCodec();
+
+    @Test
+    void decode_shouldRestoreSavingsAccount() {
+        // Given
+        SavingsAccount account = buildSavingsAccount(1000_00L, 900_00L).toBuilder().version(7).build();
+
+        // When
+        Account decoded = accountCodec.decode(ByteBuffer.wrap(accountCodec.encode(account)));
+
+        // Then
+        assertThat(decoded).isInstanceOf(SavingsAccount.class).isEqualTo(account);
+    }
+
+    @Test
+    void decode_shouldRestoreLastInterestPeriod() {
+        // Given
+        SavingsAccount account = buildSavingsAccount(1000_00L).toBuilder().lastInterestPeriod(YearMonth.of(2024, 12)).build();
+
+        // When
+        Account decoded = accountCodec.decode(ByteBuffer.wrap(accountCodec.encode(account)));
+
+        // Then
+        assertThat(((SavingsAccount) decoded).getLastInterestPeriod()).isEqualTo(YearMonth.of(2024, 12));
+    }
+
+    @Test
+    void decode_shouldReadSavingsRecordWrittenWithoutLastInterestPeriod() {
+        // Given
+        SavingsAccount account = buildSavingsAccount(1000_00L).toBuilder().lastInterestPeriod(YearMonth.of(2024, 12)).build();
+        byte[] encoded = accountCodec.encode(account);
+
+        // When
+        Account decoded = accountCodec.decode(ByteBuffer.wrap(encoded, 0, encoded.length - Integer.BYTES * 2 - Long.BYTES));
+
+        // Then
+        assertThat(((SavingsAccount) decoded).getLastInterestPeriod()).isNull();
+        assertThat(((SavingsAccount) decoded).getMonthlyInterestBase()).isEqualTo(1000_00L);
+    }
+
+    @Test
+    void decode_shouldRestoreWithdrawalCounter() {
+        // Given
+        SavingsAccount account = buildSavingsAccount(1000_00L);
+        account.recordWithdrawal(YearMonth.of(2025, 1), 300_00L);
+
+        // When
+        SavingsAccount decoded = (SavingsAccount) accountCodec.decode(ByteBuffer.wrap(accountCodec.encode(account)));
+
+        // Then
+        assertThat(decoded).isEqualTo(account);
+        assertThat(decoded.getWithdrawnIn(YearMonth.of(2025, 1))).isEqualTo(300_00L);
+    }
+
+    @Test
+    void decode_shouldReadSavingsRecordWrittenWithoutWithdrawalCounter() {
+        // Given
+        SavingsAccount account = buildSavingsAccount(1000_00L).toBuilder().lastInterestPeriod(YearMonth.of(2024, 12)).build();
+        account.recordWithdrawal(YearMonth.of(2025, 1), 300_00L);
+        byte[] encoded = accountCodec.encode(account);
+
+        // When
+        Account decoded = accountCodec.decode(ByteBuffer.wrap(encoded, 0, encoded.length - Integer.BYTES - Long.BYTES));
+
+        // Then
+        assertThat(((SavingsAccount) decoded).getLastInterestPeriod()).isEqualTo(YearMonth.of(2024, 12));
+        assertThat(((SavingsAccount) decoded).getWithdrawnIn(YearMonth.of(2025, 1))).isZero();
+    }
+
+    @Test
+    void decode_shouldRestoreCheckingAccount() {
+        // Given
+        CheckingAccount account = buildCheckingAccount(42_50L).toBuilder().ownerName("Zoë Ångström").build();
+
+        // When
+        Account decoded = accountCodec.decode(ByteBuffer.wrap(accountCodec.encode(account)));
+
+        // Then
+        assertThat(decoded).isInstanceOf(CheckingAccount.class).isEqualTo(account);
+    }
+}
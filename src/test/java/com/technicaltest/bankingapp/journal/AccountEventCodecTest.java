@@ -0,0 +1,54 @@
+package com.technicaltest.bankingapp.journal;
+
+import com.technicaltest.bankingapp.enumeration.AccountType;
+import com.technicaltest.bankingapp.event.AccountCreated;
+import com.technicaltest.bankingapp.event.AccountEventBatch;
+import com.technicaltest.bankingapp.event.Deposited;
+import com.technicaltest.bankingapp.event.InterestApplied;
+import com.technicaltest.bankingapp.event.TransferredIn;
+import com.technicaltest.bankingapp.event.TransferredOut;
+import com.technicaltest.bankingapp.event.Withdrawn;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccountEventCodecTest {
+
+    private final AccountEventCodec accountEventCodec = new AccountEventCodec();
+
+    @Test
+    void decode_shouldRestoreEveryEventType() {
+        // Given
+        AccountEventBatch batch = new AccountEventBatch(42L, 7L, Instant.parse("2024-12-31T23:59:59.123456789Z"), List.of(
+                new AccountCreated(AccountType.SAVINGS, "Zoë Ångström", 100_00L),
+                new Deposited(50_00L, 150_00L),
+                new Withdrawn(20_00L, 130_00L),
+                new InterestApplied(54L, 130_54L, YearMonth.of(2024, 12)),
+                new InterestApplied(0L, 130_54L, null),
+                new TransferredOut(30_00L, 100_54L, 43L),
+                new TransferredIn(10_00L, 110_54L, 44L)));
+
+        // When
+        AccountEventBatch decoded = accountEventCodec.decode(ByteBuffer.wrap(accountEventCodec.encode(batch)));
+
+        // Then
+        assertThat(decoded).isEqualTo(batch);
+    }
+
+    @Test
+    void accountIdOf_shouldReadAccountIdWithoutDecoding() {
+        // Given
+        byte[] record = accountEventCodec.encode(new AccountEventBatch(42L, 1L, Instant.now(), List.of()));
+
+        // When
+        long accountId = AccountEventCodec.accountIdOf(ByteBuffer.wrap(record));
+
+        // Then
+        assertThat(accountId).isEqualTo(42L);
+    }
+}
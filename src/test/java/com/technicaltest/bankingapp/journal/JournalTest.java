@@ -0,0 +1,223 @@
+package com.technicaltest.bankingapp.journal;
+
+import com.technicaltest.bankingapp.config.JournalConfig;
+import com.technicaltest.bankingapp.exception.ApplicationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replay_shouldReturnAppendedRecordsInOrder() {
+        // Given
+        Path path = directory.resolve("test.journal");
+        try (Journal journal = Journal.open(path, config(16, 0))) {
+            journal.append(bytes("first")).awaitDurable();
+            journal.append(bytes("second")).awaitDurable();
+        }
+
+        // When
+        List<String> records = new ArrayList<>();
+        long replayed;
+        try (Journal journal = Journal.open(path, config(16, 0))) {
+            replayed = journal.replay(buffer -> records.add(StandardCharsets.UTF_8.decode(buffer).toString()));
+        }
+
+        // Then
+        assertThat(replayed).isEqualTo(2);
+        assertThat(records).containsExactly("first", "second");
+    }
+
+    @Test
+    void replay_shouldTruncateTornTail_andAppendAfterLastIntactRecord() throws IOException {
+        // Given
+        Path path = directory.resolve("torn.journal");
+        try (Journal journal = Journal.open(path, config(16, 0))) {
+            journal.append(bytes("intact")).awaitDurable();
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.allocate(8).putInt(100).putInt(0).flip());
+        }
+
+        // When
+        try (Journal journal = Journal.open(path, config(16, 0))) {
+            journal.replay(buffer -> { });
+            journal.append(bytes("after")).awaitDurable();
+        }
+
+        // Then
+        List<String> records = new ArrayList<>();
+        try (Journal journal = Journal.open(path, config(16, 0))) {
+            journal.replay(buffer -> records.add(StandardCharsets.UTF_8.decode(buffer).toString()));
+        }
+        assertThat(records).containsExactly("intact", "after");
+        assertThat(Files.size(path)).isEqualTo(2 * 8 + "intact".length() + "after".length());
+    }
+
+    @Test
+    void rotate_shouldArchiveLiveFile_andReplaySegmentsBeforeLiveFile() {
+        // Given
+        Path path = directory.resolve("rotated.journal");
+        Path archived;
+        try (Journal journal = Journal.open(path, config(16, 0))) {
+            journal.append(bytes("archived")).awaitDurable();
+
+            // When
+            archived = journal.rotate();
+            journal.append(bytes("live")).awaitDurable();
+        }
+
+        // Then
+        assertThat(archived).isEqualTo(directory.resolve("rotated.journal.1"));
+        List<String> records = new ArrayList<>();
+        try (Journal journal = Journal.open(path, config(16, 0))) {
+            assertThat(journal.archivedSegments()).containsExactly(archived);
+            journal.replay(buffer -> records.add(StandardCharsets.UTF_8.decode(buffer).toString()));
+            journal.deleteArchivedSegmentsUpTo(archived);
+            assertThat(journal.archivedSegments()).isEmpty();
+        }
+        assertThat(records).containsExactly("archived", "live");
+    }
+
+    @Test
+    void rotate_shouldArchiveEveryRecordAppendedBeforeIt_whenRecordsAreStillPending() {
+        // Given
+        Path path = directory.resolve("pending.journal");
+        List<Journal.Ticket> tickets = new ArrayList<>();
+        Path archived;
+        try (Journal journal = Journal.open(path, config(4, 0))) {
+            for (int i = 0; i < 100; i++) {
+                tickets.add(journal.append(bytes("archived-" + i)));
+            }
+
+            // When
+            archived = journal.rotate();
+            journal.append(bytes("live")).awaitDurable();
+        }
+
+        // Then
+        assertThat(tickets).allMatch(ticket -> ticket.durable().isDone() && !ticket.durable().isCompletedExceptionally());
+        List<String> archivedRecords = new ArrayList<>();
+        // Opened on its own, the segment is replayed without the live file
+        try (Journal segment = Journal.open(archived, config(16, 0))) {
+            segment.replay(buffer -> archivedRecords.add(StandardCharsets.UTF_8.decode(buffer).toString()));
+        }
+        assertThat(archivedRecords).hasSize(100).doesNotContain("live");
+    }
+
+    @Test
+    @EnabledOnOs(OS.LINUX)
+    void append_shouldBeRefused_onceWriteFailed() {
+        // Given
+        // Every write to /dev/full fails with ENOSPC
+        try (Journal journal = Journal.open(Path.of("/dev/full"), config(16, 0))) {
+            Journal.Ticket failed = journal.append(bytes("lost"));
+            assertThatThrownBy(failed::awaitDurable).isInstanceOf(ApplicationException.class);
+
+            // When / Then
+            assertThatThrownBy(() -> journal.append(bytes("next")))
+                    .isInstanceOf(ApplicationException.class)
+                    .hasMessageContaining("failed");
+            assertThatThrownBy(journal::rotate).isInstanceOf(ApplicationException.class);
+        }
+    }
+
+    @Test
+    void append_shouldShareSyncsBetweenConcurrentWriters() throws InterruptedException {
+        // Given
+        int writers = 8;
+        int recordsPerWriter = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        Journal journal = Journal.open(directory.resolve("group.journal"), config(512, 2_000));
+
+        // When
+        for (int w = 0; w < writers; w++) {
+            executor.execute(() -> {
+                for (int i = 0; i < recordsPerWriter; i++) {
+                    journal.append(bytes("record")).awaitDurable();
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+        journal.close();
+
+        // Then
+        assertThat(journal.getWrittenRecords()).isEqualTo(writers * recordsPerWriter);
+        assertThat(journal.getSyncs()).isLessThan(writers * recordsPerWriter);
+    }
+
+    @Test
+    void replay_shouldDeliverEveryRecordOfGroup() {
+        // Given
+        Path path = directory.resolve("grouped.journal");
+        try (Journal journal = Journal.open(path, config(16, 0))) {
+            journal.append(bytes("single")).awaitDurable();
+            journal.appendAll(List.of(bytes("debit"), bytes("credit"))).awaitDurable();
+            assertThat(journal.getWrittenRecords()).isEqualTo(3);
+        }
+
+        // When
+        List<String> records = new ArrayList<>();
+        long replayed;
+        try (Journal journal = Journal.open(path, config(16, 0))) {
+            replayed = journal.replay(buffer -> records.add(StandardCharsets.UTF_8.decode(buffer).toString()));
+        }
+
+        // Then
+        assertThat(replayed).isEqualTo(3);
+        assertThat(records).containsExactly("single", "debit", "credit");
+    }
+
+    @Test
+    void replay_shouldDropWholeGroup_whenGroupIsTorn() throws IOException {
+        // Given
+        Path path = directory.resolve("torn-group.journal");
+        try (Journal journal = Journal.open(path, config(16, 0))) {
+            journal.append(bytes("intact")).awaitDurable();
+            journal.appendAll(List.of(bytes("debit"), bytes("credit"))).awaitDurable();
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            // Cut the group in the middle of its second record
+            channel.truncate(channel.size() - 3);
+        }
+
+        // When
+        List<String> records = new ArrayList<>();
+        try (Journal journal = Journal.open(path, config(16, 0))) {
+            journal.replay(buffer -> records.add(StandardCharsets.UTF_8.decode(buffer).toString()));
+        }
+
+        // Then
+        assertThat(records).containsExactly("intact");
+    }
+
+    private static JournalConfig config(int maxBatchSize, long maxDelayMicros) {
+        return new JournalConfig(true, Path.of("unused"), maxBatchSize, maxDelayMicros);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
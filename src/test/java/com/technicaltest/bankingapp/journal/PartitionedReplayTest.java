@@ -0,0 +1,80 @@
+package com.technicaltest.bankingapp.journal;
+
+import com.technicaltest.bankingapp.config.JournalConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PartitionedReplayTest {
+
+    private static final int KEYS = 16;
+    private static final int RECORDS_PER_KEY = 500;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replay_shouldKeepJournalOrderOfEachKey() {
+        // Given
+        Path path = directory.resolve("test.journal");
+        try (Journal journal = Journal.open(path, config())) {
+            for (int sequence = 0; sequence < RECORDS_PER_KEY; sequence++) {
+                for (int key = 0; key < KEYS; key++) {
+                    journal.append(record(key, sequence));
+                }
+            }
+            journal.append(record(0, RECORDS_PER_KEY)).awaitDurable();
+        }
+        Map<Long, List<Long>> sequencesByKey = new ConcurrentHashMap<>();
+
+        // When
+        long replayed;
+        try (Journal journal = Journal.open(path, config())) {
+            replayed = PartitionedReplay.replay(journal, 4, buffer -> buffer.getLong(0), buffer ->
+                    sequencesByKey.computeIfAbsent(buffer.getLong(0), key -> new CopyOnWriteArrayList<>()).add(buffer.getLong(8)));
+        }
+
+        // Then
+        assertThat(replayed).isEqualTo(KEYS * RECORDS_PER_KEY + 1);
+        assertThat(sequencesByKey).hasSize(KEYS);
+        assertThat(sequencesByKey.values()).allSatisfy(sequences -> assertThat(sequences).isSorted());
+        assertThat(sequencesByKey.get(0L)).hasSize(RECORDS_PER_KEY + 1);
+    }
+
+    @Test
+    void replay_shouldRethrowFailureOfAWorker() {
+        // Given
+        Path path = directory.resolve("test.journal");
+        try (Journal journal = Journal.open(path, config())) {
+            for (int key = 0; key < KEYS; key++) {
+                journal.append(record(key, 0)).awaitDurable();
+            }
+        }
+
+        // When & Then
+        try (Journal journal = Journal.open(path, config())) {
+            assertThatThrownBy(() -> PartitionedReplay.replay(journal, 4, buffer -> buffer.getLong(0), buffer -> {
+                if (buffer.getLong(0) == 3) {
+                    throw new IllegalStateException("Corrupted record");
+                }
+            })).isInstanceOf(IllegalStateException.class).hasMessage("Corrupted record");
+        }
+    }
+
+    private static byte[] record(long key, long sequence) {
+        return ByteBuffer.allocate(Long.BYTES * 2).putLong(key).putLong(sequence).array();
+    }
+
+    private static JournalConfig config() {
+        return new JournalConfig(true, Path.of("unused"), 256, 0);
+    }
+}
@@ -0,0 +1,80 @@
+package com.technicaltest.bankingapp.journal;
+
+import com.technicaltest.bankingapp.database.ChunkedEntityStore;
+import com.technicaltest.bankingapp.exception.ApplicationException;
+import com.technicaltest.bankingapp.model.Account;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.technicaltest.bankingapp.builder.AccountBuilderFactory.buildCheckingAccount;
+import static com.technicaltest.bankingapp.builder.AccountBuilderFactory.buildSavingsAccount;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SnapshotFileTest {
+
+    private final AccountCodec accountCodec = new AccountCodec();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void load_shouldRestoreEveryEntity_whenParsedInParallel() {
+        // Given
+        Path path = directory.resolve("Account.snapshot");
+        ChunkedEntityStore<Account> store = new ChunkedEntityStore<>();
+        for (long id = 1; id <= 10_000; id++) {
+            Account account = id % 2 == 0
+                    ? buildSavingsAccount(id, id * 2).toBuilder().id(id).version(id).build()
+                    : buildCheckingAccount(id).toBuilder().id(id).ownerName("Owner " + id).build();
+            store.put(id, account);
+        }
+        long written = SnapshotFile.write(path, store, 10_000, accountCodec);
+
+        // When
+        Map<Long, Account> restored = new ConcurrentHashMap<>();
+        SnapshotFile.Summary summary = SnapshotFile.load(path, accountCodec, 4,
+                account -> restored.put(account.getId(), account));
+
+        // Then
+        assertThat(written).isEqualTo(10_000);
+        assertThat(summary.records()).isEqualTo(10_000);
+        assertThat(summary.idCounter()).isEqualTo(10_000);
+        assertThat(restored).hasSize(10_000);
+        for (long id = 1; id <= 10_000; id++) {
+            assertThat(restored.get(id)).isEqualTo(store.get(id));
+        }
+    }
+
+    @Test
+    void load_shouldReturnEmptySummary_whenStoreWasEmpty() {
+        // Given
+        Path path = directory.resolve("Empty.snapshot");
+        SnapshotFile.write(path, new ChunkedEntityStore<>(), 0, accountCodec);
+
+        // When
+        SnapshotFile.Summary summary = SnapshotFile.load(path, accountCodec, 4, account -> { });
+
+        // Then
+        assertThat(summary.records()).isZero();
+        assertThat(Files.exists(directory.resolve("Empty.snapshot.tmp"))).isFalse();
+    }
+
+    @Test
+    void load_shouldThrowException_whenFileIsNotASnapshot() throws IOException {
+        // Given
+        Path path = directory.resolve("Invalid.snapshot");
+        Files.write(path, new byte[64]);
+
+        // When Then
+        assertThatThrownBy(() -> SnapshotFile.load(path, accountCodec, 1, account -> { }))
+                .isInstanceOf(ApplicationException.class)
+                .hasMessageStartingWith("Unsupported snapshot format");
+    }
+}
@@ -31,7 +31,7 @@ class AccountMapperTest {
     @Test
     public void toDto_shouldSavingsAccountMapToDto_WhenAccountIsNotNull() {
         // Given
-        SavingsAccount savingsAccount = buildSavingsAccount(BigDecimal.TEN, BigDecimal.valueOf(10.12));
+        SavingsAccount savingsAccount = buildSavingsAccount(10_00L, 10_12L);
 
         // When
         AccountDTO accountDTO = AccountMapper.toDTO(savingsAccount);
@@ -40,14 +40,14 @@ class AccountMapperTest {
         assertThat(accountDTO).isNotNull();
         assertThat(accountDTO.getId()).isEqualTo(1L);
         assertThat(accountDTO.getAccountType()).isEqualTo(AccountType.SAVINGS);
-        assertThat(accountDTO.getBalance()).isEqualTo(BigDecimal.TEN);
+        assertThat(accountDTO.getBalance()).isEqualTo(new BigDecimal("10.00"));
         assertThat(accountDTO.getOwnerName()).isEqualTo("John Doe");
     }
 
     @Test
     public void toDto_shouldMapCheckingAccountToDto_WhenAccountIsNotNull() {
         // Given
-        CheckingAccount checkingAccount = buildCheckingAccount(BigDecimal.TEN);
+        CheckingAccount checkingAccount = buildCheckingAccount(10_00L);
 
         // When
         AccountDTO accountDTO = AccountMapper.toDTO(checkingAccount);
@@ -56,7 +56,7 @@ class AccountMapperTest {
         assertThat(accountDTO).isNotNull();
         assertThat(accountDTO.getId()).isEqualTo(1L);
         assertThat(accountDTO.getAccountType()).isEqualTo(AccountType.CHECKING);
-        assertThat(accountDTO.getBalance()).isEqualTo(BigDecimal.TEN);
+        assertThat(accountDTO.getBalance()).isEqualTo(new BigDecimal("10.00"));
         assertThat(accountDTO.getOwnerName()).isEqualTo("John Doe");
     }
 }
@@ -0,0 +1,79 @@
+package com.technicaltest.bankingapp.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencyHistogramTest {
+
+    @Test
+    void getValueAtPercentile_shouldStayWithinBucketPrecision() {
+        // Given
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value * 1_000);
+        }
+
+        // When
+        long p50 = histogram.getValueAtPercentile(50);
+        long p99 = histogram.getValueAtPercentile(99);
+        long p999 = histogram.getValueAtPercentile(99.9);
+
+        // Then
+        assertThat(p50).isCloseTo(50_000_000L, within(50_000_000L / 64));
+        assertThat(p99).isCloseTo(99_000_000L, within(99_000_000L / 64));
+        assertThat(p999).isCloseTo(99_900_000L, within(99_900_000L / 64));
+        assertThat(histogram.getValueAtPercentile(100)).isEqualTo(100_000_000L);
+        assertThat(histogram.getCount()).isEqualTo(100_000);
+        assertThat(histogram.getMean()).isEqualTo(50_000_500.0);
+    }
+
+    @Test
+    void indexOf_shouldMapEveryValueToBucketCoveringIt() {
+        // Given
+        long[] values = {0, 1, 127, 128, 129, 255, 256, 1_000_003, Long.MAX_VALUE / 3, Long.MAX_VALUE};
+
+        // When & Then
+        for (long value : values) {
+            int index = LatencyHistogram.indexOf(value);
+            assertThat(LatencyHistogram.highestEquivalentValue(index)).isGreaterThanOrEqualTo(value);
+            if (index > 0) {
+                assertThat(LatencyHistogram.highestEquivalentValue(index - 1)).isLessThan(value);
+            }
+        }
+    }
+
+    @Test
+    void record_shouldNotLoseValues_whenCalledConcurrently() throws InterruptedException {
+        // Given
+        LatencyHistogram histogram = new LatencyHistogram();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // When
+        for (int t = 0; t < 4; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    histogram.record(i);
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        // Then
+        assertThat(histogram.getCount()).isEqualTo(40_000);
+        assertThat(histogram.getMax()).isEqualTo(9_999);
+        assertThat(histogram.getValueAtPercentile(100)).isEqualTo(9_999);
+    }
+
+    @Test
+    void getValueAtPercentile_shouldReturnZero_whenEmpty() {
+        // Given When Then
+        assertThat(new LatencyHistogram().getValueAtPercentile(99)).isZero();
+    }
+}
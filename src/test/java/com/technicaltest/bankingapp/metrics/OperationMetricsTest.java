@@ -0,0 +1,54 @@
+package com.technicaltest.bankingapp.metrics;
+
+import com.technicaltest.bankingapp.exception.InvalidOperationException;
+import com.technicaltest.bankingapp.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OperationMetricsTest {
+
+    @Test
+    void time_shouldCountCallsAndErrorsByType() {
+        // Given
+        OperationMetrics metrics = new OperationMetrics("test");
+
+        // When
+        assertThat(metrics.time(() -> 42)).isEqualTo(42);
+        assertThatThrownBy(() -> metrics.time(() -> {
+            throw new InvalidOperationException("Invalid.");
+        })).isInstanceOf(InvalidOperationException.class);
+        assertThatThrownBy(() -> metrics.time(() -> {
+            throw new ResourceNotFoundException("Account", 1L);
+        })).isInstanceOf(ResourceNotFoundException.class);
+
+        // Then
+        assertThat(metrics.getCount()).isEqualTo(3);
+        assertThat(metrics.getErrorCount()).isEqualTo(2);
+        assertThat(metrics.getInvalidOperationErrors()).isEqualTo(1);
+        assertThat(metrics.getResourceNotFoundErrors()).isEqualTo(1);
+        assertThat(metrics.getErrors()).containsExactly(
+                Map.entry("InvalidOperationException", 1L), Map.entry("ResourceNotFoundException", 1L));
+        assertThat(metrics.getMaxMicros()).isGreaterThanOrEqualTo(metrics.getP50Micros());
+    }
+
+    @Test
+    void operation_shouldRegisterMBean_andAppearInDump() throws Exception {
+        // Given
+        OperationMetrics metrics = MetricsRegistry.operation("registry-test");
+
+        // When
+        metrics.time(() -> { });
+
+        // Then
+        Object count = ManagementFactory.getPlatformMBeanServer()
+                .getAttribute(MetricsRegistry.objectName("registry-test"), "Count");
+        assertThat(count).isEqualTo(1L);
+        assertThat(MetricsRegistry.operation("registry-test")).isSameAs(metrics);
+        assertThat(MetricsRegistry.dump()).contains("registry-test count=1");
+    }
+}
@@ -1,17 +1,35 @@
 package com.technicaltest.bankingapp.repository;
 
+import com.technicaltest.bankingapp.event.AccountEvent;
+import com.technicaltest.bankingapp.event.Deposited;
+import com.technicaltest.bankingapp.event.InterestApplied;
+import com.technicaltest.bankingapp.event.TransferredIn;
+import com.technicaltest.bankingapp.event.TransferredOut;
+import com.technicaltest.bankingapp.event.Withdrawn;
+import com.technicaltest.bankingapp.exception.ApplicationException;
 import com.technicaltest.bankingapp.model.Account;
 import com.technicaltest.bankingapp.model.CheckingAccount;
+import com.technicaltest.bankingapp.model.LedgerEntry;
 import com.technicaltest.bankingapp.model.SavingsAccount;
+import com.technicaltest.bankingapp.config.JournalConfig;
+import com.technicaltest.bankingapp.database.InMemoryDatabase;
+import com.technicaltest.bankingapp.journal.Journal;
+import com.technicaltest.bankingapp.service.LedgerService;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
 
-import java.math.BigDecimal;
+import java.nio.file.Path;
 import java.time.Instant;
+import java.time.YearMonth;
+import java.util.List;
 import java.util.Optional;
 
 import static com.technicaltest.bankingapp.builder.AccountBuilderFactory.buildCheckingAccount;
 import static com.technicaltest.bankingapp.builder.AccountBuilderFactory.buildSavingsAccount;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class AccountRepositoryTest {
 
@@ -20,7 +38,7 @@ class AccountRepositoryTest {
     @Test
     void save_shouldSaveNewSavingsAccount() {
         // Given
-        SavingsAccount account = buildSavingsAccount(BigDecimal.TEN).toBuilder()
+        SavingsAccount account = buildSavingsAccount(10_00L).toBuilder()
                 .id(null).createdAt(null).updatedAt(null)
                 .build();
 
@@ -32,14 +50,14 @@ class AccountRepositoryTest {
         assertThat(savedAccount.getCreatedAt()).isNotNull();
         assertThat(savedAccount.getUpdatedAt()).isNotNull();
         assertThat(savedAccount.getOwnerName()).isEqualTo("John Doe");
-        assertThat(savedAccount.getBalance()).isEqualTo(BigDecimal.TEN);
-        assertThat(savedAccount.getMonthlyInterestBase()).isEqualTo(BigDecimal.TEN);
+        assertThat(savedAccount.getBalance()).isEqualTo(10_00L);
+        assertThat(savedAccount.getMonthlyInterestBase()).isEqualTo(10_00L);
     }
 
     @Test
     void save_shouldSaveNewCheckingAccount() {
         // Given
-        CheckingAccount account = buildCheckingAccount(BigDecimal.TEN).toBuilder()
+        CheckingAccount account = buildCheckingAccount(10_00L).toBuilder()
                 .id(null).createdAt(null).updatedAt(null)
                 .build();
 
@@ -51,31 +69,49 @@ class AccountRepositoryTest {
         assertThat(savedAccount.getCreatedAt()).isNotNull();
         assertThat(savedAccount.getUpdatedAt()).isNotNull();
         assertThat(savedAccount.getOwnerName()).isEqualTo("John Doe");
-        assertThat(savedAccount.getBalance()).isEqualTo(BigDecimal.TEN);
+        assertThat(savedAccount.getBalance()).isEqualTo(10_00L);
+    }
+
+    @Test
+    void findByOwnerName_shouldFollowRenames() {
+        // Given
+        Account saved = accountRepository.save(buildCheckingAccount(10_00L).toBuilder()
+                .id(null).ownerName("Ada Lovelace").build());
+        saved.setOwnerName("Ada King");
+
+        // When
+        accountRepository.save(saved);
+
+        // Then
+        assertThat(accountRepository.findByOwnerName("ada lovelace")).isEmpty();
+        assertThat(accountRepository.findByOwnerName("Ada King"))
+                .extracting(Account::getId).containsExactly(saved.getId());
+        assertThat(accountRepository.findByOwnerNamePrefix("ADA K", 10))
+                .extracting(Account::getOwnerName).containsExactly("Ada King");
     }
 
     @Test
     void save_shouldUpdateSavingsAccount() {
         // Given
-        SavingsAccount account = buildSavingsAccount(BigDecimal.TEN);
+        SavingsAccount account = buildSavingsAccount(10_00L);
         Account savedAccount = accountRepository.save(account);
         Instant originalUpdatedAt = savedAccount.getUpdatedAt();
 
         // When
-        savedAccount.setBalance(BigDecimal.valueOf(2000));
+        savedAccount.setBalance(2000_00L);
         Account updatedAccount = accountRepository.save(savedAccount);
 
         // Then
         assertThat(updatedAccount.getId()).isEqualTo(savedAccount.getId());
         assertThat(updatedAccount.getCreatedAt()).isEqualTo(savedAccount.getCreatedAt());
         assertThat(updatedAccount.getUpdatedAt()).isAfter(originalUpdatedAt);
-        assertThat(updatedAccount.getBalance()).isEqualTo(BigDecimal.valueOf(2000));
+        assertThat(updatedAccount.getBalance()).isEqualTo(2000_00L);
     }
 
     @Test
     void findById_shouldFindAccount() {
         // Given
-        Account account = buildCheckingAccount(BigDecimal.TEN);
+        Account account = buildCheckingAccount(10_00L);
         Account savedAccount = accountRepository.save(account);
 
         // When
@@ -85,7 +121,7 @@ class AccountRepositoryTest {
         assertThat(retrievedAccount).isPresent();
         assertThat(retrievedAccount.get().getId()).isEqualTo(savedAccount.getId());
         assertThat(retrievedAccount.get().getOwnerName()).isEqualTo("John Doe");
-        assertThat(retrievedAccount.get().getBalance()).isEqualTo(BigDecimal.TEN);
+        assertThat(retrievedAccount.get().getBalance()).isEqualTo(10_00L);
     }
 
     @Test
@@ -99,4 +135,370 @@ class AccountRepositoryTest {
         // Then
         assertThat(retrievedAccount).isEmpty();
     }
+
+    @Test
+    void findById_shouldReturnDetachedCopy() {
+        // Given
+        Account savedAccount = accountRepository.save(buildCheckingAccount(10_00L).toBuilder().id(null).build());
+        Account retrievedAccount = accountRepository.findById(savedAccount.getId()).orElseThrow();
+
+        // When
+        retrievedAccount.setBalance(1_00L);
+
+        // Then
+        assertThat(accountRepository.findById(savedAccount.getId()).orElseThrow().getBalance()).isEqualTo(10_00L);
+    }
+
+    @Test
+    void compareAndSave_shouldSaveAndIncrementVersion_whenVersionMatches() {
+        // Given
+        Account savedAccount = accountRepository.save(buildCheckingAccount(10_00L).toBuilder().id(null).build());
+        Account account = accountRepository.findById(savedAccount.getId()).orElseThrow();
+        long readVersion = account.getVersion();
+        account.setBalance(1_00L);
+
+        // When
+        boolean saved = accountRepository.compareAndSave(account);
+
+        // Then
+        assertThat(saved).isTrue();
+        Account storedAccount = accountRepository.findById(savedAccount.getId()).orElseThrow();
+        assertThat(storedAccount.getVersion()).isEqualTo(readVersion + 1);
+        assertThat(storedAccount.getBalance()).isEqualTo(1_00L);
+    }
+
+    @Test
+    void compareAndSave_shouldRejectStaleVersion() {
+        // Given
+        Account savedAccount = accountRepository.save(buildCheckingAccount(10_00L).toBuilder().id(null).build());
+        Account firstReader = accountRepository.findById(savedAccount.getId()).orElseThrow();
+        Account secondReader = accountRepository.findById(savedAccount.getId()).orElseThrow();
+        firstReader.setBalance(1_00L);
+        secondReader.setBalance(2_00L);
+        accountRepository.compareAndSave(firstReader);
+
+        // When
+        boolean saved = accountRepository.compareAndSave(secondReader);
+
+        // Then
+        assertThat(saved).isFalse();
+        assertThat(accountRepository.findById(savedAccount.getId()).orElseThrow().getBalance()).isEqualTo(1_00L);
+    }
+
+    @Test
+    void compareAndSave_shouldStoreNeitherAccount_whenEitherIsStale() {
+        // Given
+        Account from = accountRepository.save(buildCheckingAccount(10_00L).toBuilder().id(null).build());
+        Account to = accountRepository.save(buildCheckingAccount(0L).toBuilder().id(null).build());
+        Account concurrentTo = accountRepository.findById(to.getId()).orElseThrow();
+        concurrentTo.setBalance(1_00L);
+        accountRepository.compareAndSave(concurrentTo);
+        from.setBalance(5_00L);
+        to.setBalance(5_00L);
+
+        // When
+        boolean saved = accountRepository.compareAndSave(from, List.of(), to, List.of());
+
+        // Then
+        assertThat(saved).isFalse();
+        assertThat(accountRepository.findById(from.getId()).orElseThrow().getBalance()).isEqualTo(10_00L);
+        assertThat(accountRepository.findById(to.getId()).orElseThrow().getBalance()).isEqualTo(1_00L);
+    }
+
+    @Test
+    void recover_shouldReplayBothSidesOfTransfer_whenEventSourced(@TempDir Path directory) {
+        // Given
+        Path journalPath = directory.resolve("Account.transfers.journal");
+        JournalConfig journalConfig = new JournalConfig(true, directory, 16, 0);
+        InMemoryDatabase.database.remove(Account.class);
+        InMemoryDatabase.idCounter.remove(Account.class);
+        InMemoryDatabase.journals.put(Account.class, Journal.open(journalPath, journalConfig));
+        Account from;
+        Account to;
+        try {
+            AccountRepository eventSourcedRepository = new AccountRepository(true);
+            from = eventSourcedRepository.save(buildCheckingAccount(100_00L).toBuilder().id(null).build());
+            to = eventSourcedRepository.save(buildCheckingAccount(0L).toBuilder().id(null).build());
+            from.setBalance(70_00L);
+            to.setBalance(30_00L);
+            assertThat(eventSourcedRepository.compareAndSave(
+                    from, List.of(new TransferredOut(30_00L, 70_00L, to.getId())),
+                    to, List.of(new TransferredIn(30_00L, 30_00L, from.getId())))).isTrue();
+        } finally {
+            InMemoryDatabase.closeJournals();
+        }
+        InMemoryDatabase.database.remove(Account.class);
+        InMemoryDatabase.idCounter.remove(Account.class);
+        InMemoryDatabase.journals.put(Account.class, Journal.open(journalPath, journalConfig));
+
+        try {
+            AccountRepository recoveredRepository = new AccountRepository(true);
+
+            // When
+            long replayed = recoveredRepository.recover();
+
+            // Then
+            assertThat(replayed).isEqualTo(4);
+            assertThat(recoveredRepository.findById(from.getId())).contains(from);
+            assertThat(recoveredRepository.findById(to.getId())).contains(to);
+        } finally {
+            InMemoryDatabase.closeJournals();
+        }
+    }
+
+    @Test
+    void recover_shouldRestoreLatestVersions_andIdCounter_fromJournal(@TempDir Path directory) {
+        // Given
+        Path journalPath = directory.resolve("Account.journal");
+        JournalConfig journalConfig = new JournalConfig(true, directory, 16, 0);
+        InMemoryDatabase.database.remove(Account.class);
+        InMemoryDatabase.idCounter.remove(Account.class);
+        InMemoryDatabase.journals.put(Account.class, Journal.open(journalPath, journalConfig));
+        Account savedAccount;
+        try {
+            AccountRepository journaledRepository = new AccountRepository();
+            savedAccount = journaledRepository.save(buildCheckingAccount(10_00L).toBuilder().id(null).build());
+            savedAccount.setBalance(25_00L);
+            journaledRepository.compareAndSave(savedAccount);
+        } finally {
+            InMemoryDatabase.closeJournals();
+        }
+        InMemoryDatabase.database.remove(Account.class);
+        InMemoryDatabase.idCounter.remove(Account.class);
+        InMemoryDatabase.journals.put(Account.class, Journal.open(journalPath, journalConfig));
+
+        try {
+            AccountRepository recoveredRepository = new AccountRepository();
+
+            // When
+            long replayed = recoveredRepository.recover();
+
+            // Then
+            assertThat(replayed).isEqualTo(2);
+            Account recoveredAccount = recoveredRepository.findById(savedAccount.getId()).orElseThrow();
+            assertThat(recoveredAccount.getBalance()).isEqualTo(25_00L);
+            assertThat(recoveredAccount.getVersion()).isEqualTo(2);
+            Account newAccount = recoveredRepository.save(buildCheckingAccount(1_00L).toBuilder().id(null).build());
+            assertThat(newAccount.getId()).isEqualTo(savedAccount.getId() + 1);
+        } finally {
+            InMemoryDatabase.closeJournals();
+        }
+    }
+
+    @Test
+    @EnabledOnOs(OS.LINUX)
+    void compareAndSave_shouldRefuseEveryCommit_onceJournalWriteFailed() {
+        // Given
+        // Every write to /dev/full fails with ENOSPC
+        InMemoryDatabase.database.remove(Account.class);
+        InMemoryDatabase.idCounter.remove(Account.class);
+        InMemoryDatabase.journals.put(Account.class, Journal.open(Path.of("/dev/full"), new JournalConfig(true, Path.of("/dev"), 16, 0)));
+        try {
+            AccountRepository journaledRepository = new AccountRepository();
+            Account account = buildCheckingAccount(10_00L).toBuilder().id(null).build();
+            assertThatThrownBy(() -> journaledRepository.save(account)).isInstanceOf(ApplicationException.class);
+            Account stored = journaledRepository.findById(account.getId()).orElseThrow();
+            stored.setBalance(25_00L);
+
+            // When / Then
+            assertThatThrownBy(() -> journaledRepository.compareAndSave(stored))
+                    .isInstanceOf(ApplicationException.class)
+                    .hasMessageContaining("failed");
+            assertThat(journaledRepository.findById(account.getId()).orElseThrow().getBalance()).isEqualTo(10_00L);
+        } finally {
+            InMemoryDatabase.closeJournals();
+            InMemoryDatabase.database.remove(Account.class);
+            InMemoryDatabase.idCounter.remove(Account.class);
+        }
+    }
+
+    @Test
+    void loadSnapshot_shouldRestoreAccounts_andCompactJournal(@TempDir Path directory) {
+        // Given
+        Path journalPath = directory.resolve("Account.journal");
+        Path snapshotPath = directory.resolve("Account.snapshot");
+        JournalConfig journalConfig = new JournalConfig(true, directory, 16, 0);
+        InMemoryDatabase.database.remove(Account.class);
+        InMemoryDatabase.idCounter.remove(Account.class);
+        InMemoryDatabase.journals.put(Account.class, Journal.open(journalPath, journalConfig));
+        Account beforeSnapshot;
+        Account afterSnapshot;
+        try {
+            AccountRepository journaledRepository = new AccountRepository();
+            beforeSnapshot = journaledRepository.save(buildSavingsAccount(10_00L).toBuilder().id(null).build());
+            assertThat(journaledRepository.writeSnapshot(snapshotPath)).isEqualTo(1);
+            afterSnapshot = journaledRepository.save(buildCheckingAccount(5_00L).toBuilder().id(null).build());
+        } finally {
+            InMemoryDatabase.closeJournals();
+        }
+        InMemoryDatabase.database.remove(Account.class);
+        InMemoryDatabase.idCounter.remove(Account.class);
+        InMemoryDatabase.journals.put(Account.class, Journal.open(journalPath, journalConfig));
+
+        try {
+            AccountRepository recoveredRepository = new AccountRepository();
+
+            // When
+            long loaded = recoveredRepository.loadSnapshot(snapshotPath, 2);
+            long replayed = recoveredRepository.recover();
+
+            // Then
+            assertThat(loaded).isEqualTo(1);
+            assertThat(replayed).isEqualTo(1);
+            assertThat(recoveredRepository.findById(beforeSnapshot.getId())).isPresent();
+            assertThat(recoveredRepository.findById(afterSnapshot.getId())).isPresent();
+            assertThat(InMemoryDatabase.journals.get(Account.class).archivedSegments()).isEmpty();
+        } finally {
+            InMemoryDatabase.closeJournals();
+        }
+    }
+
+    @Test
+    void recover_shouldRebuildLedger_fromJournaledEvents_whenEventSourced(@TempDir Path directory) {
+        // Given
+        Path journalPath = directory.resolve("Account.events.journal");
+        JournalConfig journalConfig = new JournalConfig(true, directory, 16, 0);
+        InMemoryDatabase.database.remove(Account.class);
+        InMemoryDatabase.idCounter.remove(Account.class);
+        InMemoryDatabase.ledger.clear();
+        InMemoryDatabase.journals.put(Account.class, Journal.open(journalPath, journalConfig));
+        LedgerService ledgerService = new LedgerService();
+        Account account;
+        List<LedgerEntry> recordedEntries;
+        try {
+            AccountRepository eventSourcedRepository = new AccountRepository(true);
+            account = eventSourcedRepository.save(buildCheckingAccount(10_00L).toBuilder().id(null).build());
+            account.setBalance(60_00L);
+            List<AccountEvent> depositEvents = List.of(new Deposited(50_00L, 60_00L));
+            eventSourcedRepository.compareAndSave(account, depositEvents);
+            ledgerService.record(account, depositEvents);
+            account.setBalance(45_00L);
+            List<AccountEvent> withdrawalEvents = List.of(new Withdrawn(15_00L, 45_00L));
+            eventSourcedRepository.compareAndSave(account, withdrawalEvents);
+            ledgerService.record(account, withdrawalEvents);
+            recordedEntries = ledgerService.getLastTransactions(account.getId(), 10);
+        } finally {
+            InMemoryDatabase.closeJournals();
+        }
+        InMemoryDatabase.database.remove(Account.class);
+        InMemoryDatabase.idCounter.remove(Account.class);
+        InMemoryDatabase.ledger.clear();
+        InMemoryDatabase.journals.put(Account.class, Journal.open(journalPath, journalConfig));
+
+        try {
+            AccountRepository recoveredRepository = new AccountRepository(true);
+
+            // When
+            recoveredRepository.recover(ledgerService::record);
+
+            // Then
+            assertThat(recordedEntries).hasSize(2);
+            assertThat(ledgerService.getLastTransactions(account.getId(), 10)).isEqualTo(recordedEntries);
+        } finally {
+            InMemoryDatabase.closeJournals();
+            InMemoryDatabase.ledger.clear();
+        }
+    }
+
+    @Test
+    void recover_shouldProjectJournaledEventsOntoSnapshot_whenEventSourced(@TempDir Path directory) {
+        // Given
+        Path journalPath = directory.resolve("Account.events.journal");
+        Path snapshotPath = directory.resolve("Account.snapshot");
+        JournalConfig journalConfig = new JournalConfig(true, directory, 16, 0);
+        InMemoryDatabase.database.remove(Account.class);
+        InMemoryDatabase.idCounter.remove(Account.class);
+        InMemoryDatabase.journals.put(Account.class, Journal.open(journalPath, journalConfig));
+        Account savings;
+        Account checking;
+        try {
+            AccountRepository eventSourcedRepository = new AccountRepository(true);
+            savings = eventSourcedRepository.save(buildSavingsAccount(100_00L).toBuilder().id(null).build());
+            checking = eventSourcedRepository.save(buildCheckingAccount(40_00L).toBuilder().id(null).build());
+            savings.setBalance(150_00L);
+            ((SavingsAccount) savings).setMonthlyInterestBase(150_00L);
+            eventSourcedRepository.compareAndSave(savings, List.of(new Deposited(50_00L, 150_00L)));
+            eventSourcedRepository.writeSnapshot(snapshotPath);
+            checking.setBalance(10_00L);
+            eventSourcedRepository.compareAndSave(checking, List.of(new Withdrawn(30_00L, 10_00L)));
+            savings.setBalance(150_63L);
+            ((SavingsAccount) savings).setMonthlyInterestBase(150_63L);
+            ((SavingsAccount) savings).setLastInterestPeriod(YearMonth.of(2024, 12));
+            eventSourcedRepository.compareAndSave(savings, List.of(new InterestApplied(63L, 150_63L, YearMonth.of(2024, 12))));
+        } finally {
+            InMemoryDatabase.closeJournals();
+        }
+        InMemoryDatabase.database.remove(Account.class);
+        InMemoryDatabase.idCounter.remove(Account.class);
+        InMemoryDatabase.journals.put(Account.class, Journal.open(journalPath, journalConfig));
+
+        try {
+            AccountRepository recoveredRepository = new AccountRepository(true);
+
+            // When
+            long loaded = recoveredRepository.loadSnapshot(snapshotPath, 2);
+            long replayed = recoveredRepository.recover();
+
+            // Then
+            assertThat(loaded).isEqualTo(2);
+            assertThat(replayed).isEqualTo(2);
+            assertThat(recoveredRepository.findById(savings.getId())).contains(savings);
+            assertThat(recoveredRepository.findById(checking.getId())).contains(checking);
+        } finally {
+            InMemoryDatabase.closeJournals();
+        }
+    }
+
+    @Test
+    void recover_shouldKeepRealBalance_whenMonthEndInterestIsZeroAfterDeposits(@TempDir Path directory) {
+        // Given
+        Path journalPath = directory.resolve("Account.events.journal");
+        JournalConfig journalConfig = new JournalConfig(true, directory, 16, 0);
+        InMemoryDatabase.database.remove(Account.class);
+        InMemoryDatabase.idCounter.remove(Account.class);
+        InMemoryDatabase.journals.put(Account.class, Journal.open(journalPath, journalConfig));
+        SavingsAccount savings;
+        try {
+            AccountRepository eventSourcedRepository = new AccountRepository(true);
+            savings = (SavingsAccount) eventSourcedRepository.save(buildSavingsAccount(10L).toBuilder().id(null).build());
+            savings.setBalance(15L);
+            savings.setMonthlyInterestBase(15L);
+            eventSourcedRepository.compareAndSave(savings, List.of(new Deposited(5L, 15L)));
+            savings.setBalance(5L);
+            eventSourcedRepository.compareAndSave(savings, List.of(new Withdrawn(10L, 5L)));
+            savings.setLastInterestPeriod(YearMonth.of(2024, 12));
+            eventSourcedRepository.compareAndSave(savings, List.of(new InterestApplied(0L, 5L, YearMonth.of(2024, 12))));
+        } finally {
+            InMemoryDatabase.closeJournals();
+        }
+        InMemoryDatabase.database.remove(Account.class);
+        InMemoryDatabase.idCounter.remove(Account.class);
+        InMemoryDatabase.journals.put(Account.class, Journal.open(journalPath, journalConfig));
+
+        try {
+            AccountRepository recoveredRepository = new AccountRepository(true);
+
+            // When
+            recoveredRepository.recover();
+
+            // Then
+            SavingsAccount recovered = (SavingsAccount) recoveredRepository.findById(savings.getId()).orElseThrow();
+            assertThat(recovered.getBalance()).isEqualTo(5L);
+            assertThat(recovered.getMonthlyInterestBase()).isEqualTo(15L);
+            assertThat(recovered.getLastInterestPeriod()).isEqualTo(YearMonth.of(2024, 12));
+        } finally {
+            InMemoryDatabase.closeJournals();
+        }
+    }
+
+    @Test
+    void save_shouldRejectChangeWithoutEvents_whenEventSourced() {
+        // Given
+        AccountRepository eventSourcedRepository = new AccountRepository(true);
+        Account savedAccount = eventSourcedRepository.save(buildCheckingAccount(10_00L).toBuilder().id(null).build());
+
+        // When & Then
+        assertThatThrownBy(() -> eventSourcedRepository.save(savedAccount)).isInstanceOf(ApplicationException.class);
+        assertThatThrownBy(() -> eventSourcedRepository.compareAndSave(savedAccount)).isInstanceOf(ApplicationException.class);
+    }
 }
@@ -0,0 +1,242 @@
+package com.technicaltest.bankingapp.server;
+
+import com.technicaltest.bankingapp.config.ServerConfig;
+import com.technicaltest.bankingapp.database.InMemoryDatabase;
+import com.technicaltest.bankingapp.dto.AccountDTO;
+import com.technicaltest.bankingapp.enumeration.AccountType;
+import com.technicaltest.bankingapp.enumeration.BatchCommandType;
+import com.technicaltest.bankingapp.enumeration.ResponseStatus;
+import com.technicaltest.bankingapp.enumeration.WireProtocol;
+import com.technicaltest.bankingapp.exception.ApplicationException;
+import com.technicaltest.bankingapp.service.AccountService;
+import com.technicaltest.bankingapp.service.CalculationService;
+import com.technicaltest.bankingapp.service.TransactionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BankingServerTest {
+
+    private AccountService accountService;
+    private TransactionService transactionService;
+    private BankingServer server;
+
+    @BeforeEach
+    void setUp() {
+        InMemoryDatabase.idCounter.clear();
+        InMemoryDatabase.database.clear();
+        accountService = new AccountService();
+        transactionService = new TransactionService(accountService, new CalculationService());
+        server = BankingServer.open(new ServerConfig("localhost", 0, 4, 1024, WireProtocol.TEXT), accountService, transactionService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void call_shouldRunRequestsThroughTheServices() {
+        try (BankingClient client = BankingClient.connect(server.getAddress())) {
+            // Given
+            client.call("create 1 100 Jean Dupont");
+
+            // When
+            String deposit = client.call("deposit 1 25.50");
+            String withdrawal = client.call("withdraw 1 1000");
+            String unknown = client.call("close 1");
+            String balance = client.call("balance 1");
+
+            // Then
+            assertThat(deposit).isEqualTo("OK deposit 1 25.50");
+            assertThat(withdrawal).isEqualTo("ERROR line 3: Insufficient balance for withdrawal.");
+            assertThat(unknown).isEqualTo("ERROR line 4: Unknown command close.");
+            assertThat(balance).isEqualTo("OK balance 1 125.50");
+        }
+    }
+
+    @Test
+    void receive_shouldReturnPipelinedResponsesInTheOrderOfTheRequests() {
+        try (BankingClient client = BankingClient.connect(server.getAddress())) {
+            // Given
+            client.call("create 1 1 Jean Dupont");
+            int requests = 20_000;
+
+            // When
+            for (int i = 0; i < requests; i++) {
+                client.send(i % 2 == 0 ? "deposit 1 2" : "withdraw 1 2");
+            }
+            client.flush();
+            List<String> responses = new ArrayList<>(requests);
+            for (int i = 0; i < requests; i++) {
+                responses.add(client.receive());
+            }
+
+            // Then
+            for (int i = 0; i < requests; i++) {
+                assertThat(responses.get(i)).isEqualTo(i % 2 == 0 ? "OK deposit 1 2.00" : "OK withdraw 1 2.00");
+            }
+            assertThat(client.call("balance 1")).isEqualTo("OK balance 1 1.00");
+        }
+    }
+
+    @Test
+    void receive_shouldAnswerEveryRequest_whenTheClientStopsSendingBeforeReading() {
+        try (BankingClient client = BankingClient.connect(server.getAddress())) {
+            // Given
+            client.send("create 1 10 Jean Dupont");
+            client.send("balance 1");
+
+            // When
+            client.shutdownOutput();
+
+            // Then
+            assertThat(client.receive()).isEqualTo("OK create 1 CHECKING");
+            assertThat(client.receive()).isEqualTo("OK balance 1 10.00");
+            assertThatThrownBy(client::receive).isInstanceOf(ApplicationException.class);
+        }
+    }
+
+    @Test
+    void server_shouldServeManyConcurrentClients() throws Exception {
+        // Given
+        try (BankingClient client = BankingClient.connect(server.getAddress())) {
+            client.call("create 1 0.01 Jean Dupont");
+        }
+        int clients = 200;
+        int depositsPerClient = 100;
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+
+        // When
+        List<CompletableFuture<Long>> failures = new ArrayList<>();
+        for (int c = 0; c < clients; c++) {
+            failures.add(CompletableFuture.supplyAsync(() -> {
+                try (BankingClient client = BankingClient.connect(server.getAddress())) {
+                    for (int i = 0; i < depositsPerClient; i++) {
+                        client.send("deposit 1 1");
+                    }
+                    client.flush();
+                    long failed = 0;
+                    for (int i = 0; i < depositsPerClient; i++) {
+                        failed += client.receive().startsWith("OK") ? 0 : 1;
+                    }
+                    return failed;
+                }
+            }, executor));
+        }
+        long failed = 0;
+        for (CompletableFuture<Long> clientFailures : failures) {
+            failed += clientFailures.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(failed).isZero();
+        try (BankingClient client = BankingClient.connect(server.getAddress())) {
+            assertThat(client.call("balance 1")).isEqualTo("OK balance 1 " + (clients * depositsPerClient) + ".01");
+        }
+    }
+
+    @Test
+    void server_shouldCloseConnection_whenAFrameIsTooLarge() throws IOException {
+        try (SocketChannel channel = SocketChannel.open(server.getAddress())) {
+            // Given
+            channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(1_000_000).flip());
+
+            // When
+            int read = channel.read(ByteBuffer.allocate(16));
+
+            // Then
+            assertThat(read).isEqualTo(-1);
+        }
+    }
+
+    @Test
+    void receiveFrame_shouldReturnBinaryResponsesInTheOrderOfTheRequests() {
+        try (BankingServer binaryServer = BankingServer.open(new ServerConfig("localhost", 0, 4, 1024, WireProtocol.BINARY),
+                accountService, transactionService);
+             BankingClient client = BankingClient.connect(binaryServer.getAddress(), WireProtocol.BINARY)) {
+            // Given
+            BinaryProtocol.putCreate(client.requestBuffer(64), 2, 10_000, "Jean Dupont");
+
+            // When
+            BinaryProtocol.putDeposit(client.requestBuffer(64), 1, 2_550);
+            BinaryProtocol.putWithdrawal(client.requestBuffer(64), 2, 100);
+            BinaryProtocol.putBalance(client.requestBuffer(64), 1);
+            client.requestBuffer(64).putInt(BinaryProtocol.REQUEST_BYTES).put(new byte[BinaryProtocol.REQUEST_BYTES]);
+            client.flush();
+
+            // Then
+            ByteBuffer created = client.receiveFrame();
+            assertThat(BinaryProtocol.responseStatus(created)).isEqualTo(ResponseStatus.OK);
+            assertThat(BinaryProtocol.responseAccount(created)).isEqualTo(AccountDTO.builder()
+                    .id(1L).accountType(AccountType.SAVINGS).balance(new BigDecimal("100.00")).ownerName("Jean Dupont").build());
+            ByteBuffer deposit = client.receiveFrame();
+            assertThat(BinaryProtocol.responseType(deposit)).isEqualTo(BatchCommandType.DEPOSIT);
+            assertThat(BinaryProtocol.responseAmount(deposit)).isEqualTo(2_550);
+            ByteBuffer withdrawal = client.receiveFrame();
+            assertThat(BinaryProtocol.responseStatus(withdrawal)).isEqualTo(ResponseStatus.NOT_FOUND);
+            assertThat(BinaryProtocol.responseMessage(withdrawal)).isNotEmpty();
+            ByteBuffer balance = client.receiveFrame();
+            assertThat(BinaryProtocol.responseType(balance)).isEqualTo(BatchCommandType.BALANCE);
+            assertThat(BinaryProtocol.responseAmount(balance)).isEqualTo(12_550);
+            assertThat(BinaryProtocol.responseStatus(client.receiveFrame())).isEqualTo(ResponseStatus.MALFORMED);
+        }
+    }
+
+    @Test
+    void receiveFrame_shouldAnswerMalformed_whenABinaryFrameIsEmpty() {
+        try (BankingServer binaryServer = BankingServer.open(new ServerConfig("localhost", 0, 4, 1024, WireProtocol.BINARY),
+                accountService, transactionService);
+             BankingClient client = BankingClient.connect(binaryServer.getAddress(), WireProtocol.BINARY)) {
+            // Given
+            accountService.createAccount("Jean Dupont", BigDecimal.TEN, 1);
+
+            // When
+            client.requestBuffer(64).putInt(0);
+            BinaryProtocol.putBalance(client.requestBuffer(64), 1);
+            client.flush();
+
+            // Then
+            assertThat(BinaryProtocol.responseStatus(client.receiveFrame())).isEqualTo(ResponseStatus.MALFORMED);
+            assertThat(BinaryProtocol.responseAmount(client.receiveFrame())).isEqualTo(10_00L);
+        }
+    }
+
+    @Test
+    void server_shouldCloseConnection_whenARequestHandlerFails() throws IOException {
+        TransactionService failingService = mock(TransactionService.class);
+        when(failingService.getBalance(1L)).thenThrow(new AssertionError("Handler bug"));
+        try (BankingServer binaryServer = BankingServer.open(new ServerConfig("localhost", 0, 4, 1024, WireProtocol.BINARY),
+                accountService, failingService);
+             SocketChannel channel = SocketChannel.open(binaryServer.getAddress())) {
+            // Given
+            ByteBuffer request = ByteBuffer.allocate(64).order(ByteOrder.LITTLE_ENDIAN);
+            BinaryProtocol.putBalance(request, 1L);
+
+            // When
+            channel.write(request.flip());
+            int read = channel.read(ByteBuffer.allocate(16));
+
+            // Then
+            assertThat(read).isEqualTo(-1);
+        }
+    }
+}
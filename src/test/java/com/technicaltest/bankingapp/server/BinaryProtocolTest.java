@@ -0,0 +1,119 @@
+package com.technicaltest.bankingapp.server;
+
+import com.technicaltest.bankingapp.dto.AccountDTO;
+import com.technicaltest.bankingapp.enumeration.AccountType;
+import com.technicaltest.bankingapp.enumeration.BatchCommandType;
+import com.technicaltest.bankingapp.enumeration.ResponseStatus;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BinaryProtocolTest {
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(256).order(ByteOrder.LITTLE_ENDIAN);
+
+    @Test
+    void putDeposit_shouldWriteALittleEndianFixedLayoutFrame() {
+        // When
+        BinaryProtocol.putDeposit(buffer, 0x0102, 12_345);
+
+        // Then
+        byte[] frame = new byte[buffer.flip().remaining()];
+        buffer.get(frame);
+        assertThat(frame).containsExactly(
+                28, 0, 0, 0,
+                2, 0, 0, 0,
+                0x02, 0x01, 0, 0, 0, 0, 0, 0,
+                0x39, 0x30, 0, 0, 0, 0, 0, 0,
+                0, 0, 0, 0, 0, 0, 0, 0);
+    }
+
+    @Test
+    void requestDecoders_shouldReadTheEncodedTransfer() {
+        // Given
+        BinaryProtocol.putTransfer(buffer, 7, 9, Long.MAX_VALUE);
+
+        // When
+        ByteBuffer payload = payload();
+
+        // Then
+        assertThat(payload.remaining()).isEqualTo(BinaryProtocol.REQUEST_BYTES);
+        assertThat(BinaryProtocol.requestType(payload)).isEqualTo(BatchCommandType.TRANSFER);
+        assertThat(BinaryProtocol.requestAccountId(payload)).isEqualTo(7);
+        assertThat(BinaryProtocol.requestCounterpartyId(payload)).isEqualTo(9);
+        assertThat(BinaryProtocol.requestAmount(payload)).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void requestDecoders_shouldReadTheEncodedCreation() {
+        // Given
+        BinaryProtocol.putCreate(buffer, 2, 10_050, "Hélène Dupont");
+
+        // When
+        ByteBuffer payload = payload();
+
+        // Then
+        assertThat(BinaryProtocol.requestType(payload)).isEqualTo(BatchCommandType.CREATE);
+        assertThat(BinaryProtocol.requestAccountType(payload)).isEqualTo(2);
+        assertThat(BinaryProtocol.requestAmount(payload)).isEqualTo(10_050);
+        assertThat(BinaryProtocol.requestOwnerName(payload)).isEqualTo("Hélène Dupont");
+    }
+
+    @Test
+    void requestType_shouldReturnNull_whenTheOpcodeIsUnknown() {
+        // Given
+        buffer.put((byte) 99).flip();
+
+        // When & Then
+        assertThat(BinaryProtocol.requestType(buffer)).isNull();
+    }
+
+    @Test
+    void responseAccount_shouldReturnTheEncodedAccount() {
+        // Given
+        AccountDTO account = AccountDTO.builder()
+                .id(42L)
+                .accountType(AccountType.SAVINGS)
+                .balance(new BigDecimal("100.50"))
+                .ownerName("Jean Dupont")
+                .build();
+        BinaryProtocol.putAccount(buffer, account);
+
+        // When
+        ByteBuffer payload = buffer.flip();
+
+        // Then
+        assertThat(BinaryProtocol.responseStatus(payload)).isEqualTo(ResponseStatus.OK);
+        assertThat(BinaryProtocol.responseType(payload)).isEqualTo(BatchCommandType.CREATE);
+        assertThat(BinaryProtocol.responseAccount(payload)).isEqualTo(account);
+    }
+
+    @Test
+    void responseDecoders_shouldReadTheEncodedError() {
+        // Given
+        BinaryProtocol.putError(buffer, BatchCommandType.WITHDRAW, ResponseStatus.REJECTED,
+                "Insufficient balance for withdrawal.".getBytes(StandardCharsets.UTF_8));
+
+        // When
+        ByteBuffer payload = buffer.flip();
+
+        // Then
+        assertThat(BinaryProtocol.responseType(payload)).isEqualTo(BatchCommandType.WITHDRAW);
+        assertThat(BinaryProtocol.responseStatus(payload)).isEqualTo(ResponseStatus.REJECTED);
+        assertThat(BinaryProtocol.responseMessage(payload)).isEqualTo("Insufficient balance for withdrawal.");
+    }
+
+    /**
+     * @return the payload of the frame written to the buffer
+     */
+    private ByteBuffer payload() {
+        buffer.flip();
+        assertThat(buffer.getInt()).isEqualTo(buffer.remaining());
+        return buffer;
+    }
+}
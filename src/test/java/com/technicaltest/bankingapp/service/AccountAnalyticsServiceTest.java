@@ -0,0 +1,120 @@
+package com.technicaltest.bankingapp.service;
+
+import com.technicaltest.bankingapp.database.BalanceIndex;
+import com.technicaltest.bankingapp.database.InMemoryDatabase;
+import com.technicaltest.bankingapp.dto.AccountDTO;
+import com.technicaltest.bankingapp.enumeration.AccountType;
+import com.technicaltest.bankingapp.exception.InvalidOperationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AccountAnalyticsServiceTest {
+
+    private AccountService accountService;
+    private TransactionService transactionService;
+    private AccountAnalyticsService accountAnalyticsService;
+
+    @BeforeEach
+    void setUp() {
+        InMemoryDatabase.idCounter.clear();
+        InMemoryDatabase.database.clear();
+        InMemoryDatabase.accountColumns.clear();
+        InMemoryDatabase.balanceIndex.clear();
+        accountService = new AccountService();
+        transactionService = new TransactionService(accountService, new CalculationService());
+        accountAnalyticsService = new AccountAnalyticsService();
+    }
+
+    @Test
+    void getTotalBalanceByType_shouldReflectEverySave() {
+        // Given
+        AccountDTO savings = accountService.createAccount("John Doe", BigDecimal.valueOf(100), 2);
+        accountService.createAccount("Jane Doe", BigDecimal.valueOf(40), 1);
+        transactionService.depositMoney(savings.getId(), 25_50L);
+
+        // When
+        Map<AccountType, Long> totals = accountAnalyticsService.getTotalBalanceByType();
+
+        // Then
+        assertThat(totals).containsEntry(AccountType.SAVINGS, 125_50L).containsEntry(AccountType.CHECKING, 40_00L);
+        assertThat(accountAnalyticsService.getTotalMonthlyInterestBase()).isEqualTo(125_50L);
+    }
+
+    @Test
+    void findSavingsAccountsBelow_shouldSeeWithdrawals() {
+        // Given
+        AccountDTO drained = accountService.createAccount("John Doe", BigDecimal.valueOf(500), 2);
+        accountService.createAccount("Jane Doe", BigDecimal.valueOf(500), 2);
+        accountService.createAccount("Jack Doe", BigDecimal.valueOf(5), 1);
+        transactionService.withdrawMoney(drained.getId(), 450_00L);
+
+        // When
+        long[] ids = accountAnalyticsService.findSavingsAccountsBelow(100_00L);
+
+        // Then
+        assertThat(ids).containsExactly(drained.getId());
+        assertThat(accountAnalyticsService.countAccounts(AccountType.SAVINGS)).isEqualTo(2);
+    }
+
+    @Test
+    void getBalanceHistogram_shouldBucketAccountsOfType() {
+        // Given
+        accountService.createAccount("John Doe", BigDecimal.valueOf(10), 1);
+        accountService.createAccount("Jane Doe", BigDecimal.valueOf(200), 1);
+        accountService.createAccount("Jack Doe", BigDecimal.valueOf(5000), 1);
+        accountService.createAccount("Jill Doe", BigDecimal.valueOf(200), 2);
+
+        // When
+        long[] histogram = accountAnalyticsService.getBalanceHistogram(AccountType.CHECKING, new long[]{100_00L, 1_000_00L});
+
+        // Then
+        assertThat(histogram).containsExactly(1L, 1L, 1L);
+    }
+
+    @Test
+    void findAccountsWithBalanceBetween_shouldFollowBalanceChanges() {
+        // Given
+        AccountDTO john = accountService.createAccount("John Doe", BigDecimal.valueOf(100), 2);
+        AccountDTO jane = accountService.createAccount("Jane Doe", BigDecimal.valueOf(300), 1);
+        accountService.createAccount("Jack Doe", BigDecimal.valueOf(900), 1);
+        transactionService.depositMoney(john.getId(), 150_00L);
+
+        // When
+        List<BalanceIndex.Entry> entries = accountAnalyticsService.findAccountsWithBalanceBetween(null, 200_00L, 500_00L, 10);
+
+        // Then
+        assertThat(entries).containsExactly(
+                new BalanceIndex.Entry(250_00L, john.getId()),
+                new BalanceIndex.Entry(300_00L, jane.getId()));
+    }
+
+    @Test
+    void getTopBalances_shouldReturnHighestBalancesOfType() {
+        // Given
+        AccountDTO john = accountService.createAccount("John Doe", BigDecimal.valueOf(100), 1);
+        AccountDTO jane = accountService.createAccount("Jane Doe", BigDecimal.valueOf(300), 1);
+        accountService.createAccount("Jack Doe", BigDecimal.valueOf(900), 2);
+        transactionService.withdrawMoney(jane.getId(), 250_00L);
+
+        // When
+        List<BalanceIndex.Entry> top = accountAnalyticsService.getTopBalances(AccountType.CHECKING, 1);
+
+        // Then
+        assertThat(top).containsExactly(new BalanceIndex.Entry(100_00L, john.getId()));
+    }
+
+    @Test
+    void getTopBalances_shouldThrowException_whenCountIsNotPositive() {
+        // When & Then
+        assertThatThrownBy(() -> accountAnalyticsService.getTopBalances(AccountType.SAVINGS, 0))
+                .isInstanceOf(InvalidOperationException.class)
+                .hasMessage("Count must be greater than zero.");
+    }
+}
@@ -26,6 +26,7 @@ import static org.mockito.Mockito.*;
 import static org.assertj.core.api.Assertions.*;
 
 import java.math.RoundingMode;
+import java.util.List;
 import java.util.Optional;
 
 @ExtendWith(MockitoExtension.class)
@@ -42,7 +43,7 @@ class AccountServiceTest {
         // Given
         BigDecimal balance = BigDecimal.valueOf(1000);
         int accountType = 1;
-        Account mockAccount = buildCheckingAccount(balance);
+        Account mockAccount = buildCheckingAccount(1000_00L);
         when(accountRepository.save(any(Account.class))).thenReturn(mockAccount);
 
         // When
@@ -51,14 +52,14 @@ class AccountServiceTest {
         // Then
         assertThat(result).isNotNull();
         assertThat(result.getOwnerName()).isEqualTo(OWNER_NAME);
-        assertThat(result.getBalance()).isEqualTo(balance);
+        assertThat(result.getBalance()).isEqualTo(balance.setScale(2, RoundingMode.HALF_EVEN));
         assertThat(result.getAccountType()).isEqualTo(AccountType.CHECKING);
         assertThat(result.getId()).isEqualTo(DEFAULT_ID);
         verify(accountRepository, never()).save(any(SavingsAccount.class));
         ArgumentCaptor<CheckingAccount> checkingAccountArgumentCaptor = ArgumentCaptor.forClass(CheckingAccount.class);
         verify(accountRepository).save(checkingAccountArgumentCaptor.capture());
         CheckingAccount checkingAccount = checkingAccountArgumentCaptor.getValue();
-        assertThat(checkingAccount.getBalance()).isEqualTo(balance.setScale(2, RoundingMode.HALF_UP));
+        assertThat(checkingAccount.getBalance()).isEqualTo(1000_00L);
         assertThat(checkingAccount.getAccountType()).isEqualTo(AccountType.CHECKING);
         assertThat(checkingAccount.getId()).isNull();
         assertThat(checkingAccount.getOwnerName()).isEqualTo(OWNER_NAME);
@@ -69,7 +70,7 @@ class AccountServiceTest {
         // Given
         BigDecimal balance = BigDecimal.valueOf(1000);
         int accountType = 2;
-        Account mockAccount = buildSavingsAccount(balance);
+        Account mockAccount = buildSavingsAccount(1000_00L);
         when(accountRepository.save(any(Account.class))).thenReturn(mockAccount);
 
         // When
@@ -78,17 +79,17 @@ class AccountServiceTest {
         // Then
         assertThat(result).isNotNull();
         assertThat(result.getOwnerName()).isEqualTo(OWNER_NAME);
-        assertThat(result.getBalance()).isEqualTo(balance);
+        assertThat(result.getBalance()).isEqualTo(balance.setScale(2, RoundingMode.HALF_EVEN));
         assertThat(result.getAccountType()).isEqualTo(AccountType.SAVINGS);
         assertThat(result.getId()).isEqualTo(DEFAULT_ID);
         verify(accountRepository, never()).save(any(CheckingAccount.class));
         ArgumentCaptor<SavingsAccount> savingsAccountArgumentCaptor = ArgumentCaptor.forClass(SavingsAccount.class);
         verify(accountRepository).save(savingsAccountArgumentCaptor.capture());
         SavingsAccount savingsAccount = savingsAccountArgumentCaptor.getValue();
-        assertThat(savingsAccount.getBalance()).isEqualTo(balance.setScale(2, RoundingMode.HALF_EVEN));
+        assertThat(savingsAccount.getBalance()).isEqualTo(1000_00L);
         assertThat(savingsAccount.getAccountType()).isEqualTo(AccountType.SAVINGS);
         assertThat(savingsAccount.getId()).isNull();
-        assertThat(savingsAccount.getMonthlyInterestBase()).isEqualTo(balance.setScale(2, RoundingMode.HALF_EVEN));
+        assertThat(savingsAccount.getMonthlyInterestBase()).isEqualTo(1000_00L);
         assertThat(savingsAccount.getOwnerName()).isEqualTo(OWNER_NAME);
 
     }
@@ -121,7 +122,7 @@ class AccountServiceTest {
     @Test
     void findById_shouldReturnAccount() {
         // Given
-        Account mockAccount = buildSavingsAccount(BigDecimal.valueOf(1000));
+        Account mockAccount = buildSavingsAccount(1000_00L);
         when(accountRepository.findById(DEFAULT_ID)).thenReturn(Optional.of(mockAccount));
 
         // When
@@ -135,8 +136,8 @@ class AccountServiceTest {
     @Test
     void save_shouldSucceed() {
         // Given
-        Account account = buildSavingsAccount(BigDecimal.valueOf(1000));
-        Account mockAccount = buildSavingsAccount(BigDecimal.valueOf(1000));
+        Account account = buildSavingsAccount(1000_00L);
+        Account mockAccount = buildSavingsAccount(1000_00L);
         when(accountRepository.save(any())).thenReturn(mockAccount);
 
         // When
@@ -146,4 +147,26 @@ class AccountServiceTest {
         assertThat(result).isEqualTo(mockAccount);
         verify(accountRepository).save(any());
     }
+
+    @Test
+    void findByOwnerName_shouldDelegateToRepository() {
+        // Given
+        Account mockAccount = buildSavingsAccount(1000_00L);
+        when(accountRepository.findByOwnerName(OWNER_NAME)).thenReturn(List.of(mockAccount));
+
+        // When
+        List<Account> result = accountService.findByOwnerName(OWNER_NAME);
+
+        // Then
+        assertThat(result).containsExactly(mockAccount);
+    }
+
+    @Test
+    void findByOwnerNamePrefix_shouldThrowException_whenLimitIsNotPositive() {
+        // When & Then
+        assertThatThrownBy(() -> accountService.findByOwnerNamePrefix("Jo", 0))
+                .isInstanceOf(InvalidOperationException.class)
+                .hasMessage("Limit must be greater than zero.");
+        verify(accountRepository, never()).findByOwnerNamePrefix(any(), anyInt());
+    }
 }
@@ -0,0 +1,86 @@
+package com.technicaltest.bankingapp.service;
+
+import com.technicaltest.bankingapp.database.InMemoryDatabase;
+import com.technicaltest.bankingapp.dto.AccountDTO;
+import com.technicaltest.bankingapp.exception.InvalidOperationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AsyncTransactionServiceTest {
+
+    private static final int OPERATIONS = 10_000;
+
+    private ExecutorService executor;
+    private AsyncAccountService asyncAccountService;
+    private AsyncTransactionService asyncTransactionService;
+
+    @BeforeEach
+    void setUp() {
+        InMemoryDatabase.idCounter.clear();
+        InMemoryDatabase.database.clear();
+        executor = Executors.newFixedThreadPool(4);
+        AccountService accountService = new AccountService();
+        asyncAccountService = new AsyncAccountService(accountService, executor);
+        asyncTransactionService = new AsyncTransactionService(
+                new TransactionService(accountService, new CalculationService()), executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void depositMoney_shouldApplyEveryInFlightOperation() {
+        // Given
+        AccountDTO account = asyncAccountService.createAccount("John Doe", BigDecimal.ZERO, 1).join();
+        CompletableFuture<?>[] deposits = new CompletableFuture<?>[OPERATIONS];
+
+        // When
+        for (int i = 0; i < OPERATIONS; i++) {
+            deposits[i] = asyncTransactionService.depositMoney(account.getId(), 1_00L);
+        }
+        CompletableFuture.allOf(deposits).join();
+
+        // Then
+        assertThat(asyncTransactionService.getBalance(account.getId()).join()).isEqualTo(OPERATIONS * 1_00L);
+    }
+
+    @Test
+    void withdrawMoney_shouldCompleteExceptionally_whenValidationFails() {
+        // Given
+        AccountDTO account = asyncAccountService.createAccount("John Doe", BigDecimal.TEN, 1).join();
+
+        // When
+        CompletableFuture<Void> withdrawal = asyncTransactionService.withdrawMoney(account.getId(), 20_00L);
+
+        // Then
+        assertThatThrownBy(withdrawal::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(InvalidOperationException.class);
+        assertThat(asyncTransactionService.getBalance(account.getId()).join()).isEqualTo(10_00L);
+    }
+
+    @Test
+    void calculateInterest_shouldReturnCreditedInterest() {
+        // Given
+        AccountDTO account = asyncAccountService.createAccount("John Doe", BigDecimal.valueOf(100), 2).join();
+
+        // When
+        long interest = asyncTransactionService.calculateInterest(account.getId()).join();
+
+        // Then
+        assertThat(interest).isEqualTo(42L);
+        assertThat(asyncAccountService.findById(account.getId()).join().getBalance()).isEqualTo(100_42L);
+    }
+}
@@ -9,7 +9,6 @@ import org.junit.jupiter.params.provider.CsvSource;
 import org.mockito.MockedStatic;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -23,22 +22,22 @@ class CalculationServiceTest {
     void calculateSavingsInterest_shouldCalculateSavingsInterest_whenAmountIsValid() {
         try (MockedStatic<ConfigLoader> configLoaderMock = mockStatic(ConfigLoader.class)) {
             // Given
-            BigDecimal amount = BigDecimal.valueOf(1000);
+            long amount = 1000_00L;
             BigDecimal interestRate = BigDecimal.valueOf(5);
             BigDecimal savingsWithdrawMonthlyLimit = BigDecimal.valueOf(1000);
             configLoaderMock.when(ConfigLoader::loadConfig).thenReturn(new Config(interestRate, savingsWithdrawMonthlyLimit));
 
             // When
-            BigDecimal result = calculationService.calculateSavingsInterest(amount);
+            long result = calculationService.calculateSavingsInterest(amount);
 
             // Then
-            assertThat(result).isEqualTo(BigDecimal.valueOf(4.17));
+            assertThat(result).isEqualTo(4_17L);
         }
     }
 
     @ParameterizedTest
-    @CsvSource({"0", "-12"})
-    void calculateSavingsInterest_shouldCalculateSavingsInterest_whenAmountIsNegative(BigDecimal amount) {
+    @CsvSource({"0", "-1200"})
+    void calculateSavingsInterest_shouldCalculateSavingsInterest_whenAmountIsNegative(long amount) {
         try (MockedStatic<ConfigLoader> configLoaderMock = mockStatic(ConfigLoader.class)) {
             // Given
             BigDecimal interestRate = BigDecimal.valueOf(5);
@@ -46,39 +45,31 @@ class CalculationServiceTest {
             configLoaderMock.when(ConfigLoader::loadConfig).thenReturn(new Config(interestRate, savingsWithdrawMonthlyLimit));
 
             // When
-            BigDecimal result = calculationService.calculateSavingsInterest(amount);
+            long result = calculationService.calculateSavingsInterest(amount);
 
             // Then
-            assertThat(result).isEqualTo(BigDecimal.ZERO);
+            assertThat(result).isZero();
         }
     }
 
-    @Test
-    void calculateSavingsInterest_shouldThrowException_whenAmountIsNull() {
-        // Given When Then
-        assertThatThrownBy(() -> calculationService.calculateSavingsInterest(null))
-                .isInstanceOf(InvalidOperationException.class)
-                .hasMessage("Amount must not be null");
-    }
-
     @Test
     void addAmount_shouldSucceed() {
         // Given
-        BigDecimal balance = BigDecimal.valueOf(1000);
-        BigDecimal amount = BigDecimal.valueOf(500);
+        long balance = 1000_00L;
+        long amount = 500_00L;
 
         // When
-        BigDecimal result = calculationService.addAmount(balance, amount);
+        long result = calculationService.addAmount(balance, amount);
 
         // Then
-        assertThat(result).isEqualTo(BigDecimal.valueOf(1500).setScale(2, RoundingMode.HALF_EVEN));
+        assertThat(result).isEqualTo(1500_00L);
     }
 
     @ParameterizedTest
-    @CsvSource({"0", "-12"})
-    void addAmount_shouldThrowException_whenAmountIsZeroOrNegative(BigDecimal amount) {
+    @CsvSource({"0", "-1200"})
+    void addAmount_shouldThrowException_whenAmountIsZeroOrNegative(long amount) {
         // Given
-        BigDecimal balance = BigDecimal.valueOf(1000);
+        long balance = 1000_00L;
 
         // When & Then
         assertThatThrownBy(() -> calculationService.addAmount(balance, amount))
@@ -86,24 +77,35 @@ class CalculationServiceTest {
                 .hasMessage("Amount to add must be greater than zero.");
     }
 
+    @Test
+    void addAmount_shouldThrowException_whenResultOverflows() {
+        // Given
+        long balance = Long.MAX_VALUE;
+
+        // When & Then
+        assertThatThrownBy(() -> calculationService.addAmount(balance, 1L))
+                .isInstanceOf(InvalidOperationException.class)
+                .hasMessage("Amount overflow.");
+    }
+
     @Test
     void subtractAmount_shouldSucceed() {
         // Given
-        BigDecimal balance = BigDecimal.valueOf(1000);
-        BigDecimal amount = BigDecimal.valueOf(200);
+        long balance = 1000_00L;
+        long amount = 200_00L;
 
         // When
-        BigDecimal result = calculationService.subtractAmount(balance, amount);
+        long result = calculationService.subtractAmount(balance, amount);
 
         // Then
-        assertThat(result).isEqualTo(BigDecimal.valueOf(800).setScale(2, RoundingMode.HALF_EVEN));
+        assertThat(result).isEqualTo(800_00L);
     }
 
     @ParameterizedTest
-    @CsvSource({"0", "-12"})
-    void subtractAmount_shouldThrowException_whenAmountIsZeroOrNegative(BigDecimal amount) {
+    @CsvSource({"0", "-1200"})
+    void subtractAmount_shouldThrowException_whenAmountIsZeroOrNegative(long amount) {
         // Given
-        BigDecimal balance = BigDecimal.valueOf(1000);
+        long balance = 1000_00L;
 
         // When & Then
         assertThatThrownBy(() -> calculationService.subtractAmount(balance, amount))
@@ -111,4 +113,3 @@ class CalculationServiceTest {
                 .hasMessage("Amount to subtract must be greater than zero.");
     }
 }
-
@@ -0,0 +1,133 @@
+package com.technicaltest.bankingapp.service;
+
+import com.technicaltest.bankingapp.database.InMemoryDatabase;
+import com.technicaltest.bankingapp.dto.AccountDTO;
+import com.technicaltest.bankingapp.dto.InterestRunReportDTO;
+import com.technicaltest.bankingapp.model.SavingsAccount;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InterestRunServiceTest {
+
+    private static final YearMonth PERIOD = YearMonth.of(2024, 12);
+
+    private AccountService accountService;
+    private TransactionService transactionService;
+    private InterestRunService interestRunService;
+
+    @BeforeEach
+    void setUp() {
+        InMemoryDatabase.idCounter.clear();
+        InMemoryDatabase.database.clear();
+        accountService = new AccountService();
+        transactionService = new TransactionService(accountService, new CalculationService());
+        interestRunService = new InterestRunService(accountService, transactionService, 4);
+    }
+
+    @Test
+    void run_shouldCreditEverySavingsAccount_acrossPartitions() {
+        // Given
+        int savingsAccounts = InterestRunService.PARTITION_SIZE * 2 + 10;
+        List<Long> savingsIds = new ArrayList<>();
+        for (int i = 0; i < savingsAccounts; i++) {
+            savingsIds.add(accountService.createAccount("Saver " + i, BigDecimal.valueOf(1000), 2).getId());
+        }
+        AccountDTO checking = accountService.createAccount("John Doe", BigDecimal.valueOf(1000), 1);
+
+        // When
+        InterestRunReportDTO report = interestRunService.run(PERIOD);
+
+        // Then
+        assertThat(report.isCompleted()).isTrue();
+        assertThat(report.getCreditedAccounts()).isEqualTo(savingsAccounts);
+        assertThat(report.getAlreadyCreditedAccounts()).isZero();
+        assertThat(report.getFailedAccounts()).isZero();
+        assertThat(report.getTotalInterest()).isEqualTo(savingsAccounts * 4_17L);
+        assertThat(savingsIds).allSatisfy(id -> {
+            SavingsAccount account = (SavingsAccount) accountService.findById(id);
+            assertThat(account.getBalance()).isEqualTo(1004_17L);
+            assertThat(account.getLastInterestPeriod()).isEqualTo(PERIOD);
+        });
+        assertThat(transactionService.getBalance(checking.getId())).isEqualTo(1000_00L);
+    }
+
+    @Test
+    void run_shouldOnlyCreditRemainingAccounts_whenResumedForSamePeriod() {
+        // Given
+        AccountDTO credited = accountService.createAccount("John Doe", BigDecimal.valueOf(1000), 2);
+        AccountDTO remaining = accountService.createAccount("Jane Doe", BigDecimal.valueOf(1000), 2);
+        transactionService.applyMonthlyInterest(credited.getId(), PERIOD);
+
+        // When
+        InterestRunReportDTO report = interestRunService.run(PERIOD);
+
+        // Then
+        assertThat(report.getCreditedAccounts()).isEqualTo(1);
+        assertThat(report.getAlreadyCreditedAccounts()).isEqualTo(1);
+        assertThat(transactionService.getBalance(credited.getId())).isEqualTo(1004_17L);
+        assertThat(transactionService.getBalance(remaining.getId())).isEqualTo(1004_17L);
+    }
+
+    @Test
+    void run_shouldCreditAgain_forNextPeriod() {
+        // Given
+        AccountDTO account = accountService.createAccount("John Doe", BigDecimal.valueOf(1000), 2);
+        interestRunService.run(PERIOD);
+
+        // When
+        InterestRunReportDTO report = interestRunService.run(PERIOD.plusMonths(1));
+
+        // Then
+        assertThat(report.getCreditedAccounts()).isEqualTo(1);
+        assertThat(transactionService.getBalance(account.getId())).isEqualTo(1008_35L);
+    }
+
+    @Test
+    void run_shouldReportEveryAccountCredited_whenInterrupted() {
+        // Given
+        int savingsAccounts = InterestRunService.PARTITION_SIZE * 4;
+        for (int i = 0; i < savingsAccounts; i++) {
+            accountService.createAccount("Saver " + i, BigDecimal.valueOf(1000), 2);
+        }
+        Thread.currentThread().interrupt();
+
+        // When
+        InterestRunReportDTO interrupted = interestRunService.run(PERIOD);
+        boolean interruptKept = Thread.interrupted();
+        long creditedAfterInterruption = countCredited(savingsAccounts);
+        InterestRunReportDTO resumed = interestRunService.run(PERIOD);
+
+        // Then
+        assertThat(interrupted.isCompleted()).isFalse();
+        assertThat(interruptKept).isTrue();
+        assertThat(interrupted.getCreditedAccounts()).isEqualTo(creditedAfterInterruption);
+        assertThat(resumed.isCompleted()).isTrue();
+        assertThat(interrupted.getCreditedAccounts() + resumed.getCreditedAccounts()).isEqualTo(savingsAccounts);
+        assertThat(resumed.getTotalInterest() + interrupted.getTotalInterest()).isEqualTo(savingsAccounts * 4_17L);
+    }
+
+    @Test
+    void run_shouldCompleteWithNothingToDo_whenThereAreNoAccounts() {
+        // When
+        InterestRunReportDTO report = interestRunService.run(PERIOD);
+
+        // Then
+        assertThat(report.isCompleted()).isTrue();
+        assertThat(report.getCreditedAccounts()).isZero();
+    }
+
+    private long countCredited(int accounts) {
+        long credited = 0;
+        for (long id = 1; id <= accounts; id++) {
+            credited += PERIOD.equals(((SavingsAccount) accountService.findById(id)).getLastInterestPeriod()) ? 1 : 0;
+        }
+        return credited;
+    }
+}
@@ -0,0 +1,81 @@
+package com.technicaltest.bankingapp.service;
+
+import com.technicaltest.bankingapp.enumeration.TransactionType;
+import com.technicaltest.bankingapp.event.AccountCreated;
+import com.technicaltest.bankingapp.event.AccountEvent;
+import com.technicaltest.bankingapp.event.Deposited;
+import com.technicaltest.bankingapp.event.Withdrawn;
+import com.technicaltest.bankingapp.exception.InvalidOperationException;
+import com.technicaltest.bankingapp.model.Account;
+import com.technicaltest.bankingapp.model.LedgerEntry;
+import com.technicaltest.bankingapp.repository.LedgerRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static com.technicaltest.bankingapp.builder.AccountBuilderFactory.DEFAULT_ID;
+import static com.technicaltest.bankingapp.builder.AccountBuilderFactory.buildCheckingAccount;
+import static com.technicaltest.bankingapp.builder.AccountBuilderFactory.buildSavingsAccount;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerServiceTest {
+
+    @Mock
+    private LedgerRepository ledgerRepository;
+
+    @InjectMocks
+    private LedgerService ledgerService;
+
+    @Test
+    void record_shouldStampEntriesWithCommittedVersionAndTimestamp() {
+        // Given
+        Account committedAccount = buildCheckingAccount(1300_00L).toBuilder().version(5).build();
+        List<AccountEvent> events = List.of(new Deposited(500_00L, 1500_00L), new Withdrawn(200_00L, 1300_00L));
+
+        // When
+        ledgerService.record(committedAccount, events);
+
+        // Then
+        ArgumentCaptor<LedgerEntry> entryCaptor = ArgumentCaptor.forClass(LedgerEntry.class);
+        verify(ledgerRepository, times(2)).save(entryCaptor.capture());
+        assertThat(entryCaptor.getAllValues()).allSatisfy(entry -> {
+            assertThat(entry.getAccountId()).isEqualTo(DEFAULT_ID);
+            assertThat(entry.getVersion()).isEqualTo(5);
+            assertThat(entry.getTimestamp()).isEqualTo(committedAccount.getUpdatedAt());
+        });
+        assertThat(entryCaptor.getAllValues()).extracting(LedgerEntry::getSequence).containsExactly(0, 1);
+        assertThat(entryCaptor.getAllValues()).extracting(LedgerEntry::getType)
+                .containsExactly(TransactionType.DEPOSIT, TransactionType.WITHDRAWAL);
+        assertThat(entryCaptor.getAllValues()).extracting(LedgerEntry::getBalanceAfter).containsExactly(1500_00L, 1300_00L);
+    }
+
+    @Test
+    void record_shouldSkipAccountCreation() {
+        // Given
+        Account committedAccount = buildSavingsAccount(1000_00L).toBuilder().version(1).build();
+
+        // When
+        ledgerService.record(committedAccount, List.of(AccountCreated.of(committedAccount)));
+
+        // Then
+        verifyNoInteractions(ledgerRepository);
+    }
+
+    @Test
+    void getLastTransactions_shouldThrowException_whenCountIsNotPositive() {
+        // When & Then
+        assertThatThrownBy(() -> ledgerService.getLastTransactions(DEFAULT_ID, 0))
+                .isInstanceOf(InvalidOperationException.class);
+        verifyNoInteractions(ledgerRepository);
+    }
+}
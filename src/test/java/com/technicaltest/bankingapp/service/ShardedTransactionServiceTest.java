@@ -0,0 +1,158 @@
+package com.technicaltest.bankingapp.service;
+
+import com.technicaltest.bankingapp.database.InMemoryDatabase;
+import com.technicaltest.bankingapp.database.ShardedEntityStore;
+import com.technicaltest.bankingapp.dto.AccountDTO;
+import com.technicaltest.bankingapp.dto.TransactionOperationDTO;
+import com.technicaltest.bankingapp.dto.TransactionResultDTO;
+import com.technicaltest.bankingapp.exception.InvalidOperationException;
+import com.technicaltest.bankingapp.journal.Journal;
+import com.technicaltest.bankingapp.model.Account;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ShardedTransactionServiceTest {
+
+    private static final int SHARDS = 4;
+    private static final int ACCOUNTS = 32;
+
+    private AccountService accountService;
+    private ShardedTransactionService shardedTransactionService;
+
+    @BeforeEach
+    void setUp() {
+        InMemoryDatabase.idCounter.clear();
+        InMemoryDatabase.database.clear();
+        InMemoryDatabase.database.put(Account.class, new ShardedEntityStore<Account>(SHARDS));
+        accountService = new AccountService();
+        shardedTransactionService = new ShardedTransactionService(
+                new TransactionService(accountService, new CalculationService()), SHARDS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        shardedTransactionService.close();
+        InMemoryDatabase.idCounter.clear();
+        InMemoryDatabase.database.clear();
+    }
+
+    @Test
+    void depositMoney_shouldApplyEveryOperation_acrossShards() {
+        // Given
+        List<Long> accountIds = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accountIds.add(accountService.createAccount("Owner " + i, BigDecimal.ZERO, 1).getId());
+        }
+        List<CompletableFuture<Void>> deposits = new ArrayList<>();
+
+        // When
+        for (int round = 0; round < 100; round++) {
+            for (long accountId : accountIds) {
+                deposits.add(shardedTransactionService.depositMoney(accountId, 1_00L));
+            }
+        }
+        CompletableFuture.allOf(deposits.toArray(CompletableFuture[]::new)).join();
+
+        // Then
+        assertThat(accountIds).doesNotHaveDuplicates();
+        assertThat(accountService.getMaxAccountId()).isEqualTo(accountIds.stream().mapToLong(Long::longValue).max().orElseThrow());
+        for (long accountId : accountIds) {
+            assertThat(shardedTransactionService.getBalance(accountId).join()).isEqualTo(100_00L);
+        }
+    }
+
+    @Test
+    void processBatch_shouldReturnResultsInOperationOrder() {
+        // Given
+        AccountDTO first = accountService.createAccount("John Doe", BigDecimal.TEN, 1);
+        AccountDTO second = accountService.createAccount("Jane Doe", BigDecimal.TEN, 1);
+        List<TransactionOperationDTO> operations = List.of(
+                TransactionOperationDTO.deposit(first.getId(), 5_00L),
+                TransactionOperationDTO.withdrawal(second.getId(), 50_00L),
+                TransactionOperationDTO.withdrawal(first.getId(), 12_00L),
+                TransactionOperationDTO.deposit(second.getId(), 1_00L));
+
+        // When
+        List<TransactionResultDTO> results = shardedTransactionService.processBatch(operations).join();
+
+        // Then
+        assertThat(results).extracting(TransactionResultDTO::getOperation).containsExactlyElementsOf(operations);
+        assertThat(results).extracting(TransactionResultDTO::getBalance).containsExactly(15_00L, null, 3_00L, 11_00L);
+    }
+
+    @Test
+    void withdrawMoney_shouldCompleteExceptionally_whenBalanceIsInsufficient() {
+        // Given
+        AccountDTO account = accountService.createAccount("John Doe", BigDecimal.TEN, 1);
+
+        // When
+        CompletableFuture<Void> withdrawal = shardedTransactionService.withdrawMoney(account.getId(), 50_00L);
+
+        // Then
+        assertThatThrownBy(withdrawal::join).hasCauseInstanceOf(InvalidOperationException.class);
+        assertThat(shardedTransactionService.getBalance(account.getId()).join()).isEqualTo(10_00L);
+    }
+
+    @Test
+    void submit_shouldCommitTheNextOperations_beforeTheJournalMadeTheFirstDurable() {
+        // Given
+        TransactionService transactionService = mock(TransactionService.class);
+        CompletableFuture<Void> durable = new CompletableFuture<>();
+        TransactionOperationDTO first = TransactionOperationDTO.deposit(1L, 1_00L);
+        TransactionOperationDTO second = TransactionOperationDTO.deposit(1L, 2_00L);
+        when(transactionService.commitOperations(1L, List.of(first))).thenReturn(new TransactionService.CommittedOperations(
+                List.of(TransactionResultDTO.success(first, 1_00L)), new Journal.Ticket(durable)));
+        when(transactionService.commitOperations(1L, List.of(second))).thenReturn(new TransactionService.CommittedOperations(
+                List.of(TransactionResultDTO.success(second, 3_00L)), new Journal.Ticket(durable)));
+
+        try (ShardedTransactionService service = new ShardedTransactionService(transactionService, SHARDS)) {
+            // When
+            CompletableFuture<TransactionResultDTO> firstReply = service.submit(first);
+            CompletableFuture<TransactionResultDTO> secondReply = service.submit(second);
+
+            // Then
+            verify(transactionService, timeout(5_000)).commitOperations(1L, List.of(second));
+            assertThat(firstReply).isNotDone();
+            durable.complete(null);
+            assertThat(firstReply.join().getBalance()).isEqualTo(1_00L);
+            assertThat(secondReply.join().getBalance()).isEqualTo(3_00L);
+        }
+    }
+
+    @Test
+    void close_shouldReplyToCommitsStillWaitingForTheJournal() throws InterruptedException {
+        // Given
+        TransactionService transactionService = mock(TransactionService.class);
+        CompletableFuture<Void> durable = new CompletableFuture<>();
+        TransactionOperationDTO deposit = TransactionOperationDTO.deposit(1L, 1_00L);
+        when(transactionService.commitOperations(1L, List.of(deposit))).thenReturn(new TransactionService.CommittedOperations(
+                List.of(TransactionResultDTO.success(deposit, 1_00L)), new Journal.Ticket(durable)));
+        ShardedTransactionService service = new ShardedTransactionService(transactionService, SHARDS);
+        CompletableFuture<TransactionResultDTO> reply = service.submit(deposit);
+        verify(transactionService, timeout(5_000)).commitOperations(1L, List.of(deposit));
+
+        // When
+        Thread closing = new Thread(service::close);
+        closing.start();
+        Thread.sleep(100);
+        durable.complete(null);
+        closing.join(5_000);
+
+        // Then
+        assertThat(closing.isAlive()).isFalse();
+        assertThat(reply.join().getBalance()).isEqualTo(1_00L);
+    }
+}
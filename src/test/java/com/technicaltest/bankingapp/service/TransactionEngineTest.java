@@ -0,0 +1,104 @@
+package com.technicaltest.bankingapp.service;
+
+import com.technicaltest.bankingapp.database.InMemoryDatabase;
+import com.technicaltest.bankingapp.dto.AccountDTO;
+import com.technicaltest.bankingapp.dto.TransactionOperationDTO;
+import com.technicaltest.bankingapp.dto.TransactionResultDTO;
+import com.technicaltest.bankingapp.exception.ApplicationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TransactionEngineTest {
+
+    private static final int PRODUCERS = 4;
+    private static final int OPERATIONS_PER_PRODUCER = 2_000;
+
+    private AccountService accountService;
+    private TransactionEngine transactionEngine;
+
+    @BeforeEach
+    void setUp() {
+        InMemoryDatabase.idCounter.clear();
+        InMemoryDatabase.database.clear();
+        accountService = new AccountService();
+        transactionEngine = new TransactionEngine(new TransactionService(accountService, new CalculationService()), 2, 64);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionEngine.close();
+    }
+
+    @Test
+    void submit_shouldApplyEveryOperation_whenPublishedConcurrently() throws InterruptedException {
+        // Given
+        AccountDTO first = accountService.createAccount("John Doe", BigDecimal.ZERO, 1);
+        AccountDTO second = accountService.createAccount("Jane Doe", BigDecimal.ZERO, 1);
+        List<CompletableFuture<TransactionResultDTO>> replies = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(PRODUCERS);
+
+        // When
+        for (int p = 0; p < PRODUCERS; p++) {
+            executor.execute(() -> {
+                List<CompletableFuture<TransactionResultDTO>> producerReplies = new ArrayList<>();
+                for (int i = 0; i < OPERATIONS_PER_PRODUCER; i++) {
+                    long accountId = i % 2 == 0 ? first.getId() : second.getId();
+                    producerReplies.add(transactionEngine.submit(TransactionOperationDTO.deposit(accountId, 1_00L)));
+                }
+                synchronized (replies) {
+                    replies.addAll(producerReplies);
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture.allOf(replies.toArray(CompletableFuture[]::new)).join();
+
+        // Then
+        assertThat(replies).allMatch(reply -> reply.join().isSuccessful());
+        long expectedBalance = PRODUCERS * OPERATIONS_PER_PRODUCER / 2 * 1_00L;
+        assertThat(accountService.findById(first.getId()).getBalance()).isEqualTo(expectedBalance);
+        assertThat(accountService.findById(second.getId()).getBalance()).isEqualTo(expectedBalance);
+    }
+
+    @Test
+    void submit_shouldReplyInPublicationOrder_withFailedOperationsReported() {
+        // Given
+        AccountDTO account = accountService.createAccount("John Doe", BigDecimal.TEN, 1);
+
+        // When
+        CompletableFuture<TransactionResultDTO> withdrawal = transactionEngine.submit(TransactionOperationDTO.withdrawal(account.getId(), 15_00L));
+        CompletableFuture<TransactionResultDTO> deposit = transactionEngine.submit(TransactionOperationDTO.deposit(account.getId(), 10_00L));
+        CompletableFuture<TransactionResultDTO> retry = transactionEngine.submit(TransactionOperationDTO.withdrawal(account.getId(), 15_00L));
+        CompletableFuture<TransactionResultDTO> missing = transactionEngine.submit(TransactionOperationDTO.deposit(999L, 10_00L));
+
+        // Then
+        assertThat(withdrawal.join().isSuccessful()).isFalse();
+        assertThat(deposit.join().getBalance()).isEqualTo(20_00L);
+        assertThat(retry.join().getBalance()).isEqualTo(5_00L);
+        assertThat(missing.join().getErrorMessage()).isEqualTo("Account with ID 999 not found.");
+    }
+
+    @Test
+    void submit_shouldThrowException_whenEngineIsClosed() {
+        // Given
+        transactionEngine.close();
+
+        // When & Then
+        assertThatThrownBy(() -> transactionEngine.submit(TransactionOperationDTO.deposit(1L, 1_00L)))
+                .isInstanceOf(ApplicationException.class)
+                .hasMessage("Transaction engine is closed.");
+    }
+}
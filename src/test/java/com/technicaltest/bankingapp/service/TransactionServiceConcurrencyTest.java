@@ -0,0 +1,149 @@
+package com.technicaltest.bankingapp.service;
+
+import com.technicaltest.bankingapp.database.InMemoryDatabase;
+import com.technicaltest.bankingapp.dto.AccountDTO;
+import com.technicaltest.bankingapp.model.LedgerEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransactionServiceConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int OPERATIONS_PER_THREAD = 500;
+
+    private AccountService accountService;
+    private TransactionService transactionService;
+
+    @BeforeEach
+    void setUp() {
+        InMemoryDatabase.idCounter.clear();
+        InMemoryDatabase.database.clear();
+        InMemoryDatabase.ledger.clear();
+        accountService = new AccountService();
+        transactionService = new TransactionService(accountService, new CalculationService());
+    }
+
+    @Test
+    void depositMoney_shouldNotLoseUpdates_whenCalledConcurrently() throws InterruptedException {
+        // Given
+        AccountDTO account = accountService.createAccount("John Doe", BigDecimal.ZERO, 1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        // When
+        for (int i = 0; i < THREADS * OPERATIONS_PER_THREAD; i++) {
+            executor.execute(() -> transactionService.depositMoney(account.getId(), 1_00L));
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        // Then
+        assertThat(transactionService.getBalance(account.getId())).isEqualTo(THREADS * OPERATIONS_PER_THREAD * 1_00L);
+        List<LedgerEntry> history = new LedgerService().getLastTransactions(account.getId(), THREADS * OPERATIONS_PER_THREAD + 1);
+        assertThat(history).hasSize(THREADS * OPERATIONS_PER_THREAD);
+        assertThat(history.get(0).getBalanceAfter()).isEqualTo(THREADS * OPERATIONS_PER_THREAD * 1_00L);
+        assertThat(history).extracting(LedgerEntry::getVersion).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void withdrawMoney_shouldNeverOverdraw_whenCalledConcurrently() throws InterruptedException {
+        // Given
+        AccountDTO account = accountService.createAccount("John Doe", BigDecimal.valueOf(100), 1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        // When
+        for (int i = 0; i < THREADS * OPERATIONS_PER_THREAD; i++) {
+            executor.execute(() -> {
+                try {
+                    transactionService.withdrawMoney(account.getId(), 1_00L);
+                } catch (RuntimeException ignored) {
+                    // Insufficient balance is expected once the account is drained
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        // Then
+        assertThat(transactionService.getBalance(account.getId())).isZero();
+    }
+
+    @Test
+    void transfer_shouldConserveTotal_whenTransfersRunConcurrentlyInBothDirections() throws InterruptedException {
+        // Given
+        AccountDTO first = accountService.createAccount("John Doe", BigDecimal.valueOf(1000), 1);
+        AccountDTO second = accountService.createAccount("Jane Doe", BigDecimal.valueOf(1000), 1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        // When
+        for (int i = 0; i < THREADS * OPERATIONS_PER_THREAD; i++) {
+            boolean forward = i % 2 == 0;
+            executor.execute(() -> {
+                try {
+                    if (forward) {
+                        transactionService.transfer(first.getId(), second.getId(), 3_00L);
+                    } else {
+                        transactionService.transfer(second.getId(), first.getId(), 2_00L);
+                    }
+                } catch (RuntimeException ignored) {
+                    // Insufficient balance is expected once an account is drained
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        // Then
+        long firstBalance = transactionService.getBalance(first.getId());
+        long secondBalance = transactionService.getBalance(second.getId());
+        assertThat(firstBalance + secondBalance).isEqualTo(2000_00L);
+        assertThat(firstBalance).isNotNegative();
+        assertThat(secondBalance).isNotNegative();
+        List<LedgerEntry> history = new LedgerService().getLastTransactions(first.getId(), THREADS * OPERATIONS_PER_THREAD + 1);
+        assertThat(history.get(0).getBalanceAfter()).isEqualTo(firstBalance);
+    }
+
+    @Test
+    void getBalance_shouldNeverSeeMoneyInFlight_whenReadingSourceThenTarget() throws InterruptedException {
+        // Given
+        AccountDTO source = accountService.createAccount("John Doe", BigDecimal.valueOf(10_000), 1);
+        AccountDTO target = accountService.createAccount("Jane Doe", BigDecimal.ZERO, 1);
+        long total = 10_000_00L;
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        AtomicBoolean transferring = new AtomicBoolean(true);
+        AtomicLong missingMoneySeen = new AtomicLong();
+
+        // When
+        // Money only moves from source to target, so whatever left the source must be found on the target afterwards
+        for (int r = 0; r < THREADS / 2; r++) {
+            executor.execute(() -> {
+                while (transferring.get()) {
+                    long sourceBalance = transactionService.getBalance(source.getId());
+                    long targetBalance = transactionService.getBalance(target.getId());
+                    if (sourceBalance + targetBalance < total) {
+                        missingMoneySeen.incrementAndGet();
+                    }
+                }
+            });
+        }
+        for (int i = 0; i < THREADS * OPERATIONS_PER_THREAD; i++) {
+            transactionService.transfer(source.getId(), target.getId(), 1_00L);
+        }
+        transferring.set(false);
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        // Then
+        assertThat(missingMoneySeen).hasValue(0);
+        assertThat(transactionService.getBalance(target.getId())).isEqualTo(THREADS * OPERATIONS_PER_THREAD * 1_00L);
+    }
+}
@@ -1,7 +1,16 @@
 package com.technicaltest.bankingapp.service;
 
+import com.technicaltest.bankingapp.dto.TransactionOperationDTO;
+import com.technicaltest.bankingapp.dto.TransactionResultDTO;
+import com.technicaltest.bankingapp.event.AccountEvent;
+import com.technicaltest.bankingapp.event.Deposited;
+import com.technicaltest.bankingapp.event.InterestApplied;
+import com.technicaltest.bankingapp.event.TransferredIn;
+import com.technicaltest.bankingapp.event.TransferredOut;
+import com.technicaltest.bankingapp.exception.ConcurrentUpdateException;
 import com.technicaltest.bankingapp.exception.InvalidOperationException;
 import com.technicaltest.bankingapp.exception.ResourceNotFoundException;
+import com.technicaltest.bankingapp.journal.Journal;
 import com.technicaltest.bankingapp.model.Account;
 import com.technicaltest.bankingapp.model.CheckingAccount;
 import com.technicaltest.bankingapp.model.SavingsAccount;
@@ -11,186 +20,211 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
 
-import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static com.technicaltest.bankingapp.builder.AccountBuilderFactory.*;
 import static com.technicaltest.bankingapp.builder.AccountBuilderFactory.buildCheckingAccount;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 public class TransactionServiceTest {
 
+    private static final Journal.Ticket DURABLE = new Journal.Ticket(CompletableFuture.completedFuture(null));
+
     @Mock
     private AccountService accountService;
 
     @Mock
     private CalculationService calculationService;
 
+    @Mock
+    private LedgerService ledgerService;
+
+    @Spy
+    private Clock clock = Clock.fixed(Instant.parse("2025-01-15T10:00:00Z"), ZoneOffset.UTC);
+
     @InjectMocks
     private TransactionService transactionService;
 
     @Test
     void depositMoney_shouldSucceed_whenAccountTypeIsChecking() {
         // Given
-        BigDecimal amount = BigDecimal.valueOf(500);
-        Account mockAccount = buildCheckingAccount(BigDecimal.valueOf(1000));
+        long amount = 500_00L;
+        Account mockAccount = buildCheckingAccount(1000_00L);
         when(accountService.findById(DEFAULT_ID)).thenReturn(mockAccount);
-        when(calculationService.addAmount(any(), any())).thenReturn(BigDecimal.valueOf(1500));
+        when(accountService.compareAndSave(any(), any())).thenReturn(true);
+        when(calculationService.addAmount(anyLong(), anyLong())).thenReturn(1500_00L);
 
         // When
         transactionService.depositMoney(DEFAULT_ID, amount);
 
         // Then
-        assertThat(mockAccount.getBalance()).isEqualTo(BigDecimal.valueOf(1500));
+        assertThat(mockAccount.getBalance()).isEqualTo(1500_00L);
         ArgumentCaptor<CheckingAccount> checkingAccountArgumentCaptor = ArgumentCaptor.forClass(CheckingAccount.class);
-        verify(accountService, times(1)).save(checkingAccountArgumentCaptor.capture());
+        verify(accountService, times(1)).compareAndSave(checkingAccountArgumentCaptor.capture(), any());
         CheckingAccount checkingAccount = checkingAccountArgumentCaptor.getValue();
-        assertThat(checkingAccount.getBalance()).isEqualTo(BigDecimal.valueOf(1500));
-        verify(calculationService).addAmount(any(), any());
+        assertThat(checkingAccount.getBalance()).isEqualTo(1500_00L);
+        verify(calculationService).addAmount(anyLong(), anyLong());
     }
 
     @Test
     void depositMoney_shouldSucceed_whenAccountTypeIsSavings() {
         // Given
-        BigDecimal amount = BigDecimal.valueOf(500);
-        Account mockAccount = buildSavingsAccount(BigDecimal.valueOf(1000), BigDecimal.valueOf(2000));
+        long amount = 500_00L;
+        Account mockAccount = buildSavingsAccount(1000_00L, 2000_00L);
         when(accountService.findById(DEFAULT_ID)).thenReturn(mockAccount);
-        when(calculationService.addAmount(any(), any())).thenReturn(BigDecimal.valueOf(1500));
+        when(accountService.compareAndSave(any(), any())).thenReturn(true);
+        when(calculationService.addAmount(anyLong(), anyLong())).thenReturn(1500_00L);
 
         // When
         transactionService.depositMoney(DEFAULT_ID, amount);
 
         // Then
-        assertThat(mockAccount.getBalance()).isEqualTo(BigDecimal.valueOf(1500));
+        assertThat(mockAccount.getBalance()).isEqualTo(1500_00L);
         ArgumentCaptor<SavingsAccount> savingsAccountArgumentCaptor = ArgumentCaptor.forClass(SavingsAccount.class);
-        verify(accountService, times(1)).save(savingsAccountArgumentCaptor.capture());
+        verify(accountService, times(1)).compareAndSave(savingsAccountArgumentCaptor.capture(), any());
         SavingsAccount savingsAccount = savingsAccountArgumentCaptor.getValue();
-        assertThat(savingsAccount.getBalance()).isEqualTo(BigDecimal.valueOf(1500));
-        assertThat(savingsAccount.getMonthlyInterestBase()).isEqualTo(BigDecimal.valueOf(2000));
-        verify(calculationService).addAmount(any(), any());
+        assertThat(savingsAccount.getBalance()).isEqualTo(1500_00L);
+        assertThat(savingsAccount.getMonthlyInterestBase()).isEqualTo(2000_00L);
+        verify(calculationService).addAmount(anyLong(), anyLong());
     }
 
     @Test
     void depositMoney_shouldUpdateMonthInterestBase_whenOldValueIsLessThanCurrentValue() {
         // Given
-        BigDecimal amount = BigDecimal.valueOf(500);
-        Account mockAccount = buildSavingsAccount(BigDecimal.valueOf(1000), BigDecimal.valueOf(1000));
+        long amount = 500_00L;
+        Account mockAccount = buildSavingsAccount(1000_00L, 1000_00L);
         when(accountService.findById(DEFAULT_ID)).thenReturn(mockAccount);
-        when(calculationService.addAmount(any(), any())).thenReturn(BigDecimal.valueOf(1500));
+        when(accountService.compareAndSave(any(), any())).thenReturn(true);
+        when(calculationService.addAmount(anyLong(), anyLong())).thenReturn(1500_00L);
 
         // When
         transactionService.depositMoney(DEFAULT_ID, amount);
 
         // Then
-        assertThat(mockAccount.getBalance()).isEqualTo(BigDecimal.valueOf(1500));
+        assertThat(mockAccount.getBalance()).isEqualTo(1500_00L);
         ArgumentCaptor<SavingsAccount> savingsAccountArgumentCaptor = ArgumentCaptor.forClass(SavingsAccount.class);
-        verify(accountService, times(1)).save(savingsAccountArgumentCaptor.capture());
+        verify(accountService, times(1)).compareAndSave(savingsAccountArgumentCaptor.capture(), any());
         SavingsAccount savingsAccount = savingsAccountArgumentCaptor.getValue();
-        assertThat(savingsAccount.getBalance()).isEqualTo(BigDecimal.valueOf(1500));
-        assertThat(savingsAccount.getMonthlyInterestBase()).isEqualTo(BigDecimal.valueOf(1500));
-        verify(calculationService).addAmount(any(), any());
+        assertThat(savingsAccount.getBalance()).isEqualTo(1500_00L);
+        assertThat(savingsAccount.getMonthlyInterestBase()).isEqualTo(1500_00L);
+        verify(calculationService).addAmount(anyLong(), anyLong());
     }
 
     @Test
     void depositMoney_shouldThrowException_whenAccountIsNotFound() {
         // Given
-        BigDecimal amount = BigDecimal.valueOf(500);
+        long amount = 500_00L;
         when(accountService.findById(DEFAULT_ID)).thenThrow(new ResourceNotFoundException("Account", DEFAULT_ID));
 
         // When & Then
         assertThatThrownBy(() -> transactionService.depositMoney(DEFAULT_ID, amount))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessage("Account with ID 1 not found.");
-        verify(calculationService, never()).addAmount(any(), any());
-        verify(accountService, never()).save(any());
+        verify(calculationService, never()).addAmount(anyLong(), anyLong());
+        verify(accountService, never()).compareAndSave(any(), any());
     }
 
     @Test
     void withdrawMoney_shouldSucceed_whenAccountTypeIsChecking() {
         // Given
         long accountId = 1L;
-        BigDecimal amount = BigDecimal.valueOf(200);
-        Account mockAccount = buildCheckingAccount(BigDecimal.valueOf(1000));
+        long amount = 200_00L;
+        Account mockAccount = buildCheckingAccount(1000_00L);
         when(accountService.findById(accountId)).thenReturn(mockAccount);
-        when(calculationService.subtractAmount(any(), any())).thenReturn(BigDecimal.valueOf(800));
+        when(accountService.compareAndSave(any(), any())).thenReturn(true);
+        when(calculationService.subtractAmount(anyLong(), anyLong())).thenReturn(800_00L);
 
         // Act
         transactionService.withdrawMoney(accountId, amount);
 
         // Assert
-        assertThat(mockAccount.getBalance()).isEqualTo(BigDecimal.valueOf(800));
-        verify(accountService, times(1)).save(mockAccount);
+        assertThat(mockAccount.getBalance()).isEqualTo(800_00L);
+        verify(accountService, times(1)).compareAndSave(eq(mockAccount), any());
     }
 
     @Test
     void withdrawMoney_InsufficientBalance_ThrowsException() {
         // Arrange
         long accountId = 1L;
-        BigDecimal amount = BigDecimal.valueOf(1500);
-        Account mockAccount = buildCheckingAccount(BigDecimal.valueOf(1000));
+        long amount = 1500_00L;
+        Account mockAccount = buildCheckingAccount(1000_00L);
         when(accountService.findById(accountId)).thenReturn(mockAccount);
 
         // Act & Assert
         assertThatThrownBy(() -> transactionService.withdrawMoney(accountId, amount))
                 .isInstanceOf(InvalidOperationException.class)
                 .hasMessage("Insufficient balance for withdrawal.");
-        verify(calculationService, never()).subtractAmount(any(), any());
-        verify(accountService, never()).save(any());
+        verify(calculationService, never()).subtractAmount(anyLong(), anyLong());
+        verify(accountService, never()).compareAndSave(any(), any());
     }
 
     @Test
     void withdrawMoney_shouldThrowException_whenAccountIsNotFound() {
         // Given
-        BigDecimal amount = BigDecimal.valueOf(500);
+        long amount = 500_00L;
         when(accountService.findById(DEFAULT_ID)).thenThrow(new ResourceNotFoundException("Account", DEFAULT_ID));
 
         // When & Then
         assertThatThrownBy(() -> transactionService.withdrawMoney(DEFAULT_ID, amount))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessage("Account with ID 1 not found.");
-        verify(calculationService, never()).subtractAmount(any(), any());
-        verify(accountService, never()).save(any());
+        verify(calculationService, never()).subtractAmount(anyLong(), anyLong());
+        verify(accountService, never()).compareAndSave(any(), any());
     }
 
     @Test
     void calculateInterest_SavingsAccount_Success() {
         // Arrange
         long accountId = 1L;
-        BigDecimal monthlyInterestBase = BigDecimal.valueOf(1000);
-        BigDecimal interest = BigDecimal.valueOf(50);
-        SavingsAccount mockAccount = buildSavingsAccount(BigDecimal.valueOf(1000), monthlyInterestBase);
+        long monthlyInterestBase = 1000_00L;
+        long interest = 50_00L;
+        SavingsAccount mockAccount = buildSavingsAccount(1000_00L, monthlyInterestBase);
         when(accountService.findById(accountId)).thenReturn(mockAccount);
+        when(accountService.compareAndSave(any(), any())).thenReturn(true);
         when(calculationService.calculateSavingsInterest(monthlyInterestBase)).thenReturn(interest);
-        when(calculationService.addAmount(any(), any())).thenReturn(BigDecimal.valueOf(1050));
+        when(calculationService.addAmount(anyLong(), anyLong())).thenReturn(1050_00L);
 
         // Act
-        BigDecimal result = transactionService.calculateInterest(accountId);
+        long result = transactionService.calculateInterest(accountId);
 
         // Assert
         assertThat(result).isEqualTo(interest);
-        assertThat(mockAccount.getBalance()).isEqualTo(BigDecimal.valueOf(1050));
-        verify(accountService, times(1)).save(mockAccount);
+        assertThat(mockAccount.getBalance()).isEqualTo(1050_00L);
+        verify(accountService, times(1)).compareAndSave(eq(mockAccount), any());
     }
 
     @Test
     void calculateInterest_InvalidAccountType_ThrowsException() {
         // Arrange
         long accountId = 1L;
-        Account mockAccount = buildCheckingAccount(BigDecimal.valueOf(1000));
+        Account mockAccount = buildCheckingAccount(1000_00L);
         when(accountService.findById(accountId)).thenReturn(mockAccount);
 
         // Act & Assert
         assertThatThrownBy(() -> transactionService.calculateInterest(accountId))
                 .isInstanceOf(InvalidOperationException.class)
                 .hasMessage("Interest calculation is only applicable to savings accounts.");
-        verify(calculationService, never()).calculateSavingsInterest(any());
-        verify(accountService, never()).save(any());
+        verify(calculationService, never()).calculateSavingsInterest(anyLong());
+        verify(accountService, never()).compareAndSave(any(), any());
     }
 
     @Test
@@ -202,7 +236,432 @@ public class TransactionServiceTest {
         assertThatThrownBy(() -> transactionService.calculateInterest(DEFAULT_ID))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessage("Account with ID 1 not found.");
-        verify(calculationService, never()).calculateSavingsInterest(any());
-        verify(accountService, never()).save(any());
+        verify(calculationService, never()).calculateSavingsInterest(anyLong());
+        verify(accountService, never()).compareAndSave(any(), any());
+    }
+
+    @Test
+    void depositMoney_shouldEmitEventOfCommittedAttemptOnly() {
+        // Given
+        Account staleAccount = buildCheckingAccount(1000_00L);
+        Account freshAccount = buildCheckingAccount(1200_00L);
+        when(accountService.findById(DEFAULT_ID)).thenReturn(staleAccount, freshAccount);
+        when(calculationService.addAmount(anyLong(), anyLong())).thenReturn(1500_00L, 1700_00L);
+        when(accountService.compareAndSave(any(), any())).thenReturn(false, true);
+
+        // When
+        transactionService.depositMoney(DEFAULT_ID, 500_00L);
+
+        // Then
+        verify(accountService).compareAndSave(freshAccount, List.of(new Deposited(500_00L, 1700_00L)));
+        verify(ledgerService, times(1)).record(freshAccount, List.of(new Deposited(500_00L, 1700_00L)));
+    }
+
+    @Test
+    void withdrawMoney_shouldNotRecordEvent_whenValidationFails() {
+        // Given
+        when(accountService.findById(DEFAULT_ID)).thenReturn(buildCheckingAccount(100_00L));
+
+        // When & Then
+        assertThatThrownBy(() -> transactionService.withdrawMoney(DEFAULT_ID, 500_00L))
+                .isInstanceOf(InvalidOperationException.class);
+        verify(ledgerService, never()).record(any(), any());
+    }
+
+    @Test
+    void applyMonthlyInterest_shouldCreditInterestAndRecordPeriod() {
+        // Given
+        YearMonth period = YearMonth.of(2024, 12);
+        SavingsAccount account = buildSavingsAccount(1000_00L);
+        when(accountService.findById(DEFAULT_ID)).thenReturn(account);
+        when(accountService.compareAndSave(any(), any())).thenReturn(true);
+        when(calculationService.calculateSavingsInterest(1000_00L)).thenReturn(50_00L);
+        when(calculationService.addAmount(1000_00L, 50_00L)).thenReturn(1050_00L);
+
+        // When
+        OptionalLong result = transactionService.applyMonthlyInterest(DEFAULT_ID, period);
+
+        // Then
+        assertThat(result).hasValue(50_00L);
+        assertThat(account.getBalance()).isEqualTo(1050_00L);
+        assertThat(account.getMonthlyInterestBase()).isEqualTo(1050_00L);
+        assertThat(account.getLastInterestPeriod()).isEqualTo(period);
+    }
+
+    @Test
+    void applyMonthlyInterest_shouldSkipAccount_whenAlreadyCreditedForPeriod() {
+        // Given
+        YearMonth period = YearMonth.of(2024, 12);
+        SavingsAccount account = buildSavingsAccount(1000_00L).toBuilder().lastInterestPeriod(period).build();
+        when(accountService.findById(DEFAULT_ID)).thenReturn(account);
+        when(accountService.compareAndSave(any(), any())).thenReturn(true);
+
+        // When
+        OptionalLong result = transactionService.applyMonthlyInterest(DEFAULT_ID, period);
+
+        // Then
+        assertThat(result).isEmpty();
+        assertThat(account.getBalance()).isEqualTo(1000_00L);
+        verify(calculationService, never()).calculateSavingsInterest(anyLong());
+    }
+
+    @Test
+    void applyMonthlyInterest_shouldSkipAccount_whenAlreadyCreditedForALaterPeriod() {
+        // Given
+        SavingsAccount account = buildSavingsAccount(1000_00L).toBuilder().lastInterestPeriod(YearMonth.of(2024, 12)).build();
+        when(accountService.findById(DEFAULT_ID)).thenReturn(account);
+        when(accountService.compareAndSave(any(), any())).thenReturn(true);
+
+        // When
+        OptionalLong result = transactionService.applyMonthlyInterest(DEFAULT_ID, YearMonth.of(2024, 11));
+
+        // Then
+        assertThat(result).isEmpty();
+        assertThat(account.getBalance()).isEqualTo(1000_00L);
+        assertThat(account.getLastInterestPeriod()).isEqualTo(YearMonth.of(2024, 12));
+        verify(calculationService, never()).calculateSavingsInterest(anyLong());
+    }
+
+    @Test
+    void applyMonthlyInterest_shouldOnlyRecordPeriod_whenInterestIsZero() {
+        // Given
+        YearMonth period = YearMonth.of(2024, 12);
+        SavingsAccount account = buildSavingsAccount(0L);
+        when(accountService.findById(DEFAULT_ID)).thenReturn(account);
+        when(accountService.compareAndSave(any(), any())).thenReturn(true);
+        when(calculationService.calculateSavingsInterest(0L)).thenReturn(0L);
+
+        // When
+        OptionalLong result = transactionService.applyMonthlyInterest(DEFAULT_ID, period);
+
+        // Then
+        assertThat(result).hasValue(0L);
+        assertThat(account.getLastInterestPeriod()).isEqualTo(period);
+        verify(calculationService, never()).addAmount(anyLong(), anyLong());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void applyMonthlyInterest_shouldRecordTheBalance_whenInterestIsZeroAndBaseDiffers() {
+        // Given
+        YearMonth period = YearMonth.of(2024, 12);
+        SavingsAccount account = buildSavingsAccount(5L, 15L);
+        when(accountService.findById(DEFAULT_ID)).thenReturn(account);
+        when(accountService.compareAndSave(any(), any())).thenReturn(true);
+        when(calculationService.calculateSavingsInterest(15L)).thenReturn(0L);
+
+        // When
+        transactionService.applyMonthlyInterest(DEFAULT_ID, period);
+
+        // Then
+        ArgumentCaptor<List<AccountEvent>> eventsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(accountService).compareAndSave(eq(account), eventsCaptor.capture());
+        assertThat(eventsCaptor.getValue()).containsExactly(new InterestApplied(0L, 5L, period));
+        assertThat(account.getBalance()).isEqualTo(5L);
+        assertThat(account.getMonthlyInterestBase()).isEqualTo(15L);
+    }
+
+    @Test
+    void depositMoney_shouldRetryOnConflict_andApplyToFreshAccount() {
+        // Given
+        long amount = 500_00L;
+        Account staleAccount = buildCheckingAccount(1000_00L);
+        Account freshAccount = buildCheckingAccount(1200_00L);
+        when(accountService.findById(DEFAULT_ID)).thenReturn(staleAccount, freshAccount);
+        when(calculationService.addAmount(anyLong(), anyLong())).thenReturn(1500_00L, 1700_00L);
+        when(accountService.compareAndSave(any(), any())).thenReturn(false, true);
+
+        // When
+        transactionService.depositMoney(DEFAULT_ID, amount);
+
+        // Then
+        assertThat(freshAccount.getBalance()).isEqualTo(1700_00L);
+        verify(accountService, times(2)).findById(DEFAULT_ID);
+        verify(accountService).compareAndSave(eq(staleAccount), any());
+        verify(accountService).compareAndSave(eq(freshAccount), any());
+    }
+
+    @Test
+    void depositMoney_shouldThrowException_whenConflictsPersist() {
+        // Given
+        long amount = 500_00L;
+        when(accountService.findById(DEFAULT_ID)).thenAnswer(invocation -> buildCheckingAccount(1000_00L));
+        when(calculationService.addAmount(anyLong(), anyLong())).thenReturn(1500_00L);
+        when(accountService.compareAndSave(any(), any())).thenReturn(false);
+
+        // When & Then
+        assertThatThrownBy(() -> transactionService.depositMoney(DEFAULT_ID, amount))
+                .isInstanceOf(ConcurrentUpdateException.class)
+                .hasMessage("Account with ID 1 is being modified concurrently, please retry.");
+    }
+
+    @Test
+    void processBatch_shouldApplyOperationsInOrder_withOneCommitPerAccount() {
+        // Given
+        Account firstAccount = buildCheckingAccount(100_00L);
+        Account secondAccount = buildCheckingAccount(50_00L).toBuilder().id(2L).build();
+        when(accountService.findById(1L)).thenReturn(firstAccount);
+        when(accountService.findById(2L)).thenReturn(secondAccount);
+        when(accountService.compareAndCommit(any(), any())).thenReturn(DURABLE);
+        when(calculationService.addAmount(anyLong(), anyLong())).thenAnswer(invocation -> (long) invocation.getArgument(0) + (long) invocation.getArgument(1));
+        when(calculationService.subtractAmount(anyLong(), anyLong())).thenAnswer(invocation -> (long) invocation.getArgument(0) - (long) invocation.getArgument(1));
+        List<TransactionOperationDTO> operations = List.of(
+                TransactionOperationDTO.deposit(1L, 20_00L),
+                TransactionOperationDTO.withdrawal(2L, 10_00L),
+                TransactionOperationDTO.withdrawal(1L, 500_00L),
+                TransactionOperationDTO.withdrawal(1L, 30_00L));
+
+        // When
+        List<TransactionResultDTO> results = transactionService.processBatch(operations);
+
+        // Then
+        assertThat(results).extracting(TransactionResultDTO::isSuccessful).containsExactly(true, true, false, true);
+        assertThat(results).extracting(TransactionResultDTO::getBalance).containsExactly(120_00L, 40_00L, null, 90_00L);
+        assertThat(results.get(2).getErrorMessage()).isEqualTo("Insufficient balance for withdrawal.");
+        assertThat(results.get(2).getOperation()).isEqualTo(operations.get(2));
+        assertThat(firstAccount.getBalance()).isEqualTo(90_00L);
+        verify(accountService, times(1)).findById(1L);
+        verify(accountService, times(1)).compareAndCommit(eq(firstAccount), any());
+        verify(accountService, times(1)).compareAndCommit(eq(secondAccount), any());
+    }
+
+    @Test
+    void processBatch_shouldCommitEveryAccount_beforeWaitingForTheJournal() throws Exception {
+        // Given
+        when(accountService.findById(1L)).thenReturn(buildCheckingAccount(100_00L));
+        when(accountService.findById(2L)).thenReturn(buildCheckingAccount(50_00L).toBuilder().id(2L).build());
+        CompletableFuture<Void> durable = new CompletableFuture<>();
+        when(accountService.compareAndCommit(any(), any())).thenReturn(new Journal.Ticket(durable));
+        List<TransactionOperationDTO> operations = List.of(
+                TransactionOperationDTO.deposit(1L, 20_00L),
+                TransactionOperationDTO.deposit(2L, 10_00L));
+
+        // When
+        CompletableFuture<List<TransactionResultDTO>> results =
+                CompletableFuture.supplyAsync(() -> transactionService.processBatch(operations));
+
+        // Then
+        verify(accountService, timeout(5_000).times(2)).compareAndCommit(any(), any());
+        assertThat(results).isNotDone();
+        durable.complete(null);
+        assertThat(results.get(5, TimeUnit.SECONDS)).extracting(TransactionResultDTO::isSuccessful).containsExactly(true, true);
+        verify(accountService, never()).compareAndSave(any(), any());
+    }
+
+    @Test
+    void processBatch_shouldFailEveryOperationOfAccount_whenAccountIsNotFound() {
+        // Given
+        when(accountService.findById(DEFAULT_ID)).thenThrow(new ResourceNotFoundException("Account", DEFAULT_ID));
+        List<TransactionOperationDTO> operations = List.of(
+                TransactionOperationDTO.deposit(DEFAULT_ID, 20_00L),
+                TransactionOperationDTO.withdrawal(DEFAULT_ID, 10_00L));
+
+        // When
+        List<TransactionResultDTO> results = transactionService.processBatch(operations);
+
+        // Then
+        assertThat(results).extracting(TransactionResultDTO::isSuccessful).containsExactly(false, false);
+        assertThat(results).extracting(TransactionResultDTO::getErrorMessage).containsOnly("Account with ID 1 not found.");
+        verify(accountService, never()).compareAndCommit(any(), any());
+    }
+
+    @Test
+    void transfer_shouldCommitBothAccountsTogether() {
+        // Given
+        Account from = buildCheckingAccount(1000_00L);
+        Account to = buildSavingsAccount(100_00L).toBuilder().id(2L).build();
+        when(accountService.findById(1L)).thenReturn(from);
+        when(accountService.findById(2L)).thenReturn(to);
+        when(calculationService.subtractAmount(1000_00L, 200_00L)).thenReturn(800_00L);
+        when(calculationService.addAmount(100_00L, 200_00L)).thenReturn(300_00L);
+        when(accountService.compareAndSave(any(), any(), any(), any())).thenReturn(true);
+
+        // When
+        transactionService.transfer(1L, 2L, 200_00L);
+
+        // Then
+        List<AccountEvent> fromEvents = List.of(new TransferredOut(200_00L, 800_00L, 2L));
+        List<AccountEvent> toEvents = List.of(new TransferredIn(200_00L, 300_00L, 1L));
+        verify(accountService).compareAndSave(from, fromEvents, to, toEvents);
+        verify(ledgerService).record(from, fromEvents);
+        verify(ledgerService).record(to, toEvents);
+        assertThat(((SavingsAccount) to).getMonthlyInterestBase()).isEqualTo(300_00L);
+        verify(accountService, never()).compareAndSave(any(), any());
+    }
+
+    @Test
+    void transfer_shouldRetryBothReads_onConflict() {
+        // Given
+        when(accountService.findById(1L)).thenAnswer(invocation -> buildCheckingAccount(1000_00L));
+        when(accountService.findById(2L)).thenAnswer(invocation -> buildCheckingAccount(0L).toBuilder().id(2L).build());
+        when(calculationService.subtractAmount(anyLong(), anyLong())).thenReturn(900_00L);
+        when(calculationService.addAmount(anyLong(), anyLong())).thenReturn(100_00L);
+        when(accountService.compareAndSave(any(), any(), any(), any())).thenReturn(false, true);
+
+        // When
+        transactionService.transfer(1L, 2L, 100_00L);
+
+        // Then
+        verify(accountService, times(2)).findById(1L);
+        verify(accountService, times(2)).findById(2L);
+        verify(ledgerService, times(2)).record(any(), any());
+    }
+
+    @Test
+    void transfer_shouldThrowException_whenBalanceIsInsufficient() {
+        // Given
+        when(accountService.findById(1L)).thenReturn(buildCheckingAccount(100_00L));
+        when(accountService.findById(2L)).thenReturn(buildCheckingAccount(0L).toBuilder().id(2L).build());
+
+        // When & Then
+        assertThatThrownBy(() -> transactionService.transfer(1L, 2L, 500_00L))
+                .isInstanceOf(InvalidOperationException.class)
+                .hasMessage("Insufficient balance for withdrawal.");
+        verify(accountService, never()).compareAndSave(any(), any(), any(), any());
+        verify(ledgerService, never()).record(any(), any());
+    }
+
+    @Test
+    void transfer_shouldThrowException_whenSavingsLimitIsExceeded() {
+        // Given
+        when(accountService.findById(1L)).thenReturn(buildSavingsAccount(100_000_00L));
+        when(accountService.findById(2L)).thenReturn(buildCheckingAccount(0L).toBuilder().id(2L).build());
+
+        // When & Then
+        assertThatThrownBy(() -> transactionService.transfer(1L, 2L, 50_000_00L))
+                .isInstanceOf(InvalidOperationException.class)
+                .hasMessageContaining("exceeds the maximum allowed limit");
+        verify(accountService, never()).compareAndSave(any(), any(), any(), any());
+    }
+
+    @Test
+    void transfer_shouldThrowException_whenAccountsAreTheSame() {
+        // When & Then
+        assertThatThrownBy(() -> transactionService.transfer(1L, 1L, 100_00L))
+                .isInstanceOf(InvalidOperationException.class)
+                .hasMessage("Cannot transfer money to the same account.");
+        verifyNoInteractions(accountService);
+    }
+
+    @Test
+    void depositMoney_shouldApplyOnce_whenRetriedWithSameIdempotencyKey() {
+        // Given
+        String idempotencyKey = UUID.randomUUID().toString();
+        Account account = buildCheckingAccount(1000_00L);
+        when(accountService.findById(DEFAULT_ID)).thenReturn(account);
+        when(calculationService.addAmount(anyLong(), anyLong())).thenReturn(1500_00L);
+        when(accountService.compareAndSave(any(), any())).thenReturn(true);
+
+        // When
+        transactionService.depositMoney(DEFAULT_ID, 500_00L, idempotencyKey);
+        transactionService.depositMoney(DEFAULT_ID, 500_00L, idempotencyKey);
+
+        // Then
+        verify(accountService, times(1)).compareAndSave(any(), any());
+    }
+
+    @Test
+    void withdrawMoney_shouldReplayFailure_whenRetriedWithSameIdempotencyKey() {
+        // Given
+        String idempotencyKey = UUID.randomUUID().toString();
+        when(accountService.findById(DEFAULT_ID)).thenReturn(buildCheckingAccount(100_00L));
+        assertThatThrownBy(() -> transactionService.withdrawMoney(DEFAULT_ID, 500_00L, idempotencyKey))
+                .isInstanceOf(InvalidOperationException.class);
+
+        // When & Then
+        assertThatThrownBy(() -> transactionService.withdrawMoney(DEFAULT_ID, 500_00L, idempotencyKey))
+                .isInstanceOf(InvalidOperationException.class)
+                .hasMessage("Insufficient balance for withdrawal.");
+        verify(accountService, times(1)).findById(DEFAULT_ID);
+    }
+
+    @Test
+    void depositMoney_shouldRunAgain_whenFirstAttemptHitPersistentConflicts() {
+        // Given
+        String idempotencyKey = UUID.randomUUID().toString();
+        when(accountService.findById(DEFAULT_ID)).thenAnswer(invocation -> buildCheckingAccount(1000_00L));
+        when(calculationService.addAmount(anyLong(), anyLong())).thenReturn(1500_00L);
+        when(accountService.compareAndSave(any(), any())).thenAnswer(new Answer<Boolean>() {
+            private int calls;
+
+            @Override
+            public Boolean answer(InvocationOnMock invocation) {
+                return ++calls > 64;
+            }
+        });
+        assertThatThrownBy(() -> transactionService.depositMoney(DEFAULT_ID, 500_00L, idempotencyKey))
+                .isInstanceOf(ConcurrentUpdateException.class);
+
+        // When
+        transactionService.depositMoney(DEFAULT_ID, 500_00L, idempotencyKey);
+
+        // Then
+        verify(accountService, times(65)).compareAndSave(any(), any());
+    }
+
+    @Test
+    void depositMoney_shouldThrowException_whenIdempotencyKeyIsReusedForAnotherRequest() {
+        // Given
+        String idempotencyKey = UUID.randomUUID().toString();
+        when(accountService.findById(DEFAULT_ID)).thenReturn(buildCheckingAccount(1000_00L));
+        when(calculationService.addAmount(anyLong(), anyLong())).thenReturn(1500_00L);
+        when(accountService.compareAndSave(any(), any())).thenReturn(true);
+        transactionService.depositMoney(DEFAULT_ID, 500_00L, idempotencyKey);
+
+        // When & Then
+        assertThatThrownBy(() -> transactionService.depositMoney(DEFAULT_ID, 600_00L, idempotencyKey))
+                .isInstanceOf(InvalidOperationException.class)
+                .hasMessage("Idempotency key " + idempotencyKey + " was already used for another operation.");
+    }
+
+    @Test
+    void withdrawMoney_shouldEnforceCumulativeMonthlyLimit_forSavingsAccount() {
+        // Given
+        SavingsAccount account = buildSavingsAccount(5000_00L);
+        account.recordWithdrawal(YearMonth.of(2025, 1), 700_00L);
+        when(accountService.findById(DEFAULT_ID)).thenReturn(account);
+
+        // When & Then
+        assertThatThrownBy(() -> transactionService.withdrawMoney(DEFAULT_ID, 400_00L))
+                .isInstanceOf(InvalidOperationException.class)
+                .hasMessage("Withdrawal amount exceeds the remaining monthly limit of 300.00 for savings accounts.");
+        verify(accountService, never()).compareAndSave(any(), any());
+    }
+
+    @Test
+    void withdrawMoney_shouldStartNewMonthlyCounter_whenMonthChanged() {
+        // Given
+        SavingsAccount account = buildSavingsAccount(5000_00L);
+        account.recordWithdrawal(YearMonth.of(2024, 12), 1000_00L);
+        when(accountService.findById(DEFAULT_ID)).thenReturn(account);
+        when(calculationService.subtractAmount(anyLong(), anyLong())).thenReturn(4600_00L);
+        when(accountService.compareAndSave(any(), any())).thenReturn(true);
+
+        // When
+        transactionService.withdrawMoney(DEFAULT_ID, 400_00L);
+
+        // Then
+        assertThat(account.getWithdrawnIn(YearMonth.of(2025, 1))).isEqualTo(400_00L);
+        assertThat(account.getWithdrawnIn(YearMonth.of(2024, 12))).isZero();
+    }
+
+    @Test
+    void processBatch_shouldCountEarlierWithdrawalsOfBatch_towardsSavingsLimit() {
+        // Given
+        Account account = buildSavingsAccount(5000_00L);
+        when(accountService.findById(DEFAULT_ID)).thenReturn(account);
+        when(calculationService.subtractAmount(anyLong(), anyLong()))
+                .thenAnswer(invocation -> (long) invocation.getArgument(0) - (long) invocation.getArgument(1));
+        when(accountService.compareAndCommit(any(), any())).thenReturn(DURABLE);
+        List<TransactionOperationDTO> operations = List.of(
+                TransactionOperationDTO.withdrawal(DEFAULT_ID, 600_00L),
+                TransactionOperationDTO.withdrawal(DEFAULT_ID, 600_00L));
+
+        // When
+        List<TransactionResultDTO> results = transactionService.processBatch(operations);
+
+        // Then
+        assertThat(results).extracting(TransactionResultDTO::isSuccessful).containsExactly(true, false);
+        assertThat(account.getBalance()).isEqualTo(4400_00L);
     }
 }
@@ -0,0 +1,92 @@
+package com.technicaltest.bankingapp.utils;
+
+import com.technicaltest.bankingapp.exception.InvalidOperationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyUtilsTest {
+
+    @ParameterizedTest
+    @CsvSource({"123.45, 12345", "123, 12300", "0.125, 12", "0.135, 14", "-0.125, -12"})
+    void toMinorUnits_shouldRoundHalfEven(BigDecimal value, long expected) {
+        // Given When
+        long result = MoneyUtils.toMinorUnits(value);
+
+        // Then
+        assertThat(result).isEqualTo(expected);
+    }
+
+    @Test
+    void toMinorUnits_shouldThrowException_whenValueIsNull() {
+        // Given When Then
+        assertThatThrownBy(() -> MoneyUtils.toMinorUnits(null))
+                .isInstanceOf(InvalidOperationException.class)
+                .hasMessage("Amount must not be null.");
+    }
+
+    @Test
+    void toMinorUnits_shouldThrowException_whenValueDoesNotFitInLong() {
+        // Given
+        BigDecimal value = new BigDecimal("1e20");
+
+        // When Then
+        assertThatThrownBy(() -> MoneyUtils.toMinorUnits(value))
+                .isInstanceOf(InvalidOperationException.class)
+                .hasMessage("Amount 1E+20 is out of range.");
+    }
+
+    @Test
+    void toBigDecimal_shouldUseDefaultScale() {
+        // Given When
+        BigDecimal result = MoneyUtils.toBigDecimal(1500_00L);
+
+        // Then
+        assertThat(result).isEqualTo(new BigDecimal("1500.00"));
+    }
+
+    @Test
+    void subtract_shouldThrowException_whenResultOverflows() {
+        // Given When Then
+        assertThatThrownBy(() -> MoneyUtils.subtract(Long.MIN_VALUE, 1L))
+                .isInstanceOf(InvalidOperationException.class)
+                .hasMessage("Amount overflow.");
+    }
+
+    @ParameterizedTest
+    @CsvSource({"25, 1, 10, 2", "35, 1, 10, 4", "26, 1, 10, 3", "-25, 1, 10, -2", "-26, 1, 10, -3", "100000, 41666667, 10000000000, 417"})
+    void multiply_shouldRoundHalfEven(long amount, long factor, long divisor, long expected) {
+        // Given When
+        long result = MoneyUtils.multiply(amount, factor, divisor);
+
+        // Then
+        assertThat(result).isEqualTo(expected);
+    }
+
+    @Test
+    void multiply_shouldFallBackToExactArithmetic_whenProductOverflows() {
+        // Given
+        long amount = Long.MAX_VALUE / 2;
+
+        // When
+        long result = MoneyUtils.multiply(amount, 4, 8);
+
+        // Then
+        assertThat(result).isEqualTo(Long.MAX_VALUE / 4 + 1);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"0", "5", "-5", "45", "-45", "100", "12345", "-12345", "9223372036854775807", "-9223372036854775808"})
+    void appendAmount_shouldMatchPlainStringOfDecimal(long minorUnits) {
+        // Given When
+        String result = MoneyUtils.appendAmount(new StringBuilder(), minorUnits).toString();
+
+        // Then
+        assertThat(result).isEqualTo(MoneyUtils.toBigDecimal(minorUnits).toPlainString());
+    }
+}